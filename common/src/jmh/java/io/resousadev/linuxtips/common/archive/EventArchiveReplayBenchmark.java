@@ -0,0 +1,101 @@
+package io.resousadev.linuxtips.common.archive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Replay throughput of {@link EventArchiveReplayer} over a local archive of {@value #EVENTS} events
+ * in {@value #SEGMENTS} segments, by parallelism.
+ *
+ * <p>{@code replayAll} decompresses every block; {@code replayOneType} still decompresses every
+ * block but hands only a quarter of the events to the handler; {@code replayOneSegment} shows the
+ * index skipping segments and blocks outside the time range. Divide {@value #EVENTS} by the average
+ * time for events per second.</p>
+ *
+ * <pre>{@code ./gradlew :common:jmh -PjmhIncludes=EventArchiveReplay}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventArchiveReplayBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+    private static final int SEGMENTS = 8;
+    private static final long SEGMENT_MILLIS = 60_000;
+    private static final String[] TYPES = {"APPROVED", "PENDING", "REJECTED", "CANCELLED"};
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private Path directory;
+    private EventArchiveReplayer replayer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("archive-benchmark");
+        final LocalArchiveStore store = new LocalArchiveStore(directory.resolve("segments"));
+        final AtomicLong clock = new AtomicLong();
+        final EventArchiveWriter.Settings settings = new EventArchiveWriter.Settings(
+                Duration.ofMillis(SEGMENT_MILLIS), Long.MAX_VALUE, 64 * 1024, Duration.ofMinutes(1));
+        try (EventArchiveWriter writer = EventArchiveWriter.open(directory.resolve("active"), store, settings,
+                clock::get)) {
+            for (int i = 0; i < EVENTS; i++) {
+                clock.set(i * SEGMENT_MILLIS * SEGMENTS / EVENTS);
+                final String type = TYPES[i % TYPES.length];
+                writer.append(type, "{\"detail-type\":\"" + type + "\",\"detail\":{\"valor\":\"" + i
+                        + ".00\",\"correlationId\":\"corr-" + i + "\"}}");
+            }
+        }
+        replayer = new EventArchiveReplayer(store);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long replayAll(final Blackhole blackhole) {
+        return replay(0, Long.MAX_VALUE, Set.of(), blackhole);
+    }
+
+    @Benchmark
+    public long replayOneType(final Blackhole blackhole) {
+        return replay(0, Long.MAX_VALUE, Set.of("APPROVED"), blackhole);
+    }
+
+    @Benchmark
+    public long replayOneSegment(final Blackhole blackhole) {
+        return replay(SEGMENT_MILLIS * 2, SEGMENT_MILLIS * 3, Set.of(), blackhole);
+    }
+
+    private long replay(final long fromMillis, final long toMillis, final Set<String> eventTypes,
+                        final Blackhole blackhole) {
+        final EventArchiveReplayer.ReplayProgress progress = new EventArchiveReplayer.ReplayProgress();
+        replayer.replay(fromMillis, toMillis, eventTypes, parallelism, blackhole::consume, progress);
+        return progress.getEvents();
+    }
+}
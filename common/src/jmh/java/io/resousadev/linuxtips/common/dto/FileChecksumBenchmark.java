@@ -0,0 +1,75 @@
+package io.resousadev.linuxtips.common.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+/**
+ * CPU cost of the {@link FileMetadataDto#getChecksum() upload checksum} per MiB, by algorithm.
+ *
+ * <p>{@code sha256} is the digest manager-file used to compute on the request thread before
+ * uploading; {@code crc32c} is what the AWS SDK computes while streaming the body with the
+ * default {@code aws.s3.checksum-algorithm} (the SDK delegates to {@link CRC32C}, a JIT intrinsic
+ * on x86 and ARM). Multiply the average time by 1024 for the CPU time per GiB uploaded.</p>
+ *
+ * <pre>{@code ./gradlew :common:jmh -PjmhIncludes=FileChecksum}</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileChecksumBenchmark {
+
+    private static final int MIB = 1024 * 1024;
+
+    /** Update size: the SDK feeds the checksum one read buffer at a time. */
+    @Param({"8192", "131072"})
+    private int chunkSize;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new byte[MIB];
+        ThreadLocalRandom.current().nextBytes(data);
+    }
+
+    @Benchmark
+    public byte[] sha256() throws NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            digest.update(data, offset, Math.min(chunkSize, data.length - offset));
+        }
+        return digest.digest();
+    }
+
+    @Benchmark
+    public long crc32c() {
+        final CRC32C crc = new CRC32C();
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            crc.update(data, offset, Math.min(chunkSize, data.length - offset));
+        }
+        return crc.getValue();
+    }
+
+    @Benchmark
+    public long crc32() {
+        final CRC32 crc = new CRC32();
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            crc.update(data, offset, Math.min(chunkSize, data.length - offset));
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,52 @@
+package io.resousadev.linuxtips.common.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+
+/**
+ * Compares {@link TimeOrderedIds} with {@link UUID#randomUUID()}, single-threaded and under contention.
+ *
+ * <p>{@code randomUUID()} draws from one shared {@code SecureRandom}, so its cost grows with the number of
+ * concurrent callers; {@code TimeOrderedIds} only touches thread-local state. The {@code *String} variants
+ * include formatting, which is what the call sites (event IDs, correlation IDs, file IDs) pay.</p>
+ *
+ * <pre>{@code ./gradlew :common:jmh -PjmhIncludes=TimeOrderedIds}</pre>
+ */
+public class TimeOrderedIdsBenchmark {
+
+    private static final int CONTENDED_THREADS = 8;
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID timeOrderedUuid() {
+        return TimeOrderedIds.newUuid();
+    }
+
+    @Benchmark
+    public String randomUuidString() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrderedIdString() {
+        return TimeOrderedIds.newId();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public String randomUuidStringContended() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public String timeOrderedIdStringContended() {
+        return TimeOrderedIds.newId();
+    }
+}
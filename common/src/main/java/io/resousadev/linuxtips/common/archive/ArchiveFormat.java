@@ -0,0 +1,165 @@
+package io.resousadev.linuxtips.common.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk layout of archive segments and their sparse time index.
+ *
+ * <p>A segment file is a sequence of independently compressed blocks:</p>
+ * <pre>
+ * block  = [int magic][int crc32c][int rawLength][int compressedLength][int records]
+ *          [long minTimestamp][long maxTimestamp][deflate(records)]
+ * record = [long timestamp][short typeLength][type UTF-8][int bodyLength][body UTF-8]
+ * </pre>
+ *
+ * <p>The index file holds one entry per block ({@code [long offset][long minTimestamp][long
+ * maxTimestamp][int records]}), so a replay reads a few bytes per block to skip everything outside
+ * its time range. Segments whose index was never written (crash) are indexed by scanning the block
+ * headers, stopping at the first torn or corrupt block.</p>
+ */
+final class ArchiveFormat {
+
+    static final int BLOCK_MAGIC = 0x41524331;
+    static final int INDEX_MAGIC = 0x41524349;
+    static final int BLOCK_HEADER_BYTES = Integer.BYTES * 5 + Long.BYTES * 2;
+    static final int INDEX_ENTRY_BYTES = Long.BYTES * 3 + Integer.BYTES;
+    static final int RECORD_HEADER_BYTES = Long.BYTES + Short.BYTES + Integer.BYTES;
+
+    private ArchiveFormat() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Index entry of one block.
+     *
+     * @param offset block offset in the segment file
+     * @param minTimestamp earliest record time
+     * @param maxTimestamp latest record time
+     * @param records records in the block
+     */
+    record BlockIndex(long offset, long minTimestamp, long maxTimestamp, int records) {
+
+        boolean overlaps(final long fromMillis, final long toMillis) {
+            return minTimestamp < toMillis && maxTimestamp >= fromMillis;
+        }
+    }
+
+    static void writeBlockHeader(final ByteBuffer header, final int crc, final int rawLength,
+                                 final int compressedLength, final int records, final long minTimestamp,
+                                 final long maxTimestamp) {
+        header.clear();
+        header.putInt(BLOCK_MAGIC).putInt(crc).putInt(rawLength).putInt(compressedLength).putInt(records)
+                .putLong(minTimestamp).putLong(maxTimestamp).flip();
+    }
+
+    static void writeIndex(final Path indexFile, final List<BlockIndex> blocks) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + blocks.size() * INDEX_ENTRY_BYTES);
+        buffer.putInt(INDEX_MAGIC).putInt(blocks.size());
+        for (BlockIndex block : blocks) {
+            buffer.putLong(block.offset()).putLong(block.minTimestamp()).putLong(block.maxTimestamp())
+                    .putInt(block.records());
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Reads the index of a segment, or scans the segment when the index is missing or unreadable.
+     */
+    static List<BlockIndex> readIndex(final Path segmentFile, final Path indexFile) throws IOException {
+        if (indexFile != null && Files.isRegularFile(indexFile)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+            if (buffer.remaining() >= Integer.BYTES * 2 && buffer.getInt() == INDEX_MAGIC) {
+                final int count = buffer.getInt();
+                if (buffer.remaining() == count * INDEX_ENTRY_BYTES) {
+                    final List<BlockIndex> blocks = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        blocks.add(new BlockIndex(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                                buffer.getInt()));
+                    }
+                    return blocks;
+                }
+            }
+        }
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            return scan(channel);
+        }
+    }
+
+    /**
+     * Indexes a segment from its block headers; stops at the first torn or corrupt block.
+     */
+    static List<BlockIndex> scan(final FileChannel channel) throws IOException {
+        final List<BlockIndex> blocks = new ArrayList<>();
+        final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        final long size = channel.size();
+        long offset = 0;
+        while (offset + BLOCK_HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, offset);
+            header.flip();
+            final int magic = header.getInt();
+            final int crc = header.getInt();
+            header.getInt();
+            final int compressedLength = header.getInt();
+            final int records = header.getInt();
+            final long minTimestamp = header.getLong();
+            final long maxTimestamp = header.getLong();
+            final long end = offset + BLOCK_HEADER_BYTES + compressedLength;
+            if (magic != BLOCK_MAGIC || compressedLength < 0 || end > size) {
+                break;
+            }
+            final ByteBuffer compressed = ByteBuffer.allocate(compressedLength);
+            readFully(channel, compressed, offset + BLOCK_HEADER_BYTES);
+            if (crc(compressed.array(), compressedLength) != crc) {
+                break;
+            }
+            blocks.add(new BlockIndex(offset, minTimestamp, maxTimestamp, records));
+            offset = end;
+        }
+        return blocks;
+    }
+
+    static int crc(final byte[] bytes, final int length) {
+        final CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new IOException("Unexpected end of archive segment at offset " + current);
+            }
+            current += read;
+        }
+    }
+
+    static long endOf(final List<BlockIndex> blocks, final FileChannel channel) throws IOException {
+        if (blocks.isEmpty()) {
+            return 0;
+        }
+        final BlockIndex last = blocks.get(blocks.size() - 1);
+        final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        readFully(channel, header, last.offset());
+        header.flip();
+        return last.offset() + BLOCK_HEADER_BYTES + header.getInt(Integer.BYTES * 3);
+    }
+}
@@ -0,0 +1,59 @@
+package io.resousadev.linuxtips.common.archive;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A sealed archive segment: a compressed segment file plus its sparse time index.
+ *
+ * <p>The file name carries the time range, {@code events-<minMillis>-<maxMillis>-<id>.arc} (index:
+ * {@code .idx}), so stores can select segments for a replay without opening them.</p>
+ *
+ * @param id unique segment id
+ * @param minTimestamp earliest event time in the segment, epoch milliseconds
+ * @param maxTimestamp latest event time in the segment, epoch milliseconds
+ */
+public record ArchiveSegment(String id, long minTimestamp, long maxTimestamp) {
+
+    /** Segment file extension. */
+    public static final String SEGMENT_SUFFIX = ".arc";
+
+    /** Index file extension. */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final Pattern NAME = Pattern.compile("events-(\\d{13})-(\\d{13})-([0-9a-f-]+)\\.arc");
+
+    /**
+     * Parses a segment file name.
+     *
+     * @param fileName file name, e.g. {@code events-1760000000000-1760003599999-<id>.arc}
+     * @return the segment, or {@code null} if the name is not a segment file name
+     */
+    public static ArchiveSegment parse(final String fileName) {
+        final Matcher matcher = NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new ArchiveSegment(matcher.group(3), Long.parseLong(matcher.group(1)),
+                Long.parseLong(matcher.group(2)));
+    }
+
+    /**
+     * Returns whether the segment may hold events in {@code [fromMillis, toMillis)}.
+     */
+    public boolean overlaps(final long fromMillis, final long toMillis) {
+        return minTimestamp < toMillis && maxTimestamp >= fromMillis;
+    }
+
+    public String segmentFileName() {
+        return baseName() + SEGMENT_SUFFIX;
+    }
+
+    public String indexFileName() {
+        return baseName() + INDEX_SUFFIX;
+    }
+
+    private String baseName() {
+        return String.format("events-%013d-%013d-%s", minTimestamp, maxTimestamp, id);
+    }
+}
@@ -0,0 +1,144 @@
+package io.resousadev.linuxtips.common.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Streams the events of one archive segment that fall in a time range and match a set of types.
+ *
+ * <p>Blocks outside the range are skipped through the sparse index without being read. Inside a
+ * block, records of other types are skipped without decoding their body. Buffers and the
+ * {@link Inflater} are reused across blocks and segments: create one reader per thread.</p>
+ */
+public final class ArchiveSegmentReader implements AutoCloseable {
+
+    private final Inflater inflater = new Inflater();
+    private final ByteBuffer header = ByteBuffer.allocate(ArchiveFormat.BLOCK_HEADER_BYTES);
+    private ByteBuffer compressed = ByteBuffer.allocate(0);
+    private byte[] raw = new byte[0];
+
+    /**
+     * Result of reading one segment.
+     *
+     * @param blocksRead blocks decompressed
+     * @param blocksSkipped blocks skipped through the index
+     * @param events events passed to the consumer
+     */
+    public record Stats(int blocksRead, int blocksSkipped, long events) {
+    }
+
+    /**
+     * Reads the matching events of a segment in archive order.
+     *
+     * @param files segment and index files
+     * @param fromMillis range start (inclusive), epoch milliseconds
+     * @param toMillis range end (exclusive), epoch milliseconds
+     * @param eventTypes types to return; empty for all
+     * @param consumer receives each matching event
+     * @return read statistics
+     * @throws IOException if the segment cannot be read or a block is corrupt
+     */
+    public Stats read(final ArchiveStore.SegmentFiles files, final long fromMillis, final long toMillis,
+                      final Set<String> eventTypes, final Consumer<ArchivedEvent> consumer) throws IOException {
+        final List<ArchiveFormat.BlockIndex> blocks = ArchiveFormat.readIndex(files.segmentFile(), files.indexFile());
+        final byte[][] types = eventTypes.stream().map(type -> type.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        int blocksRead = 0;
+        long events = 0;
+        try (FileChannel channel = FileChannel.open(files.segmentFile(), StandardOpenOption.READ)) {
+            for (ArchiveFormat.BlockIndex block : blocks) {
+                if (!block.overlaps(fromMillis, toMillis)) {
+                    continue;
+                }
+                final int rawLength = readBlock(channel, block.offset(), files.segmentFile());
+                blocksRead++;
+                events += decode(rawLength, fromMillis, toMillis, types, consumer);
+            }
+        }
+        return new Stats(blocksRead, blocks.size() - blocksRead, events);
+    }
+
+    @Override
+    public void close() {
+        inflater.end();
+    }
+
+    private int readBlock(final FileChannel channel, final long offset, final Path segmentFile) throws IOException {
+        header.clear();
+        ArchiveFormat.readFully(channel, header, offset);
+        header.flip();
+        final int magic = header.getInt();
+        final int crc = header.getInt();
+        final int rawLength = header.getInt();
+        final int compressedLength = header.getInt();
+        if (magic != ArchiveFormat.BLOCK_MAGIC) {
+            throw new IOException("Corrupt archive block: file=" + segmentFile + ", offset=" + offset);
+        }
+        if (compressed.capacity() < compressedLength) {
+            compressed = ByteBuffer.allocate(compressedLength);
+        }
+        compressed.clear().limit(compressedLength);
+        ArchiveFormat.readFully(channel, compressed, offset + ArchiveFormat.BLOCK_HEADER_BYTES);
+        if (ArchiveFormat.crc(compressed.array(), compressedLength) != crc) {
+            throw new IOException("Archive block checksum mismatch: file=" + segmentFile + ", offset=" + offset);
+        }
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        inflater.reset();
+        inflater.setInput(compressed.array(), 0, compressedLength);
+        try {
+            final int inflated = inflater.inflate(raw, 0, rawLength);
+            if (inflated != rawLength) {
+                throw new IOException("Truncated archive block: file=" + segmentFile + ", offset=" + offset);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block: file=" + segmentFile + ", offset=" + offset, e);
+        }
+        return rawLength;
+    }
+
+    private long decode(final int rawLength, final long fromMillis, final long toMillis, final byte[][] types,
+                        final Consumer<ArchivedEvent> consumer) {
+        final ByteBuffer buffer = ByteBuffer.wrap(raw, 0, rawLength);
+        long events = 0;
+        while (buffer.hasRemaining()) {
+            final long timestamp = buffer.getLong();
+            final int typeLength = buffer.getShort();
+            final int typeOffset = buffer.position();
+            buffer.position(typeOffset + typeLength);
+            final int bodyLength = buffer.getInt();
+            final int bodyOffset = buffer.position();
+            buffer.position(bodyOffset + bodyLength);
+
+            if (timestamp < fromMillis || timestamp >= toMillis
+                    || types.length > 0 && !matches(types, typeOffset, typeLength)) {
+                continue;
+            }
+            consumer.accept(new ArchivedEvent(timestamp,
+                    new String(raw, typeOffset, typeLength, StandardCharsets.UTF_8),
+                    new String(raw, bodyOffset, bodyLength, StandardCharsets.UTF_8)));
+            events++;
+        }
+        return events;
+    }
+
+    private boolean matches(final byte[][] types, final int offset, final int length) {
+        for (byte[] candidate : types) {
+            if (Arrays.equals(raw, offset, offset + length, candidate, 0, candidate.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
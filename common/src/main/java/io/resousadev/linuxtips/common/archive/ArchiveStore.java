@@ -0,0 +1,60 @@
+package io.resousadev.linuxtips.common.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Where sealed archive segments live (local directory, S3, ...).
+ */
+public interface ArchiveStore {
+
+    /**
+     * Takes ownership of a sealed segment; the files may be moved or deleted.
+     *
+     * @param segment the segment
+     * @param segmentFile compressed segment file
+     * @param indexFile sparse time index
+     * @throws IOException if the segment could not be stored; the files are left in place
+     */
+    void put(ArchiveSegment segment, Path segmentFile, Path indexFile) throws IOException;
+
+    /**
+     * Lists the segments that may hold events in {@code [fromMillis, toMillis)}, oldest first.
+     *
+     * @param fromMillis range start (inclusive), epoch milliseconds
+     * @param toMillis range end (exclusive), epoch milliseconds
+     * @return matching segments sorted by {@link ArchiveSegment#minTimestamp()}, then id
+     * @throws IOException if the store cannot be listed
+     */
+    List<ArchiveSegment> find(long fromMillis, long toMillis) throws IOException;
+
+    /**
+     * Makes a segment readable from the local disk.
+     *
+     * @param segment the segment
+     * @return local files; close to release temporary copies
+     * @throws IOException if the segment cannot be read
+     */
+    SegmentFiles open(ArchiveSegment segment) throws IOException;
+
+    /**
+     * Local files of a segment.
+     *
+     * @param segmentFile compressed segment file
+     * @param indexFile sparse time index
+     * @param temporary whether the files are a copy deleted on {@link #close()}
+     */
+    record SegmentFiles(Path segmentFile, Path indexFile, boolean temporary) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            if (temporary) {
+                Files.deleteIfExists(segmentFile);
+                Files.deleteIfExists(indexFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.resousadev.linuxtips.common.archive;
+
+/**
+ * One event stored in the archive.
+ *
+ * @param timestampMillis time the event was archived, epoch milliseconds
+ * @param eventType event type (EventBridge {@code detail-type} or {@code BaseEvent.eventType})
+ * @param body raw message body as received
+ */
+public record ArchivedEvent(long timestampMillis, String eventType, String body) {
+}
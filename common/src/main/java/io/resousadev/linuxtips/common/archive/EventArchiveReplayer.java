@@ -0,0 +1,212 @@
+package io.resousadev.linuxtips.common.archive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams archived events of a time range back through a handler, segment by segment in parallel.
+ *
+ * <p>Each worker takes the next segment from a shared queue and reads it sequentially (sparse
+ * index, then only the blocks in range), so throughput scales with {@code parallelism} until the
+ * disk or the handler saturates. Events of one segment are handled in archive order; segments run
+ * concurrently, so with {@code parallelism > 1} there is no global order and handlers must be
+ * idempotent and order-insensitive (replays are at-least-once anyway).</p>
+ *
+ * <p>A handler failure is counted and logged, and the replay continues; a segment that cannot be
+ * read fails only that segment.</p>
+ */
+@Slf4j
+public final class EventArchiveReplayer {
+
+    private static final int MAX_LOGGED_FAILURES = 10;
+
+    /**
+     * Receives replayed events; may be called from several threads at once.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Handles one replayed event.
+         *
+         * @param event the archived event
+         * @throws Exception on failure; counted and logged
+         */
+        void handle(ArchivedEvent event) throws Exception;
+    }
+
+    private final ArchiveStore store;
+
+    /**
+     * Creates a replayer over a store.
+     *
+     * @param store archive store
+     */
+    public EventArchiveReplayer(final ArchiveStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Replays the events of {@code [fromMillis, toMillis)} whose type is in {@code eventTypes}.
+     *
+     * @param fromMillis range start (inclusive), epoch milliseconds
+     * @param toMillis range end (exclusive), epoch milliseconds
+     * @param eventTypes types to replay; empty for all
+     * @param parallelism segments read concurrently
+     * @param handler receives the events
+     * @param progress live counters, also used to cancel the replay
+     * @throws UncheckedIOException if the store cannot be listed
+     */
+    public void replay(final long fromMillis, final long toMillis, final Set<String> eventTypes,
+                       final int parallelism, final Handler handler, final ReplayProgress progress) {
+        final List<ArchiveSegment> segments;
+        try {
+            segments = store.find(fromMillis, toMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list archive segments", e);
+        }
+        progress.start(segments.size());
+        log.info("Archive replay started: from={}, to={}, eventTypes={}, segments={}, parallelism={}",
+                fromMillis, toMillis, eventTypes, segments.size(), parallelism);
+
+        final Queue<ArchiveSegment> pending = new ConcurrentLinkedQueue<>(segments);
+        final int workerCount = Math.max(1, Math.min(parallelism, segments.size()));
+        final AtomicInteger workerIds = new AtomicInteger();
+        final ExecutorService workers = Executors.newFixedThreadPool(workerCount,
+                runnable -> Thread.ofPlatform().name("archive-replay-" + workerIds.incrementAndGet())
+                        .daemon().unstarted(runnable));
+        try {
+            final List<Future<?>> tasks = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                tasks.add(workers.submit(() -> {
+                    try (ArchiveSegmentReader reader = new ArchiveSegmentReader()) {
+                        ArchiveSegment segment;
+                        while (!progress.isCancelled() && (segment = pending.poll()) != null) {
+                            replaySegment(reader, segment, fromMillis, toMillis, eventTypes, handler, progress);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.cancel();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Archive replay worker failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        log.info("Archive replay finished: events={}, failures={}, segments={}, failedSegments={}, "
+                        + "blocksRead={}, blocksSkipped={}, cancelled={}",
+                progress.getEvents(), progress.getFailures(), progress.getSegmentsDone(),
+                progress.getFailedSegments(), progress.getBlocksRead(), progress.getBlocksSkipped(),
+                progress.isCancelled());
+    }
+
+    private void replaySegment(final ArchiveSegmentReader reader, final ArchiveSegment segment,
+                               final long fromMillis, final long toMillis, final Set<String> eventTypes,
+                               final Handler handler, final ReplayProgress progress) {
+        try (ArchiveStore.SegmentFiles files = store.open(segment)) {
+            final ArchiveSegmentReader.Stats stats = reader.read(files, fromMillis, toMillis, eventTypes, event -> {
+                if (progress.isCancelled()) {
+                    return;
+                }
+                try {
+                    handler.handle(event);
+                    progress.events.increment();
+                } catch (Exception e) {
+                    progress.failures.increment();
+                    if (progress.failures.sum() <= MAX_LOGGED_FAILURES) {
+                        log.warn("Archive replay handler failed: eventType={}, timestamp={}, error={}",
+                                event.eventType(), event.timestampMillis(), e.getMessage());
+                    }
+                }
+            });
+            progress.blocksRead.add(stats.blocksRead());
+            progress.blocksSkipped.add(stats.blocksSkipped());
+        } catch (IOException | RuntimeException e) {
+            progress.failedSegments.increment();
+            log.error("Archive replay segment failed: segment={}, error={}",
+                    segment.segmentFileName(), e.getMessage(), e);
+        } finally {
+            progress.segmentsDone.increment();
+        }
+    }
+
+    /**
+     * Live counters of a replay; safe to read from any thread while it runs.
+     */
+    public static final class ReplayProgress {
+
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final LongAdder events = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder segmentsDone = new LongAdder();
+        private final LongAdder failedSegments = new LongAdder();
+        private final LongAdder blocksRead = new LongAdder();
+        private final LongAdder blocksSkipped = new LongAdder();
+        private volatile int segments = -1;
+
+        /**
+         * Asks the workers to stop after their current event.
+         */
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        /**
+         * Segments selected for the replay, or {@code -1} before they are listed.
+         */
+        public int getSegments() {
+            return segments;
+        }
+
+        public long getSegmentsDone() {
+            return segmentsDone.sum();
+        }
+
+        public long getFailedSegments() {
+            return failedSegments.sum();
+        }
+
+        public long getEvents() {
+            return events.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getBlocksRead() {
+            return blocksRead.sum();
+        }
+
+        public long getBlocksSkipped() {
+            return blocksSkipped.sum();
+        }
+
+        private void start(final int segmentCount) {
+            this.segments = segmentCount;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package io.resousadev.linuxtips.common.archive;
+
+import io.resousadev.linuxtips.common.id.TimeOrderedIds;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+/**
+ * Appends consumed events to compressed, time-partitioned archive segments.
+ *
+ * <p>Events are encoded into an in-memory block; a block is deflated and appended to the active
+ * segment file when it reaches {@code blockBytes} or every {@code flushInterval}, whichever comes
+ * first, so the archive costs an encode and a memory copy per event. Each block gets an entry in
+ * the segment's sparse time index ({@link ArchiveFormat}).</p>
+ *
+ * <p>The active segment is sealed when the time partition ends (e.g. every hour) or when it
+ * reaches {@code maxSegmentBytes}: its index is written, the file is renamed after its time range
+ * and handed to the {@link ArchiveStore} on a background thread, so an S3 upload never blocks a
+ * consumer. Segments the store refused are retried on the next flush; segments left behind by a
+ * crash are indexed (dropping a torn last block) and stored on the next {@link #open}.</p>
+ *
+ * <p>At most the last {@code flushInterval} of events is lost on a crash. Archiving never fails
+ * the caller: errors are logged and counted.</p>
+ */
+@Slf4j
+public final class EventArchiveWriter implements Closeable {
+
+    private static final String ACTIVE_PREFIX = "active-";
+    private static final int MAX_TYPE_BYTES = Short.MAX_VALUE;
+    private static final long NO_PARTITION = Long.MIN_VALUE;
+
+    /**
+     * Writer settings.
+     *
+     * @param partition time partition of a segment; a segment never spans two partitions
+     * @param maxSegmentBytes compressed size at which the active segment is sealed early
+     * @param blockBytes uncompressed size of a block (the index granularity)
+     * @param flushInterval maximum time an event stays in memory before reaching the segment file
+     */
+    public record Settings(Duration partition, long maxSegmentBytes, int blockBytes, Duration flushInterval) {
+    }
+
+    private final Path workDirectory;
+    private final ArchiveStore store;
+    private final long partitionMillis;
+    private final long maxSegmentBytes;
+    private final int blockBytes;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final ByteBuffer header = ByteBuffer.allocate(ArchiveFormat.BLOCK_HEADER_BYTES);
+    private final ScheduledExecutorService background;
+    private final Queue<Path> unstored = new ConcurrentLinkedQueue<>();
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder sealed = new LongAdder();
+
+    private byte[] block;
+    private int blockLength;
+    private int blockRecords;
+    private long blockMin = Long.MAX_VALUE;
+    private long blockMax = Long.MIN_VALUE;
+    private byte[] compressed;
+
+    private long partition = NO_PARTITION;
+    private ActiveSegment active;
+    private boolean closed;
+
+    private EventArchiveWriter(final Path workDirectory, final ArchiveStore store, final Settings settings,
+                               final LongSupplier clock) {
+        this.workDirectory = workDirectory;
+        this.store = store;
+        this.partitionMillis = settings.partition().toMillis();
+        this.maxSegmentBytes = settings.maxSegmentBytes();
+        this.blockBytes = settings.blockBytes();
+        this.clock = clock;
+        this.block = new byte[settings.blockBytes()];
+        this.compressed = new byte[settings.blockBytes()];
+        this.background = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-archive-writer").daemon().factory());
+        final long intervalMillis = settings.flushInterval().toMillis();
+        background.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a writer, storing the segments a previous run left in {@code workDirectory}.
+     *
+     * @param workDirectory directory for the active segment
+     * @param store where sealed segments go
+     * @param settings writer settings
+     * @return the writer
+     * @throws IOException if the work directory cannot be used
+     */
+    public static EventArchiveWriter open(final Path workDirectory, final ArchiveStore store,
+                                          final Settings settings) throws IOException {
+        return open(workDirectory, store, settings, System::currentTimeMillis);
+    }
+
+    /**
+     * Opens a writer with an explicit wall clock (tests).
+     *
+     * @param workDirectory directory for the active segment
+     * @param store where sealed segments go
+     * @param settings writer settings
+     * @param clock epoch-millisecond time source
+     * @return the writer
+     * @throws IOException if the work directory cannot be used
+     */
+    public static EventArchiveWriter open(final Path workDirectory, final ArchiveStore store,
+                                          final Settings settings, final LongSupplier clock) throws IOException {
+        if (settings.partition().toMillis() <= 0 || settings.blockBytes() <= ArchiveFormat.RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("Invalid archive settings: " + settings);
+        }
+        Files.createDirectories(workDirectory);
+        final EventArchiveWriter writer = new EventArchiveWriter(workDirectory, store, settings, clock);
+        try {
+            writer.recover();
+        } catch (IOException | RuntimeException e) {
+            writer.background.shutdownNow();
+            throw e;
+        }
+        return writer;
+    }
+
+    /**
+     * Archives an event with the current time.
+     *
+     * @param eventType event type
+     * @param body raw message body
+     */
+    public void append(final String eventType, final String body) {
+        append(clock.getAsLong(), eventType, body);
+    }
+
+    /**
+     * Archives an event.
+     *
+     * @param timestampMillis event time, epoch milliseconds
+     * @param eventType event type
+     * @param body raw message body
+     */
+    public void append(final long timestampMillis, final String eventType, final String body) {
+        final byte[] type = Objects.requireNonNullElse(eventType, "").getBytes(StandardCharsets.UTF_8);
+        final byte[] payload = Objects.requireNonNullElse(body, "").getBytes(StandardCharsets.UTF_8);
+        if (type.length > MAX_TYPE_BYTES) {
+            failed.increment();
+            log.warn("Event type too long to archive: length={}", type.length);
+            return;
+        }
+        final int recordBytes = ArchiveFormat.RECORD_HEADER_BYTES + type.length + payload.length;
+
+        lock.lock();
+        try {
+            if (closed) {
+                failed.increment();
+                return;
+            }
+            rollIfPartitionEnded(timestampMillis);
+            if (blockLength > 0 && blockLength + recordBytes > block.length) {
+                writeBlock();
+            }
+            if (partition == NO_PARTITION) {
+                partition = Math.floorDiv(timestampMillis, partitionMillis);
+            }
+            if (recordBytes > block.length) {
+                // Oversized event: gets a block of its own
+                block = new byte[recordBytes];
+            }
+            final ByteBuffer record = ByteBuffer.wrap(block, blockLength, recordBytes);
+            record.putLong(timestampMillis).putShort((short) type.length).put(type).putInt(payload.length).put(payload);
+            blockLength += recordBytes;
+            blockRecords++;
+            blockMin = Math.min(blockMin, timestampMillis);
+            blockMax = Math.max(blockMax, timestampMillis);
+            archived.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.error("Event archive append failed: eventType={}, error={}", eventType, e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the pending block to the active segment and forces it to disk; seals the active segment
+     * once its partition has ended and retries segments the store refused earlier.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            rollIfPartitionEnded(clock.getAsLong());
+            if (blockLength > 0) {
+                writeBlock();
+            }
+            if (active != null && active.dirty) {
+                active.channel.force(false);
+                active.dirty = false;
+            }
+        } catch (IOException e) {
+            log.error("Event archive flush failed: directory={}, error={}", workDirectory, e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+        retryUnstored();
+    }
+
+    /**
+     * Seals the active segment, hands it to the store and stops the background thread.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (blockLength > 0) {
+                writeBlock();
+            }
+            seal();
+        } catch (IOException e) {
+            log.error("Event archive close failed: directory={}, error={}", workDirectory, e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+        background.shutdown();
+        try {
+            background.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deflater.end();
+    }
+
+    /**
+     * Events accepted since start.
+     */
+    public long getArchivedCount() {
+        return archived.sum();
+    }
+
+    /**
+     * Events that could not be archived.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Segments sealed since start.
+     */
+    public long getSealedCount() {
+        return sealed.sum();
+    }
+
+    private void rollIfPartitionEnded(final long timestampMillis) throws IOException {
+        if (partition != NO_PARTITION && Math.floorDiv(timestampMillis, partitionMillis) > partition) {
+            if (blockLength > 0) {
+                writeBlock();
+            }
+            seal();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (active == null) {
+            active = ActiveSegment.create(workDirectory);
+        }
+        deflater.reset();
+        deflater.setInput(block, 0, blockLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        ArchiveFormat.writeBlockHeader(header, ArchiveFormat.crc(compressed, compressedLength), blockLength,
+                compressedLength, blockRecords, blockMin, blockMax);
+        final long offset = active.size;
+        final ByteBuffer[] buffers = {header, ByteBuffer.wrap(compressed, 0, compressedLength)};
+        while (buffers[1].hasRemaining()) {
+            active.channel.write(buffers);
+        }
+        active.blocks.add(new ArchiveFormat.BlockIndex(offset, blockMin, blockMax, blockRecords));
+        active.size = offset + ArchiveFormat.BLOCK_HEADER_BYTES + compressedLength;
+        active.minTimestamp = Math.min(active.minTimestamp, blockMin);
+        active.maxTimestamp = Math.max(active.maxTimestamp, blockMax);
+        active.dirty = true;
+
+        blockLength = 0;
+        blockRecords = 0;
+        blockMin = Long.MAX_VALUE;
+        blockMax = Long.MIN_VALUE;
+        if (block.length > blockBytes) {
+            // Shrink back after an oversized event
+            block = new byte[blockBytes];
+        }
+        if (active.size >= maxSegmentBytes) {
+            seal();
+        }
+    }
+
+    private void seal() throws IOException {
+        final ActiveSegment segment = active;
+        if (blockLength == 0) {
+            partition = NO_PARTITION;
+        }
+        if (segment == null) {
+            return;
+        }
+        active = null;
+        segment.channel.force(false);
+        segment.channel.close();
+        sealFile(segment.path, segment.blocks, segment.minTimestamp, segment.maxTimestamp);
+    }
+
+    private void sealFile(final Path activeFile, final List<ArchiveFormat.BlockIndex> blocks,
+                          final long minTimestamp, final long maxTimestamp) throws IOException {
+        if (blocks.isEmpty()) {
+            Files.deleteIfExists(activeFile);
+            return;
+        }
+        final ArchiveSegment segment = new ArchiveSegment(TimeOrderedIds.newId(), minTimestamp, maxTimestamp);
+        final Path indexFile = workDirectory.resolve(segment.indexFileName());
+        ArchiveFormat.writeIndex(indexFile, blocks);
+        final Path segmentFile = workDirectory.resolve(segment.segmentFileName());
+        Files.move(activeFile, segmentFile);
+        sealed.increment();
+        log.info("Event archive segment sealed: segment={}, blocks={}, bytes={}",
+                segment.segmentFileName(), blocks.size(), Files.size(segmentFile));
+        background.execute(() -> store(segment, segmentFile, indexFile));
+    }
+
+    private void store(final ArchiveSegment segment, final Path segmentFile, final Path indexFile) {
+        try {
+            store.put(segment, segmentFile, indexFile);
+        } catch (IOException | RuntimeException e) {
+            log.error("Event archive segment store failed, will retry: segment={}, error={}",
+                    segment.segmentFileName(), e.getMessage(), e);
+            unstored.add(segmentFile);
+        }
+    }
+
+    private void retryUnstored() {
+        for (int i = unstored.size(); i > 0; i--) {
+            final Path segmentFile = unstored.poll();
+            if (segmentFile == null) {
+                return;
+            }
+            final ArchiveSegment segment = ArchiveSegment.parse(segmentFile.getFileName().toString());
+            store(segment, segmentFile, workDirectory.resolve(segment.indexFileName()));
+        }
+    }
+
+    /**
+     * Seals segments a crash left active and stores sealed ones the store never received.
+     */
+    private void recover() throws IOException {
+        final List<Path> files;
+        try (Stream<Path> list = Files.list(workDirectory)) {
+            files = list.sorted().toList();
+        }
+        for (Path file : files) {
+            final String name = file.getFileName().toString();
+            if (name.startsWith(ACTIVE_PREFIX) && name.endsWith(ArchiveSegment.SEGMENT_SUFFIX)) {
+                final List<ArchiveFormat.BlockIndex> blocks;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    blocks = ArchiveFormat.scan(channel);
+                    // Drop a torn last block so the file only holds complete blocks
+                    channel.truncate(ArchiveFormat.endOf(blocks, channel));
+                }
+                final long min = blocks.stream().mapToLong(ArchiveFormat.BlockIndex::minTimestamp).min().orElse(0);
+                final long max = blocks.stream().mapToLong(ArchiveFormat.BlockIndex::maxTimestamp).max().orElse(0);
+                log.warn("Event archive recovering segment left active: file={}, blocks={}", name, blocks.size());
+                sealFile(file, blocks, min, max);
+            } else if (ArchiveSegment.parse(name) != null) {
+                unstored.add(file);
+            }
+        }
+        if (!unstored.isEmpty()) {
+            background.execute(this::retryUnstored);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Event archive flush failed: directory={}, error={}", workDirectory, e.getMessage(), e);
+        }
+    }
+
+    private static final class ActiveSegment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final List<ArchiveFormat.BlockIndex> blocks = new ArrayList<>();
+        private long size;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+        private boolean dirty;
+
+        private ActiveSegment(final Path path, final FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private static ActiveSegment create(final Path directory) throws IOException {
+            final Path path = directory.resolve(ACTIVE_PREFIX + TimeOrderedIds.newId() + ArchiveSegment.SEGMENT_SUFFIX);
+            return new ActiveSegment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE));
+        }
+    }
+}
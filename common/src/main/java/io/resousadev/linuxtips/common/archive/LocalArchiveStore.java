@@ -0,0 +1,68 @@
+package io.resousadev.linuxtips.common.archive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * {@link ArchiveStore} keeping sealed segments in a local directory.
+ */
+public final class LocalArchiveStore implements ArchiveStore {
+
+    private final Path directory;
+
+    /**
+     * Creates the store.
+     *
+     * @param directory directory holding the sealed segments; created if missing
+     * @throws IOException if the directory cannot be created
+     */
+    public LocalArchiveStore(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public void put(final ArchiveSegment segment, final Path segmentFile, final Path indexFile) throws IOException {
+        // Index first: a listed .arc file always has its index
+        move(indexFile, directory.resolve(segment.indexFileName()));
+        move(segmentFile, directory.resolve(segment.segmentFileName()));
+    }
+
+    @Override
+    public List<ArchiveSegment> find(final long fromMillis, final long toMillis) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> ArchiveSegment.parse(path.getFileName().toString()))
+                    .filter(Objects::nonNull)
+                    .filter(segment -> segment.overlaps(fromMillis, toMillis))
+                    .sorted(Comparator.comparingLong(ArchiveSegment::minTimestamp).thenComparing(ArchiveSegment::id))
+                    .toList();
+        }
+    }
+
+    @Override
+    public SegmentFiles open(final ArchiveSegment segment) {
+        return new SegmentFiles(directory.resolve(segment.segmentFileName()),
+                directory.resolve(segment.indexFileName()), false);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        if (source.equals(target)) {
+            return;
+        }
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Different file systems: copy, then delete
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.resousadev.linuxtips.common.archive;
+
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link ArchiveStore} keeping the sealed segments in S3.
+ *
+ * <p>Keys are partitioned by the day (UTC) of the segment's first event:
+ * {@code <prefix>/<yyyy-MM-dd>/events-...arc}. A search lists only the prefixes of the days in the
+ * range (plus the day before, as a segment may start before midnight) instead of the whole bucket,
+ * so the writer's partition must not exceed one day.</p>
+ *
+ * <p>For a replay, the segment is downloaded to a local directory and deleted once read.</p>
+ */
+public class S3ArchiveStore implements ArchiveStore {
+
+    /** Largest partition the listing by day supports. */
+    public static final Duration MAX_PARTITION = Duration.ofDays(1);
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String prefix;
+    private final Path scratchDirectory;
+
+    /**
+     * Creates the store.
+     *
+     * @param s3Client S3 client
+     * @param bucket bucket of the segments
+     * @param prefix key prefix, without a trailing slash
+     * @param scratchDirectory directory of the local copies read by replays
+     * @throws IOException if the local directory cannot be created
+     */
+    public S3ArchiveStore(final S3Client s3Client, final String bucket, final String prefix,
+                          final Path scratchDirectory) throws IOException {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.prefix = prefix;
+        this.scratchDirectory = Files.createDirectories(scratchDirectory);
+    }
+
+    @Override
+    public void put(final ArchiveSegment segment, final Path segmentFile, final Path indexFile) throws IOException {
+        try {
+            // Index first: every listed .arc has its index
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(key(segment, segment.indexFileName()))
+                    .build(), indexFile);
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(key(segment, segment.segmentFileName()))
+                    .build(), segmentFile);
+        } catch (SdkException e) {
+            throw new IOException("S3 upload failed: segment=" + segment.segmentFileName(), e);
+        }
+        Files.deleteIfExists(indexFile);
+        Files.deleteIfExists(segmentFile);
+    }
+
+    @Override
+    public List<ArchiveSegment> find(final long fromMillis, final long toMillis) throws IOException {
+        final List<ArchiveSegment> segments = new ArrayList<>();
+        final LocalDate last = day(toMillis);
+        try {
+            for (LocalDate day = day(fromMillis).minusDays(1); !day.isAfter(last); day = day.plusDays(1)) {
+                final ListObjectsV2Request request = ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(prefix + "/" + day + "/")
+                        .build();
+                for (S3Object object : s3Client.listObjectsV2Paginator(request).contents()) {
+                    final ArchiveSegment segment = ArchiveSegment.parse(fileName(object.key()));
+                    if (segment != null && segment.overlaps(fromMillis, toMillis)) {
+                        segments.add(segment);
+                    }
+                }
+            }
+        } catch (SdkException e) {
+            throw new IOException("S3 listing failed: bucket=" + bucket + ", prefix=" + prefix, e);
+        }
+        segments.sort(Comparator.comparingLong(ArchiveSegment::minTimestamp).thenComparing(ArchiveSegment::id));
+        return segments;
+    }
+
+    @Override
+    public SegmentFiles open(final ArchiveSegment segment) throws IOException {
+        final Path segmentFile = scratchDirectory.resolve(segment.segmentFileName());
+        final Path indexFile = scratchDirectory.resolve(segment.indexFileName());
+        final SegmentFiles files = new SegmentFiles(segmentFile, indexFile, true);
+        try {
+            download(key(segment, segment.indexFileName()), indexFile);
+            download(key(segment, segment.segmentFileName()), segmentFile);
+        } catch (SdkException e) {
+            files.close();
+            throw new IOException("S3 download failed: segment=" + segment.segmentFileName(), e);
+        }
+        return files;
+    }
+
+    private void download(final String key, final Path target) throws IOException {
+        Files.deleteIfExists(target);
+        s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build(), target);
+    }
+
+    private String key(final ArchiveSegment segment, final String fileName) {
+        return prefix + "/" + day(segment.minTimestamp()) + "/" + fileName;
+    }
+
+    private static LocalDate day(final long epochMillis) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static String fileName(final String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,150 @@
+package io.resousadev.linuxtips.common.aws;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsSyncClientBuilder;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.regions.Region;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Builds the AWS SDK clients of a service over one shared, tuned Apache HTTP client.
+ *
+ * <p>Without it every client (SQS, EventBridge, S3) gets its own default pool of 50 connections
+ * with the SDK's default timeouts. Here all clients share one pool sized by the service (see
+ * {@link Settings#maxConnections()}), with bounded connect, socket and pool-acquire timeouts,
+ * TCP keep-alive, idle connection reaping and TCP_NODELAY (the Apache client default). Every API
+ * call gets the configured attempt and total timeouts and publishes its metrics to the given
+ * {@link MetricPublisher}, typically an {@link HttpPoolMetrics}.</p>
+ *
+ * <p>The SDK clients built here do not own the HTTP client: close the factory after them.</p>
+ */
+@Slf4j
+public final class AwsClientFactory implements Closeable {
+
+    /**
+     * HTTP client and API call settings.
+     *
+     * @param maxConnections connections in the shared pool
+     * @param connectionTimeout TCP connect timeout
+     * @param socketTimeout read timeout; must exceed the SQS long-polling wait
+     * @param connectionAcquisitionTimeout how long a request waits for a pooled connection
+     * @param connectionMaxIdleTime idle time after which a pooled connection is closed
+     * @param connectionTimeToLive maximum lifetime of a connection (picks up DNS changes)
+     * @param apiCallAttemptTimeout timeout of one HTTP attempt
+     * @param apiCallTimeout timeout of an API call including retries
+     */
+    public record Settings(int maxConnections, Duration connectionTimeout, Duration socketTimeout,
+                           Duration connectionAcquisitionTimeout, Duration connectionMaxIdleTime,
+                           Duration connectionTimeToLive, Duration apiCallAttemptTimeout, Duration apiCallTimeout) {
+
+        /**
+         * Validates the settings.
+         */
+        public Settings {
+            if (maxConnections < 1 || apiCallTimeout.compareTo(apiCallAttemptTimeout) < 0) {
+                throw new IllegalArgumentException("Invalid AWS HTTP settings: maxConnections=" + maxConnections
+                        + ", apiCallAttemptTimeout=" + apiCallAttemptTimeout + ", apiCallTimeout=" + apiCallTimeout);
+            }
+        }
+    }
+
+    private final Settings settings;
+    private final Region region;
+    private final AwsCredentialsProvider credentialsProvider;
+    private final URI endpointOverride;
+    private final MetricPublisher metricPublisher;
+    private final SdkHttpClient httpClient;
+
+    /**
+     * Creates the shared HTTP client.
+     *
+     * @param settings HTTP client and API call settings
+     * @param region AWS region
+     * @param credentialsProvider credentials shared by all clients
+     * @param endpointOverride custom endpoint (LocalStack), or {@code null} for AWS
+     * @param metricPublisher publisher of the per-call SDK metrics
+     */
+    public AwsClientFactory(final Settings settings, final Region region,
+                            final AwsCredentialsProvider credentialsProvider, final URI endpointOverride,
+                            final MetricPublisher metricPublisher) {
+        this.settings = settings;
+        this.region = region;
+        this.credentialsProvider = credentialsProvider;
+        this.endpointOverride = endpointOverride;
+        this.metricPublisher = metricPublisher;
+        this.httpClient = ApacheHttpClient.builder()
+                .maxConnections(settings.maxConnections())
+                .connectionTimeout(settings.connectionTimeout())
+                .socketTimeout(settings.socketTimeout())
+                .connectionAcquisitionTimeout(settings.connectionAcquisitionTimeout())
+                .connectionMaxIdleTime(settings.connectionMaxIdleTime())
+                .connectionTimeToLive(settings.connectionTimeToLive())
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(true)
+                .build();
+        log.info("AWS HTTP client created: region={}, endpoint={}, maxConnections={}, acquisitionTimeout={}, "
+                        + "attemptTimeout={}", region, endpointOverride != null ? endpointOverride : "aws",
+                settings.maxConnections(), settings.connectionAcquisitionTimeout(), settings.apiCallAttemptTimeout());
+    }
+
+    /**
+     * Configures a client builder with the shared HTTP client, region, credentials, endpoint and
+     * timeouts, and builds the client.
+     *
+     * @param builder the service client builder, with any service-specific options already set
+     * @param <B> builder type
+     * @param <C> client type
+     * @return the client
+     */
+    public <B extends AwsClientBuilder<B, C> & AwsSyncClientBuilder<B, C>, C> C build(final B builder) {
+        return build(builder, settings.apiCallAttemptTimeout());
+    }
+
+    /**
+     * Like {@link #build(AwsClientBuilder)} with a different attempt timeout, for clients whose calls
+     * legitimately wait (SQS long polling).
+     *
+     * @param builder the service client builder
+     * @param apiCallAttemptTimeout timeout of one HTTP attempt
+     * @param <B> builder type
+     * @param <C> client type
+     * @return the client
+     */
+    public <B extends AwsClientBuilder<B, C> & AwsSyncClientBuilder<B, C>, C> C build(
+            final B builder, final Duration apiCallAttemptTimeout) {
+        builder.region(region)
+                .credentialsProvider(credentialsProvider)
+                .httpClient(httpClient)
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallAttemptTimeout(apiCallAttemptTimeout)
+                        .apiCallTimeout(settings.apiCallTimeout().compareTo(apiCallAttemptTimeout) < 0
+                                ? apiCallAttemptTimeout
+                                : settings.apiCallTimeout())
+                        .addMetricPublisher(metricPublisher)
+                        .build());
+        if (endpointOverride != null) {
+            builder.endpointOverride(endpointOverride);
+        }
+        return builder.build();
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Closes the shared HTTP client.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,122 @@
+package io.resousadev.linuxtips.common.aws;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricPublisher} that keeps the connection pool state reported by the SDK HTTP client on
+ * every request attempt.
+ *
+ * <p>The pool gauges (leased, pending, available and maximum connections) hold the values of the
+ * most recent attempt; the counters and the acquire time add up across attempts. A request that had
+ * to queue for a connection means the pool is too small for the concurrency using it; the first one
+ * in each {@code warnInterval} is logged at WARN.</p>
+ */
+@Slf4j
+public final class HttpPoolMetrics implements MetricPublisher {
+
+    private final long warnIntervalNanos;
+    private final AtomicLong lastWarnNanos;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder queuedRequests = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+
+    private volatile int leased;
+    private volatile int pending;
+    private volatile int available;
+    private volatile int maxConnections;
+
+    /**
+     * Creates the publisher.
+     *
+     * @param warnInterval minimum interval between pool saturation warnings
+     */
+    public HttpPoolMetrics(final Duration warnInterval) {
+        this.warnIntervalNanos = warnInterval.toNanos();
+        this.lastWarnNanos = new AtomicLong(System.nanoTime() - warnIntervalNanos);
+    }
+
+    @Override
+    public void publish(final MetricCollection metricCollection) {
+        record(metricCollection);
+    }
+
+    private void record(final MetricCollection collection) {
+        final List<Integer> leasedValues = collection.metricValues(HttpMetric.LEASED_CONCURRENCY);
+        if (!leasedValues.isEmpty()) {
+            recordAttempt(collection, leasedValues.getFirst());
+        }
+        for (MetricCollection child : collection.children()) {
+            record(child);
+        }
+    }
+
+    private void recordAttempt(final MetricCollection httpClient, final int leasedConnections) {
+        final int pendingAcquires = first(httpClient.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES));
+        leased = leasedConnections;
+        pending = pendingAcquires;
+        available = first(httpClient.metricValues(HttpMetric.AVAILABLE_CONCURRENCY));
+        maxConnections = first(httpClient.metricValues(HttpMetric.MAX_CONCURRENCY));
+        requests.increment();
+        for (Duration acquire : httpClient.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+            acquireNanos.add(acquire.toNanos());
+        }
+        if (pendingAcquires > 0) {
+            queuedRequests.increment();
+            warnSaturated();
+        }
+    }
+
+    private void warnSaturated() {
+        final long now = System.nanoTime();
+        final long last = lastWarnNanos.get();
+        if (now - last >= warnIntervalNanos && lastWarnNanos.compareAndSet(last, now)) {
+            log.warn("AWS HTTP connection pool saturated: leased={}, max={}, pending={}, queuedRequests={}",
+                    leased, maxConnections, pending, queuedRequests.sum());
+        }
+    }
+
+    private static int first(final List<Integer> values) {
+        return values.isEmpty() ? 0 : values.getFirst();
+    }
+
+    @Override
+    public void close() {
+        // Nothing buffered
+    }
+
+    public int getLeasedConnections() {
+        return leased;
+    }
+
+    public int getPendingAcquires() {
+        return pending;
+    }
+
+    public int getAvailableConnections() {
+        return available;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getQueuedRequestCount() {
+        return queuedRequests.sum();
+    }
+
+    public long getAcquireTimeNanos() {
+        return acquireNanos.sum();
+    }
+}
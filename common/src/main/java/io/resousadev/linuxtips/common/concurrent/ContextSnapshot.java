@@ -0,0 +1,104 @@
+package io.resousadev.linuxtips.common.concurrent;
+
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Immutable copy of the thread-bound context of the submitting thread.
+ *
+ * <p>The MDC (correlation ID, traceparent, ...) is always carried; anything else thread-bound is
+ * carried by the {@link ThreadContextPropagator}s passed to {@link #capture(Collection)}. Executors
+ * wrap each task with {@link #wrap(Runnable)} so the task sees the submitter's context and leaves the
+ * executing thread exactly as it found it.</p>
+ *
+ * <pre>{@code
+ * TaskDecorator decorator = task -> ContextSnapshot.capture(propagators).wrap(task);
+ * }</pre>
+ */
+public final class ContextSnapshot {
+
+    private final Map<String, String> mdc;
+    private final List<ThreadContextPropagator.Installer> installers;
+
+    private ContextSnapshot(final Map<String, String> mdc, final List<ThreadContextPropagator.Installer> installers) {
+        this.mdc = mdc;
+        this.installers = installers;
+    }
+
+    /**
+     * Captures the MDC of the current thread.
+     */
+    public static ContextSnapshot capture() {
+        return new ContextSnapshot(MDC.getCopyOfContextMap(), List.of());
+    }
+
+    /**
+     * Captures the MDC and the state handled by the given propagators.
+     *
+     * @param propagators additional thread-bound state to carry
+     * @return the snapshot
+     */
+    public static ContextSnapshot capture(final Collection<? extends ThreadContextPropagator> propagators) {
+        return new ContextSnapshot(MDC.getCopyOfContextMap(),
+                propagators.stream().map(ThreadContextPropagator::capture).toList());
+    }
+
+    /**
+     * Binds the snapshot to the current thread.
+     *
+     * @return scope restoring the thread's previous context when closed
+     */
+    public TraceContext.Scope install() {
+        final Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+
+        final Deque<TraceContext.Scope> scopes = new ArrayDeque<>(installers.size());
+        for (ThreadContextPropagator.Installer installer : installers) {
+            scopes.push(installer.install());
+        }
+
+        return () -> {
+            while (!scopes.isEmpty()) {
+                scopes.pop().close();
+            }
+            if (previousMdc == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(previousMdc);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it runs with this snapshot installed.
+     */
+    public Runnable wrap(final Runnable task) {
+        return () -> {
+            try (TraceContext.Scope ignored = install()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it runs with this snapshot installed.
+     */
+    public <T> Callable<T> wrap(final Callable<T> task) {
+        return () -> {
+            try (TraceContext.Scope ignored = install()) {
+                return task.call();
+            }
+        };
+    }
+}
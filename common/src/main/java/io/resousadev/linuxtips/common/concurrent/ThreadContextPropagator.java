@@ -0,0 +1,37 @@
+package io.resousadev.linuxtips.common.concurrent;
+
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+
+/**
+ * Carries one piece of thread-bound state (e.g. the Spring Security context) across a thread hop.
+ *
+ * <p>{@link #capture()} runs on the submitting thread; the returned {@link Installer} runs on the
+ * executing thread and must undo itself when its scope is closed, since pooled and virtual threads
+ * alike must not leak state into the next task.</p>
+ *
+ * @see ContextSnapshot
+ */
+@FunctionalInterface
+public interface ThreadContextPropagator {
+
+    /**
+     * Captures the current value on the submitting thread.
+     *
+     * @return installer applying the captured value on the executing thread
+     */
+    Installer capture();
+
+    /**
+     * Installs a captured value on the executing thread.
+     */
+    @FunctionalInterface
+    interface Installer {
+
+        /**
+         * Binds the captured value to the current thread.
+         *
+         * @return scope restoring the previous value when closed
+         */
+        TraceContext.Scope install();
+    }
+}
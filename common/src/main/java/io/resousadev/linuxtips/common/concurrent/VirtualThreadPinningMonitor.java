@@ -0,0 +1,97 @@
+package io.resousadev.linuxtips.common.concurrent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that block while pinned to their carrier.
+ *
+ * <p>On Java 21 a virtual thread that blocks inside a {@code synchronized} block (or a native frame)
+ * cannot unmount, so it holds a carrier thread for the whole I/O call and silently caps concurrency
+ * at the number of carriers. This monitor streams the JFR {@code jdk.VirtualThreadPinned} event
+ * in-process and logs every pin longer than the threshold with the frames that caused it.</p>
+ */
+@Slf4j
+public final class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_FRAMES = 12;
+
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    private RecordingStream stream;
+
+    /**
+     * Creates a monitor; call {@link #start()} to begin streaming events.
+     *
+     * @param threshold minimum pinned duration worth reporting
+     */
+    public VirtualThreadPinningMonitor(final Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Starts the JFR stream. Logs a warning and stays inactive when JFR is unavailable.
+     */
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        try {
+            final RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            log.info("Virtual thread pinning monitor started: thresholdMs={}", threshold.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning monitor unavailable: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * Number of pinning events reported since start.
+     */
+    public long pinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    void onPinned(final RecordedEvent event) {
+        pinnedCount.increment();
+        final RecordedThread thread = event.getThread();
+        log.warn("Virtual thread pinned while blocking: durationMs={}, thread={}, frames={}",
+                event.getDuration().toMillis(),
+                thread == null ? "unknown" : thread.getJavaName(),
+                frames(event.getStackTrace()));
+    }
+
+    static String frames(final RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "[]";
+        }
+        final List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(MAX_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- ", "[", frames.size() > MAX_FRAMES ? " ...]" : "]"));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
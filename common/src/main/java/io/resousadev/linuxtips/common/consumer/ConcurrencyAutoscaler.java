@@ -0,0 +1,137 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import java.time.Duration;
+
+/**
+ * Derives poller and worker concurrency of a {@link QueueConsumer} from the queue backlog.
+ *
+ * <p>The desired worker count is the backlog ({@code visible + inFlight}) divided by
+ * {@code messagesPerWorker}, clamped to the bounds. Scaling up is immediate so a burst is absorbed
+ * as soon as it shows in the queue attributes. Scaling down is damped: the desired count has to
+ * stay below the current one for {@code scaleDownDelay}, and the consumer then drops to the
+ * highest count desired during that window. A backlog oscillating around a threshold therefore
+ * does not make the consumer flap, and a short lull between bursts keeps the workers warm.</p>
+ *
+ * <p>Pollers follow the workers: one poller per {@code workersPerPoller} workers (a receive call
+ * returns at most one batch), within their own bounds.</p>
+ *
+ * <p>Not thread-safe: call {@link #evaluate} from a single thread.</p>
+ */
+public final class ConcurrencyAutoscaler {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * Concurrency bounds.
+     *
+     * @param minPollers minimum receive loops
+     * @param maxPollers maximum receive loops
+     * @param minWorkers minimum concurrent handlers
+     * @param maxWorkers maximum concurrent handlers
+     */
+    public record Bounds(int minPollers, int maxPollers, int minWorkers, int maxWorkers) {
+
+        /**
+         * Validates the bounds.
+         */
+        public Bounds {
+            if (minPollers < 1 || maxPollers < minPollers || minWorkers < 1 || maxWorkers < minWorkers) {
+                throw new IllegalArgumentException("Invalid consumer concurrency bounds: pollers=" + minPollers
+                        + ".." + maxPollers + ", workers=" + minWorkers + ".." + maxWorkers);
+            }
+        }
+    }
+
+    /**
+     * Concurrency the consumer should run at.
+     *
+     * @param pollers receive loops
+     * @param workers concurrent handlers
+     */
+    public record Target(int pollers, int workers) {
+    }
+
+    private final Bounds bounds;
+    private final int messagesPerWorker;
+    private final int workersPerPoller;
+    private final long scaleDownDelayNanos;
+
+    private int workers;
+    private long belowSinceNanos = NONE;
+    private int peakDesiredWhileBelow;
+
+    /**
+     * Creates an autoscaler starting at the minimum concurrency.
+     *
+     * @param bounds concurrency bounds
+     * @param messagesPerWorker backlog one worker is expected to keep up with
+     * @param workersPerPoller workers one poller can feed
+     * @param scaleDownDelay how long demand must stay lower before scaling down
+     */
+    public ConcurrencyAutoscaler(final Bounds bounds, final int messagesPerWorker, final int workersPerPoller,
+                                 final Duration scaleDownDelay) {
+        if (messagesPerWorker < 1 || workersPerPoller < 1) {
+            throw new IllegalArgumentException("messagesPerWorker and workersPerPoller must be positive");
+        }
+        this.bounds = bounds;
+        this.messagesPerWorker = messagesPerWorker;
+        this.workersPerPoller = workersPerPoller;
+        this.scaleDownDelayNanos = scaleDownDelay.toNanos();
+        this.workers = bounds.minWorkers();
+    }
+
+    /**
+     * The concurrency before the first evaluation.
+     *
+     * @return minimum pollers and workers
+     */
+    public Target initial() {
+        return target(bounds.minWorkers());
+    }
+
+    /**
+     * Computes the concurrency for the current backlog.
+     *
+     * @param depth queue backlog
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return the target concurrency
+     */
+    public Target evaluate(final QueueDepth depth, final long nowNanos) {
+        final long backlogWorkers = Math.ceilDiv(Math.max(0, depth.total()), messagesPerWorker);
+        final int desired = (int) Math.clamp(backlogWorkers, bounds.minWorkers(), bounds.maxWorkers());
+        if (desired >= workers) {
+            workers = desired;
+            belowSinceNanos = NONE;
+        } else if (belowSinceNanos == NONE) {
+            belowSinceNanos = nowNanos;
+            peakDesiredWhileBelow = desired;
+        } else {
+            peakDesiredWhileBelow = Math.max(peakDesiredWhileBelow, desired);
+            if (nowNanos - belowSinceNanos >= scaleDownDelayNanos) {
+                workers = peakDesiredWhileBelow;
+                belowSinceNanos = NONE;
+            }
+        }
+        return target(workers);
+    }
+
+    /**
+     * A new autoscaler with the same settings and no history, for another queue.
+     *
+     * @return the copy, at the minimum concurrency
+     */
+    public ConcurrencyAutoscaler copy() {
+        return new ConcurrencyAutoscaler(bounds, messagesPerWorker, workersPerPoller,
+                Duration.ofNanos(scaleDownDelayNanos));
+    }
+
+    public Bounds getBounds() {
+        return bounds;
+    }
+
+    private Target target(final int workerCount) {
+        final int pollers = Math.clamp(Math.ceilDiv(workerCount, workersPerPoller),
+                bounds.minPollers(), bounds.maxPollers());
+        return new Target(pollers, workerCount);
+    }
+}
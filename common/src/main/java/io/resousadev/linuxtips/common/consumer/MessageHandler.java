@@ -0,0 +1,17 @@
+package io.resousadev.linuxtips.common.consumer;
+
+/**
+ * Processes one queue message; may be called from several threads at once.
+ */
+@FunctionalInterface
+public interface MessageHandler {
+
+    /**
+     * Handles the message. Returning normally deletes it; throwing leaves it in the queue for
+     * redelivery after the visibility timeout.
+     *
+     * @param message the message
+     * @throws Exception on failure
+     */
+    void handle(QueueMessage message) throws Exception;
+}
@@ -0,0 +1,64 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The queue operations a {@link QueueConsumer} needs; implemented by each service over its SDK client.
+ *
+ * <p>Methods may throw unchecked exceptions on failure; the consumer logs them and retries.</p>
+ */
+public interface QueueClient {
+
+    /**
+     * Short name of the queue, used in thread names, logs and metrics.
+     *
+     * @return queue name
+     */
+    String name();
+
+    /**
+     * Receives up to {@code maxMessages} messages, long-polling up to {@code waitTime}.
+     *
+     * @param maxMessages maximum messages to return
+     * @param waitTime long-polling wait
+     * @return received messages; empty when the wait elapsed
+     */
+    List<QueueMessage> receive(int maxMessages, Duration waitTime);
+
+    /**
+     * Deletes a processed message.
+     *
+     * @param message the message
+     */
+    void delete(QueueMessage message);
+
+    /**
+     * Deletes processed messages, in as few calls as the queue allows.
+     *
+     * <p>The default deletes one by one; clients with a batch API (SQS {@code DeleteMessageBatch},
+     * 10 per call) override it.</p>
+     *
+     * @param messages the messages
+     * @return the messages that could not be deleted
+     */
+    default List<QueueMessage> deleteBatch(final List<QueueMessage> messages) {
+        final List<QueueMessage> failed = new ArrayList<>();
+        for (QueueMessage message : messages) {
+            try {
+                delete(message);
+            } catch (RuntimeException e) {
+                failed.add(message);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Reads the approximate backlog of the queue.
+     *
+     * @return queue depth
+     */
+    QueueDepth depth();
+}
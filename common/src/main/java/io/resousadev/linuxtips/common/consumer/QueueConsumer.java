@@ -0,0 +1,814 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Consumes one or more queues with a variable number of receive loops (pollers) per queue and a
+ * pool of concurrent handlers (workers) shared by all of them, resized from the queue backlog by a
+ * {@link ConcurrencyAutoscaler}.
+ *
+ * <p>Receiving, processing and deleting are separate stages that overlap:</p>
+ * <ol>
+ *   <li><b>receive</b>: each queue's pollers long-poll into that queue's buffer of at most
+ *       {@code prefetch} messages. A poller reserves room for a whole batch before calling the
+ *       queue, so a full buffer stops receiving instead of holding messages whose visibility timeout
+ *       is running;</li>
+ *   <li><b>process</b>: a dispatcher hands buffered messages to workers as worker permits free up,
+ *       choosing among the queues by weighted fair queuing (see below). A message buffered longer
+ *       than {@code maxBufferAge} is skipped (its visibility timeout may already have expired and
+ *       another consumer may have it); it is redelivered by the queue;</li>
+ *   <li><b>ack</b>: handled messages go to the queue's bounded ack queue that a single thread per
+ *       queue deletes in batches; a full ack queue blocks the workers.</li>
+ * </ol>
+ *
+ * <p>A worker that finishes a message starts the next buffered one right away, so the latency of a
+ * message is its processing time rather than processing plus a receive round trip. Keep
+ * {@code maxBufferAge} plus the longest processing time below the queue's visibility timeout.</p>
+ *
+ * <p><b>Fair scheduling.</b> Worker time is shared among the queues that have buffered messages in
+ * proportion to their weights (start-time fair queuing): each dispatch charges the queue its
+ * average processing time divided by its weight, and the queue whose next message has the lowest
+ * start tag goes next. A queue that was idle restarts at the current virtual time instead of spending
+ * credit saved while idle, so a flood on one queue delays the others by at most one message per
+ * queue, and a queue with slow handlers does not take more than its share of the workers.</p>
+ *
+ * <p><b>Ordering.</b> A subscription can give each message an ordering key (by default the FIFO
+ * message group). Messages with different keys run in parallel; a message whose key already has a
+ * message in progress is parked, and the worker that finishes that message runs the next one of
+ * the key, so each key is handled one message at a time in receive order. When a message fails or
+ * expires, the messages parked behind it are not run either: they are left for redelivery, which
+ * on a FIFO queue comes back in order behind the failed one. Parked messages keep their buffer
+ * slot, so a single busy key can hold at most {@code prefetch} messages. The key is computed by the
+ * poller that receives the message, off the single dispatcher thread. Ordering is only as strong as
+ * the queue: on a standard queue it is best-effort within this consumer, since SQS may deliver out
+ * of order and other instances run the same key in parallel.</p>
+ *
+ * <p>Workers are virtual threads capped by a resizable semaphore; pollers are platform threads,
+ * started and retired as the target changes (a retired poller finishes its current receive
+ * first). Every {@code autoscaleInterval} the depth of every queue is read: each queue's pollers
+ * follow its own backlog and the workers follow the total backlog. If the depth of a queue cannot
+ * be read its last known depth is used.</p>
+ */
+@Slf4j
+public final class QueueConsumer implements Closeable {
+
+    private static final Duration RECEIVE_ERROR_BACKOFF = Duration.ofSeconds(1);
+    private static final long ACK_POLL_MILLIS = 100;
+    private static final int ACK_BATCH_SIZE = 10;
+    private static final long INITIAL_COST_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int COST_SMOOTHING = 8;
+
+    /**
+     * Consumer settings.
+     *
+     * @param batchSize messages per receive call
+     * @param waitTime long-polling wait of a receive call
+     * @param prefetch received messages buffered ahead of the workers, per queue; at least
+     *                 {@code batchSize}
+     * @param maxBufferAge how long a message may wait in the buffer before it is skipped
+     * @param autoscaleInterval how often the queue depth is read
+     * @param shutdownTimeout how long {@link #close()} waits for in-flight handlers
+     */
+    public record Settings(int batchSize, Duration waitTime, int prefetch, Duration maxBufferAge,
+                           Duration autoscaleInterval, Duration shutdownTimeout) {
+
+        /**
+         * Validates the settings.
+         */
+        public Settings {
+            if (batchSize < 1 || prefetch < batchSize) {
+                throw new IllegalArgumentException("Invalid consumer buffer: batchSize=" + batchSize
+                        + ", prefetch=" + prefetch);
+            }
+        }
+    }
+
+    /**
+     * A queue to consume.
+     *
+     * @param client queue client
+     * @param handler message handler
+     * @param weight share of the workers relative to the other queues
+     * @param orderingKey key of the messages that must be handled in order; {@code null} for none
+     */
+    public record Subscription(QueueClient client, MessageHandler handler, int weight,
+                               Function<QueueMessage, String> orderingKey) {
+
+        /**
+         * Validates the weight.
+         */
+        public Subscription {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Invalid queue weight: queue=" + client.name()
+                        + ", weight=" + weight);
+            }
+        }
+
+        /**
+         * Creates a subscription ordered by FIFO message group; messages of a standard queue are
+         * unordered.
+         *
+         * @param client queue client
+         * @param handler message handler
+         * @param weight share of the workers relative to the other queues
+         */
+        public Subscription(final QueueClient client, final MessageHandler handler, final int weight) {
+            this(client, handler, weight, QueueMessage::groupId);
+        }
+    }
+
+    /**
+     * A received message, its ordering key ({@code null} for none) and when it entered the buffer.
+     */
+    private record Buffered(QueueMessage message, String orderingKey, long receivedAtNanos) {
+    }
+
+    private final String name;
+    private final List<ConsumedQueue> queues;
+    private final ConcurrencyAutoscaler autoscaler;
+    private final Settings settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ResizableSemaphore workerPermits = new ResizableSemaphore();
+    private final Semaphore bufferedMessages = new Semaphore(0);
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    private final Thread dispatcher;
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+
+    private volatile int targetWorkers;
+    private volatile boolean running;
+    private volatile boolean acking = true;
+
+    /** Virtual time of the fair scheduler; dispatcher thread only. */
+    private double virtualTime;
+
+    /**
+     * Creates a stopped consumer of a single queue.
+     *
+     * @param client queue client
+     * @param handler message handler
+     * @param autoscaler concurrency policy
+     * @param settings consumer settings
+     */
+    public QueueConsumer(final QueueClient client, final MessageHandler handler,
+                         final ConcurrencyAutoscaler autoscaler, final Settings settings) {
+        this(client.name(), List.of(new Subscription(client, handler, 1)), autoscaler, settings);
+    }
+
+    /**
+     * Creates a stopped consumer of several queues sharing one worker pool.
+     *
+     * @param name consumer name, for threads and logs
+     * @param subscriptions queues to consume, with distinct names
+     * @param autoscaler concurrency policy; the worker bounds apply to the whole consumer and the
+     *                   poller bounds to each queue
+     * @param settings consumer settings
+     */
+    public QueueConsumer(final String name, final List<Subscription> subscriptions,
+                         final ConcurrencyAutoscaler autoscaler, final Settings settings) {
+        if (subscriptions.isEmpty()) {
+            throw new IllegalArgumentException("Queue consumer without queues: " + name);
+        }
+        final Set<String> names = new HashSet<>();
+        final List<ConsumedQueue> consumed = new ArrayList<>(subscriptions.size());
+        for (Subscription subscription : subscriptions) {
+            if (!names.add(subscription.client().name())) {
+                throw new IllegalArgumentException("Duplicate queue: " + subscription.client().name());
+            }
+            consumed.add(new ConsumedQueue(subscription, autoscaler.copy(), settings));
+        }
+        this.name = name;
+        this.queues = List.copyOf(consumed);
+        this.autoscaler = autoscaler;
+        this.settings = settings;
+        this.workers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("queue-worker-" + name + "-", 0).factory());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("queue-autoscaler-" + name).daemon().factory());
+        this.dispatcher = Thread.ofPlatform().name("queue-dispatcher-" + name).daemon().unstarted(this::dispatch);
+    }
+
+    /**
+     * Starts the minimum pollers, the dispatch and ack stages and the autoscaling loop.
+     */
+    public void start() {
+        running = true;
+        dispatcher.start();
+        for (ConsumedQueue queue : queues) {
+            queue.acker.start();
+        }
+        lock.lock();
+        try {
+            resizeWorkers(autoscaler.initial().workers());
+            for (ConsumedQueue queue : queues) {
+                queue.resizePollers(queue.autoscaler.initial().pollers());
+            }
+        } finally {
+            lock.unlock();
+        }
+        final long intervalMillis = settings.autoscaleInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::autoscale, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Queue consumer started: consumer={}, queues={}, workers={}, prefetch={}",
+                name, queues.stream().map(ConsumedQueue::getName).toList(), targetWorkers, settings.prefetch());
+    }
+
+    /**
+     * Reads the depth of every queue and applies the autoscaler's targets.
+     */
+    void autoscale() {
+        final long nowNanos = System.nanoTime();
+        long visible = 0;
+        long inFlight = 0;
+        for (ConsumedQueue queue : queues) {
+            try {
+                queue.lastDepth = queue.client.depth();
+            } catch (RuntimeException e) {
+                log.warn("Queue depth unavailable, keeping last known depth: queue={}, error={}",
+                        queue.getName(), e.getMessage());
+            }
+            final QueueDepth depth = queue.lastDepth;
+            visible += depth.visible();
+            inFlight += depth.inFlight();
+            final int pollers = queue.autoscaler.evaluate(depth, nowNanos).pollers();
+            if (pollers != queue.targetPollers) {
+                log.info("Queue pollers rescaled: queue={}, visible={}, inFlight={}, pollers={}->{}",
+                        queue.getName(), depth.visible(), depth.inFlight(), queue.targetPollers, pollers);
+                apply(() -> queue.resizePollers(pollers));
+            }
+        }
+        final int workerCount = autoscaler.evaluate(new QueueDepth(visible, inFlight), nowNanos).workers();
+        if (workerCount != targetWorkers) {
+            log.info("Queue consumer rescaled: consumer={}, visible={}, inFlight={}, workers={}->{}",
+                    name, visible, inFlight, targetWorkers, workerCount);
+            apply(() -> resizeWorkers(workerCount));
+        }
+    }
+
+    private void apply(final Runnable change) {
+        lock.lock();
+        try {
+            if (running) {
+                change.run();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resizeWorkers(final int workerCount) {
+        workerPermits.resize(workerCount);
+        targetWorkers = workerCount;
+    }
+
+    private void dispatch() {
+        final long maxBufferAgeNanos = settings.maxBufferAge().toNanos();
+        try {
+            while (running) {
+                // The queue is chosen once a worker is free, so the choice sees the latest arrivals
+                workerPermits.acquire();
+                bufferedMessages.acquire();
+                final ConsumedQueue queue = nextQueue();
+                final Buffered buffered = queue.buffer.remove();
+                final String group = buffered.orderingKey();
+                if (group != null && !queue.enterGroup(group, buffered)) {
+                    // Parked behind the message of its key in progress; that worker runs it next
+                    workerPermits.release();
+                    continue;
+                }
+                queue.bufferSlots.release();
+                if (queue.expire(buffered, maxBufferAgeNanos)) {
+                    workerPermits.release();
+                    if (group != null) {
+                        queue.nextInGroup(group, false, maxBufferAgeNanos);
+                    }
+                    continue;
+                }
+                busyWorkers.incrementAndGet();
+                workers.execute(() -> process(queue, group, buffered.message()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Picks the queue with buffered messages and the lowest start tag (ties go to the lower finish
+     * tag), and charges it. A message is counted in {@link #bufferedMessages} only after it is in its
+     * queue's buffer, so once a permit is acquired some buffer is non-empty.
+     */
+    private ConsumedQueue nextQueue() {
+        ConsumedQueue next = null;
+        double nextStart = Double.MAX_VALUE;
+        double nextFinish = Double.MAX_VALUE;
+        for (ConsumedQueue queue : queues) {
+            if (queue.buffer.isEmpty()) {
+                continue;
+            }
+            final double start = Math.max(virtualTime, queue.finishTag);
+            final double finish = start + (double) queue.costNanos / queue.weight;
+            if (start < nextStart || start == nextStart && finish < nextFinish) {
+                next = queue;
+                nextStart = start;
+                nextFinish = finish;
+            }
+        }
+        next.finishTag = nextFinish;
+        virtualTime = nextStart;
+        return next;
+    }
+
+    /**
+     * Handles a message and, for an ordering key, the messages of the key parked meanwhile.
+     */
+    private void process(final ConsumedQueue queue, final String group, final QueueMessage message) {
+        final long maxBufferAgeNanos = settings.maxBufferAge().toNanos();
+        try {
+            QueueMessage next = message;
+            while (next != null) {
+                final boolean handled = handle(queue, next);
+                if (Thread.currentThread().isInterrupted()) {
+                    // Shutting down: parked messages are redelivered like the unstarted ones
+                    return;
+                }
+                next = group != null ? queue.nextInGroup(group, handled, maxBufferAgeNanos) : null;
+            }
+        } finally {
+            busyWorkers.decrementAndGet();
+            workerPermits.release();
+        }
+    }
+
+    private boolean handle(final ConsumedQueue queue, final QueueMessage message) {
+        final long startNanos = System.nanoTime();
+        try {
+            queue.handler.handle(message);
+            queue.recordCost(System.nanoTime() - startNanos);
+            queue.acks.put(message);
+            return true;
+        } catch (InterruptedException e) {
+            // Shutting down: the message is redelivered after its visibility timeout
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            // The handler logs the failure in its own context (correlation ID); this line only
+            // records that the message stays in the queue
+            queue.recordCost(System.nanoTime() - startNanos);
+            queue.failed.increment();
+            log.warn("Message left in queue for redelivery: queue={}, messageId={}, error={}",
+                    queue.getName(), message.messageId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops receiving, waits up to {@code shutdownTimeout} for in-flight handlers and deletes the
+     * messages they finished. Buffered messages that were not started are redelivered by the queue.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+            for (ConsumedQueue queue : queues) {
+                queue.interruptPollers();
+            }
+        } finally {
+            lock.unlock();
+        }
+        scheduler.shutdownNow();
+        dispatcher.interrupt();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(settings.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Queue consumer stopped with handlers still running: consumer={}, busyWorkers={}",
+                        name, busyWorkers.get());
+            }
+            acking = false;
+            for (ConsumedQueue queue : queues) {
+                queue.acker.join(settings.shutdownTimeout().toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (ConsumedQueue queue : queues) {
+            log.info("Queue consumer stopped: queue={}, processed={}, failed={}, expired={}, skipped={}, "
+                    + "unstarted={}", queue.getName(), queue.getProcessedCount(), queue.getFailedCount(),
+                    queue.getExpiredCount(), queue.getSkippedCount(), queue.getBufferedCount());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The consumed queues, in subscription order.
+     *
+     * @return per-queue state and counters
+     */
+    public List<ConsumedQueue> getQueues() {
+        return queues;
+    }
+
+    public int getTargetWorkers() {
+        return targetWorkers;
+    }
+
+    public int getBusyWorkers() {
+        return busyWorkers.get();
+    }
+
+    /**
+     * Messages deleted after processing, over all queues.
+     *
+     * @return processed count
+     */
+    public long getProcessedCount() {
+        return queues.stream().mapToLong(ConsumedQueue::getProcessedCount).sum();
+    }
+
+    /**
+     * Messages left for redelivery after a handler or delete failure, over all queues.
+     *
+     * @return failed count
+     */
+    public long getFailedCount() {
+        return queues.stream().mapToLong(ConsumedQueue::getFailedCount).sum();
+    }
+
+    /**
+     * Messages skipped for buffer age, over all queues.
+     *
+     * @return expired count
+     */
+    public long getExpiredCount() {
+        return queues.stream().mapToLong(ConsumedQueue::getExpiredCount).sum();
+    }
+
+    /**
+     * Messages left for redelivery behind a failed or expired message of their ordering key, over
+     * all queues.
+     *
+     * @return skipped count
+     */
+    public long getSkippedCount() {
+        return queues.stream().mapToLong(ConsumedQueue::getSkippedCount).sum();
+    }
+
+    /**
+     * One consumed queue: its pollers, buffer, ack stage and counters.
+     */
+    public final class ConsumedQueue {
+
+        private final QueueClient client;
+        private final MessageHandler handler;
+        private final int weight;
+        private final Function<QueueMessage, String> orderingKey;
+        private final ConcurrencyAutoscaler autoscaler;
+        private final Thread[] pollers;
+        private final Semaphore bufferSlots;
+        private final BlockingQueue<Buffered> buffer = new LinkedBlockingQueue<>();
+        private final BlockingQueue<QueueMessage> acks;
+        private final Thread acker;
+        private final AtomicInteger activePollers = new AtomicInteger();
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder expired = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        /** Ordering keys with a message in progress, and the messages parked behind it. */
+        private final Map<String, ArrayDeque<Buffered>> activeGroups = new HashMap<>();
+        private final ReentrantLock groupLock = new ReentrantLock();
+        private final AtomicInteger parked = new AtomicInteger();
+
+        private volatile int targetPollers;
+        private volatile QueueDepth lastDepth = QueueDepth.EMPTY;
+        /** Moving average of the handling time; written by workers, races only lose samples. */
+        private volatile long costNanos = INITIAL_COST_NANOS;
+        /** Fair-queuing finish tag; dispatcher thread only. */
+        private double finishTag;
+
+        private ConsumedQueue(final Subscription subscription, final ConcurrencyAutoscaler autoscaler,
+                              final Settings settings) {
+            this.client = subscription.client();
+            this.handler = subscription.handler();
+            this.weight = subscription.weight();
+            this.orderingKey = subscription.orderingKey();
+            this.autoscaler = autoscaler;
+            this.pollers = new Thread[autoscaler.getBounds().maxPollers()];
+            this.bufferSlots = new Semaphore(settings.prefetch());
+            this.acks = new ArrayBlockingQueue<>(settings.prefetch());
+            this.acker = Thread.ofPlatform().name("queue-acker-" + client.name()).daemon().unstarted(this::ack);
+        }
+
+        /**
+         * Starts or retires pollers; called under the consumer lock.
+         */
+        private void resizePollers(final int pollerCount) {
+            targetPollers = Math.min(pollerCount, pollers.length);
+            for (int i = 0; i < targetPollers; i++) {
+                if (pollers[i] == null) {
+                    final int index = i;
+                    pollers[i] = Thread.ofPlatform().name("queue-poller-" + client.name() + "-" + i).daemon()
+                            .start(() -> poll(index));
+                    activePollers.incrementAndGet();
+                }
+            }
+        }
+
+        private void interruptPollers() {
+            for (Thread poller : pollers) {
+                if (poller != null) {
+                    // Aborts the long poll
+                    poller.interrupt();
+                }
+            }
+        }
+
+        private void poll(final int index) {
+            final int batchSize = settings.batchSize();
+            try {
+                while (keepPolling(index)) {
+                    // Backpressure: no receive until the buffer has room for a whole batch
+                    bufferSlots.acquire(batchSize);
+                    final List<QueueMessage> messages;
+                    try {
+                        messages = client.receive(batchSize, settings.waitTime());
+                    } catch (RuntimeException e) {
+                        bufferSlots.release(batchSize);
+                        if (!running) {
+                            return;
+                        }
+                        log.error("Queue polling failed: queue={}, error={}", client.name(), e.getMessage(), e);
+                        Thread.sleep(RECEIVE_ERROR_BACKOFF.toMillis());
+                        continue;
+                    }
+                    bufferSlots.release(batchSize - messages.size());
+                    final long receivedAtNanos = System.nanoTime();
+                    for (QueueMessage message : messages) {
+                        buffer.add(new Buffered(message, orderingKey(message), receivedAtNanos));
+                        bufferedMessages.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                clearSlot(index);
+            }
+        }
+
+        /**
+         * Whether poller {@code index} should receive again; a retired poller clears its slot under
+         * the lock so {@link #resizePollers} can restart it.
+         */
+        private boolean keepPolling(final int index) {
+            if (running && index < targetPollers) {
+                return true;
+            }
+            lock.lock();
+            try {
+                if (running && index < targetPollers) {
+                    return true;
+                }
+                clearSlot(index);
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clearSlot(final int index) {
+            lock.lock();
+            try {
+                if (pollers[index] == Thread.currentThread()) {
+                    pollers[index] = null;
+                    activePollers.decrementAndGet();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private String orderingKey(final QueueMessage message) {
+            if (orderingKey == null) {
+                return null;
+            }
+            try {
+                return orderingKey.apply(message);
+            } catch (RuntimeException e) {
+                log.warn("Ordering key unavailable, handling unordered: queue={}, messageId={}, error={}",
+                        client.name(), message.messageId(), e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Marks {@code group} as in progress, or parks the message if it already is.
+         *
+         * @return whether the message can run now
+         */
+        private boolean enterGroup(final String group, final Buffered buffered) {
+            groupLock.lock();
+            try {
+                final ArrayDeque<Buffered> waiting = activeGroups.get(group);
+                if (waiting != null) {
+                    waiting.add(buffered);
+                    parked.incrementAndGet();
+                    return false;
+                }
+                activeGroups.put(group, new ArrayDeque<>());
+                return true;
+            } finally {
+                groupLock.unlock();
+            }
+        }
+
+        /**
+         * The next parked message of {@code group} after one finished, or {@code null} when the key
+         * is done. After a failure, or on reaching an expired message, the parked messages are left
+         * for redelivery so none of them overtakes the one that was not handled.
+         */
+        private QueueMessage nextInGroup(final String group, final boolean handled, final long maxBufferAgeNanos) {
+            groupLock.lock();
+            try {
+                final ArrayDeque<Buffered> waiting = activeGroups.get(group);
+                if (handled) {
+                    final Buffered next = waiting.poll();
+                    if (next != null) {
+                        release(1);
+                        if (!expire(next, maxBufferAgeNanos)) {
+                            return next.message();
+                        }
+                    }
+                }
+                activeGroups.remove(group);
+                if (!waiting.isEmpty()) {
+                    skipped.add(waiting.size());
+                    release(waiting.size());
+                    log.warn("Messages left for redelivery behind an unhandled one: queue={}, orderingKey={}, "
+                            + "count={}", client.name(), group, waiting.size());
+                }
+                return null;
+            } finally {
+                groupLock.unlock();
+            }
+        }
+
+        /**
+         * Frees the buffer slots of messages taken out of the parked ones.
+         */
+        private void release(final int count) {
+            parked.addAndGet(-count);
+            bufferSlots.release(count);
+        }
+
+        /**
+         * Whether the message waited longer than {@code maxBufferAgeNanos}; counted and logged.
+         */
+        private boolean expire(final Buffered buffered, final long maxBufferAgeNanos) {
+            if (System.nanoTime() - buffered.receivedAtNanos() <= maxBufferAgeNanos) {
+                return false;
+            }
+            expired.increment();
+            log.warn("Buffered message expired before processing, left for redelivery: queue={}, messageId={}",
+                    client.name(), buffered.message().messageId());
+            return true;
+        }
+
+        private void recordCost(final long elapsedNanos) {
+            final long cost = costNanos;
+            costNanos = Math.max(1, cost + (elapsedNanos - cost) / COST_SMOOTHING);
+        }
+
+        private void ack() {
+            final List<QueueMessage> batch = new ArrayList<>(ACK_BATCH_SIZE);
+            try {
+                while (acking || !acks.isEmpty()) {
+                    final QueueMessage first = acks.poll(ACK_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    acks.drainTo(batch, ACK_BATCH_SIZE - 1);
+                    delete(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void delete(final List<QueueMessage> batch) {
+            List<QueueMessage> notDeleted;
+            try {
+                notDeleted = client.deleteBatch(batch);
+            } catch (RuntimeException e) {
+                log.error("Queue message deletion failed: queue={}, count={}, error={}",
+                        client.name(), batch.size(), e.getMessage(), e);
+                notDeleted = batch;
+            }
+            processed.add(batch.size() - notDeleted.size());
+            for (QueueMessage message : notDeleted) {
+                failed.increment();
+                log.error("Queue message not deleted, will be redelivered: queue={}, messageId={}",
+                        client.name(), message.messageId());
+            }
+        }
+
+        public String getName() {
+            return client.name();
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public int getTargetPollers() {
+            return targetPollers;
+        }
+
+        public int getActivePollers() {
+            return activePollers.get();
+        }
+
+        /**
+         * Received messages not started yet: waiting for a worker, or parked behind their ordering
+         * key.
+         *
+         * @return buffered count
+         */
+        public int getBufferedCount() {
+            return buffer.size() + parked.get();
+        }
+
+        public int getPendingAckCount() {
+            return acks.size();
+        }
+
+        public QueueDepth getLastDepth() {
+            return lastDepth;
+        }
+
+        public long getProcessedCount() {
+            return processed.sum();
+        }
+
+        public long getFailedCount() {
+            return failed.sum();
+        }
+
+        public long getExpiredCount() {
+            return expired.sum();
+        }
+
+        public long getSkippedCount() {
+            return skipped.sum();
+        }
+    }
+
+    /**
+     * Semaphore whose number of permits can be lowered while permits are held.
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        private int limit;
+
+        private ResizableSemaphore() {
+            super(0);
+        }
+
+        private void resize(final int newLimit) {
+            final int delta = newLimit - limit;
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                // Held permits are not revoked: the excess disappears as they are released
+                reducePermits(-delta);
+            }
+            limit = newLimit;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.resousadev.linuxtips.common.consumer;
+
+/**
+ * Approximate backlog of a queue.
+ *
+ * @param visible messages waiting to be received ({@code ApproximateNumberOfMessages})
+ * @param inFlight messages received but not yet deleted ({@code ApproximateNumberOfMessagesNotVisible})
+ */
+public record QueueDepth(long visible, long inFlight) {
+
+    /** Depth of an empty queue. */
+    public static final QueueDepth EMPTY = new QueueDepth(0, 0);
+
+    /**
+     * Messages still to be processed, received or not.
+     *
+     * @return {@code visible + inFlight}
+     */
+    public long total() {
+        return visible + inFlight;
+    }
+}
@@ -0,0 +1,37 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import java.util.Map;
+
+/**
+ * A message received from a queue, independent of the client SDK.
+ *
+ * @param messageId message ID assigned by the queue
+ * @param receiptHandle handle used to delete the message
+ * @param body raw message body
+ * @param attributes system and custom attributes (may be empty)
+ */
+public record QueueMessage(String messageId, String receiptHandle, String body, Map<String, String> attributes) {
+
+    /** System attribute with the message group of a FIFO queue. */
+    public static final String MESSAGE_GROUP_ID = "MessageGroupId";
+
+    /**
+     * Creates a message without attributes.
+     *
+     * @param messageId message ID assigned by the queue
+     * @param receiptHandle handle used to delete the message
+     * @param body raw message body
+     */
+    public QueueMessage(final String messageId, final String receiptHandle, final String body) {
+        this(messageId, receiptHandle, body, Map.of());
+    }
+
+    /**
+     * The FIFO message group, if the queue is a FIFO queue and the client received the attribute.
+     *
+     * @return the {@value #MESSAGE_GROUP_ID} attribute, or {@code null}
+     */
+    public String groupId() {
+        return attributes.get(MESSAGE_GROUP_ID);
+    }
+}
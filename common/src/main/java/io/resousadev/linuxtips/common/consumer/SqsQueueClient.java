@@ -0,0 +1,124 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link QueueClient} over an SQS queue.
+ *
+ * <p>Receives with long polling (at most 10 messages and 20 seconds per call, the SQS limits) and
+ * reads the backlog from the {@code ApproximateNumberOfMessages} and
+ * {@code ApproximateNumberOfMessagesNotVisible} queue attributes. On a FIFO queue the
+ * {@code MessageGroupId} system attribute is received too, so the consumer can order by group.</p>
+ */
+public class SqsQueueClient implements QueueClient {
+
+    private static final int MAX_NUMBER_OF_MESSAGES = 10;
+    private static final int MAX_WAIT_TIME_SECONDS = 20;
+
+    private final SqsClient sqsClient;
+    private final String name;
+    private final String queueUrl;
+
+    /**
+     * Creates a client for one queue.
+     *
+     * @param sqsClient SQS client
+     * @param name queue name, used in logs and metrics
+     * @param queueUrl queue URL
+     */
+    public SqsQueueClient(final SqsClient sqsClient, final String name, final String queueUrl) {
+        this.sqsClient = sqsClient;
+        this.name = name;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public List<QueueMessage> receive(final int maxMessages, final Duration waitTime) {
+        final ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(Math.clamp(maxMessages, 1, MAX_NUMBER_OF_MESSAGES))
+                .waitTimeSeconds((int) Math.clamp(waitTime.toSeconds(), 0, MAX_WAIT_TIME_SECONDS))
+                .messageSystemAttributeNames(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT,
+                        MessageSystemAttributeName.MESSAGE_GROUP_ID, MessageSystemAttributeName.SEQUENCE_NUMBER)
+                .build();
+        return sqsClient.receiveMessage(request).messages().stream()
+                .map(SqsQueueClient::toQueueMessage)
+                .toList();
+    }
+
+    @Override
+    public void delete(final QueueMessage message) {
+        sqsClient.deleteMessage(DeleteMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .receiptHandle(message.receiptHandle())
+                .build());
+    }
+
+    /**
+     * Deletes with {@code DeleteMessageBatch}, up to 10 messages per call; entries SQS rejects are
+     * returned as not deleted.
+     */
+    @Override
+    public List<QueueMessage> deleteBatch(final List<QueueMessage> messages) {
+        final List<QueueMessage> failed = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += MAX_NUMBER_OF_MESSAGES) {
+            final List<QueueMessage> chunk =
+                    messages.subList(from, Math.min(from + MAX_NUMBER_OF_MESSAGES, messages.size()));
+            final List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                // Entry IDs only need to be unique within the request
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                        .id(Integer.toString(i))
+                        .receiptHandle(chunk.get(i).receiptHandle())
+                        .build());
+            }
+            final DeleteMessageBatchRequest request = DeleteMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(entries)
+                    .build();
+            for (BatchResultErrorEntry error : sqsClient.deleteMessageBatch(request).failed()) {
+                failed.add(chunk.get(Integer.parseInt(error.id())));
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public QueueDepth depth() {
+        final Map<QueueAttributeName, String> attributes = sqsClient.getQueueAttributes(
+                GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+                                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE)
+                        .build())
+                .attributes();
+        return new QueueDepth(
+                Long.parseLong(attributes.getOrDefault(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "0")),
+                Long.parseLong(attributes.getOrDefault(
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, "0")));
+    }
+
+    private static QueueMessage toQueueMessage(final Message message) {
+        return new QueueMessage(message.messageId(), message.receiptHandle(), message.body(),
+                message.attributesAsStrings());
+    }
+}
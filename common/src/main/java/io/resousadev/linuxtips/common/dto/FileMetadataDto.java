@@ -30,12 +30,27 @@ public class FileMetadataDto {
     @JsonProperty("size")
     private Long size;
 
+    /**
+     * Base64 checksum of the content, validated by S3 on upload.
+     */
     @JsonProperty("checksum")
     private String checksum;
 
+    /**
+     * Algorithm of {@link #checksum} as named by S3 (e.g., "CRC32C", "CRC64NVME", "SHA256").
+     */
+    @JsonProperty("checksumAlgorithm")
+    private String checksumAlgorithm;
+
     @JsonProperty("storageLocation")
     private String storageLocation;
 
+    /**
+     * Entity tag of the stored object, unquoted; the {@code ETag} of the metadata responses.
+     */
+    @JsonProperty("etag")
+    private String etag;
+
     @JsonProperty("uploadedBy")
     private String uploadedBy;
 
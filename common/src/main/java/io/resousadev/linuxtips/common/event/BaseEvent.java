@@ -2,6 +2,8 @@ package io.resousadev.linuxtips.common.event;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.resousadev.linuxtips.common.id.TimeOrderedIds;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +11,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Base event class for EventBridge communication between microservices.
@@ -24,11 +25,11 @@ import java.util.UUID;
 public class BaseEvent<T> {
 
     /**
-     * Unique identifier for the event.
+     * Unique identifier for the event (time-ordered UUID, see {@link TimeOrderedIds}).
      */
     @JsonProperty("eventId")
     @Builder.Default
-    private String eventId = UUID.randomUUID().toString();
+    private String eventId = TimeOrderedIds.newId();
 
     /**
      * Type of the event (e.g., "checkout.created", "file.uploaded").
@@ -59,9 +60,28 @@ public class BaseEvent<T> {
 
     /**
      * Correlation ID for tracing across services.
+     * Defaults to the correlation ID bound to the publishing thread's MDC.
      */
     @JsonProperty("correlationId")
-    private String correlationId;
+    @Builder.Default
+    private String correlationId = TraceContext.currentCorrelationId();
+
+    /**
+     * W3C {@code traceparent} of the span that published the event.
+     * Defaults to the span bound to the publishing thread's MDC.
+     */
+    @JsonProperty("traceparent")
+    @Builder.Default
+    private String traceparent = TraceContext.currentTraceparent();
+
+    /**
+     * Key of the events that must be consumed in order (e.g., the order or file ID); events with
+     * different keys may be handled in parallel. Null when the event needs no ordering.
+     *
+     * @see EventOrderingKey
+     */
+    @JsonProperty("orderingKey")
+    private String orderingKey;
 
     /**
      * The actual event payload/data.
@@ -0,0 +1,71 @@
+package io.resousadev.linuxtips.common.event;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes consumed events to a handler by event type.
+ *
+ * <p>The live SQS consumer and the archive replay dispatch through the same registry, so a handler
+ * registered once processes both new and replayed events. Types without a handler go to the
+ * fallback.</p>
+ */
+public final class EventHandlerRegistry {
+
+    /**
+     * Processes the raw body of one event.
+     */
+    @FunctionalInterface
+    public interface EventHandler {
+
+        /**
+         * Handles one event.
+         *
+         * @param eventType event type
+         * @param body raw message body
+         * @throws Exception on failure
+         */
+        void handle(String eventType, String body) throws Exception;
+    }
+
+    private final Map<String, EventHandler> handlers = new ConcurrentHashMap<>();
+    private final EventHandler fallback;
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param fallback handler for event types without a registered handler
+     */
+    public EventHandlerRegistry(final EventHandler fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Registers the handler of an event type, replacing any previous one.
+     *
+     * @param eventType event type
+     * @param handler handler
+     * @return this registry
+     */
+    public EventHandlerRegistry register(final String eventType, final EventHandler handler) {
+        handlers.put(eventType, handler);
+        return this;
+    }
+
+    /**
+     * Passes the event to the handler of its type, or to the fallback.
+     *
+     * @param eventType event type
+     * @param body raw message body
+     * @throws Exception if the handler fails
+     */
+    public void dispatch(final String eventType, final String body) throws Exception {
+        final EventHandler handler = eventType != null ? handlers.get(eventType) : null;
+        (handler != null ? handler : fallback).handle(eventType, body);
+    }
+
+    public Set<String> getEventTypes() {
+        return Set.copyOf(handlers.keySet());
+    }
+}
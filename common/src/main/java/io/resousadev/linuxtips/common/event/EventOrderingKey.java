@@ -0,0 +1,55 @@
+package io.resousadev.linuxtips.common.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.resousadev.linuxtips.common.consumer.QueueMessage;
+
+/**
+ * Reads the ordering key of a queued event, for {@code QueueConsumer.Subscription}.
+ *
+ * <p>The key is the {@code orderingKey} published with the {@link BaseEvent} (for checkout events,
+ * the order ID), found in a bare event or under {@code detail} of the EventBridge envelope; without
+ * one, the FIFO message group is used.</p>
+ *
+ * <p>Only a FIFO queue whose message group is the same key (see {@code checkout-events-fifo-pipe} in
+ * {@code localstack/init-aws.sh}) orders a key across consumers and redeliveries. On a standard queue
+ * the key only keeps one process from handling two messages of a key at once, in the order they were
+ * received: SQS may deliver them out of order, and other instances consume the same key in
+ * parallel. The body is parsed once per message, on the poller thread that received it.</p>
+ */
+public final class EventOrderingKey {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String DETAIL_FIELD = "detail";
+    private static final String ORDERING_KEY_FIELD = "orderingKey";
+
+    private EventOrderingKey() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * The ordering key of a message.
+     *
+     * @param message queued message
+     * @return the event's ordering key, else the FIFO message group, else {@code null}
+     */
+    public static String of(final QueueMessage message) {
+        final String key = fromBody(message.body());
+        return key != null ? key : message.groupId();
+    }
+
+    private static String fromBody(final String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            final JsonNode root = MAPPER.readTree(body);
+            final JsonNode detail = root.path(DETAIL_FIELD);
+            final JsonNode key = (detail.isObject() ? detail : root).get(ORDERING_KEY_FIELD);
+            return key != null && key.isTextual() && !key.asText().isEmpty() ? key.asText() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.resousadev.linuxtips.common.id;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lock-free generator of time-ordered UUIDs (RFC 9562 version 7).
+ *
+ * <p>Layout: 48-bit Unix epoch milliseconds, version {@code 7}, a 12-bit per-thread sequence,
+ * variant {@code 10} and 62 random bits. IDs sort by creation time, so as primary keys they are
+ * appended to the right edge of a B-tree index instead of landing on random pages, and the string
+ * form is a regular 36-character UUID accepted anywhere {@link UUID#randomUUID()} was.</p>
+ *
+ * <p>Randomness comes from {@link ThreadLocalRandom} instead of the shared {@code SecureRandom}
+ * behind {@code randomUUID()}: generation never blocks nor contends, but IDs are not
+ * unpredictable and must not be used as secrets or access tokens. Within one thread IDs are
+ * strictly increasing (the sequence is re-seeded each millisecond and borrows the next millisecond
+ * on overflow or when the clock steps back); across threads they are ordered to the millisecond.</p>
+ */
+public final class TimeOrderedIds {
+
+    private static final int VERSION = 7;
+    private static final int VERSION_SHIFT = 12;
+    private static final int TIMESTAMP_SHIFT = 16;
+    private static final long MAX_SEQUENCE = 0xFFFL;
+    /** Sequence seeds stay in the lower half so a millisecond has at least 2048 IDs before borrowing. */
+    private static final long SEQUENCE_SEED_BOUND = (MAX_SEQUENCE + 1) / 2;
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final int LAST_MILLIS = 0;
+    private static final int SEQUENCE = 1;
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[2]);
+
+    private TimeOrderedIds() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Generates a new time-ordered UUID.
+     */
+    public static UUID newUuid() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long[] state = STATE.get();
+        long millis = System.currentTimeMillis();
+        long sequence;
+        if (millis > state[LAST_MILLIS]) {
+            sequence = random.nextLong(SEQUENCE_SEED_BOUND);
+        } else {
+            millis = state[LAST_MILLIS];
+            sequence = state[SEQUENCE] + 1;
+            if (sequence > MAX_SEQUENCE) {
+                millis++;
+                sequence = random.nextLong(SEQUENCE_SEED_BOUND);
+            }
+        }
+        state[LAST_MILLIS] = millis;
+        state[SEQUENCE] = sequence;
+
+        final long mostSigBits = millis << TIMESTAMP_SHIFT | (long) VERSION << VERSION_SHIFT | sequence;
+        final long leastSigBits = VARIANT_BITS | random.nextLong() & RANDOM_MASK;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Generates a new time-ordered ID in the canonical UUID string form.
+     */
+    public static String newId() {
+        return newUuid().toString();
+    }
+
+    /**
+     * Returns the creation time embedded in a version 7 UUID.
+     *
+     * @param id a UUID produced by this generator (or any RFC 9562 version 7 UUID)
+     * @return the embedded timestamp, millisecond precision
+     * @throws IllegalArgumentException if the UUID is not version 7
+     */
+    public static Instant timestampOf(final UUID id) {
+        if (id.version() != VERSION) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> TIMESTAMP_SHIFT);
+    }
+}
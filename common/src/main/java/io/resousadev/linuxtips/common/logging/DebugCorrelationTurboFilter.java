@@ -0,0 +1,30 @@
+package io.resousadev.linuxtips.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that enables DEBUG for threads whose correlation ID is active in
+ * {@link DebugCorrelations}, regardless of the logger levels.
+ *
+ * <p>TRACE stays governed by the logger levels (AWS SDK wire logs would drown the request). While no
+ * correlation ID is active the filter costs one map size check per log call.</p>
+ *
+ * <pre>{@code
+ * <turboFilter class="io.resousadev.linuxtips.common.logging.DebugCorrelationTurboFilter"/>
+ * }</pre>
+ */
+public class DebugCorrelationTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(final Marker marker, final Logger logger, final Level level, final String format,
+                              final Object[] params, final Throwable t) {
+        if (level != null && level.isGreaterOrEqual(Level.DEBUG) && DebugCorrelations.isCurrentEnabled()) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
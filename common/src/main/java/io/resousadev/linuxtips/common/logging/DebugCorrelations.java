@@ -0,0 +1,184 @@
+package io.resousadev.linuxtips.common.logging;
+
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Correlation IDs for which full DEBUG logging is temporarily enabled.
+ *
+ * <p>Enabled through the {@code X-Debug} request header or an admin call. While an ID is active,
+ * {@link DebugCorrelationTurboFilter} lets every DEBUG line of a thread carrying that correlation ID
+ * through regardless of logger levels, and {@link HotPathLog#sample()} logs every event of it. Entries
+ * expire after their TTL; the number of active IDs is capped so the header cannot flood the logs.</p>
+ *
+ * <p>The registry is per JVM: enable the ID on every service that should log it.</p>
+ */
+public final class DebugCorrelations {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    private static final Duration DEFAULT_MAX_TTL = Duration.ofHours(1);
+    private static final int DEFAULT_MAX_ACTIVE = 100;
+
+    private static final Map<String, Long> ACTIVE = new ConcurrentHashMap<>();
+    /** Entries of {@link #ACTIVE} plus slots reserved for entries being added; never above the cap. */
+    private static final AtomicInteger RESERVED = new AtomicInteger();
+
+    private static volatile Duration defaultTtl = DEFAULT_TTL;
+    private static volatile Duration maxTtl = DEFAULT_MAX_TTL;
+    private static volatile int maxActive = DEFAULT_MAX_ACTIVE;
+
+    private DebugCorrelations() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Sets the default TTL, the maximum TTL and the maximum number of active correlation IDs.
+     *
+     * @param ttl TTL used by {@link #enable(String)}
+     * @param ttlLimit upper bound for any requested TTL
+     * @param limit maximum number of simultaneously active correlation IDs
+     */
+    public static void configure(final Duration ttl, final Duration ttlLimit, final int limit) {
+        defaultTtl = ttl;
+        maxTtl = ttlLimit;
+        maxActive = limit;
+    }
+
+    /**
+     * Enables full DEBUG for the correlation ID with the default TTL.
+     *
+     * @param correlationId correlation ID
+     * @return {@code false} when the limit of active IDs has been reached
+     */
+    public static boolean enable(final String correlationId) {
+        return enable(correlationId, defaultTtl);
+    }
+
+    /**
+     * Enables full DEBUG for the correlation ID; the TTL is capped at the configured maximum.
+     *
+     * @param correlationId correlation ID
+     * @param ttl how long the ID stays enabled
+     * @return {@code false} when the limit of active IDs has been reached
+     */
+    public static boolean enable(final String correlationId, final Duration ttl) {
+        if (correlationId == null || correlationId.isBlank()) {
+            return false;
+        }
+        purgeExpired();
+        final Duration effectiveTtl = ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+        final long expiresAt = System.currentTimeMillis() + effectiveTtl.toMillis();
+        if (ACTIVE.replace(correlationId, expiresAt) != null) {
+            return true;
+        }
+        // A slot is reserved before the insert, so concurrent registrations cannot pass the cap
+        if (!reserveSlot()) {
+            return false;
+        }
+        if (ACTIVE.put(correlationId, expiresAt) != null) {
+            // Added concurrently by another call, which holds the slot
+            RESERVED.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Disables full DEBUG for the correlation ID.
+     *
+     * @param correlationId correlation ID
+     * @return {@code true} if it was enabled
+     */
+    public static boolean disable(final String correlationId) {
+        if (ACTIVE.remove(correlationId) == null) {
+            return false;
+        }
+        RESERVED.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Whether full DEBUG is enabled for the correlation ID.
+     *
+     * @param correlationId correlation ID, may be {@code null}
+     * @return {@code true} while the ID is active and not expired
+     */
+    public static boolean isEnabled(final String correlationId) {
+        if (correlationId == null || ACTIVE.isEmpty()) {
+            return false;
+        }
+        final Long expiresAt = ACTIVE.get(correlationId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            remove(correlationId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether full DEBUG is enabled for the correlation ID bound to the current thread's MDC.
+     * Costs a single map size check while no ID is active.
+     *
+     * @return {@code true} when the current correlation ID is active
+     */
+    public static boolean isCurrentEnabled() {
+        return !ACTIVE.isEmpty() && isEnabled(TraceContext.currentCorrelationId());
+    }
+
+    /**
+     * Returns the active correlation IDs and their expiration.
+     *
+     * @return snapshot sorted by correlation ID
+     */
+    public static Map<String, Instant> active() {
+        purgeExpired();
+        final Map<String, Instant> snapshot = new TreeMap<>();
+        ACTIVE.forEach((id, expiresAt) -> snapshot.put(id, Instant.ofEpochMilli(expiresAt)));
+        return snapshot;
+    }
+
+    /**
+     * Disables every correlation ID.
+     */
+    public static void clear() {
+        ACTIVE.forEach(DebugCorrelations::remove);
+    }
+
+    private static void purgeExpired() {
+        final long now = System.currentTimeMillis();
+        ACTIVE.forEach((id, expiresAt) -> {
+            if (expiresAt < now) {
+                remove(id, expiresAt);
+            }
+        });
+    }
+
+    private static boolean reserveSlot() {
+        while (true) {
+            final int reserved = RESERVED.get();
+            if (reserved >= maxActive) {
+                return false;
+            }
+            if (RESERVED.compareAndSet(reserved, reserved + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry if it still has this expiration, releasing its slot.
+     */
+    private static void remove(final String correlationId, final Long expiresAt) {
+        if (ACTIVE.remove(correlationId, expiresAt)) {
+            RESERVED.decrementAndGet();
+        }
+    }
+}
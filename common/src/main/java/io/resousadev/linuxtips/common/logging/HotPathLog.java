@@ -0,0 +1,177 @@
+package io.resousadev.linuxtips.common.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated and sampled logging for per-message/per-request hot paths.
+ *
+ * <p>Instead of one or two INFO lines per event, a hot path records each execution and gets one
+ * summary line per interval on its logger:</p>
+ * <pre>
+ * sqs.process summary: count=12304, failed=3, ratePerSec=205.1, avgMs=3.210, p50Ms=2.111, p99Ms=41.023, ...
+ * </pre>
+ *
+ * <p>Per-event lines are still available, guarded by {@link #sample()}: it returns {@code true} for a
+ * configurable fraction of events and for every event whose correlation ID has full DEBUG enabled in
+ * {@link DebugCorrelations}.</p>
+ *
+ * <pre>{@code
+ * private static final HotPathLog PROCESS_LOG = HotPathLog.of(log, "sqs.process");
+ *
+ * final long start = System.nanoTime();
+ * if (PROCESS_LOG.sample()) {
+ *     log.info("Processing SQS message: messageId={}", message.messageId());
+ * }
+ * ...
+ * PROCESS_LOG.record(System.nanoTime() - start, failed);
+ * }</pre>
+ *
+ * <p>Recording is lock-free ({@link LongAdder}s and an atomic histogram). The summary is emitted by
+ * whichever thread records first after the interval elapses, and by {@link #reportAll()} so idle
+ * periods still flush the last window. Defaults are set once with {@link #configure(Duration, double)}.</p>
+ */
+public final class HotPathLog {
+
+    private static final Duration DEFAULT_SUMMARY_INTERVAL = Duration.ofMinutes(1);
+    private static final double DEFAULT_SAMPLE_RATE = 0.01;
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private static final List<HotPathLog> INSTANCES = new CopyOnWriteArrayList<>();
+
+    private static volatile long summaryIntervalNanos = DEFAULT_SUMMARY_INTERVAL.toNanos();
+    private static volatile double sampleRate = DEFAULT_SAMPLE_RATE;
+
+    private final Logger logger;
+    private final String name;
+    private final AtomicReference<Window> window;
+
+    private HotPathLog(final Logger logger, final String name) {
+        this.logger = logger;
+        this.name = name;
+        this.window = new AtomicReference<>(new Window(System.nanoTime()));
+    }
+
+    /**
+     * Creates a hot-path log whose summaries are written to the given logger at INFO.
+     *
+     * @param logger logger of the owning class
+     * @param name name of the hot path, e.g. {@code "sqs.process"}
+     * @return the registered hot-path log
+     */
+    public static HotPathLog of(final Logger logger, final String name) {
+        final HotPathLog hotPathLog = new HotPathLog(logger, name);
+        INSTANCES.add(hotPathLog);
+        return hotPathLog;
+    }
+
+    /**
+     * Sets the summary interval and the per-event sample rate of every hot-path log.
+     *
+     * @param summaryInterval how often summaries are emitted
+     * @param rate fraction of events, between 0 and 1, for which {@link #sample()} returns {@code true}
+     */
+    public static void configure(final Duration summaryInterval, final double rate) {
+        summaryIntervalNanos = summaryInterval.toNanos();
+        sampleRate = Math.min(1.0, Math.max(0.0, rate));
+    }
+
+    /**
+     * Emits the summary of every hot-path log whose interval has elapsed.
+     */
+    public static void reportAll() {
+        final long now = System.nanoTime();
+        for (HotPathLog hotPathLog : INSTANCES) {
+            hotPathLog.reportIfDue(now);
+        }
+    }
+
+    /**
+     * Whether the current event should be logged individually.
+     *
+     * @return {@code true} for sampled events and for correlation IDs with full DEBUG enabled
+     */
+    public boolean sample() {
+        final double rate = sampleRate;
+        final boolean sampled = DebugCorrelations.isCurrentEnabled()
+                || rate >= 1.0
+                || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+        if (sampled) {
+            window.get().sampled.increment();
+        }
+        return sampled;
+    }
+
+    /**
+     * Records one execution of the hot path.
+     *
+     * @param durationNanos elapsed time, from {@link System#nanoTime()}
+     * @param failed whether the execution failed
+     */
+    public void record(final long durationNanos, final boolean failed) {
+        final Window current = window.get();
+        current.count.increment();
+        if (failed) {
+            current.failed.increment();
+        }
+        current.totalNanos.add(durationNanos);
+        current.maxNanos.accumulateAndGet(durationNanos, Math::max);
+        current.histogram.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+
+        final long now = System.nanoTime();
+        if (now - current.startNanos >= summaryIntervalNanos) {
+            reportIfDue(now);
+        }
+    }
+
+    private void reportIfDue(final long now) {
+        final Window finished = window.get();
+        if (now - finished.startNanos < summaryIntervalNanos || !window.compareAndSet(finished, new Window(now))) {
+            return;
+        }
+        final long count = finished.count.sum();
+        if (count == 0 || !logger.isInfoEnabled()) {
+            return;
+        }
+        final double seconds = Math.max(1, now - finished.startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        logger.info(String.format(Locale.ROOT,
+                "%s summary: count=%d, failed=%d, ratePerSec=%.1f, avgMs=%.3f, p50Ms=%.3f, p99Ms=%.3f, maxMs=%.3f, "
+                        + "sampled=%d, intervalSec=%.0f",
+                name, count, finished.failed.sum(), count / seconds,
+                TimeUnit.NANOSECONDS.toMicros(finished.totalNanos.sum() / count) / MICROS_PER_MILLI,
+                finished.histogram.percentile(P50) / MICROS_PER_MILLI,
+                finished.histogram.percentile(P99) / MICROS_PER_MILLI,
+                TimeUnit.NANOSECONDS.toMicros(finished.maxNanos.get()) / MICROS_PER_MILLI,
+                finished.sampled.sum(), seconds));
+    }
+
+    /**
+     * Counters of one summary interval. Recorders racing with a swap may land in the previous window;
+     * those few events are simply not reported.
+     */
+    private static final class Window {
+
+        private final long startNanos;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder sampled = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        Window(final long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.resousadev.linuxtips.common.logging;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds.
+ *
+ * <p>Values below 64us get one bucket each; above that every power of two is split into 32 buckets,
+ * so a reported percentile is at most ~3% above the recorded value. Recording is a single
+ * {@code incrementAndGet} on an {@link AtomicLongArray}.</p>
+ */
+final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int FIRST_EXPONENT = 6;
+    private static final int MAX_EXPONENT = 40;
+
+    private final AtomicLongArray buckets =
+            new AtomicLongArray(LINEAR_BUCKETS + (MAX_EXPONENT - FIRST_EXPONENT + 1) * SUB_BUCKETS);
+
+    void record(final long micros) {
+        buckets.incrementAndGet(indexOf(Math.max(0, micros)));
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given quantile, or 0 when empty.
+     *
+     * @param quantile quantile in {@code (0, 1]}, e.g. {@code 0.99}
+     * @return latency in microseconds
+     */
+    long percentile(final double quantile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(buckets.length() - 1);
+    }
+
+    static int indexOf(final long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = Math.min(MAX_EXPONENT, Long.SIZE - 1 - Long.numberOfLeadingZeros(micros));
+        final int subBucket = (int) (Math.min(micros >> (exponent - SUB_BUCKET_BITS), 2L * SUB_BUCKETS - 1)
+                & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(final int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        final int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + FIRST_EXPONENT;
+        final int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,132 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker guarding calls to a remote dependency.
+ *
+ * <ul>
+ *   <li>{@code CLOSED}: calls are permitted; {@code failureThreshold} consecutive failures (calls
+ *       slower than {@code slowCallThreshold} count as failures) open the circuit</li>
+ *   <li>{@code OPEN}: calls are refused without touching the network until {@code openDuration}
+ *       has elapsed</li>
+ *   <li>{@code HALF_OPEN}: exactly one probe call is permitted; its success closes the circuit,
+ *       its failure opens it again</li>
+ * </ul>
+ *
+ * <p>Every permitted call must be followed by {@link #onSuccess(long)} or {@link #onFailure()}, otherwise
+ * a half-open circuit never leaves that state. State changes are lock-free and logged.</p>
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    /**
+     * Circuit state.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final long slowCallThresholdNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAtNanos;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param name name used in log lines, e.g. {@code "eventbridge"}
+     * @param failureThreshold consecutive failures that open the circuit
+     * @param openDuration how long the circuit stays open before a probe is allowed
+     * @param slowCallThreshold successful calls at least this slow count as failures
+     */
+    public CircuitBreaker(final String name, final int failureThreshold, final Duration openDuration,
+                          final Duration slowCallThreshold) {
+        this(name, failureThreshold, openDuration, slowCallThreshold, System::nanoTime);
+    }
+
+    /**
+     * Creates a closed circuit breaker with an explicit clock (tests).
+     *
+     * @param name name used in log lines
+     * @param failureThreshold consecutive failures that open the circuit
+     * @param openDuration how long the circuit stays open before a probe is allowed
+     * @param slowCallThreshold successful calls at least this slow count as failures
+     * @param nanoClock monotonic time source in nanoseconds
+     */
+    public CircuitBreaker(final String name, final int failureThreshold, final Duration openDuration,
+                          final Duration slowCallThreshold, final LongSupplier nanoClock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be >= 1: " + failureThreshold);
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns whether a call may be attempted now; an open circuit whose open duration has elapsed
+     * moves to half-open and grants exactly one caller the probe.
+     */
+    public boolean tryAcquirePermission() {
+        final State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            log.info("Circuit breaker half-open, probing: name={}", name);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a call that completed; a call slower than the slow-call threshold is recorded as a failure.
+     *
+     * @param durationNanos call duration
+     */
+    public void onSuccess(final long durationNanos) {
+        if (durationNanos >= slowCallThresholdNanos) {
+            onFailure();
+            return;
+        }
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("Circuit breaker closed: name={}", name);
+        }
+    }
+
+    /**
+     * Records a failed call.
+     */
+    public void onFailure() {
+        final int failures = consecutiveFailures.incrementAndGet();
+        final State current = state.get();
+        if (current == State.HALF_OPEN || current == State.CLOSED && failures >= failureThreshold) {
+            openedAtNanos = nanoClock.getAsLong();
+            if (state.compareAndSet(current, State.OPEN)) {
+                log.warn("Circuit breaker opened: name={}, consecutiveFailures={}, openMs={}",
+                        name, failures, Duration.ofNanos(openDurationNanos).toMillis());
+            }
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
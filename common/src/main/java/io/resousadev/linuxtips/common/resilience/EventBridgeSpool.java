@@ -0,0 +1,201 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.resousadev.linuxtips.common.exception.EventPublishingException;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker and local spool for EventBridge publishes.
+ *
+ * <p>While the circuit is open, or when a publish fails transiently, the event is appended to the
+ * {@link EventJournal} (memory-mapped, batched fsync) in microseconds instead of holding the
+ * request or losing the event. A {@link JournalDrainer} replays the journal in order, at most
+ * {@code drainRate} events per {@link #drain()}, once the circuit lets calls through;
+ * {@link EventSpoolConfig} schedules the drain every {@code drain-interval}.</p>
+ *
+ * <p>Transient errors (throttling, internal failures, timeouts, 5xx) count against the circuit and
+ * are spooled; permanent ones (4xx validation errors) are not, since a replay would fail the same
+ * way.</p>
+ */
+@Slf4j
+public class EventBridgeSpool {
+
+    private static final Set<String> RETRYABLE_ERROR_CODES = Set.of(
+            "ThrottlingException", "InternalFailure", "InternalException", "ServiceUnavailable");
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    private final EventBridgeClient eventBridgeClient;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final EventJournal journal;
+    private final JournalDrainer drainer;
+    private final int drainRate;
+    private final LongAdder spooled = new LongAdder();
+
+    /**
+     * Creates the spool.
+     *
+     * @param eventBridgeClient client used for replays
+     * @param objectMapper serializes the journal records
+     * @param circuitBreaker breaker shared with the live publish path
+     * @param journal local journal
+     * @param drainRate maximum events replayed per drain run
+     */
+    public EventBridgeSpool(final EventBridgeClient eventBridgeClient, final ObjectMapper objectMapper,
+                            final CircuitBreaker circuitBreaker, final EventJournal journal, final int drainRate) {
+        this.eventBridgeClient = eventBridgeClient;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.journal = journal;
+        this.drainRate = drainRate;
+        this.drainer = new JournalDrainer(journal, circuitBreaker, this::republish);
+    }
+
+    /**
+     * Returns whether a publish may go straight to EventBridge. Every permitted call must end with
+     * {@link #onSuccess(long)} or {@link #onFailure()}.
+     */
+    public boolean allowPublish() {
+        return circuitBreaker.tryAcquirePermission();
+    }
+
+    public void onSuccess(final long durationNanos) {
+        circuitBreaker.onSuccess(durationNanos);
+    }
+
+    public void onFailure() {
+        circuitBreaker.onFailure();
+    }
+
+    /**
+     * Appends the event to the journal for a later replay.
+     *
+     * @param entry event that could not be published
+     * @throws EventPublishingException if the journal is full or cannot be written
+     */
+    public void spool(final PutEventsRequestEntry entry) {
+        final long timeMillis = entry.time() != null ? entry.time().toEpochMilli() : System.currentTimeMillis();
+        final SpooledEvent event = new SpooledEvent(entry.eventBusName(), entry.source(), entry.detailType(),
+                entry.detail(), timeMillis);
+        final boolean stored;
+        try {
+            stored = journal.append(objectMapper.writeValueAsBytes(event));
+        } catch (IOException | RuntimeException e) {
+            log.error("EventBridge spool write failed: detailType={}, error={}", entry.detailType(), e.getMessage(), e);
+            throw new EventPublishingException(entry.detailType(), e);
+        }
+        if (!stored) {
+            log.error("EventBridge spool full, event lost: detailType={}, pending={}",
+                    entry.detailType(), journal.pendingRecords());
+            throw new EventPublishingException(entry.detailType(), null);
+        }
+        spooled.increment();
+        log.warn("Event spooled for later delivery: eventBus={}, detailType={}, circuit={}, pending={}",
+                entry.eventBusName(), entry.detailType(), circuitBreaker.getState(), journal.pendingRecords());
+    }
+
+    /**
+     * Replays up to {@code drainRate} journal records to EventBridge.
+     */
+    public void drain() {
+        if (journal.pendingRecords() > 0) {
+            drainer.drain(drainRate);
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getPendingCount() {
+        return journal.pendingRecords();
+    }
+
+    public long getSpooledCount() {
+        return spooled.sum();
+    }
+
+    public long getDrainedCount() {
+        return drainer.getDrainedCount();
+    }
+
+    public long getRejectedCount() {
+        return drainer.getRejectedCount();
+    }
+
+    /**
+     * Returns whether an {@code errorCode} of an entry rejected by PutEvents is transient.
+     */
+    public static boolean isRetryable(final String errorCode) {
+        return errorCode != null && RETRYABLE_ERROR_CODES.contains(errorCode);
+    }
+
+    /**
+     * Returns whether a client exception is transient: a throttling or 5xx service error, a client-side
+     * failure ({@link SdkClientException}: timeouts, connection errors) or an I/O error. Anything else,
+     * such as a 4xx validation error or a bug in the caller, would fail the same way on replay.
+     */
+    public static boolean isRetryable(final Exception exception) {
+        if (exception instanceof AwsServiceException serviceException) {
+            return serviceException.isThrottlingException()
+                    || serviceException.statusCode() < HTTP_BAD_REQUEST
+                    || serviceException.statusCode() >= HTTP_SERVER_ERROR;
+        }
+        if (exception instanceof SdkClientException) {
+            return true;
+        }
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof UncheckedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JournalDrainer.Outcome republish(final byte[] record) {
+        final SpooledEvent event;
+        try {
+            event = objectMapper.readValue(record, SpooledEvent.class);
+        } catch (IOException e) {
+            return JournalDrainer.Outcome.REJECTED;
+        }
+        final PutEventsRequestEntry entry = PutEventsRequestEntry.builder()
+                .eventBusName(event.eventBusName())
+                .source(event.source())
+                .detailType(event.detailType())
+                .detail(event.detail())
+                .time(Instant.ofEpochMilli(event.timeEpochMillis()))
+                .build();
+
+        final PutEventsResponse response;
+        try {
+            response = eventBridgeClient.putEvents(PutEventsRequest.builder().entries(entry).build());
+        } catch (RuntimeException e) {
+            if (isRetryable(e)) {
+                throw e;
+            }
+            log.error("EventBridge replay rejected: detailType={}, error={}", event.detailType(), e.getMessage());
+            return JournalDrainer.Outcome.REJECTED;
+        }
+        if (response.failedEntryCount() > 0) {
+            final String errorCode = response.entries().get(0).errorCode();
+            log.warn("EventBridge replay failed: detailType={}, errorCode={}, errorMessage={}",
+                    event.detailType(), errorCode, response.entries().get(0).errorMessage());
+            return isRetryable(errorCode) ? JournalDrainer.Outcome.RETRY : JournalDrainer.Outcome.REJECTED;
+        }
+        return JournalDrainer.Outcome.PUBLISHED;
+    }
+}
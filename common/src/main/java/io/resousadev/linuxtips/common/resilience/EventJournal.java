@@ -0,0 +1,484 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only local journal of opaque records in memory-mapped segment files.
+ *
+ * <p>Appends are a bounds check and a memory copy into the mapped active segment under a short
+ * lock, so they take microseconds and never wait for the disk. A background thread forces dirty
+ * segments every {@code flushInterval} (group commit): a JVM crash loses nothing, because the
+ * page cache still holds the writes, and an OS crash or power loss loses at most the last
+ * interval.</p>
+ *
+ * <p>Layout: {@code segment-<id>.journal} files of {@code segmentBytes} each, holding frames of
+ * {@code [int length][int crc32c][payload]}; a zero length marks the end of the written data. A
+ * mapped {@code checkpoint} file stores the read position (segment id and offset). On open,
+ * segments are scanned frame by frame and a torn or corrupt tail is discarded; consumed segments
+ * are deleted.</p>
+ *
+ * <p>The directory belongs to one journal: {@link #open} takes an exclusive lock on its
+ * {@code journal.lock} file, held until {@link #close()}, so a second process (or a second journal
+ * in the same JVM) pointed at a shared volume fails to start instead of overwriting the segments.</p>
+ *
+ * <p>Any number of threads may {@link #append(byte[])}; {@link #read(int)} and
+ * {@link #acknowledge(Entry)} must be called by a single consumer thread.</p>
+ */
+@Slf4j
+public final class EventJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String LOCK_FILE = "journal.lock";
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int CHECKPOINT_BYTES = Long.BYTES + Integer.BYTES * 2;
+    private static final int CHECKPOINT_CRC_OFFSET = Long.BYTES + Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ConcurrentLinkedDeque<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final MappedByteBuffer checkpoint;
+    private final FileChannel lockChannel;
+    private final ScheduledExecutorService flusher;
+
+    private Segment active;
+    private volatile boolean checkpointDirty;
+    private long readSegmentId;
+    private int readPosition;
+
+    private EventJournal(final Path directory, final int segmentBytes, final int maxSegments,
+                         final MappedByteBuffer checkpoint, final FileChannel lockChannel,
+                         final Duration flushInterval) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.checkpoint = checkpoint;
+        this.lockChannel = lockChannel;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-journal-flusher").daemon().factory());
+        final long intervalNanos = flushInterval.toNanos();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Opens (or creates) the journal in {@code directory}, recovering records that were appended but
+     * not acknowledged before the last shutdown or crash.
+     *
+     * @param directory directory owned by this journal
+     * @param segmentBytes size of each segment file; also bounds the largest record
+     * @param maxSegments segments kept on disk; appends fail once they are all in use
+     * @param flushInterval interval between forced writes of dirty segments
+     * @return the opened journal
+     * @throws UncheckedIOException if the directory or its files cannot be used
+     * @throws IllegalStateException if another journal holds the directory
+     */
+    public static EventJournal open(final Path directory, final int segmentBytes, final int maxSegments,
+                                    final Duration flushInterval) {
+        if (segmentBytes <= FRAME_HEADER_BYTES || maxSegments < 2) {
+            throw new IllegalArgumentException("segmentBytes must hold a frame and maxSegments must be >= 2: "
+                    + segmentBytes + ", " + maxSegments);
+        }
+        FileChannel lockChannel = null;
+        try {
+            Files.createDirectories(directory);
+            lockChannel = lock(directory);
+            final MappedByteBuffer checkpoint = map(directory.resolve(CHECKPOINT_FILE), CHECKPOINT_BYTES);
+            final EventJournal journal = new EventJournal(directory, segmentBytes, maxSegments, checkpoint,
+                    lockChannel, flushInterval);
+            try {
+                journal.recover();
+            } catch (IOException | RuntimeException e) {
+                journal.flusher.shutdownNow();
+                throw e;
+            }
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(lockChannel);
+            if (e instanceof IOException io) {
+                throw new UncheckedIOException("Cannot open event journal: " + directory, io);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param record record bytes
+     * @return {@code false} when every segment is in use (journal full); the record was not stored
+     * @throws IllegalArgumentException if the record does not fit in a segment
+     */
+    public boolean append(final byte[] record) {
+        final int frameBytes = FRAME_HEADER_BYTES + record.length;
+        if (frameBytes > segmentBytes) {
+            throw new IllegalArgumentException("Record larger than a journal segment: " + record.length + " bytes");
+        }
+        final CRC32C crc = new CRC32C();
+        crc.update(record);
+
+        appendLock.lock();
+        try {
+            if (active.committed + frameBytes > segmentBytes) {
+                if (segments.size() >= maxSegments) {
+                    return false;
+                }
+                roll();
+            }
+            final int position = active.committed;
+            final MappedByteBuffer buffer = active.buffer;
+            buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            buffer.put(position + FRAME_HEADER_BYTES, record);
+            final int end = position + frameBytes;
+            if (end + Integer.BYTES <= segmentBytes) {
+                // End marker: hides stale bytes left by a torn write before a restart
+                buffer.putInt(end, 0);
+            }
+            buffer.putInt(position, record.length);
+            active.committed = end;
+            active.dirty = true;
+            pendingRecords.incrementAndGet();
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code maxRecords} records from the read position without consuming them.
+     *
+     * @param maxRecords maximum number of records
+     * @return the records in append order; empty when nothing is pending
+     */
+    public List<Entry> read(final int maxRecords) {
+        final List<Entry> entries = new ArrayList<>(Math.min(maxRecords, (int) Math.max(1, pendingRecords.get())));
+        Segment segment = segment(readSegmentId);
+        int position = readPosition;
+        while (segment != null && entries.size() < maxRecords) {
+            final boolean sealed = segment.sealed;
+            if (position < segment.committed) {
+                final int length = segment.buffer.getInt(position);
+                final byte[] payload = new byte[length];
+                segment.buffer.get(position + FRAME_HEADER_BYTES, payload);
+                position += FRAME_HEADER_BYTES + length;
+                entries.add(new Entry(payload, segment.id, position));
+            } else if (sealed) {
+                segment = next(segment);
+                position = 0;
+            } else {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Consumes every record up to and including {@code entry}; fully consumed segments are deleted.
+     *
+     * @param entry the last consumed record, as returned by {@link #read(int)}
+     */
+    public void acknowledge(final Entry entry) {
+        readSegmentId = entry.segmentId();
+        readPosition = entry.nextPosition();
+        pendingRecords.decrementAndGet();
+        writeCheckpoint();
+
+        Segment head = segments.peekFirst();
+        while (head != null && head.id < readSegmentId && head.sealed) {
+            segments.pollFirst();
+            deleteQuietly(head.path);
+            head = segments.peekFirst();
+        }
+    }
+
+    /**
+     * Records appended and not yet acknowledged.
+     */
+    public long pendingRecords() {
+        return pendingRecords.get();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Forces dirty segments and the checkpoint to disk.
+     */
+    public void flush() {
+        for (Segment segment : segments) {
+            if (segment.dirty) {
+                segment.dirty = false;
+                segment.buffer.force();
+            }
+        }
+        if (checkpointDirty) {
+            checkpointDirty = false;
+            checkpoint.force();
+        }
+    }
+
+    /**
+     * Stops the flusher, forces pending writes and releases the directory lock.
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            closeQuietly(lockChannel);
+        }
+    }
+
+    private void recover() throws IOException {
+        final List<Long> ids;
+        try (Stream<Path> files = Files.list(directory)) {
+            ids = files.map(path -> path.getFileName().toString())
+                    .filter(file -> file.startsWith(SEGMENT_PREFIX) && file.endsWith(SEGMENT_SUFFIX))
+                    .map(file -> Long.parseLong(file.substring(SEGMENT_PREFIX.length(),
+                            file.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+
+        final boolean validCheckpoint = checkpointCrc() == checkpoint.getInt(CHECKPOINT_CRC_OFFSET);
+        readSegmentId = validCheckpoint ? checkpoint.getLong(0) : Long.MIN_VALUE;
+        readPosition = validCheckpoint ? checkpoint.getInt(Long.BYTES) : 0;
+
+        long pending = 0;
+        for (long id : ids) {
+            final Path path = segmentPath(id);
+            if (id < readSegmentId) {
+                deleteQuietly(path);
+                continue;
+            }
+            final Segment segment = new Segment(id, path, map(path, segmentBytes));
+            segment.committed = scan(segment);
+            if (id == readSegmentId && readPosition > segment.committed) {
+                // Checkpoint reached the disk but the segment tail did not (OS crash)
+                readPosition = segment.committed;
+            }
+            pending += countFrames(segment, id == readSegmentId ? readPosition : 0);
+            segments.addLast(segment);
+        }
+
+        if (segments.isEmpty()) {
+            segments.addLast(newSegment(ids.isEmpty() ? 0 : ids.get(ids.size() - 1) + 1));
+        }
+        final Segment first = segments.peekFirst();
+        if (first.id != readSegmentId) {
+            readSegmentId = first.id;
+            readPosition = 0;
+        }
+        segments.forEach(segment -> segment.sealed = true);
+        active = segments.peekLast();
+        active.sealed = false;
+        pendingRecords.set(pending);
+
+        if (pending > 0) {
+            log.warn("Event journal recovered pending records: directory={}, pending={}, segments={}",
+                    directory, pending, segments.size());
+        }
+    }
+
+    /**
+     * Returns the end of the last intact frame of a segment.
+     */
+    private int scan(final Segment segment) {
+        final MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + FRAME_HEADER_BYTES <= segmentBytes) {
+            final int length = buffer.getInt(position);
+            if (length <= 0 || length > segmentBytes - position - FRAME_HEADER_BYTES) {
+                break;
+            }
+            final byte[] payload = new byte[length];
+            buffer.get(position + FRAME_HEADER_BYTES, payload);
+            final CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                log.warn("Event journal discarding corrupt tail: segment={}, offset={}", segment.path, position);
+                break;
+            }
+            position += FRAME_HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private int countFrames(final Segment segment, final int from) {
+        int count = 0;
+        int position = from;
+        while (position < segment.committed) {
+            position += FRAME_HEADER_BYTES + segment.buffer.getInt(position);
+            count++;
+        }
+        return count;
+    }
+
+    private void roll() {
+        final Segment next = newSegment(active.id + 1);
+        segments.addLast(next);
+        active.sealed = true;
+        active = next;
+    }
+
+    private Segment newSegment(final long id) {
+        final Path path = segmentPath(id);
+        try {
+            return new Segment(id, path, map(path, segmentBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create event journal segment: " + path, e);
+        }
+    }
+
+    private Segment segment(final long id) {
+        for (Segment segment : segments) {
+            if (segment.id == id) {
+                return segment;
+            }
+        }
+        return segments.peekFirst();
+    }
+
+    private Segment next(final Segment current) {
+        for (Segment segment : segments) {
+            if (segment.id > current.id) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private void writeCheckpoint() {
+        checkpoint.putLong(0, readSegmentId);
+        checkpoint.putInt(Long.BYTES, readPosition);
+        checkpoint.putInt(CHECKPOINT_CRC_OFFSET, checkpointCrc());
+        checkpointDirty = true;
+    }
+
+    private int checkpointCrc() {
+        final CRC32C crc = new CRC32C();
+        crc.update(checkpoint.slice(0, CHECKPOINT_CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Event journal flush failed: directory={}, error={}", directory, e.getMessage(), e);
+        }
+    }
+
+    private Path segmentPath(final long id) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static FileChannel lock(final Path directory) throws IOException {
+        final FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        final FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            channel.close();
+            throw new IllegalStateException("Event journal directory already in use in this JVM: " + directory, e);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("Event journal directory locked by another process: " + directory);
+        }
+        return channel;
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Event journal lock release failed: error={}", e.getMessage());
+        }
+    }
+
+    private static MappedByteBuffer map(final Path path, final int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Cannot delete consumed journal segment: path={}, error={}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * A record read from the journal.
+     *
+     * @param payload record bytes
+     * @param segmentId segment holding the record
+     * @param nextPosition offset right after the record, i.e. the read position once it is acknowledged
+     */
+    public record Entry(byte[] payload, long segmentId, int nextPosition) {
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private volatile int committed;
+        private volatile boolean sealed;
+        private volatile boolean dirty;
+
+        private Segment(final long id, final Path path, final MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
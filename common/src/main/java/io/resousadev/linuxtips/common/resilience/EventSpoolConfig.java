@@ -0,0 +1,93 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+
+/**
+ * EventBridge circuit breaker and local spool, shared by the services that publish to EventBridge.
+ *
+ * <p>Imported with {@code @Import(EventSpoolConfig.class)} by a service that also declares an
+ * {@link EventSpoolProperties} bean bound to its own prefix and enables scheduling; the drain runs
+ * every {@link EventSpoolProperties#getDrainInterval() drain-interval}.</p>
+ *
+ * <p>Metrics, when Micrometer is on the classpath:</p>
+ * <ul>
+ *   <li>{@code eventbridge.circuit.state}: 0 closed, 1 half-open, 2 open;</li>
+ *   <li>{@code eventbridge.spool.pending}: events waiting for replay;</li>
+ *   <li>{@code eventbridge.spool.spooled}, {@code eventbridge.spool.drained} and
+ *       {@code eventbridge.spool.rejected} (refused on replay and discarded).</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+public class EventSpoolConfig {
+
+    private static final String CIRCUIT_BREAKER_NAME = "eventbridge";
+
+    @Bean(destroyMethod = "close")
+    public EventJournal eventBridgeJournal(final EventSpoolProperties properties) {
+        return EventJournal.open(properties.getDirectory(), (int) properties.getSegmentSize().toBytes(),
+                properties.getMaxSegments(), properties.getFlushInterval());
+    }
+
+    @Bean
+    public EventBridgeSpool eventBridgeSpool(@Lazy final EventBridgeClient eventBridgeClient,
+                                             final ObjectMapper objectMapper,
+                                             final EventJournal eventBridgeJournal,
+                                             final EventSpoolProperties properties) {
+        final EventSpoolProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        return new EventBridgeSpool(eventBridgeClient, objectMapper,
+                new CircuitBreaker(CIRCUIT_BREAKER_NAME, breaker.getFailureThreshold(), breaker.getOpenDuration(),
+                        breaker.getSlowCallThreshold()),
+                eventBridgeJournal, properties.getDrainRate());
+    }
+
+    @Bean
+    public SchedulingConfigurer eventBridgeSpoolDrain(final EventBridgeSpool eventBridgeSpool,
+                                                      final EventSpoolProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(eventBridgeSpool::drain, properties.getDrainInterval());
+    }
+
+    /**
+     * Spool metrics; skipped by services without Micrometer.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class Metrics {
+
+        @Bean
+        public MeterBinder eventBridgeSpoolMetrics(final EventBridgeSpool eventBridgeSpool) {
+            return registry -> {
+                Gauge.builder("eventbridge.circuit.state", eventBridgeSpool, spool -> switch (spool.getCircuitState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                        .description("EventBridge circuit breaker state (0 closed, 1 half-open, 2 open)")
+                        .register(registry);
+                Gauge.builder("eventbridge.spool.pending", eventBridgeSpool, EventBridgeSpool::getPendingCount)
+                        .description("Events in the local journal waiting for replay")
+                        .register(registry);
+                FunctionCounter.builder("eventbridge.spool.spooled", eventBridgeSpool,
+                                EventBridgeSpool::getSpooledCount)
+                        .description("Events written to the local journal instead of EventBridge")
+                        .register(registry);
+                FunctionCounter.builder("eventbridge.spool.drained", eventBridgeSpool,
+                                EventBridgeSpool::getDrainedCount)
+                        .description("Spooled events replayed to EventBridge")
+                        .register(registry);
+                FunctionCounter.builder("eventbridge.spool.rejected", eventBridgeSpool,
+                                EventBridgeSpool::getRejectedCount)
+                        .description("Spooled events permanently rejected on replay and discarded")
+                        .register(registry);
+            };
+        }
+    }
+}
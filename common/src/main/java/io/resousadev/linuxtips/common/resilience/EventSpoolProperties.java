@@ -0,0 +1,56 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * EventBridge circuit breaker and local spool settings, bound by each service under its own prefix
+ * ({@code eventbridge.spool.*} in ms-checkout, {@code aws.eventbridge.spool.*} in manager-file).
+ *
+ * @see EventSpoolConfig
+ */
+@Data
+public class EventSpoolProperties {
+
+    /** Journal directory; must survive restarts (persistent volume in containers) and belongs to one instance. */
+    private Path directory = Path.of("data", "eventbridge-spool");
+
+    /** Size of each journal segment; also bounds the size of one event. */
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    /** Segments kept on disk; new events are refused once all are in use. */
+    private int maxSegments = 64;
+
+    /** Batched fsync interval: the most that an OS crash can lose. */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /** Interval between replay runs. */
+    private Duration drainInterval = Duration.ofSeconds(1);
+
+    /** Maximum events replayed per run. */
+    private int drainRate = 100;
+
+    /** Publish circuit breaker. */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Publish circuit breaker.
+     *
+     * @see io.resousadev.linuxtips.common.resilience.CircuitBreaker
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /** Consecutive failures that open the circuit. */
+        private int failureThreshold = 5;
+
+        /** How long the circuit stays open before a probe call. */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** Successful calls at least this slow count as failures. */
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,142 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays an {@link EventJournal} into the remote dependency once its {@link CircuitBreaker} lets
+ * calls through.
+ *
+ * <p>Each {@link #drain(int)} publishes at most {@code maxRecords} records in append order, so the
+ * replay rate is {@code maxRecords} per scheduling interval. Every publish goes through the
+ * circuit breaker: while it is open nothing is attempted, after the open duration the first record
+ * is the half-open probe, and the first retryable failure stops the run and leaves the record at
+ * the head of the journal. Records the dependency rejects permanently are logged with their
+ * content at ERROR and skipped, so one bad record cannot block the journal.</p>
+ *
+ * <p>Not thread-safe: call {@link #drain(int)} from a single scheduler thread.</p>
+ */
+@Slf4j
+public final class JournalDrainer {
+
+    private static final int READ_BATCH = 64;
+
+    /**
+     * Result of publishing one journal record.
+     */
+    public enum Outcome {
+        /** Delivered; the record is consumed. */
+        PUBLISHED,
+        /** Transient failure; the record stays in the journal and the drain stops. */
+        RETRY,
+        /** Permanently refused by the dependency; the record is logged and consumed. */
+        REJECTED
+    }
+
+    /**
+     * Publishes one journal record to the remote dependency.
+     */
+    @FunctionalInterface
+    public interface Publisher {
+
+        /**
+         * Publishes the record; exceptions are treated as {@link Outcome#RETRY}.
+         *
+         * @param record record bytes as appended to the journal
+         * @return the outcome
+         * @throws Exception on transient failures
+         */
+        Outcome publish(byte[] record) throws Exception;
+    }
+
+    private final EventJournal journal;
+    private final CircuitBreaker circuitBreaker;
+    private final Publisher publisher;
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a drainer.
+     *
+     * @param journal journal to replay
+     * @param circuitBreaker breaker shared with the live publish path
+     * @param publisher publishes one record
+     */
+    public JournalDrainer(final EventJournal journal, final CircuitBreaker circuitBreaker,
+                          final Publisher publisher) {
+        this.journal = journal;
+        this.circuitBreaker = circuitBreaker;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Replays up to {@code maxRecords} records.
+     *
+     * @param maxRecords maximum records published by this run
+     * @return records consumed (published or rejected)
+     */
+    public int drain(final int maxRecords) {
+        int consumed = 0;
+        while (consumed < maxRecords && journal.pendingRecords() > 0) {
+            final List<EventJournal.Entry> entries = journal.read(Math.min(READ_BATCH, maxRecords - consumed));
+            if (entries.isEmpty()) {
+                break;
+            }
+            for (EventJournal.Entry entry : entries) {
+                if (!circuitBreaker.tryAcquirePermission()) {
+                    return logged(consumed);
+                }
+                final Outcome outcome = publish(entry.payload());
+                if (outcome == Outcome.RETRY) {
+                    return logged(consumed);
+                }
+                if (outcome == Outcome.REJECTED) {
+                    rejected.increment();
+                    log.error("Journal record rejected permanently, skipping: breaker={}, record={}",
+                            circuitBreaker.getName(), new String(entry.payload(), StandardCharsets.UTF_8));
+                } else {
+                    drained.increment();
+                }
+                journal.acknowledge(entry);
+                consumed++;
+            }
+        }
+        return logged(consumed);
+    }
+
+    public long getDrainedCount() {
+        return drained.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private Outcome publish(final byte[] record) {
+        final long startNanos = System.nanoTime();
+        Outcome outcome;
+        try {
+            outcome = publisher.publish(record);
+        } catch (Exception e) {
+            log.debug("Journal replay failed: breaker={}, error={}", circuitBreaker.getName(), e.getMessage());
+            outcome = Outcome.RETRY;
+        }
+        if (outcome == Outcome.RETRY) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess(System.nanoTime() - startNanos);
+        }
+        return outcome;
+    }
+
+    private int logged(final int consumed) {
+        if (consumed > 0) {
+            log.info("Journal replayed: breaker={}, consumed={}, pending={}",
+                    circuitBreaker.getName(), consumed, journal.pendingRecords());
+        }
+        return consumed;
+    }
+}
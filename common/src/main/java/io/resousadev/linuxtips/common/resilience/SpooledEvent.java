@@ -0,0 +1,17 @@
+package io.resousadev.linuxtips.common.resilience;
+
+/**
+ * EventBridge entry kept in the local {@link EventJournal} while the bus is unreachable.
+ *
+ * <p>Mirrors the fields of a {@code PutEventsRequestEntry}; {@code timeEpochMillis} is the
+ * original publish time, so replayed events keep it as their event time.</p>
+ *
+ * @param eventBusName target event bus
+ * @param source event source
+ * @param detailType event detail type
+ * @param detail event detail (JSON)
+ * @param timeEpochMillis time the event was first published, epoch milliseconds
+ */
+public record SpooledEvent(String eventBusName, String source, String detailType, String detail,
+                           long timeEpochMillis) {
+}
@@ -0,0 +1,56 @@
+package io.resousadev.linuxtips.common.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Restores the trace context carried inside a message body.
+ *
+ * <p>Understands both a bare {@link io.resousadev.linuxtips.common.event.BaseEvent} and the
+ * EventBridge envelope delivered to SQS targets, where the published payload sits under
+ * {@code detail}. Bodies that are not JSON, or carry no context, get a fresh correlation ID.</p>
+ */
+public final class MessageTraceContext {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String DETAIL_FIELD = "detail";
+    private static final String CORRELATION_ID_FIELD = "correlationId";
+    private static final String TRACEPARENT_FIELD = "traceparent";
+
+    private MessageTraceContext() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Binds the correlation ID and {@code traceparent} found in the message body to the MDC.
+     *
+     * @param messageBody raw message body
+     * @return scope restoring the previous MDC when closed
+     */
+    public static TraceContext.Scope restoreFrom(final String messageBody) {
+        final JsonNode carrier = findCarrier(messageBody);
+        return TraceContext.restore(text(carrier, CORRELATION_ID_FIELD), text(carrier, TRACEPARENT_FIELD));
+    }
+
+    private static JsonNode findCarrier(final String messageBody) {
+        if (messageBody == null || messageBody.isBlank()) {
+            return null;
+        }
+        try {
+            final JsonNode root = MAPPER.readTree(messageBody);
+            final JsonNode detail = root.path(DETAIL_FIELD);
+            return detail.isObject() ? detail : root;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String text(final JsonNode carrier, final String field) {
+        if (carrier == null) {
+            return null;
+        }
+        final JsonNode value = carrier.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+}
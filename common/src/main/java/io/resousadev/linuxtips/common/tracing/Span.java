@@ -0,0 +1,101 @@
+package io.resousadev.linuxtips.common.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timed unit of work exported as a {@code traceparent}-compatible span record.
+ *
+ * <p>Starting a span derives a child of the current {@code traceparent} (or a new root) and binds
+ * it to the MDC; closing it restores the parent and emits one line on the
+ * {@value #SPAN_LOGGER} logger with trace-id, span-id, parent span-id and duration. Route that
+ * logger to the JSON appender to feed a trace viewer, or leave it at INFO to disable the export.</p>
+ *
+ * <pre>{@code
+ * try (Span span = Span.start("eventbridge.putEvents")) {
+ *     eventBridgeClient.putEvents(request);
+ * }
+ * }</pre>
+ */
+public final class Span implements AutoCloseable {
+
+    public static final String SPAN_LOGGER = "io.resousadev.linuxtips.tracing.spans";
+
+    private static final Logger SPAN_LOG = LoggerFactory.getLogger(SPAN_LOGGER);
+
+    private final String name;
+    private final Traceparent traceparent;
+    private final String parentSpanId;
+    private final String previousTraceparent;
+    private final long startNanos;
+    private boolean failed;
+
+    private Span(final String name, final Traceparent traceparent, final String parentSpanId,
+                 final String previousTraceparent) {
+        this.name = name;
+        this.traceparent = traceparent;
+        this.parentSpanId = parentSpanId;
+        this.previousTraceparent = previousTraceparent;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts a span as a child of the span currently bound to the MDC.
+     *
+     * @param name span name, e.g. {@code "sqs.process"}
+     * @return the started span
+     */
+    public static Span start(final String name) {
+        return startWithParent(name, TraceContext.currentTraceparent());
+    }
+
+    /**
+     * Starts a span as a child of an explicit parent, e.g. an incoming {@code traceparent} header.
+     *
+     * @param name span name
+     * @param parentTraceparent parent {@code traceparent}, may be {@code null} to start a new trace
+     * @return the started span
+     */
+    public static Span startWithParent(final String name, final String parentTraceparent) {
+        final String previous = TraceContext.currentTraceparent();
+        final Traceparent parent = Traceparent.parse(parentTraceparent).orElse(null);
+        final Traceparent current = parent != null ? parent.newChild() : Traceparent.newRoot();
+
+        TraceContext.bind(current);
+        return new Span(name, current, parent != null ? parent.spanId() : null, previous);
+    }
+
+    /**
+     * Marks the span as failed; reported in the exported record.
+     */
+    public void markFailed() {
+        this.failed = true;
+    }
+
+    public Traceparent traceparent() {
+        return traceparent;
+    }
+
+    @Override
+    public void close() {
+        final long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+
+        if (SPAN_LOG.isDebugEnabled()) {
+            SPAN_LOG.debug("span name={}, traceId={}, spanId={}, parentSpanId={}, durationUs={}, status={}",
+                    name, traceparent.traceId(), traceparent.spanId(), parentSpanId, durationMicros,
+                    failed ? "ERROR" : "OK");
+        }
+
+        final Traceparent previous = Traceparent.parse(previousTraceparent).orElse(null);
+        if (previous != null) {
+            TraceContext.bind(previous);
+        } else {
+            MDC.remove(TraceContext.TRACEPARENT_MDC_KEY);
+            MDC.remove(TraceContext.TRACE_ID_MDC_KEY);
+            MDC.remove(TraceContext.SPAN_ID_MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.resousadev.linuxtips.common.tracing;
+
+import io.resousadev.linuxtips.common.id.TimeOrderedIds;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * Correlation and trace context shared by HTTP filters, producers and consumers.
+ *
+ * <p>The context lives in the SLF4J MDC of the current thread. Producers copy it into
+ * {@link io.resousadev.linuxtips.common.event.BaseEvent} (and the EventBridge entry), consumers
+ * restore it from the received event with {@link #restore(String, String)} so that every log
+ * line of the processing thread carries the originating correlation ID.</p>
+ */
+public final class TraceContext {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    public static final String TRACEPARENT_MDC_KEY = "traceparent";
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+    public static final String SPAN_ID_MDC_KEY = "spanId";
+
+    private TraceContext() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Returns the correlation ID bound to the current thread, or {@code null}.
+     */
+    public static String currentCorrelationId() {
+        return MDC.get(CORRELATION_ID_MDC_KEY);
+    }
+
+    /**
+     * Returns the correlation ID bound to the current thread, generating a new one when absent.
+     */
+    public static String currentOrNewCorrelationId() {
+        final String correlationId = currentCorrelationId();
+        return correlationId == null || correlationId.isBlank() ? newCorrelationId() : correlationId;
+    }
+
+    /**
+     * Generates a new correlation ID (time-ordered UUID, see {@link TimeOrderedIds}).
+     */
+    public static String newCorrelationId() {
+        return TimeOrderedIds.newId();
+    }
+
+    /**
+     * Returns the {@code traceparent} of the current span, or {@code null} when no span is active.
+     */
+    public static String currentTraceparent() {
+        return MDC.get(TRACEPARENT_MDC_KEY);
+    }
+
+    /**
+     * Binds a correlation ID and the producer's {@code traceparent} to the MDC of the current thread.
+     * Intended for consumer threads handling a message produced elsewhere; spans started inside the
+     * scope with {@link Span#start(String)} become children of the producer's span.
+     *
+     * <p>Closing the returned scope restores the MDC exactly as it was before the call.</p>
+     *
+     * @param correlationId the correlation ID carried by the message (a new one is generated when blank)
+     * @param parentTraceparent the producer's {@code traceparent}, may be {@code null}
+     * @return scope to close once the message has been handled
+     */
+    public static Scope restore(final String correlationId, final String parentTraceparent) {
+        final Map<String, String> previous = MDC.getCopyOfContextMap();
+
+        MDC.put(CORRELATION_ID_MDC_KEY,
+                correlationId == null || correlationId.isBlank() ? newCorrelationId() : correlationId);
+        Traceparent.parse(parentTraceparent).ifPresent(TraceContext::bind);
+
+        return () -> {
+            if (previous == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(previous);
+            }
+        };
+    }
+
+    static void bind(final Traceparent traceparent) {
+        MDC.put(TRACEPARENT_MDC_KEY, traceparent.toHeader());
+        MDC.put(TRACE_ID_MDC_KEY, traceparent.traceId());
+        MDC.put(SPAN_ID_MDC_KEY, traceparent.spanId());
+    }
+
+    /**
+     * Restorable MDC scope, usable in try-with-resources.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
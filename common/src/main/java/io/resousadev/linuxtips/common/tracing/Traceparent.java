@@ -0,0 +1,90 @@
+package io.resousadev.linuxtips.common.tracing;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * W3C Trace Context {@code traceparent} value.
+ *
+ * <p>Format: {@code 00-<32 hex trace-id>-<16 hex span-id>-<2 hex flags>}. Only version {@code 00}
+ * is produced; unknown versions are parsed as long as the first four fields follow the spec.</p>
+ *
+ * @param traceId 32 lowercase hex characters identifying the whole trace
+ * @param spanId 16 lowercase hex characters identifying the current span
+ * @param sampled whether the {@code sampled} flag is set
+ * @see <a href="https://www.w3.org/TR/trace-context/#traceparent-header">W3C traceparent</a>
+ */
+public record Traceparent(String traceId, String spanId, boolean sampled) {
+
+    private static final String VERSION = "00";
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+    private static final int HEX_RADIX = 16;
+    private static final int HEX_CHARS_PER_LONG = 16;
+    private static final Pattern FORMAT = Pattern.compile(
+            "^(?<version>[0-9a-f]{2})-(?<traceId>[0-9a-f]{32})-(?<spanId>[0-9a-f]{16})-(?<flags>[0-9a-f]{2})(-.*)?$");
+
+    /**
+     * Starts a new trace with a random trace-id and span-id.
+     */
+    public static Traceparent newRoot() {
+        return new Traceparent(randomHex(2), randomHex(1), true);
+    }
+
+    /**
+     * Parses a {@code traceparent} header value.
+     *
+     * @param header the raw header value (may be {@code null})
+     * @return the parsed value, or empty when absent or malformed
+     */
+    public static Optional<Traceparent> parse(final String header) {
+        if (header == null || header.isBlank()) {
+            return Optional.empty();
+        }
+        final Matcher matcher = FORMAT.matcher(header.trim());
+        if (!matcher.matches() || "ff".equals(matcher.group("version"))) {
+            return Optional.empty();
+        }
+        final String traceId = matcher.group("traceId");
+        final String spanId = matcher.group("spanId");
+        if (INVALID_TRACE_ID.equals(traceId) || INVALID_SPAN_ID.equals(spanId)) {
+            return Optional.empty();
+        }
+        final boolean sampled = (Integer.parseInt(matcher.group("flags"), HEX_RADIX) & 1) == 1;
+        return Optional.of(new Traceparent(traceId, spanId, sampled));
+    }
+
+    /**
+     * Creates a child span within the same trace.
+     */
+    public Traceparent newChild() {
+        return new Traceparent(traceId, randomHex(1), sampled);
+    }
+
+    /**
+     * Renders the value in {@code traceparent} header format.
+     */
+    public String toHeader() {
+        return VERSION + "-" + traceId + "-" + spanId + "-" + (sampled ? "01" : "00");
+    }
+
+    @Override
+    public String toString() {
+        return toHeader();
+    }
+
+    private static String randomHex(final int longs) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final StringBuilder hex = new StringBuilder(longs * HEX_CHARS_PER_LONG);
+        for (int i = 0; i < longs; i++) {
+            long value = random.nextLong();
+            while (value == 0L) {
+                value = random.nextLong();
+            }
+            hex.append(String.format("%016x", value));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package io.resousadev.linuxtips.common.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link EventArchiveReplayer}.
+ */
+class EventArchiveReplayerTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+    private static final long START = 1_760_000_400_000L;
+    private static final int EVENTS_PER_MINUTE = 100;
+    private static final int MINUTES = 12;
+
+    @TempDir
+    private Path directory;
+
+    private LocalArchiveStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Given: 12 one-minute segments of 100 events, alternating types
+        store = new LocalArchiveStore(directory.resolve("store"));
+        final AtomicLong clock = new AtomicLong(START);
+        final EventArchiveWriter writer = EventArchiveWriter.open(directory.resolve("work"), store,
+                new EventArchiveWriter.Settings(Duration.ofMinutes(1), Long.MAX_VALUE, 1024, Duration.ofHours(1)),
+                clock::get);
+        for (int minute = 0; minute < MINUTES; minute++) {
+            for (int i = 0; i < EVENTS_PER_MINUTE; i++) {
+                clock.set(START + minute * MINUTE + i * 10L);
+                writer.append(i % 2 == 0 ? "APPROVED" : "REJECTED", "{\"minute\":" + minute + ",\"i\":" + i + "}");
+            }
+        }
+        writer.close();
+    }
+
+    @Test
+    void shouldReplayOnlyTheSelectedRangeAndTypesInParallel() {
+        // Given
+        final Set<String> seen = ConcurrentHashMap.newKeySet();
+        final EventArchiveReplayer.ReplayProgress progress = new EventArchiveReplayer.ReplayProgress();
+
+        // When: minutes 3 to 5, APPROVED only
+        new EventArchiveReplayer(store).replay(START + 3 * MINUTE, START + 6 * MINUTE, Set.of("APPROVED"), 4,
+                event -> seen.add(event.body()), progress);
+
+        // Then
+        assertEquals(3 * EVENTS_PER_MINUTE / 2, seen.size());
+        assertEquals(3 * EVENTS_PER_MINUTE / 2, progress.getEvents());
+        assertEquals(3, progress.getSegments());
+        assertEquals(3, progress.getSegmentsDone());
+        assertTrue(seen.contains("{\"minute\":3,\"i\":0}"));
+        assertTrue(seen.contains("{\"minute\":5,\"i\":98}"));
+    }
+
+    @Test
+    void shouldCountHandlerFailuresAndContinue() {
+        // Given
+        final EventArchiveReplayer.ReplayProgress progress = new EventArchiveReplayer.ReplayProgress();
+
+        // When
+        new EventArchiveReplayer(store).replay(0, Long.MAX_VALUE, Set.of(), 2, event -> {
+            if ("REJECTED".equals(event.eventType())) {
+                throw new IllegalStateException("handler failed");
+            }
+        }, progress);
+
+        // Then
+        assertEquals(MINUTES * EVENTS_PER_MINUTE / 2, progress.getEvents());
+        assertEquals(MINUTES * EVENTS_PER_MINUTE / 2, progress.getFailures());
+        assertEquals(0, progress.getFailedSegments());
+    }
+
+    @Test
+    void shouldStopWhenCancelled() {
+        // Given
+        final EventArchiveReplayer.ReplayProgress progress = new EventArchiveReplayer.ReplayProgress();
+
+        // When
+        new EventArchiveReplayer(store).replay(0, Long.MAX_VALUE, Set.of(), 1, event -> progress.cancel(), progress);
+
+        // Then
+        assertEquals(1, progress.getEvents());
+        assertTrue(progress.isCancelled());
+    }
+}
@@ -0,0 +1,153 @@
+package io.resousadev.linuxtips.common.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link EventArchiveWriter} and {@link ArchiveSegmentReader}.
+ */
+class EventArchiveWriterTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long START = 1_760_000_400_000L;
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicLong clock = new AtomicLong(START);
+
+    @Test
+    void shouldPartitionSegmentsByTimeAndReadThemBack() throws IOException {
+        // Given
+        final LocalArchiveStore store = new LocalArchiveStore(directory.resolve("store"));
+        final EventArchiveWriter writer = open(directory.resolve("work"), store, 64 * 1024, Long.MAX_VALUE);
+        writer.append("APPROVED", "{\"n\":1}");
+        writer.append("PENDING", "{\"n\":2}");
+        clock.addAndGet(HOUR);
+        writer.append("APPROVED", "{\"n\":3}");
+
+        // When
+        writer.close();
+
+        // Then
+        final List<ArchiveSegment> segments = store.find(0, Long.MAX_VALUE);
+        assertEquals(2, segments.size());
+        assertEquals(START, segments.get(0).minTimestamp());
+        assertEquals(START + HOUR, segments.get(1).minTimestamp());
+        assertEquals(List.of("{\"n\":1}", "{\"n\":2}"), bodies(store, segments.get(0), Set.of()));
+        assertEquals(List.of("{\"n\":1}"), bodies(store, segments.get(0), Set.of("APPROVED")));
+        assertEquals(3, writer.getArchivedCount());
+        assertEquals(2, writer.getSealedCount());
+    }
+
+    @Test
+    void shouldSkipBlocksOutsideTheRangeThroughTheIndex() throws IOException {
+        // Given: one record per block
+        final LocalArchiveStore store = new LocalArchiveStore(directory.resolve("store"));
+        final EventArchiveWriter writer = open(directory.resolve("work"), store, 32, Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            writer.append(START + i * 1000L, "APPROVED", "event-" + i);
+        }
+        writer.close();
+        final ArchiveSegment segment = store.find(0, Long.MAX_VALUE).get(0);
+
+        // When
+        final List<String> bodies = new ArrayList<>();
+        final ArchiveSegmentReader.Stats stats;
+        try (ArchiveSegmentReader reader = new ArchiveSegmentReader();
+             ArchiveStore.SegmentFiles files = store.open(segment)) {
+            stats = reader.read(files, START + 3000, START + 5000, Set.of(), event -> bodies.add(event.body()));
+        }
+
+        // Then
+        assertEquals(List.of("event-3", "event-4"), bodies);
+        assertEquals(2, stats.blocksRead());
+        assertEquals(8, stats.blocksSkipped());
+    }
+
+    @Test
+    void shouldSealSegmentsThatReachTheMaximumSize() throws IOException {
+        // Given
+        final LocalArchiveStore store = new LocalArchiveStore(directory.resolve("store"));
+        final EventArchiveWriter writer = open(directory.resolve("work"), store, 32, 100);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            writer.append("APPROVED", "event-" + i);
+        }
+        writer.close();
+
+        // Then
+        final List<ArchiveSegment> segments = store.find(0, Long.MAX_VALUE);
+        assertTrue(segments.size() >= 2);
+        final List<String> bodies = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            bodies.addAll(bodies(store, segment, Set.of()));
+        }
+        assertEquals(List.of("event-0", "event-1", "event-2", "event-3", "event-4", "event-5"), bodies);
+    }
+
+    @Test
+    void shouldRecoverSegmentLeftActiveAndDropTornBlock() throws IOException {
+        // Given: a flushed active segment copied as a crash would leave it, plus a torn block
+        final Path work = directory.resolve("work");
+        final EventArchiveWriter crashed = open(work, new LocalArchiveStore(directory.resolve("unused")),
+                64 * 1024, Long.MAX_VALUE);
+        crashed.append("APPROVED", "before-crash");
+        crashed.flush();
+        final Path recoveredWork = Files.createDirectories(directory.resolve("recovered-work"));
+        try (Stream<Path> files = Files.list(work)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, recoveredWork.resolve(file.getFileName()));
+            }
+        }
+        crashed.close();
+        try (Stream<Path> files = Files.list(recoveredWork);
+             FileChannel channel = FileChannel.open(files.findFirst().orElseThrow(), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(20).putInt(ArchiveFormat.BLOCK_MAGIC).putInt(7).flip());
+        }
+
+        // When
+        final LocalArchiveStore store = new LocalArchiveStore(directory.resolve("store"));
+        final EventArchiveWriter writer = open(recoveredWork, store, 64 * 1024, Long.MAX_VALUE);
+        writer.close();
+
+        // Then
+        final List<ArchiveSegment> segments = store.find(0, Long.MAX_VALUE);
+        assertEquals(1, segments.size());
+        assertEquals(List.of("before-crash"), bodies(store, segments.get(0), Set.of()));
+    }
+
+    private EventArchiveWriter open(final Path work, final ArchiveStore store, final int blockBytes,
+                                    final long maxSegmentBytes) throws IOException {
+        return EventArchiveWriter.open(work, store,
+                new EventArchiveWriter.Settings(Duration.ofHours(1), maxSegmentBytes, blockBytes, Duration.ofHours(1)),
+                clock::get);
+    }
+
+    private static List<String> bodies(final ArchiveStore store, final ArchiveSegment segment,
+                                       final Set<String> types) throws IOException {
+        final List<String> bodies = new ArrayList<>();
+        try (ArchiveSegmentReader reader = new ArchiveSegmentReader();
+             ArchiveStore.SegmentFiles files = store.open(segment)) {
+            reader.read(files, 0, Long.MAX_VALUE, types, event -> bodies.add(event.body()));
+        }
+        return bodies;
+    }
+}
@@ -0,0 +1,68 @@
+package io.resousadev.linuxtips.common.aws;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link HttpPoolMetrics}.
+ */
+class HttpPoolMetricsTest {
+
+    private final HttpPoolMetrics metrics = new HttpPoolMetrics(Duration.ofMinutes(1));
+
+    @Test
+    void shouldKeepThePoolStateOfTheLatestAttempt() {
+        // Given
+        metrics.publish(apiCall(10, 0, 40, Duration.ofNanos(1_000)));
+
+        // When - the pool is exhausted and requests queue
+        metrics.publish(apiCall(60, 3, 0, Duration.ofMillis(40)));
+
+        // Then
+        assertEquals(60, metrics.getLeasedConnections());
+        assertEquals(3, metrics.getPendingAcquires());
+        assertEquals(0, metrics.getAvailableConnections());
+        assertEquals(60, metrics.getMaxConnections());
+        assertEquals(2, metrics.getRequestCount());
+        assertEquals(1, metrics.getQueuedRequestCount());
+        assertEquals(Duration.ofMillis(40).toNanos() + 1_000, metrics.getAcquireTimeNanos());
+    }
+
+    @Test
+    void shouldCountEveryRetryAttempt() {
+        // Given - one API call retried once
+        final MetricCollector call = MetricCollector.create("ApiCall");
+        httpClient(call.createChild("ApiCallAttempt"), 1, 0, 59, Duration.ZERO);
+        httpClient(call.createChild("ApiCallAttempt"), 2, 0, 58, Duration.ZERO);
+
+        // When
+        metrics.publish(call.collect());
+
+        // Then
+        assertEquals(2, metrics.getRequestCount());
+        assertEquals(0, metrics.getQueuedRequestCount());
+    }
+
+    private static MetricCollection apiCall(final int leased, final int pending, final int available,
+                                            final Duration acquire) {
+        final MetricCollector call = MetricCollector.create("ApiCall");
+        httpClient(call.createChild("ApiCallAttempt"), leased, pending, available, acquire);
+        return call.collect();
+    }
+
+    private static void httpClient(final MetricCollector attempt, final int leased, final int pending,
+                                   final int available, final Duration acquire) {
+        final MetricCollector http = attempt.createChild("HttpClient");
+        http.reportMetric(HttpMetric.MAX_CONCURRENCY, 60);
+        http.reportMetric(HttpMetric.LEASED_CONCURRENCY, leased);
+        http.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pending);
+        http.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, available);
+        http.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, acquire);
+    }
+}
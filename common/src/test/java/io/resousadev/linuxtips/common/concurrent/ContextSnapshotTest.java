@@ -0,0 +1,90 @@
+package io.resousadev.linuxtips.common.concurrent;
+
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link ContextSnapshot}.
+ */
+class ContextSnapshotTest {
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private static final ThreadContextPropagator TENANT_PROPAGATOR = () -> {
+        final String captured = TENANT.get();
+        return () -> {
+            final String previous = TENANT.get();
+            TENANT.set(captured);
+            return () -> TENANT.set(previous);
+        };
+    };
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        TENANT.remove();
+    }
+
+    @Test
+    void shouldCarryMdcAndPropagatedStateToVirtualThread() throws Exception {
+        // Given
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "corr-123");
+        TENANT.set("tenant-a");
+        final AtomicReference<String> seenCorrelationId = new AtomicReference<>();
+        final AtomicReference<String> seenTenant = new AtomicReference<>();
+
+        // When
+        final Runnable task = ContextSnapshot.capture(List.of(TENANT_PROPAGATOR)).wrap(() -> {
+            seenCorrelationId.set(TraceContext.currentCorrelationId());
+            seenTenant.set(TENANT.get());
+        });
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(task).get();
+        }
+
+        // Then
+        assertEquals("corr-123", seenCorrelationId.get());
+        assertEquals("tenant-a", seenTenant.get());
+    }
+
+    @Test
+    void shouldRestoreExecutingThreadContextAfterTask() throws Exception {
+        // Given
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "submitter");
+        final ContextSnapshot snapshot = ContextSnapshot.capture(List.of(TENANT_PROPAGATOR));
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "worker");
+
+        // When
+        final String seen = snapshot.wrap(TraceContext::currentCorrelationId).call();
+
+        // Then
+        assertEquals("submitter", seen);
+        assertEquals("worker", TraceContext.currentCorrelationId());
+        assertNull(TENANT.get());
+    }
+
+    @Test
+    void shouldClearMdcWhenSubmitterHadNone() {
+        // Given
+        final ContextSnapshot snapshot = ContextSnapshot.capture();
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "stale");
+        final AtomicReference<String> seen = new AtomicReference<>("unset");
+
+        // When
+        snapshot.wrap(() -> seen.set(TraceContext.currentCorrelationId())).run();
+
+        // Then
+        assertNull(seen.get());
+        assertEquals("stale", TraceContext.currentCorrelationId());
+    }
+}
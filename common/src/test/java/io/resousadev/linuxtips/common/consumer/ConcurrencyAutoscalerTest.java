@@ -0,0 +1,72 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link ConcurrencyAutoscaler}.
+ */
+class ConcurrencyAutoscalerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrencyAutoscaler autoscaler = new ConcurrencyAutoscaler(
+            new ConcurrencyAutoscaler.Bounds(1, 4, 2, 40), 100, 10, Duration.ofSeconds(60));
+
+    @Test
+    void shouldStartAtMinimumAndScaleUpImmediatelyWithinBounds() {
+        assertEquals(new ConcurrencyAutoscaler.Target(1, 2), autoscaler.initial());
+
+        // 2_500 messages / 100 per worker = 25 workers, fed by 3 pollers
+        assertEquals(new ConcurrencyAutoscaler.Target(3, 25),
+                autoscaler.evaluate(new QueueDepth(2_000, 500), 0));
+
+        // 100k messages: capped at 40 workers and 4 pollers
+        assertEquals(new ConcurrencyAutoscaler.Target(4, 40),
+                autoscaler.evaluate(new QueueDepth(100_000, 0), SECOND));
+    }
+
+    @Test
+    void shouldScaleDownOnlyAfterDemandStaysLowerForTheDelay() {
+        // Given
+        autoscaler.evaluate(new QueueDepth(4_000, 0), 0);
+
+        // When - demand drops, briefly recovers, then stays low
+        assertEquals(40, autoscaler.evaluate(new QueueDepth(500, 0), SECOND).workers());
+        assertEquals(40, autoscaler.evaluate(new QueueDepth(1_200, 0), 30 * SECOND).workers());
+        assertEquals(40, autoscaler.evaluate(QueueDepth.EMPTY, 60 * SECOND).workers());
+
+        // Then - down to the highest demand seen during the window, then to the minimum
+        assertEquals(new ConcurrencyAutoscaler.Target(2, 12),
+                autoscaler.evaluate(QueueDepth.EMPTY, 61 * SECOND));
+        assertEquals(12, autoscaler.evaluate(QueueDepth.EMPTY, 62 * SECOND).workers());
+        assertEquals(new ConcurrencyAutoscaler.Target(1, 2),
+                autoscaler.evaluate(QueueDepth.EMPTY, 122 * SECOND));
+    }
+
+    @Test
+    void shouldResetScaleDownWindowWhenDemandReturns() {
+        // Given
+        autoscaler.evaluate(new QueueDepth(1_000, 0), 0);
+        autoscaler.evaluate(QueueDepth.EMPTY, SECOND);
+
+        // When - demand is back before the delay elapsed
+        autoscaler.evaluate(new QueueDepth(1_000, 0), 50 * SECOND);
+
+        // Then - the window starts over
+        assertEquals(10, autoscaler.evaluate(QueueDepth.EMPTY, 70 * SECOND).workers());
+        assertEquals(10, autoscaler.evaluate(QueueDepth.EMPTY, 100 * SECOND).workers());
+        assertEquals(2, autoscaler.evaluate(QueueDepth.EMPTY, 130 * SECOND).workers());
+    }
+
+    @Test
+    void shouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyAutoscaler.Bounds(2, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyAutoscaler.Bounds(1, 1, 0, 1));
+    }
+}
@@ -0,0 +1,378 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link QueueConsumer} over an in-memory queue.
+ */
+class QueueConsumerTest {
+
+    private final InMemoryQueue queue = new InMemoryQueue("test-queue");
+
+    private QueueConsumer consumer;
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.close();
+        }
+    }
+
+    @Test
+    void shouldProcessAndDeleteEveryMessageAndRetryFailures() throws Exception {
+        // Given
+        for (int i = 0; i < 200; i++) {
+            queue.send("message-" + i);
+        }
+        final Set<String> handled = ConcurrentHashMap.newKeySet();
+        final AtomicInteger attempts = new AtomicInteger();
+        consumer = consumer(message -> {
+            if (message.body().equals("message-7") && attempts.getAndIncrement() == 0) {
+                throw new IllegalStateException("transient failure");
+            }
+            handled.add(message.body());
+        }, new ConcurrencyAutoscaler.Bounds(1, 2, 1, 8));
+
+        // When
+        consumer.start();
+
+        // Then
+        await(() -> queue.deleted.size() == 200);
+        assertEquals(200, handled.size());
+        assertEquals(200, consumer.getProcessedCount());
+        assertEquals(1, consumer.getFailedCount());
+    }
+
+    @Test
+    void shouldScaleWorkersWithTheBacklogAndNeverExceedTheTarget() throws Exception {
+        // Given - slow handlers and a backlog of 10 messages per worker
+        for (int i = 0; i < 400; i++) {
+            queue.send("message-" + i);
+        }
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        consumer = consumer(message -> {
+            peak.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            release.await();
+            concurrent.decrementAndGet();
+        }, new ConcurrencyAutoscaler.Bounds(1, 4, 1, 16));
+
+        // When
+        consumer.start();
+
+        // Then - 400 messages / 10 per worker, capped at 16 workers fed by 4 pollers
+        await(() -> consumer.getTargetWorkers() == 16 && concurrent.get() == 16);
+        assertEquals(16, consumer.getBusyWorkers());
+        assertEquals(4, consumer.getQueues().getFirst().getTargetPollers());
+        assertEquals(4, consumer.getQueues().getFirst().getActivePollers());
+        assertEquals(16, peak.get());
+        release.countDown();
+        await(() -> queue.deleted.size() == 400);
+        assertTrue(peak.get() <= 16);
+    }
+
+    @Test
+    void shouldStopReceivingWhenThePrefetchBufferIsFull() throws Exception {
+        // Given - one worker stuck on its message
+        for (int i = 0; i < 100; i++) {
+            queue.send("message-" + i);
+        }
+        final CountDownLatch release = new CountDownLatch(1);
+        consumer = consumer(message -> release.await(), new ConcurrencyAutoscaler.Bounds(1, 1, 1, 1));
+
+        // When
+        consumer.start();
+
+        // Then - at most one message in the worker plus the 8 prefetched, and nothing more is received
+        await(() -> consumer.getBusyWorkers() == 1);
+        Thread.sleep(200);
+        final int held = queue.inFlight.size();
+        assertTrue(held > 1 && held <= 9, "held " + held);
+        Thread.sleep(100);
+        assertEquals(held, queue.inFlight.size());
+        release.countDown();
+        await(() -> queue.deleted.size() == 100);
+    }
+
+    @Test
+    void shouldSkipMessagesBufferedLongerThanTheMaximumAge() throws Exception {
+        // Given - a slow single worker and a buffer age limit shorter than two handlings
+        for (int i = 0; i < 20; i++) {
+            queue.send("message-" + i);
+        }
+        consumer = new QueueConsumer(queue, message -> Thread.sleep(30),
+                new ConcurrencyAutoscaler(new ConcurrencyAutoscaler.Bounds(1, 1, 1, 1), 10, 4, Duration.ofMinutes(1)),
+                new QueueConsumer.Settings(4, Duration.ofMillis(20), 8, Duration.ofMillis(50), Duration.ofMillis(20),
+                        Duration.ofSeconds(5)));
+
+        // When
+        consumer.start();
+
+        // Then - stale messages are left for redelivery and still processed once
+        await(() -> queue.deleted.size() == 20);
+        assertTrue(consumer.getExpiredCount() > 0);
+        assertEquals(20, consumer.getProcessedCount());
+    }
+
+    @Test
+    void shouldKeepServingAQuietQueueWhileAnotherIsFlooded() throws Exception {
+        // Given - a flood queued before a small burst on another queue, a single worker
+        final InMemoryQueue flooded = new InMemoryQueue("flooded");
+        final InMemoryQueue quiet = new InMemoryQueue("quiet");
+        for (int i = 0; i < 1000; i++) {
+            flooded.send("flood-" + i);
+        }
+        for (int i = 0; i < 20; i++) {
+            quiet.send("quiet-" + i);
+        }
+        final MessageHandler handler = message -> Thread.sleep(1);
+        consumer = consumer(List.of(new QueueConsumer.Subscription(flooded, handler, 1),
+                new QueueConsumer.Subscription(quiet, handler, 1)), new ConcurrencyAutoscaler.Bounds(1, 1, 1, 1));
+
+        // When
+        consumer.start();
+
+        // Then - the workers alternate, so the quiet queue drains after about as many flood messages
+        await(() -> quiet.deleted.size() == 20);
+        assertTrue(flooded.deleted.size() < 60, "flood processed " + flooded.deleted.size());
+        assertEquals(20, consumer.getQueues().get(1).getProcessedCount());
+    }
+
+    @Test
+    void shouldShareWorkersInProportionToTheWeights() throws Exception {
+        // Given - two flooded queues weighted 3:1 and a single worker
+        final InMemoryQueue heavy = new InMemoryQueue("heavy");
+        final InMemoryQueue light = new InMemoryQueue("light");
+        for (int i = 0; i < 500; i++) {
+            heavy.send("heavy-" + i);
+            light.send("light-" + i);
+        }
+        final MessageHandler handler = message -> Thread.sleep(1);
+        consumer = consumer(List.of(new QueueConsumer.Subscription(heavy, handler, 3),
+                new QueueConsumer.Subscription(light, handler, 1)), new ConcurrencyAutoscaler.Bounds(1, 1, 1, 1));
+
+        // When
+        consumer.start();
+
+        // Then - while both are backlogged, the heavy queue gets about three quarters of the workers
+        await(() -> heavy.deleted.size() + light.deleted.size() >= 200);
+        final double ratio = (double) heavy.deleted.size() / Math.max(1, light.deleted.size());
+        assertTrue(ratio > 2 && ratio < 4.5, "heavy/light " + ratio);
+    }
+
+    @Test
+    void shouldShareWorkerTimeRatherThanMessageCounts() throws Exception {
+        // Given - equal weights, one queue with handlers ten times slower
+        final InMemoryQueue slow = new InMemoryQueue("slow");
+        final InMemoryQueue fast = new InMemoryQueue("fast");
+        for (int i = 0; i < 1000; i++) {
+            slow.send("slow-" + i);
+            fast.send("fast-" + i);
+        }
+        consumer = consumer(List.of(
+                new QueueConsumer.Subscription(slow, message -> Thread.sleep(10), 1),
+                new QueueConsumer.Subscription(fast, message -> Thread.sleep(1), 1)),
+                new ConcurrencyAutoscaler.Bounds(1, 1, 1, 1));
+
+        // When
+        consumer.start();
+
+        // Then - the fast queue gets several messages for each slow one
+        await(() -> slow.deleted.size() >= 20);
+        assertTrue(fast.deleted.size() > 3 * slow.deleted.size(),
+                "fast " + fast.deleted.size() + ", slow " + slow.deleted.size());
+    }
+
+    @Test
+    void shouldHandleEachMessageGroupInOrderAndGroupsInParallel() throws Exception {
+        // Given - 20 groups of 20 messages, interleaved
+        for (int i = 0; i < 400; i++) {
+            queue.send("message-" + i, "group-" + i % 20);
+        }
+        final Map<String, List<Integer>> handledByGroup = new ConcurrentHashMap<>();
+        final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        consumer = consumer(message -> {
+            if (!inProgress.add(message.groupId())) {
+                overlaps.incrementAndGet();
+            }
+            peak.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            handledByGroup.computeIfAbsent(message.groupId(), group -> new CopyOnWriteArrayList<>())
+                    .add(Integer.parseInt(message.body().substring("message-".length())));
+            concurrent.decrementAndGet();
+            inProgress.remove(message.groupId());
+        }, new ConcurrencyAutoscaler.Bounds(2, 2, 8, 8));
+
+        // When
+        consumer.start();
+
+        // Then - one message per group at a time, in send order, with several groups at once
+        await(() -> queue.deleted.size() == 400);
+        assertEquals(0, overlaps.get());
+        assertTrue(peak.get() > 1, "peak " + peak.get());
+        assertEquals(20, handledByGroup.size());
+        handledByGroup.values().forEach(sequence -> {
+            assertEquals(20, sequence.size());
+            for (int i = 1; i < sequence.size(); i++) {
+                assertTrue(sequence.get(i - 1) < sequence.get(i), "out of order: " + sequence);
+            }
+        });
+    }
+
+    @Test
+    void shouldLeaveTheRestOfAGroupForRedeliveryAfterAFailure() throws Exception {
+        // Given - one group whose first message fails once
+        for (int i = 0; i < 8; i++) {
+            queue.send("message-" + i, "group");
+        }
+        final AtomicInteger attempts = new AtomicInteger();
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        consumer = consumer(message -> {
+            if (message.body().equals("message-0") && attempts.getAndIncrement() == 0) {
+                // Lets the rest of the group be received and parked behind this message
+                Thread.sleep(100);
+                throw new IllegalStateException("transient failure");
+            }
+            handled.add(message.body());
+        }, new ConcurrencyAutoscaler.Bounds(1, 1, 4, 4));
+
+        // When
+        consumer.start();
+
+        // Then - nothing behind the failed message ran before it; everything is redelivered
+        await(() -> queue.deleted.size() == 8);
+        assertTrue(consumer.getSkippedCount() > 0);
+        assertEquals("message-0", handled.getFirst());
+        assertEquals(1, consumer.getFailedCount());
+    }
+
+    private QueueConsumer consumer(final List<QueueConsumer.Subscription> subscriptions,
+                                   final ConcurrencyAutoscaler.Bounds bounds) {
+        return new QueueConsumer("test-consumer", subscriptions,
+                new ConcurrencyAutoscaler(bounds, 10_000, 4, Duration.ofMinutes(1)),
+                new QueueConsumer.Settings(4, Duration.ofMillis(20), 8, Duration.ofSeconds(10), Duration.ofMillis(20),
+                        Duration.ofSeconds(5)));
+    }
+
+    private QueueConsumer consumer(final MessageHandler handler, final ConcurrencyAutoscaler.Bounds bounds) {
+        return new QueueConsumer(queue, handler, new ConcurrencyAutoscaler(bounds, 10, 4, Duration.ofMinutes(1)),
+                new QueueConsumer.Settings(4, Duration.ofMillis(20), 8, Duration.ofSeconds(10), Duration.ofMillis(20),
+                        Duration.ofSeconds(5)));
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Queue where a received message stays in flight until deleted, or until its visibility timeout
+     * expires; abandoned messages come back in send order, as on a FIFO queue.
+     */
+    private static final class InMemoryQueue implements QueueClient {
+
+        private static final long VISIBILITY_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+        private final LinkedBlockingDeque<QueueMessage> visible = new LinkedBlockingDeque<>();
+        private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+        private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+        private final Map<String, QueueMessage> sent = Collections.synchronizedMap(new LinkedHashMap<>());
+        private final AtomicInteger receipts = new AtomicInteger();
+        private final String name;
+
+        InMemoryQueue(final String name) {
+            this.name = name;
+        }
+
+        void send(final String body) {
+            send(new QueueMessage(body, null, body));
+        }
+
+        void send(final String body, final String groupId) {
+            send(new QueueMessage(body, null, body, Map.of(QueueMessage.MESSAGE_GROUP_ID, groupId)));
+        }
+
+        private void send(final QueueMessage message) {
+            sent.put(message.messageId(), message);
+            visible.add(message);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public List<QueueMessage> receive(final int maxMessages, final Duration waitTime) {
+            final List<QueueMessage> batch = new ArrayList<>(maxMessages);
+            try {
+                final QueueMessage first = visible.poll(waitTime.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    requeueAbandoned();
+                    return batch;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            visible.drainTo(batch, maxMessages - 1);
+            final List<QueueMessage> received = new ArrayList<>(batch.size());
+            for (QueueMessage message : batch) {
+                inFlight.put(message.messageId(), System.nanoTime());
+                received.add(new QueueMessage(message.messageId(), "receipt-" + receipts.incrementAndGet(),
+                        message.body(), message.attributes()));
+            }
+            return received;
+        }
+
+        @Override
+        public void delete(final QueueMessage message) {
+            inFlight.remove(message.messageId());
+            deleted.add(message.messageId());
+        }
+
+        @Override
+        public QueueDepth depth() {
+            return new QueueDepth(visible.size(), inFlight.size());
+        }
+
+        private void requeueAbandoned() {
+            final long expired = System.nanoTime() - VISIBILITY_TIMEOUT_NANOS;
+            synchronized (sent) {
+                sent.forEach((messageId, message) -> {
+                    final Long receivedAt = inFlight.get(messageId);
+                    if (receivedAt != null && receivedAt < expired && inFlight.remove(messageId, receivedAt)) {
+                        visible.add(message);
+                    }
+                });
+            }
+        }
+    }
+}
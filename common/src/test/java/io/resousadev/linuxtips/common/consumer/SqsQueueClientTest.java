@@ -0,0 +1,186 @@
+package io.resousadev.linuxtips.common.consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SqsQueueClient}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SqsQueueClient Unit Tests")
+class SqsQueueClientTest {
+
+    private static final String TEST_QUEUE_URL = "http://localhost:4566/000000000000/checkout-events-queue";
+
+    @Mock
+    private SqsClient sqsClient;
+
+    @Captor
+    private ArgumentCaptor<ReceiveMessageRequest> receiveRequestCaptor;
+
+    @Captor
+    private ArgumentCaptor<DeleteMessageRequest> deleteRequestCaptor;
+
+    @Captor
+    private ArgumentCaptor<GetQueueAttributesRequest> attributesRequestCaptor;
+
+    @Captor
+    private ArgumentCaptor<DeleteMessageBatchRequest> deleteBatchRequestCaptor;
+
+    private SqsQueueClient queueClient;
+
+    @BeforeEach
+    void setUp() {
+        queueClient = new SqsQueueClient(sqsClient, "checkout-events-queue", TEST_QUEUE_URL);
+    }
+
+    @Test
+    @DisplayName("Should receive with long polling within the SQS limits")
+    void shouldReceiveWithLongPolling() {
+        // Given
+        Message message = Message.builder()
+            .messageId("msg-001")
+            .receiptHandle("receipt-001")
+            .body("{\"detail-type\": \"APPROVED\"}")
+            .build();
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(ReceiveMessageResponse.builder().messages(message).build());
+
+        // When
+        List<QueueMessage> messages = queueClient.receive(50, Duration.ofMinutes(1));
+
+        // Then
+        verify(sqsClient).receiveMessage(receiveRequestCaptor.capture());
+        ReceiveMessageRequest request = receiveRequestCaptor.getValue();
+        assertThat(request.queueUrl()).isEqualTo(TEST_QUEUE_URL);
+        assertThat(request.waitTimeSeconds()).isEqualTo(20);
+        assertThat(request.maxNumberOfMessages()).isEqualTo(10);
+        assertThat(messages).containsExactly(
+            new QueueMessage("msg-001", "receipt-001", "{\"detail-type\": \"APPROVED\"}"));
+    }
+
+    @Test
+    @DisplayName("Should expose the FIFO message group of a received message")
+    void shouldExposeMessageGroup() {
+        // Given
+        Message message = Message.builder()
+            .messageId("msg-001")
+            .receiptHandle("receipt-001")
+            .body("{}")
+            .attributes(Map.of(MessageSystemAttributeName.MESSAGE_GROUP_ID, "pedido-42"))
+            .build();
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(ReceiveMessageResponse.builder().messages(message).build());
+
+        // When
+        List<QueueMessage> messages = queueClient.receive(10, Duration.ofSeconds(20));
+
+        // Then
+        verify(sqsClient).receiveMessage(receiveRequestCaptor.capture());
+        assertThat(receiveRequestCaptor.getValue().messageSystemAttributeNames())
+            .contains(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+        assertThat(messages.getFirst().groupId()).isEqualTo("pedido-42");
+    }
+
+    @Test
+    @DisplayName("Should delete by receipt handle")
+    void shouldDeleteByReceiptHandle() {
+        // When
+        queueClient.delete(new QueueMessage("msg-001", "receipt-001", "{}"));
+
+        // Then
+        verify(sqsClient).deleteMessage(deleteRequestCaptor.capture());
+        assertThat(deleteRequestCaptor.getValue().queueUrl()).isEqualTo(TEST_QUEUE_URL);
+        assertThat(deleteRequestCaptor.getValue().receiptHandle()).isEqualTo("receipt-001");
+    }
+
+    @Test
+    @DisplayName("Should delete in batches of 10 and return the entries SQS rejected")
+    void shouldDeleteInBatches() {
+        // Given - 12 messages; the second entry of the first batch is rejected
+        List<QueueMessage> messages = IntStream.range(0, 12)
+            .mapToObj(i -> new QueueMessage("msg-" + i, "receipt-" + i, "{}"))
+            .toList();
+        when(sqsClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenReturn(DeleteMessageBatchResponse.builder()
+                .failed(BatchResultErrorEntry.builder().id("1").code("ReceiptHandleIsInvalid").build())
+                .build())
+            .thenReturn(DeleteMessageBatchResponse.builder().build());
+
+        // When
+        List<QueueMessage> notDeleted = queueClient.deleteBatch(messages);
+
+        // Then
+        verify(sqsClient, times(2)).deleteMessageBatch(deleteBatchRequestCaptor.capture());
+        List<DeleteMessageBatchRequest> requests = deleteBatchRequestCaptor.getAllValues();
+        assertThat(requests.get(0).queueUrl()).isEqualTo(TEST_QUEUE_URL);
+        assertThat(requests.get(0).entries()).hasSize(10);
+        assertThat(requests.get(1).entries()).extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+            .containsExactly("receipt-10", "receipt-11");
+        assertThat(notDeleted).containsExactly(messages.get(1));
+    }
+
+    @Test
+    @DisplayName("Should read the queue depth from the approximate message counts")
+    void shouldReadQueueDepth() {
+        // Given
+        when(sqsClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+            .thenReturn(GetQueueAttributesResponse.builder()
+                .attributes(Map.of(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "100000",
+                    QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, "250"))
+                .build());
+
+        // When
+        QueueDepth depth = queueClient.depth();
+
+        // Then
+        verify(sqsClient).getQueueAttributes(attributesRequestCaptor.capture());
+        assertThat(attributesRequestCaptor.getValue().attributeNames()).containsExactly(
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE);
+        assertThat(depth).isEqualTo(new QueueDepth(100_000, 250));
+    }
+
+    @Test
+    @DisplayName("Should propagate SQS failures to the consumer")
+    void shouldPropagateFailures() {
+        // Given
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenThrow(new RuntimeException("SQS connection failed"));
+
+        // When / Then
+        assertThatThrownBy(() -> queueClient.receive(10, Duration.ofSeconds(20)))
+            .hasMessage("SQS connection failed");
+    }
+}
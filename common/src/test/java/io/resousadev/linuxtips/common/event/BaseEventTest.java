@@ -1,11 +1,14 @@
 package io.resousadev.linuxtips.common.event;
 
+import io.resousadev.linuxtips.common.tracing.TraceContext;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
 
 import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Unit tests for {@link BaseEvent}.
@@ -51,4 +54,33 @@ class BaseEventTest {
         assertEquals("test", event.getPayload().name());
         assertEquals(42, event.getPayload().value());
     }
+
+    @Test
+    void shouldPropagateCorrelationIdFromMdc() {
+        // Given
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "corr-789");
+
+        try {
+            // When
+            BaseEvent<String> event = BaseEvent.<String>builder()
+                    .payload("test")
+                    .build();
+
+            // Then
+            assertEquals("corr-789", event.getCorrelationId());
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Test
+    void shouldLeaveCorrelationIdEmptyWithoutContext() {
+        // When
+        BaseEvent<String> event = BaseEvent.<String>builder()
+                .payload("test")
+                .build();
+
+        // Then
+        assertNull(event.getCorrelationId());
+    }
 }
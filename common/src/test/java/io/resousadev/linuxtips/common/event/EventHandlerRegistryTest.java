@@ -0,0 +1,32 @@
+package io.resousadev.linuxtips.common.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link EventHandlerRegistry}.
+ */
+class EventHandlerRegistryTest {
+
+    @Test
+    void shouldRouteByEventTypeAndFallBackForUnknownTypes() throws Exception {
+        // Given
+        final List<String> handled = new ArrayList<>();
+        final EventHandlerRegistry registry = new EventHandlerRegistry((type, body) -> handled.add("fallback:" + type))
+                .register(EventTypes.CHECKOUT_COMPLETED, (type, body) -> handled.add("checkout:" + body));
+
+        // When
+        registry.dispatch(EventTypes.CHECKOUT_COMPLETED, "{}");
+        registry.dispatch("UNKNOWN", "{}");
+        registry.dispatch(null, "{}");
+
+        // Then
+        assertEquals(List.of("checkout:{}", "fallback:UNKNOWN", "fallback:null"), handled);
+        assertEquals(Set.of(EventTypes.CHECKOUT_COMPLETED), registry.getEventTypes());
+    }
+}
@@ -0,0 +1,48 @@
+package io.resousadev.linuxtips.common.event;
+
+import io.resousadev.linuxtips.common.consumer.QueueMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link EventOrderingKey}.
+ */
+class EventOrderingKeyTest {
+
+    @Test
+    void shouldReadTheOrderingKeyFromTheEventBridgeDetail() {
+        // Given
+        final QueueMessage message = new QueueMessage("msg-1", "receipt-1",
+                "{\"detail-type\": \"APPROVED\", \"detail\": {\"orderingKey\": \"pedido-42\"}}",
+                Map.of(QueueMessage.MESSAGE_GROUP_ID, "checkout-status"));
+
+        // When / Then
+        assertEquals("pedido-42", EventOrderingKey.of(message));
+    }
+
+    @Test
+    void shouldReadTheOrderingKeyFromABareEvent() {
+        // Given
+        final QueueMessage message = new QueueMessage("msg-1", "receipt-1",
+                "{\"eventType\": \"FILE_UPLOADED\", \"orderingKey\": \"file-7\"}");
+
+        // When / Then
+        assertEquals("file-7", EventOrderingKey.of(message));
+    }
+
+    @Test
+    void shouldFallBackToTheMessageGroup() {
+        // Given
+        final QueueMessage fifo = new QueueMessage("msg-1", "receipt-1", "{\"detail\": {\"valor\": \"10.00\"}}",
+                Map.of(QueueMessage.MESSAGE_GROUP_ID, "checkout-status"));
+        final QueueMessage standard = new QueueMessage("msg-2", "receipt-2", "not json");
+
+        // When / Then
+        assertEquals("checkout-status", EventOrderingKey.of(fifo));
+        assertNull(EventOrderingKey.of(standard));
+    }
+}
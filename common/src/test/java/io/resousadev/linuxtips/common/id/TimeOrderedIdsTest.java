@@ -0,0 +1,89 @@
+package io.resousadev.linuxtips.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TimeOrderedIds}.
+ */
+class TimeOrderedIdsTest {
+
+    private static final String V7_FORMAT = "[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}";
+    private static final int IDS_PER_THREAD = 10_000;
+    private static final int THREADS = 8;
+
+    @Test
+    void shouldProduceVersion7UuidsWithCurrentTimestamp() {
+        // Given
+        final Instant before = Instant.ofEpochMilli(System.currentTimeMillis());
+
+        // When
+        final UUID id = TimeOrderedIds.newUuid();
+
+        // Then
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        final Instant timestamp = TimeOrderedIds.timestampOf(id);
+        assertFalse(timestamp.isBefore(before));
+        assertTrue(timestamp.isBefore(before.plusSeconds(1)));
+        assertTrue(TimeOrderedIds.newId().matches(V7_FORMAT));
+    }
+
+    @Test
+    void shouldBeStrictlyIncreasingWithinThread() {
+        // Given
+        UUID previous = TimeOrderedIds.newUuid();
+
+        for (int i = 0; i < IDS_PER_THREAD; i++) {
+            // When
+            final UUID next = TimeOrderedIds.newUuid();
+
+            // Then (unsigned comparison of the canonical form, as databases order UUIDs)
+            assertTrue(next.toString().compareTo(previous.toString()) > 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        // Given
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        ids.add(TimeOrderedIds.newId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Then
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    void shouldRejectTimestampOfNonVersion7Uuid() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedIds.timestampOf(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,120 @@
+package io.resousadev.linuxtips.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link DebugCorrelations} and {@link DebugCorrelationTurboFilter}.
+ */
+class DebugCorrelationsTest {
+
+    @AfterEach
+    void tearDown() {
+        DebugCorrelations.configure(Duration.ofMinutes(10), Duration.ofHours(1), 100);
+        DebugCorrelations.clear();
+        MDC.clear();
+    }
+
+    @Test
+    void shouldEnableAndDisableCorrelationId() {
+        // When
+        assertTrue(DebugCorrelations.enable("corr-1"));
+
+        // Then
+        assertTrue(DebugCorrelations.isEnabled("corr-1"));
+        assertFalse(DebugCorrelations.isEnabled("corr-2"));
+        assertTrue(DebugCorrelations.disable("corr-1"));
+        assertFalse(DebugCorrelations.isEnabled("corr-1"));
+    }
+
+    @Test
+    void shouldCapActiveIdsAndTtl() {
+        // Given
+        DebugCorrelations.configure(Duration.ofMinutes(1), Duration.ofMinutes(5), 1);
+
+        // When
+        assertTrue(DebugCorrelations.enable("corr-1", Duration.ofDays(1)));
+
+        // Then
+        assertFalse(DebugCorrelations.enable("corr-2"));
+        assertTrue(DebugCorrelations.enable("corr-1"), "re-enabling an active ID is always allowed");
+        final Instant expiresAt = DebugCorrelations.active().get("corr-1");
+        assertTrue(expiresAt.isBefore(Instant.now().plus(Duration.ofMinutes(6))));
+    }
+
+    @Test
+    void shouldNotPassTheCapUnderConcurrentRegistrations() throws Exception {
+        // Given
+        DebugCorrelations.configure(Duration.ofMinutes(1), Duration.ofMinutes(5), 10);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 200; i++) {
+                final String correlationId = "corr-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return DebugCorrelations.enable(correlationId);
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        int enabled = 0;
+        for (Future<Boolean> result : results) {
+            enabled += result.get() ? 1 : 0;
+        }
+        assertEquals(10, enabled);
+        assertEquals(10, DebugCorrelations.active().size());
+
+        DebugCorrelations.clear();
+        assertTrue(DebugCorrelations.enable("corr-after-clear"), "cleared IDs release their slots");
+    }
+
+    @Test
+    void shouldExpireCorrelationIds() {
+        // When
+        DebugCorrelations.enable("corr-1", Duration.ofMillis(-1));
+
+        // Then
+        assertFalse(DebugCorrelations.isEnabled("corr-1"));
+        assertEquals(0, DebugCorrelations.active().size());
+    }
+
+    @Test
+    void turboFilterShouldAcceptDebugOnlyForActiveCorrelation() {
+        // Given
+        final LoggerContext loggerContext = new LoggerContext();
+        final DebugCorrelationTurboFilter filter = new DebugCorrelationTurboFilter();
+        final ch.qos.logback.classic.Logger logger = loggerContext.getLogger("test");
+        DebugCorrelations.enable("corr-debug");
+
+        // When / Then
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "other");
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "msg", null, null));
+
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "corr-debug");
+        assertEquals(FilterReply.ACCEPT, filter.decide(null, logger, Level.DEBUG, "msg", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.TRACE, "msg", null, null));
+    }
+}
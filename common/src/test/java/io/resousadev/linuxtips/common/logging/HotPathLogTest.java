@@ -0,0 +1,120 @@
+package io.resousadev.linuxtips.common.logging;
+
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link HotPathLog} and {@link LatencyHistogram}.
+ */
+class HotPathLogTest {
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HotPathLog.configure(Duration.ofMinutes(1), 0.01);
+        DebugCorrelations.clear();
+        MDC.clear();
+    }
+
+    @Test
+    void shouldEmitAggregatedSummaryOnceIntervalElapsed() {
+        // Given
+        HotPathLog.configure(Duration.ofHours(1), 0.0);
+        final HotPathLog hotPathLog = HotPathLog.of(logger, "sqs.process");
+        hotPathLog.record(TimeUnit.MILLISECONDS.toNanos(5), false);
+        HotPathLog.reportAll();
+        verify(logger, never()).info(anyString());
+
+        // When
+        HotPathLog.configure(Duration.ZERO, 0.0);
+        hotPathLog.record(TimeUnit.MILLISECONDS.toNanos(7), true);
+
+        // Then
+        final ArgumentCaptor<String> summary = ArgumentCaptor.forClass(String.class);
+        verify(logger).info(summary.capture());
+        assertTrue(summary.getValue().startsWith("sqs.process summary: count=2, failed=1"), summary.getValue());
+    }
+
+    @Test
+    void shouldReportPercentilesOfTheWindow() {
+        // Given
+        HotPathLog.configure(Duration.ofHours(1), 0.0);
+        final HotPathLog hotPathLog = HotPathLog.of(logger, "eventbridge.publish");
+        for (int i = 1; i <= 100; i++) {
+            hotPathLog.record(TimeUnit.MILLISECONDS.toNanos(i), i > 98);
+        }
+
+        // When
+        HotPathLog.configure(Duration.ZERO, 0.0);
+        hotPathLog.record(TimeUnit.MILLISECONDS.toNanos(1), false);
+        HotPathLog.reportAll();
+
+        // Then
+        final ArgumentCaptor<String> summary = ArgumentCaptor.forClass(String.class);
+        verify(logger).info(summary.capture());
+        final String line = summary.getValue();
+        assertTrue(line.contains("count=101, failed=2"), line);
+        assertTrue(line.contains("p99Ms=100.351"), line);
+        assertTrue(line.contains("maxMs=100.000"), line);
+    }
+
+    @Test
+    void shouldSampleEveryEventOfDebugCorrelation() {
+        // Given
+        HotPathLog.configure(Duration.ofHours(1), 0.0);
+        final HotPathLog hotPathLog = HotPathLog.of(logger, "sqs.process");
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "corr-debug");
+
+        // When / Then
+        assertFalse(hotPathLog.sample());
+        DebugCorrelations.enable("corr-debug");
+        assertTrue(hotPathLog.sample());
+    }
+
+    @Test
+    void shouldSampleAllEventsWithFullRate() {
+        HotPathLog.configure(Duration.ofHours(1), 1.0);
+        assertTrue(HotPathLog.of(logger, "sqs.process").sample());
+    }
+
+    @Test
+    void histogramShouldStayWithinRelativeErrorBound() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        // When
+        final long p99 = histogram.percentile(0.99);
+
+        // Then
+        assertTrue(p99 >= 99_000 && p99 <= 99_000 * 1.04, "p99=" + p99);
+        assertEquals(0, new LatencyHistogram().percentile(0.99));
+        assertEquals(LatencyHistogram.indexOf(63) + 1, LatencyHistogram.indexOf(64));
+    }
+}
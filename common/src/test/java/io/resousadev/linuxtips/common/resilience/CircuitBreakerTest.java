@@ -0,0 +1,94 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link CircuitBreaker}.
+ */
+class CircuitBreakerTest {
+
+    private static final long FAST_CALL = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 3, Duration.ofSeconds(30),
+            Duration.ofSeconds(2), clock::get);
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        // Given
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess(FAST_CALL);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // When
+        breaker.onFailure();
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldAllowSingleProbeAfterOpenDurationAndCloseOnSuccess() {
+        // Given
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        // When
+        final boolean probe = breaker.tryAcquirePermission();
+
+        // Then
+        assertTrue(probe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onSuccess(FAST_CALL);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        // Given
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertTrue(breaker.tryAcquirePermission());
+
+        // When
+        breaker.onFailure();
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldCountSlowCallsAsFailures() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            breaker.onSuccess(TimeUnit.SECONDS.toNanos(2));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.EventBridgeException;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link EventBridgeSpool}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventBridgeSpool Unit Tests")
+class EventBridgeSpoolTest {
+
+    private static final Instant ORIGINAL_TIME = Instant.parse("2026-01-15T10:00:00Z");
+
+    @Mock
+    private EventBridgeClient eventBridgeClient;
+
+    @Captor
+    private ArgumentCaptor<PutEventsRequest> requestCaptor;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private EventJournal journal;
+
+    private CircuitBreaker circuitBreaker;
+
+    private EventBridgeSpool spool;
+
+    @BeforeEach
+    void setUp() {
+        journal = EventJournal.open(spoolDirectory, 64 * 1024, 4, Duration.ofMillis(10));
+        circuitBreaker = new CircuitBreaker("eventbridge", 1, Duration.ofSeconds(30), Duration.ofSeconds(2),
+            clock::get);
+        spool = new EventBridgeSpool(eventBridgeClient, new ObjectMapper(), circuitBreaker, journal, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Should replay spooled events in order with their original time, drain-rate per run")
+    void shouldReplayInOrderWithOriginalTime() {
+        // Given
+        spool.spool(entry("APPROVED"));
+        spool.spool(entry("PENDING"));
+        spool.spool(entry("REJECTED"));
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class))).thenReturn(success());
+
+        // When
+        spool.drain();
+
+        // Then
+        verify(eventBridgeClient, times(2)).putEvents(requestCaptor.capture());
+        List<PutEventsRequestEntry> replayed = requestCaptor.getAllValues().stream()
+            .map(request -> request.entries().get(0))
+            .toList();
+        assertThat(replayed).extracting(PutEventsRequestEntry::detailType).containsExactly("APPROVED", "PENDING");
+        assertThat(replayed.get(0).time()).isEqualTo(ORIGINAL_TIME);
+        assertThat(replayed.get(0).eventBusName()).isEqualTo("status-pedido-bus");
+        assertThat(replayed.get(0).detail()).isEqualTo("{\"valor\":\"150.00\"}");
+        assertThat(spool.getPendingCount()).isEqualTo(1);
+        assertThat(spool.getDrainedCount()).isEqualTo(2);
+        assertThat(spool.getSpooledCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep events and stop replaying while EventBridge throttles")
+    void shouldKeepEventsWhileThrottled() {
+        // Given
+        spool.spool(entry("APPROVED"));
+        spool.spool(entry("PENDING"));
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class))).thenReturn(PutEventsResponse.builder()
+            .failedEntryCount(1)
+            .entries(List.of(PutEventsResultEntry.builder().errorCode("ThrottlingException").build()))
+            .build());
+
+        // When
+        spool.drain();
+        spool.drain();
+
+        // Then
+        verify(eventBridgeClient, times(1)).putEvents(any(PutEventsRequest.class));
+        assertThat(spool.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(spool.getPendingCount()).isEqualTo(2);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class))).thenReturn(success());
+        spool.drain();
+        assertThat(spool.getPendingCount()).isZero();
+        assertThat(spool.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should discard events permanently rejected on replay")
+    void shouldDiscardPermanentlyRejectedEvents() {
+        // Given
+        spool.spool(entry("APPROVED"));
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class)))
+            .thenThrow(EventBridgeException.builder().statusCode(400).message("Invalid detail").build());
+
+        // When
+        spool.drain();
+
+        // Then
+        assertThat(spool.getPendingCount()).isZero();
+        assertThat(spool.getRejectedCount()).isEqualTo(1);
+        assertThat(spool.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should not call EventBridge when nothing is spooled")
+    void shouldSkipDrainWhenEmpty() {
+        // When
+        spool.drain();
+
+        // Then
+        verify(eventBridgeClient, never()).putEvents(any(PutEventsRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should classify transient and permanent EventBridge errors")
+    void shouldClassifyErrors() {
+        assertThat(EventBridgeSpool.isRetryable("ThrottlingException")).isTrue();
+        assertThat(EventBridgeSpool.isRetryable("InternalFailure")).isTrue();
+        assertThat(EventBridgeSpool.isRetryable("MalformedDetail")).isFalse();
+        assertThat(EventBridgeSpool.isRetryable(SdkClientException.create("timeout"))).isTrue();
+        assertThat(EventBridgeSpool.isRetryable(new UncheckedIOException(new IOException("reset")))).isTrue();
+        assertThat(EventBridgeSpool.isRetryable(new RuntimeException("timeout"))).isFalse();
+        assertThat(EventBridgeSpool.isRetryable(new NullPointerException())).isFalse();
+        assertThat(EventBridgeSpool.isRetryable(EventBridgeException.builder().statusCode(503).build())).isTrue();
+        assertThat(EventBridgeSpool.isRetryable(EventBridgeException.builder().statusCode(429).build())).isTrue();
+        assertThat(EventBridgeSpool.isRetryable(EventBridgeException.builder().statusCode(400).build())).isFalse();
+    }
+
+    private static PutEventsRequestEntry entry(final String detailType) {
+        return PutEventsRequestEntry.builder()
+            .eventBusName("status-pedido-bus")
+            .source("checkout-service")
+            .detailType(detailType)
+            .detail("{\"valor\":\"150.00\"}")
+            .time(ORIGINAL_TIME)
+            .build();
+    }
+
+    private static PutEventsResponse success() {
+        return PutEventsResponse.builder()
+            .failedEntryCount(0)
+            .entries(List.of(PutEventsResultEntry.builder().eventId("event-replayed").build()))
+            .build();
+    }
+}
@@ -0,0 +1,167 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link EventJournal}.
+ */
+class EventJournalTest {
+
+    private static final int SEGMENT_BYTES = 64;
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(10);
+
+    @TempDir
+    private Path directory;
+
+    private EventJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void shouldReadRecordsInAppendOrderUntilAcknowledged() {
+        // Given
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+        assertTrue(journal.append(bytes("event-1")));
+        assertTrue(journal.append(bytes("event-2")));
+
+        // When
+        final List<EventJournal.Entry> entries = journal.read(10);
+
+        // Then
+        assertEquals(List.of("event-1", "event-2"), text(entries));
+        assertEquals(2, journal.pendingRecords());
+        assertEquals(List.of("event-1", "event-2"), text(journal.read(10)));
+
+        journal.acknowledge(entries.get(0));
+        assertEquals(List.of("event-2"), text(journal.read(10)));
+        assertEquals(1, journal.pendingRecords());
+    }
+
+    @Test
+    void shouldRollSegmentsAndDeleteConsumedOnes() throws IOException {
+        // Given: 20-byte frames, three per 64-byte segment
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(journal.append(bytes("record-" + i + "-pad")));
+        }
+        assertEquals(3, journal.segmentCount());
+
+        // When
+        final List<EventJournal.Entry> entries = journal.read(10);
+        entries.forEach(journal::acknowledge);
+
+        // Then
+        assertEquals(7, entries.size());
+        assertEquals("record-6-pad", text(entries).get(6));
+        assertEquals(0, journal.pendingRecords());
+        assertEquals(1, journal.segmentCount());
+        assertEquals(1, segmentFiles().size());
+    }
+
+    @Test
+    void shouldRefuseAppendsWhenFull() {
+        // Given
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 2, FLUSH_INTERVAL);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(journal.append(bytes("record-" + i + "-pad")));
+        }
+
+        // When / Then
+        assertFalse(journal.append(bytes("record-6-pad")));
+        assertThrows(IllegalArgumentException.class, () -> journal.append(new byte[SEGMENT_BYTES]));
+    }
+
+    @Test
+    void shouldRecoverUnacknowledgedRecordsAfterReopen() {
+        // Given
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+        for (int i = 0; i < 5; i++) {
+            journal.append(bytes("record-" + i + "-pad"));
+        }
+        final List<EventJournal.Entry> entries = journal.read(2);
+        journal.acknowledge(entries.get(1));
+        journal.close();
+
+        // When
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+
+        // Then
+        assertEquals(3, journal.pendingRecords());
+        assertEquals(List.of("record-2-pad", "record-3-pad", "record-4-pad"), text(journal.read(10)));
+        assertTrue(journal.append(bytes("record-5-pad")));
+        assertEquals(4, journal.read(10).size());
+    }
+
+    @Test
+    void shouldRefuseDirectoryHeldByAnotherJournal() {
+        // Given
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+
+        // When / Then
+        assertThrows(IllegalStateException.class,
+                () -> EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL));
+        assertTrue(journal.append(bytes("still-usable")));
+
+        journal.close();
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+        assertEquals(1, journal.pendingRecords());
+    }
+
+    @Test
+    void shouldDiscardTornTailOnRecovery() throws IOException {
+        // Given
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+        journal.append(bytes("intact"));
+        journal.close();
+        final Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Frame header claiming 8 bytes with a wrong checksum, right after the intact record
+            channel.write(ByteBuffer.allocate(Integer.BYTES * 2).putInt(8).putInt(42).flip(), 14);
+        }
+
+        // When
+        journal = EventJournal.open(directory, SEGMENT_BYTES, 4, FLUSH_INTERVAL);
+
+        // Then
+        assertEquals(List.of("intact"), text(journal.read(10)));
+        journal.append(bytes("next"));
+        assertEquals(List.of("intact", "next"), text(journal.read(10)));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> text(final List<EventJournal.Entry> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package io.resousadev.linuxtips.common.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link JournalDrainer}.
+ */
+class JournalDrainerTest {
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<String> published = new ArrayList<>();
+
+    private EventJournal journal;
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        journal = EventJournal.open(directory, 1024, 4, Duration.ofMillis(10));
+        breaker = new CircuitBreaker("test", 1, Duration.ofSeconds(30), Duration.ofSeconds(2), clock::get);
+        for (int i = 0; i < 5; i++) {
+            journal.append(("event-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void shouldReplayInOrderAtMostMaxRecordsPerRun() {
+        // Given
+        final JournalDrainer drainer = new JournalDrainer(journal, breaker, record -> {
+            published.add(new String(record, StandardCharsets.UTF_8));
+            return JournalDrainer.Outcome.PUBLISHED;
+        });
+
+        // When
+        final int first = drainer.drain(3);
+        final int second = drainer.drain(3);
+
+        // Then
+        assertEquals(3, first);
+        assertEquals(2, second);
+        assertEquals(List.of("event-0", "event-1", "event-2", "event-3", "event-4"), published);
+        assertEquals(0, journal.pendingRecords());
+        assertEquals(5, drainer.getDrainedCount());
+    }
+
+    @Test
+    void shouldStopOnTransientFailureAndResumeAfterOpenDuration() {
+        // Given
+        final JournalDrainer drainer = new JournalDrainer(journal, breaker, record -> {
+            if (published.isEmpty()) {
+                published.add("failed");
+                throw new IllegalStateException("bus unavailable");
+            }
+            published.add(new String(record, StandardCharsets.UTF_8));
+            return JournalDrainer.Outcome.PUBLISHED;
+        });
+
+        // When
+        final int failedRun = drainer.drain(10);
+        final int openRun = drainer.drain(10);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        final int recoveredRun = drainer.drain(10);
+
+        // Then
+        assertEquals(0, failedRun);
+        assertEquals(0, openRun);
+        assertEquals(5, recoveredRun);
+        assertEquals(List.of("failed", "event-0", "event-1", "event-2", "event-3", "event-4"), published);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldSkipPermanentlyRejectedRecords() {
+        // Given
+        final JournalDrainer drainer = new JournalDrainer(journal, breaker, record ->
+                "event-1".equals(new String(record, StandardCharsets.UTF_8))
+                        ? JournalDrainer.Outcome.REJECTED
+                        : JournalDrainer.Outcome.PUBLISHED);
+
+        // When
+        final int consumed = drainer.drain(10);
+
+        // Then
+        assertEquals(5, consumed);
+        assertEquals(4, drainer.getDrainedCount());
+        assertEquals(1, drainer.getRejectedCount());
+    }
+}
@@ -0,0 +1,79 @@
+package io.resousadev.linuxtips.common.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link TraceContext} and {@link Span}.
+ */
+class TraceContextTest {
+
+    private static final String PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void shouldRestoreCorrelationIdAndParentSpanFromMessage() {
+        // When
+        try (TraceContext.Scope ignored = TraceContext.restore("corr-123", PARENT);
+             Span span = Span.start("sqs.process")) {
+            // Then
+            assertEquals("corr-123", TraceContext.currentCorrelationId());
+            assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", MDC.get(TraceContext.TRACE_ID_MDC_KEY));
+            assertEquals(span.traceparent().spanId(), MDC.get(TraceContext.SPAN_ID_MDC_KEY));
+        }
+
+        // And the MDC is left as it was
+        assertNull(TraceContext.currentCorrelationId());
+        assertNull(TraceContext.currentTraceparent());
+    }
+
+    @Test
+    void shouldKeepOuterMdcWhenScopeCloses() {
+        // Given
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, "outer");
+
+        // When
+        try (TraceContext.Scope ignored = TraceContext.restore("inner", null)) {
+            assertEquals("inner", TraceContext.currentCorrelationId());
+        }
+
+        // Then
+        assertEquals("outer", TraceContext.currentCorrelationId());
+    }
+
+    @Test
+    void shouldGenerateCorrelationIdWhenMessageHasNone() {
+        try (TraceContext.Scope ignored = TraceContext.restore(null, null)) {
+            assertNotNull(TraceContext.currentCorrelationId());
+            assertNull(TraceContext.currentTraceparent());
+        }
+    }
+
+    @Test
+    void shouldNestSpansAndRestoreParent() {
+        // Given
+        try (Span outer = Span.startWithParent("http", PARENT)) {
+            String outerTraceparent = TraceContext.currentTraceparent();
+
+            // When
+            try (Span inner = Span.start("eventbridge.putEvents")) {
+                // Then
+                assertEquals(outer.traceparent().traceId(), inner.traceparent().traceId());
+                assertEquals(inner.traceparent().toHeader(), TraceContext.currentTraceparent());
+            }
+
+            assertEquals(outerTraceparent, TraceContext.currentTraceparent());
+        }
+
+        assertNull(TraceContext.currentTraceparent());
+    }
+}
@@ -0,0 +1,63 @@
+package io.resousadev.linuxtips.common.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link Traceparent}.
+ */
+class TraceparentTest {
+
+    private static final String HEADER = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void shouldParseValidHeader() {
+        // When
+        Optional<Traceparent> parsed = Traceparent.parse(HEADER);
+
+        // Then
+        assertTrue(parsed.isPresent());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", parsed.get().traceId());
+        assertEquals("00f067aa0ba902b7", parsed.get().spanId());
+        assertTrue(parsed.get().sampled());
+        assertEquals(HEADER, parsed.get().toHeader());
+    }
+
+    @Test
+    void shouldRejectMalformedOrInvalidHeaders() {
+        assertFalse(Traceparent.parse(null).isPresent());
+        assertFalse(Traceparent.parse("  ").isPresent());
+        assertFalse(Traceparent.parse("not-a-traceparent").isPresent());
+        assertFalse(Traceparent.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01").isPresent());
+        assertFalse(Traceparent.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01").isPresent());
+    }
+
+    @Test
+    void shouldKeepTraceIdWhenCreatingChild() {
+        // Given
+        Traceparent parent = Traceparent.parse(HEADER).orElseThrow();
+
+        // When
+        Traceparent child = parent.newChild();
+
+        // Then
+        assertEquals(parent.traceId(), child.traceId());
+        assertNotEquals(parent.spanId(), child.spanId());
+    }
+
+    @Test
+    void shouldGenerateWellFormedRoot() {
+        // When
+        Traceparent root = Traceparent.newRoot();
+
+        // Then
+        assertTrue(root.toHeader().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+        assertEquals(root, Traceparent.parse(root.toHeader()).orElseThrow());
+    }
+}
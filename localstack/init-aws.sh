@@ -70,6 +70,26 @@ QUEUE_ARN=$(awslocal sqs get-queue-attributes \
 
 echo "📝 Queue ARN: $QUEUE_ARN"
 
+# FIFO queue for order status transitions (PENDING -> APPROVED -> CANCELLED in order per order).
+# Fed by the checkout-events-fifo-pipe below when CHECKOUT_EVENTS_FIFO=true
+awslocal sqs create-queue \
+    --queue-name checkout-events-queue.fifo \
+    --attributes '{
+        "FifoQueue": "true",
+        "ContentBasedDeduplication": "false",
+        "VisibilityTimeout": "30",
+        "MessageRetentionPeriod": "345600"
+    }' || echo "FIFO queue already exists"
+echo "✅ Queue 'checkout-events-queue.fifo' created"
+
+FIFO_QUEUE_ARN=$(awslocal sqs get-queue-attributes \
+    --queue-url http://sqs.us-east-1.localhost.localstack.cloud:4566/000000000000/checkout-events-queue.fifo \
+    --attribute-names QueueArn \
+    --query 'Attributes.QueueArn' \
+    --output text)
+
+echo "📝 FIFO Queue ARN: $FIFO_QUEUE_ARN"
+
 # List queues to verify
 awslocal sqs list-queues
 
@@ -100,6 +120,29 @@ awslocal events put-targets \
     }]' || echo "Target already exists"
 echo "✅ SQS target configured for rule"
 
+# Ordered delivery (CHECKOUT_EVENTS_FIFO=true): a rule target can only give a FIFO queue one fixed
+# MessageGroupId, which would serialize every order behind one another. Instead, an EventBridge Pipe
+# moves the events from checkout-events-queue to the FIFO queue with one message group per order
+# (detail.orderingKey, the pedidoId) and the EventBridge event ID as MessageDeduplicationId. The
+# pipe then owns checkout-events-queue: the consumer must read only the FIFO queue
+# (SQS_QUEUE_NAME/SQS_QUEUE_URL), or every event would be handled twice.
+if [ "${CHECKOUT_EVENTS_FIFO:-false}" = "true" ]; then
+    awslocal pipes create-pipe \
+        --name checkout-events-fifo-pipe \
+        --role-arn arn:aws:iam::000000000000:role/checkout-events-pipe-role \
+        --source "$QUEUE_ARN" \
+        --source-parameters '{"SqsQueueParameters": {"BatchSize": 10}}' \
+        --target "$FIFO_QUEUE_ARN" \
+        --target-parameters '{
+            "InputTemplate": "<$.body>",
+            "SqsQueueParameters": {
+                "MessageGroupId": "$.body.detail.orderingKey",
+                "MessageDeduplicationId": "$.body.id"
+            }
+        }' || echo "Pipe already exists"
+    echo "✅ Pipe 'checkout-events-fifo-pipe' created (checkout-events-queue -> checkout-events-queue.fifo)"
+fi
+
 # List rules to verify
 awslocal events list-rules --event-bus-name status-pedido-bus
 
@@ -125,6 +168,7 @@ echo ""
 echo "📋 Resources created:"
 echo "   • EventBridge bus: status-pedido-bus"
 echo "   • SQS queue: checkout-events-queue"
+echo "   • SQS FIFO queue: checkout-events-queue.fifo (fed by checkout-events-fifo-pipe when CHECKOUT_EVENTS_FIFO=true)"
 echo "   • SQS DLQ: checkout-events-dlq"
 echo "   • EventBridge rule: checkout-to-sqs-rule"
 echo "   • CloudWatch log group: /ms-checkout/events"
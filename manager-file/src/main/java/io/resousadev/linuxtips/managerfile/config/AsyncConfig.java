@@ -0,0 +1,44 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import io.resousadev.linuxtips.common.concurrent.ContextSnapshot;
+import io.resousadev.linuxtips.common.concurrent.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.time.Duration;
+
+/**
+ * Async execution and cross-thread context propagation.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} Spring Boot runs Tomcat requests, {@code @Async}
+ * methods and the SQS polling scheduler on virtual threads, so blocking S3/EventBridge/SQS calls no
+ * longer tie up platform threads.</p>
+ *
+ * <ul>
+ *   <li>The {@link TaskDecorator} is applied by Spring Boot to the {@code @Async} executor and copies the
+ *       submitter's MDC (correlation ID, traceparent) to the executing thread.</li>
+ *   <li>When virtual threads are enabled, {@link VirtualThreadPinningMonitor} logs every virtual thread
+ *       that blocks while pinned to its carrier (e.g. I/O inside {@code synchronized}).</li>
+ * </ul>
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return task -> ContextSnapshot.capture().wrap(task);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinning-threshold:20ms}") final Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -1,8 +1,19 @@
 package io.resousadev.linuxtips.managerfile.config;
 
+import io.resousadev.linuxtips.common.aws.AwsClientFactory;
+import io.resousadev.linuxtips.common.aws.HttpPoolMetrics;
+import io.resousadev.linuxtips.common.resilience.EventSpoolConfig;
+import io.resousadev.linuxtips.common.resilience.EventSpoolProperties;
+import io.resousadev.linuxtips.managerfile.service.S3PostPolicySigner;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.util.ClassUtils;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
@@ -10,22 +21,46 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
 import java.net.URI;
+import java.time.Duration;
 
 /**
  * AWS SDK configuration for S3, EventBridge, SQS clients and S3Presigner.
  * 
  * <p>Uses StaticCredentialsProvider when explicit credentials are provided (local/test),
  * otherwise falls back to DefaultCredentialsProvider for production environments.</p>
+ *
+ * <p>S3, EventBridge and SQS share one tuned Apache HTTP client ({@link AwsClientFactory}, settings in
+ * {@code aws.http.*}) whose pool is sized from the SQS consumer concurrency; saturation of the pool
+ * is logged by {@link HttpPoolMetrics}.</p>
+ *
+ * <p>All clients are {@link Lazy}: they are built on first use instead of during startup. Injection
+ * points are {@code @Lazy} as well (copied to the constructor through {@code lombok.config}) so they
+ * receive a proxy rather than forcing creation.</p>
+ *
+ * <p>EventBridge publishes go through the circuit breaker and local spool of
+ * {@link EventSpoolConfig} ({@code aws.eventbridge.spool.*}); the outbox relay settings live under
+ * {@code aws.eventbridge.outbox.*}.</p>
  * 
  * @see <a href="https://docs.aws.amazon.com/sdk-for-java/latest/developer-guide/credentials.html">AWS SDK Credentials</a>
  */
 @Configuration
+@EnableConfigurationProperties({AwsHttpProperties.class, DirectUploadProperties.class, OutboxProperties.class})
+@Import(EventSpoolConfig.class)
 public class AwsConfig {
 
+    /** Batch delete and queue depth reads, per queue of the SQS consumer. */
+    private static final int CONSUMER_CONTROL_CONNECTIONS = 2;
+
+    private static final Duration DEFAULT_LONG_POLLING_WAIT = Duration.ofSeconds(20);
+
+    /** The SDK computes CRC64NVME only through the AWS Common Runtime. */
+    private static final String CRT_CLASS = "software.amazon.awssdk.crt.CRT";
+
     @Value("${aws.region:us-east-1}")
     private String awsRegion;
 
@@ -60,26 +95,69 @@ public class AwsConfig {
     }
 
     @Bean
-    public S3Client s3Client() {
-        final var builder = S3Client.builder()
-                .region(Region.of(awsRegion))
-                .credentialsProvider(buildCredentialsProvider());
+    public HttpPoolMetrics awsHttpPoolMetrics(final AwsHttpProperties properties) {
+        return new HttpPoolMetrics(properties.getPoolWarnInterval());
+    }
 
-        if (hasCustomEndpoint()) {
-            builder.endpointOverride(URI.create(awsEndpoint));
-            builder.forcePathStyle(true);
-        }
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public AwsClientFactory awsClientFactory(final AwsHttpProperties properties,
+                                             final ObjectProvider<SqsConsumerProperties> sqsConsumerProperties,
+                                             final HttpPoolMetrics awsHttpPoolMetrics) {
+        final SqsConsumerProperties consumer = sqsConsumerProperties.getIfAvailable();
+        final int consumerConnections = consumer == null ? 0
+                : Math.max(1, consumer.getQueues().size()) * (consumer.getMaxPollers() + CONSUMER_CONTROL_CONNECTIONS)
+                        + consumer.getMaxWorkers();
+        final int maxConnections = properties.getMaxConnections() > 0
+                ? properties.getMaxConnections()
+                : properties.getBaseConnections() + consumerConnections;
+        return new AwsClientFactory(
+                new AwsClientFactory.Settings(maxConnections, properties.getConnectionTimeout(),
+                        properties.getSocketTimeout(), properties.getConnectionAcquisitionTimeout(),
+                        properties.getConnectionMaxIdleTime(), properties.getConnectionTimeToLive(),
+                        properties.getApiCallAttemptTimeout(), properties.getApiCallTimeout()),
+                Region.of(awsRegion), buildCredentialsProvider(),
+                hasCustomEndpoint() ? URI.create(awsEndpoint) : null, awsHttpPoolMetrics);
+    }
 
-        return builder.build();
+    /**
+     * S3 client; an attempt may last {@code aws.http.transfer-attempt-timeout} for large files.
+     */
+    @Bean
+    @Lazy
+    public S3Client s3Client(final AwsClientFactory awsClientFactory, final AwsHttpProperties properties) {
+        return awsClientFactory.build(S3Client.builder().forcePathStyle(hasCustomEndpoint()),
+                properties.getTransferAttemptTimeout());
+    }
+
+    /**
+     * Flexible checksum of uploads ({@code aws.s3.checksum-algorithm}); startup fails on a name S3 does
+     * not know, and on {@code CRC64NVME} without the AWS CRT ({@code software.amazon.awssdk.crt:aws-crt}),
+     * which would otherwise fail every upload.
+     */
+    @Bean
+    public ChecksumAlgorithm s3ChecksumAlgorithm(@Value("${aws.s3.checksum-algorithm:CRC32C}") final String name) {
+        final ChecksumAlgorithm algorithm = ChecksumAlgorithm.fromValue(name.trim().toUpperCase());
+        if (algorithm == ChecksumAlgorithm.UNKNOWN_TO_SDK_VERSION) {
+            throw new IllegalStateException("Unsupported aws.s3.checksum-algorithm: " + name
+                    + " (expected one of " + ChecksumAlgorithm.knownValues() + ")");
+        }
+        if (algorithm == ChecksumAlgorithm.CRC64_NVME
+                && !ClassUtils.isPresent(CRT_CLASS, getClass().getClassLoader())) {
+            throw new IllegalStateException("aws.s3.checksum-algorithm=" + name
+                    + " requires the AWS CRT (software.amazon.awssdk.crt:aws-crt) on the classpath");
+        }
+        return algorithm;
     }
 
     /**
      * S3Presigner bean for generating pre-signed URLs.
-     * Must use same region and credentials as S3Client.
+     * Must use same region and credentials as S3Client; it signs locally and makes no HTTP calls.
      * 
      * @see <a href="https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3/presigner/S3Presigner.html">S3Presigner</a>
      */
     @Bean
+    @Lazy
     public S3Presigner s3Presigner() {
         final var builder = S3Presigner.builder()
                 .region(Region.of(awsRegion))
@@ -92,29 +170,41 @@ public class AwsConfig {
         return builder.build();
     }
 
+    /**
+     * Signs S3 POST policies for direct browser uploads, with the same region and credentials as the
+     * S3Presigner.
+     */
     @Bean
-    public EventBridgeClient eventBridgeClient() {
-        final var builder = EventBridgeClient.builder()
-                .region(Region.of(awsRegion))
-                .credentialsProvider(buildCredentialsProvider());
-
-        if (hasCustomEndpoint()) {
-            builder.endpointOverride(URI.create(awsEndpoint));
-        }
-
-        return builder.build();
+    @Lazy
+    public S3PostPolicySigner s3PostPolicySigner() {
+        return new S3PostPolicySigner(Region.of(awsRegion), buildCredentialsProvider());
     }
 
     @Bean
-    public SqsClient sqsClient() {
-        final var builder = SqsClient.builder()
-                .region(Region.of(awsRegion))
-                .credentialsProvider(buildCredentialsProvider());
+    @Lazy
+    public EventBridgeClient eventBridgeClient(final AwsClientFactory awsClientFactory) {
+        return awsClientFactory.build(EventBridgeClient.builder());
+    }
 
-        if (hasCustomEndpoint()) {
-            builder.endpointOverride(URI.create(awsEndpoint));
-        }
+    /**
+     * EventBridge circuit breaker and local spool settings ({@code aws.eventbridge.spool.*}).
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "aws.eventbridge.spool")
+    public EventSpoolProperties eventSpoolProperties() {
+        return new EventSpoolProperties();
+    }
 
-        return builder.build();
+    /**
+     * SQS client; an attempt may last the long-polling wait on top of the normal timeout.
+     */
+    @Bean
+    @Lazy
+    public SqsClient sqsClient(final AwsClientFactory awsClientFactory,
+                               final ObjectProvider<SqsConsumerProperties> sqsConsumerProperties) {
+        final SqsConsumerProperties consumer = sqsConsumerProperties.getIfAvailable();
+        final Duration waitTime = consumer != null ? consumer.getWaitTime() : DEFAULT_LONG_POLLING_WAIT;
+        return awsClientFactory.build(SqsClient.builder(),
+                awsClientFactory.getSettings().apiCallAttemptTimeout().plus(waitTime));
     }
 }
@@ -0,0 +1,52 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the HTTP client shared by the AWS clients ({@code aws.http.*}).
+ *
+ * @see io.resousadev.linuxtips.common.aws.AwsClientFactory
+ */
+@Data
+@ConfigurationProperties(prefix = "aws.http")
+public class AwsHttpProperties {
+
+    /**
+     * Pool connections; 0 derives it from concurrency: {@code base-connections} + the SQS consumer's
+     * maximum pollers and workers (when {@code aws.sqs.enabled}) + 2 (batch delete and queue depth).
+     */
+    private int maxConnections;
+
+    /** Connections kept for uploads, downloads and EventBridge publishes in the derived size. */
+    private int baseConnections = 50;
+
+    /** TCP connect timeout. */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /** Read timeout; must exceed the SQS long-polling wait (20s). */
+    private Duration socketTimeout = Duration.ofSeconds(30);
+
+    /** How long a request waits for a free pooled connection. */
+    private Duration connectionAcquisitionTimeout = Duration.ofSeconds(2);
+
+    /** Idle pooled connections are closed after this. */
+    private Duration connectionMaxIdleTime = Duration.ofMinutes(1);
+
+    /** Maximum lifetime of a connection (reconnects and re-resolves DNS). */
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    /** Timeout of one HTTP attempt; SQS adds the long-polling wait. */
+    private Duration apiCallAttemptTimeout = Duration.ofSeconds(5);
+
+    /** Timeout of one S3 attempt, where uploads and downloads of large files take longer. */
+    private Duration transferAttemptTimeout = Duration.ofMinutes(5);
+
+    /** Timeout of a whole call, retries included. */
+    private Duration apiCallTimeout = Duration.ofSeconds(15);
+
+    /** Minimum interval between pool saturation warnings. */
+    private Duration poolWarnInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,78 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits of uploads sent by clients straight to S3 ({@code aws.s3.direct-upload.*}).
+ *
+ * @see io.resousadev.linuxtips.managerfile.service.FileService#reserveUpload
+ */
+@Data
+@ConfigurationProperties(prefix = "aws.s3.direct-upload")
+public class DirectUploadProperties {
+
+    /** How long the presigned PUT URL or POST policy stays valid. */
+    private Duration expiry = Duration.ofMinutes(15);
+
+    /** Largest accepted file; S3 takes at most 5GB in a single PUT or POST. */
+    private DataSize maxSize = DataSize.ofGigabytes(5);
+
+    /** Accepted content types, exact or {@code type/*}; empty accepts any. */
+    private List<String> allowedContentTypes = new ArrayList<>();
+
+    /** Multipart uploads of very large files. */
+    private Multipart multipart = new Multipart();
+
+    /**
+     * Largest object a direct upload may produce, single request or multipart.
+     *
+     * @return size in bytes
+     */
+    public long maxObjectSize() {
+        return Math.max(maxSize.toBytes(), multipart.getMaxSize().toBytes());
+    }
+
+    /**
+     * Whether a content type is accepted.
+     *
+     * @param contentType declared content type
+     * @return {@code true} if it matches one of {@link #allowedContentTypes}, or the list is empty
+     */
+    public boolean isAllowed(final String contentType) {
+        if (allowedContentTypes.isEmpty()) {
+            return true;
+        }
+        for (String allowed : allowedContentTypes) {
+            if (allowed.endsWith("/*")
+                    ? contentType.startsWith(allowed.substring(0, allowed.length() - 1))
+                    : contentType.equalsIgnoreCase(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Multipart upload settings.
+     *
+     * @see io.resousadev.linuxtips.managerfile.service.MultipartUploadService
+     */
+    @Data
+    public static class Multipart {
+
+        /** Largest file uploaded in parts. */
+        private DataSize maxSize = DataSize.ofTerabytes(1);
+
+        /** Smallest part size; grows for files that would need more than 10,000 parts. */
+        private DataSize partSize = DataSize.ofMegabytes(64);
+
+        /** Uploads initiated longer ago than this and not completed are aborted by the reaper. */
+        private Duration abandonedAfter = Duration.ofHours(24);
+    }
+}
@@ -0,0 +1,62 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import io.resousadev.linuxtips.common.archive.ArchiveStore;
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.archive.LocalArchiveStore;
+import io.resousadev.linuxtips.common.archive.S3ArchiveStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Compressed, time-partitioned archive of the events the SQS consumer handles, in the format of
+ * ms-checkout's archive ({@code common.archive}).
+ *
+ * <p>The outbox relay deletes each file event once published, so the archive is the only record of
+ * the events this service received. {@code FileEventConsumer} appends each handled message before
+ * the consumer deletes it; turned off with {@code file-archive.enabled=false}.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(FileArchiveProperties.class)
+@ConditionalOnProperty(name = "aws.sqs.enabled", havingValue = "true")
+public class FileArchiveConfig {
+
+    private static final String SEGMENTS_DIRECTORY = "segments";
+    private static final String ACTIVE_DIRECTORY = "active";
+    private static final String REPLAY_DIRECTORY = "replay";
+
+    @Bean
+    @ConditionalOnProperty(name = "file-archive.enabled", havingValue = "true", matchIfMissing = true)
+    public ArchiveStore fileArchiveStore(final FileArchiveProperties properties,
+                                         @Lazy final S3Client s3Client) throws IOException {
+        final Path directory = properties.getDirectory();
+        return switch (properties.getStore()) {
+            case LOCAL -> new LocalArchiveStore(directory.resolve(SEGMENTS_DIRECTORY));
+            case S3 -> {
+                if (properties.getS3().getBucket() == null || properties.getS3().getBucket().isBlank()) {
+                    throw new IllegalStateException("file-archive.s3.bucket is required with store S3");
+                }
+                if (properties.getPartition().compareTo(S3ArchiveStore.MAX_PARTITION) > 0) {
+                    throw new IllegalStateException("file-archive.partition must be at most 1 day with store S3");
+                }
+                yield new S3ArchiveStore(s3Client, properties.getS3().getBucket(), properties.getS3().getPrefix(),
+                        directory.resolve(REPLAY_DIRECTORY));
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "file-archive.enabled", havingValue = "true", matchIfMissing = true)
+    public EventArchiveWriter fileArchiveWriter(final FileArchiveProperties properties,
+                                                final ArchiveStore fileArchiveStore) throws IOException {
+        return EventArchiveWriter.open(properties.getDirectory().resolve(ACTIVE_DIRECTORY), fileArchiveStore,
+                new EventArchiveWriter.Settings(properties.getPartition(), properties.getMaxSegmentSize().toBytes(),
+                        (int) properties.getBlockSize().toBytes(), properties.getFlushInterval()));
+    }
+}
@@ -0,0 +1,63 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Archive of the consumed events ({@code file-archive.*}).
+ *
+ * @see io.resousadev.linuxtips.common.archive.EventArchiveWriter
+ */
+@Data
+@ConfigurationProperties(prefix = "file-archive")
+public class FileArchiveProperties {
+
+    /** Where sealed segments are kept. */
+    public enum Store {
+        /** The {@code segments} subdirectory of {@link #directory}. */
+        LOCAL,
+        /** An S3 bucket ({@link S3#bucket}). */
+        S3
+    }
+
+    /** Whether the consumer archives the messages it handles. */
+    private boolean enabled = true;
+
+    /** Directory of the active segment (and of sealed segments with store LOCAL); a persistent volume. */
+    private Path directory = Path.of("data", "event-archive");
+
+    /** Destination of sealed segments. */
+    private Store store = Store.LOCAL;
+
+    /** Time partition of a segment (at most 1 day with store S3). */
+    private Duration partition = Duration.ofHours(1);
+
+    /** Compressed size at which a segment is sealed before its partition ends. */
+    private DataSize maxSegmentSize = DataSize.ofMegabytes(256);
+
+    /** Uncompressed size of a block: the granularity of the sparse index. */
+    private DataSize blockSize = DataSize.ofKilobytes(64);
+
+    /** Longest time an event stays in memory before reaching the disk: the loss on a crash. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** S3 store. */
+    private S3 s3 = new S3();
+
+    /**
+     * S3 store.
+     */
+    @Data
+    public static class S3 {
+
+        /** Bucket of the segments. */
+        private String bucket;
+
+        /** Key prefix. */
+        private String prefix = "event-archive/manager-file";
+    }
+}
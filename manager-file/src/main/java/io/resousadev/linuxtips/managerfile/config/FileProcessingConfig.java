@@ -0,0 +1,60 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import io.resousadev.linuxtips.managerfile.processing.ChecksumVerificationProcessor;
+import io.resousadev.linuxtips.managerfile.processing.FileProcessingPipeline;
+import io.resousadev.linuxtips.managerfile.processing.ProcessingStage;
+import io.resousadev.linuxtips.managerfile.processing.S3StoredFile;
+import io.resousadev.linuxtips.managerfile.processing.TextExtractionProcessor;
+import io.resousadev.linuxtips.managerfile.processing.ThumbnailProcessor;
+import io.resousadev.linuxtips.managerfile.producer.FileEventProducer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Post-upload processing pipeline, fed by the {@code FILE_UPLOADED} events of the SQS consumer.
+ *
+ * <p>One bounded stage per processor ({@code file-processing.<stage>.concurrency}); a stage can be
+ * turned off with {@code file-processing.<stage>.enabled=false}, and the whole pipeline with
+ * {@code file-processing.enabled=false}. Processing runs off the upload request path, in the
+ * consumer's workers, so its capacity follows the consumer's autoscaling within the stage bounds.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(FileProcessingProperties.class)
+@ConditionalOnProperty(name = "file-processing.enabled", havingValue = "true", matchIfMissing = true)
+public class FileProcessingConfig {
+
+    @Bean(destroyMethod = "close")
+    public FileProcessingPipeline fileProcessingPipeline(@Lazy final S3Client s3Client,
+                                                         @Value("${aws.s3.bucket:manager-file-bucket}")
+                                                         final String bucketName,
+                                                         final FileEventProducer fileEventProducer,
+                                                         final FileProcessingProperties properties) {
+        final List<ProcessingStage> stages = new ArrayList<>();
+        if (properties.getChecksum().isEnabled()) {
+            stages.add(new ProcessingStage(new ChecksumVerificationProcessor(),
+                    properties.getChecksum().getConcurrency()));
+        }
+        if (properties.getThumbnail().isEnabled()) {
+            stages.add(new ProcessingStage(new ThumbnailProcessor(
+                    properties.getThumbnail().getMaxSourceSize().toBytes(),
+                    properties.getThumbnail().getMaxDimension()),
+                    properties.getThumbnail().getConcurrency()));
+        }
+        if (properties.getText().isEnabled()) {
+            stages.add(new ProcessingStage(new TextExtractionProcessor(
+                    (int) properties.getText().getMaxBytes().toBytes(),
+                    properties.getText().getPreviewChars()),
+                    properties.getText().getConcurrency()));
+        }
+        return new FileProcessingPipeline(stages, file -> new S3StoredFile(s3Client, bucketName, file),
+                fileEventProducer, properties.getReserveTimeout());
+    }
+}
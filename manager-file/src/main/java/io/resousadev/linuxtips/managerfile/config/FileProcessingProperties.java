@@ -0,0 +1,80 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Post-upload processing settings ({@code file-processing.*}).
+ *
+ * @see io.resousadev.linuxtips.managerfile.processing.FileProcessingPipeline
+ */
+@Data
+@ConfigurationProperties(prefix = "file-processing")
+public class FileProcessingProperties {
+
+    /** Whether {@code FILE_UPLOADED} events are processed. */
+    private boolean enabled = true;
+
+    /** How long a message waits for a full stage before going back to the queue. */
+    private Duration reserveTimeout = Duration.ofSeconds(5);
+
+    /** Checksum verification: I/O-bound, reads the whole file. */
+    private Checksum checksum = new Checksum();
+
+    /** Image thumbnails: CPU-bound. */
+    private Thumbnail thumbnail = new Thumbnail();
+
+    /** Text preview and counts. */
+    private Text text = new Text();
+
+    /**
+     * Checksum verification stage.
+     */
+    @Data
+    public static class Checksum {
+
+        private boolean enabled = true;
+
+        /** Files verified at once. */
+        private int concurrency = 8;
+    }
+
+    /**
+     * Thumbnail stage.
+     */
+    @Data
+    public static class Thumbnail {
+
+        private boolean enabled = true;
+
+        /** Images decoded at once; defaults to the number of cores. */
+        private int concurrency = Runtime.getRuntime().availableProcessors();
+
+        /** Larger images are not thumbnailed. */
+        private DataSize maxSourceSize = DataSize.ofMegabytes(50);
+
+        /** Bound of the thumbnail width and height, in pixels. */
+        private int maxDimension = 256;
+    }
+
+    /**
+     * Text extraction stage.
+     */
+    @Data
+    public static class Text {
+
+        private boolean enabled = true;
+
+        /** Files read at once. */
+        private int concurrency = 4;
+
+        /** Bytes read from the start of the file. */
+        private DataSize maxBytes = DataSize.ofMegabytes(1);
+
+        /** Characters kept in the preview. */
+        private int previewChars = 200;
+    }
+}
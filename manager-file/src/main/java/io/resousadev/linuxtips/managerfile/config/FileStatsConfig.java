@@ -0,0 +1,15 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Storage usage statistics, counted from the file events of this instance and recomputed
+ * periodically; turned off with {@code file-stats.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(FileStatsProperties.class)
+@ConditionalOnProperty(name = "file-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class FileStatsConfig {
+}
@@ -0,0 +1,32 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Storage usage statistics settings ({@code file-stats.*}).
+ *
+ * @see io.resousadev.linuxtips.managerfile.stats.StorageStatsRecorder
+ * @see io.resousadev.linuxtips.managerfile.stats.StorageStatsReconciler
+ */
+@Data
+@ConfigurationProperties(prefix = "file-stats")
+public class FileStatsProperties {
+
+    /** Whether this instance counts its file events and recomputes the statistics (the endpoint is always on). */
+    private boolean enabled = true;
+
+    /** Interval between flushes of the in-memory counters to the database. */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /** Interval between recomputations of the statistics from {@code file_metadata}. */
+    private Duration reconcileInterval = Duration.ofHours(6);
+
+    /** Delay before the first recomputation after startup. */
+    private Duration reconcileInitialDelay = Duration.ofMinutes(5);
+
+    /** Upload time slices of {@code file_metadata} aggregated concurrently by a recomputation, one connection each. */
+    private int reconcileSlices = 4;
+}
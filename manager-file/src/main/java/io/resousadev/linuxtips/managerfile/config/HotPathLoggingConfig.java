@@ -0,0 +1,48 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.resousadev.linuxtips.common.logging.DebugCorrelationTurboFilter;
+import io.resousadev.linuxtips.common.logging.DebugCorrelations;
+import io.resousadev.linuxtips.common.logging.HotPathLog;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Applies the {@link HotPathLog} and {@link DebugCorrelations} settings and periodically flushes
+ * pending summaries, including those of hot paths that went idle.
+ *
+ * <p>manager-file has no {@code logback-spring.xml}, so the {@link DebugCorrelationTurboFilter} is
+ * registered on the logger context here.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(HotPathLoggingProperties.class)
+public class HotPathLoggingConfig {
+
+    private final HotPathLoggingProperties properties;
+
+    @PostConstruct
+    void configure() {
+        HotPathLog.configure(properties.getSummaryInterval(), properties.getSampleRate());
+        DebugCorrelations.configure(properties.getDebug().getDefaultTtl(), properties.getDebug().getMaxTtl(),
+                properties.getDebug().getMaxActive());
+
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext
+                && loggerContext.getTurboFilterList().stream()
+                        .noneMatch(DebugCorrelationTurboFilter.class::isInstance)) {
+            final DebugCorrelationTurboFilter filter = new DebugCorrelationTurboFilter();
+            filter.setContext(loggerContext);
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${logging.hot-path.report-check-interval:PT10S}")
+    void reportSummaries() {
+        HotPathLog.reportAll();
+    }
+}
@@ -0,0 +1,45 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Aggregated/sampled hot-path logging settings ({@code logging.hot-path.*}).
+ *
+ * @see io.resousadev.linuxtips.common.logging.HotPathLog
+ * @see io.resousadev.linuxtips.common.logging.DebugCorrelations
+ */
+@Data
+@ConfigurationProperties(prefix = "logging.hot-path")
+public class HotPathLoggingProperties {
+
+    /** Interval between the summary lines of each hot path. */
+    private Duration summaryInterval = Duration.ofMinutes(1);
+
+    /** Fraction of events logged individually (0 to 1). */
+    private double sampleRate = 0.01;
+
+    /** Full DEBUG per correlation ID. */
+    private Debug debug = new Debug();
+
+    /**
+     * Full DEBUG per correlation ID, enabled with the {@code X-Debug} request header.
+     */
+    @Data
+    public static class Debug {
+
+        /** Honor {@code X-Debug: true} on incoming requests; any caller can send it, so off by default. */
+        private boolean headerEnabled;
+
+        /** How long a correlation ID stays in DEBUG. */
+        private Duration defaultTtl = Duration.ofMinutes(10);
+
+        /** Upper bound for any requested TTL. */
+        private Duration maxTtl = Duration.ofHours(1);
+
+        /** Maximum number of correlation IDs in DEBUG at the same time. */
+        private int maxActive = 100;
+    }
+}
@@ -0,0 +1,81 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import io.resousadev.linuxtips.common.logging.DebugCorrelations;
+import io.resousadev.linuxtips.common.tracing.Span;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter binding a correlation ID and a request span to the MDC of every request.
+ *
+ * <p>Accepts the caller's {@code X-Correlation-Id} and {@code traceparent} headers, generating
+ * new values when absent. Events published while handling the request inherit both through
+ * {@link io.resousadev.linuxtips.common.event.BaseEvent}.</p>
+ *
+ * <p>With {@code logging.hot-path.debug.header-enabled=true}, {@code X-Debug: true} enables full
+ * DEBUG for the request's correlation ID in this service ({@link DebugCorrelations}, bounded by TTL
+ * and number of active IDs). Off by default: the header comes from unauthenticated callers.</p>
+ */
+@Slf4j
+@Component
+@Order(1)
+public class LoggingFilter implements Filter {
+
+    private static final String REQUEST_URI_MDC_KEY = "requestUri";
+    private static final String REQUEST_METHOD_MDC_KEY = "requestMethod";
+    private static final String DEBUG_HEADER = "X-Debug";
+
+    @Value("${logging.hot-path.debug.header-enabled:false}")
+    private boolean debugHeaderEnabled;
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!(request instanceof HttpServletRequest httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            String correlationId = httpRequest.getHeader(TraceContext.CORRELATION_ID_HEADER);
+            if (correlationId == null || correlationId.isBlank()) {
+                correlationId = TraceContext.newCorrelationId();
+            }
+
+            MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, correlationId);
+            MDC.put(REQUEST_URI_MDC_KEY, httpRequest.getRequestURI());
+            MDC.put(REQUEST_METHOD_MDC_KEY, httpRequest.getMethod());
+
+            if (response instanceof HttpServletResponse httpResponse) {
+                httpResponse.setHeader(TraceContext.CORRELATION_ID_HEADER, correlationId);
+            }
+
+            if (debugHeaderEnabled && Boolean.parseBoolean(httpRequest.getHeader(DEBUG_HEADER))
+                    && !DebugCorrelations.enable(correlationId)) {
+                log.warn("Debug logging not enabled, too many active correlation IDs: correlationId={}",
+                        correlationId);
+            }
+
+            try (Span ignored = Span.startWithParent("http " + httpRequest.getMethod(),
+                    httpRequest.getHeader(TraceContext.TRACEPARENT_HEADER))) {
+                chain.doFilter(request, response);
+            }
+        } finally {
+            MDC.clear();
+        }
+    }
+}
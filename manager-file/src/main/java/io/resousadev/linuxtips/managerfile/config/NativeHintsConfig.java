@@ -0,0 +1,58 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import io.resousadev.linuxtips.common.dto.ApiResponse;
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.event.BaseEvent;
+import io.resousadev.linuxtips.common.resilience.SpooledEvent;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchPage;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import io.resousadev.linuxtips.managerfile.dto.MultipartUploadSession;
+import io.resousadev.linuxtips.managerfile.dto.StorageStats;
+import io.resousadev.linuxtips.managerfile.dto.StorageUsage;
+import io.resousadev.linuxtips.managerfile.dto.UploadReservation;
+import io.resousadev.linuxtips.managerfile.dto.UploadedPart;
+import io.resousadev.linuxtips.managerfile.repository.FileSearchRepository;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata for the GraalVM native image ({@code -Pnative}, see gradle/native-image.gradle).
+ *
+ * <p>Spring AOT already covers the bean graph and the {@code @RequestBody}/{@code ResponseEntity} types of
+ * the controllers. What it cannot see is Jackson binding done programmatically: {@link BaseEvent} is
+ * (de)serialized through {@code ObjectMapper} by the EventBridge producer and the SQS consumer, with
+ * {@link FileMetadataDto} as payload, {@link SpooledEvent} is written to and read from the local
+ * EventBridge spool journal, and search cursors are {@link FileSearchRepository.Cursor} JSON. Those
+ * types get binding hints (constructors, Lombok-generated accessors and {@code @JsonProperty} fields,
+ * recursively).</p>
+ *
+ * <p>Lombok builders are plain generated code and need no metadata. The AWS SDK jars ship their own
+ * reflection/resource configuration; only the classpath resources listing the execution interceptors
+ * are registered here so the S3/SQS/EventBridge clients keep their service-specific interceptors.</p>
+ *
+ * <p>Hints are ignored on the JVM.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.ManagerFileRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class ManagerFileRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                BaseEvent.class, FileMetadataDto.class, SpooledEvent.class, ApiResponse.class,
+                FileUploadRequest.class, UploadReservation.class, MultipartUploadSession.class, UploadedPart.class,
+                FileSearchPage.class, FileSearchRepository.Cursor.class, StorageStats.class, StorageUsage.class);
+
+            hints.resources()
+                .registerPattern("software/amazon/awssdk/global/handlers/execution.interceptors")
+                .registerPattern("software/amazon/awssdk/services/*/execution.interceptors");
+        }
+    }
+}
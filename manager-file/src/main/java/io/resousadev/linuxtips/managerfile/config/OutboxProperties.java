@@ -0,0 +1,31 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * File event outbox relay settings ({@code aws.eventbridge.outbox.*}).
+ *
+ * @see io.resousadev.linuxtips.managerfile.producer.OutboxRelay
+ */
+@Data
+@ConfigurationProperties(prefix = "aws.eventbridge.outbox")
+public class OutboxProperties {
+
+    /** Whether this instance runs the relay; events are written to the outbox regardless. */
+    private boolean enabled = true;
+
+    /** Interval between relay runs while the outbox is empty; a full batch is followed at once by the next. */
+    private Duration relayInterval = Duration.ofMillis(200);
+
+    /** Events locked and relayed per transaction, in PutEvents calls of up to 10 entries. */
+    private int batchSize = 100;
+
+    /** Delay before the first retry of a failed event; doubled on each further failure. */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /** Maximum delay between retries of a failed event. */
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+}
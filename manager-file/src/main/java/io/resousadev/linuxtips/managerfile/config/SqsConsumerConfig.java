@@ -0,0 +1,100 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.consumer.ConcurrencyAutoscaler;
+import io.resousadev.linuxtips.common.consumer.QueueConsumer;
+import io.resousadev.linuxtips.common.consumer.SqsQueueClient;
+import io.resousadev.linuxtips.common.event.EventOrderingKey;
+import io.resousadev.linuxtips.managerfile.consumer.FileEventConsumer;
+import io.resousadev.linuxtips.managerfile.processing.FileProcessingPipeline;
+import io.resousadev.linuxtips.managerfile.service.FileService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.lang.Nullable;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import java.util.List;
+
+/**
+ * File events queue consumer, with pollers and workers scaled from the queue backlog.
+ *
+ * <p>The queues come from {@code aws.sqs.consumer.queues} (name, URL and weight), or default to
+ * {@code aws.sqs.file-events-queue-url}. They share one worker pool in proportion to their weights
+ * while more than one has messages. Events of one file (the event's {@code orderingKey}, or the
+ * FIFO message group) are not handled at the same time within this instance, different files run in
+ * parallel. The file events queue is a standard queue, so this ordering is best-effort: SQS may
+ * deliver out of order and other instances handle the same file in parallel.</p>
+ *
+ * <p>Every {@code aws.sqs.consumer.autoscale-interval} the consumer reads
+ * {@code ApproximateNumberOfMessages} and {@code ApproximateNumberOfMessagesNotVisible} of each
+ * queue and resizes within the configured bounds; each change is logged ("Queue pollers rescaled",
+ * "Queue consumer rescaled").</p>
+ *
+ * <p>Polling starts once the application is ready ({@link ApplicationReadyEvent}) rather than during
+ * the context refresh, so the {@code @Lazy} SQS client is not built at startup and no message is
+ * handled before the rest of the application is up.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(SqsConsumerProperties.class)
+@ConditionalOnProperty(name = "aws.sqs.enabled", havingValue = "true")
+public class SqsConsumerConfig {
+
+    /**
+     * The archive writer is a direct (nullable) dependency rather than an {@link ObjectProvider}, so it
+     * is closed only after the queue consumer has stopped handing messages to this handler.
+     */
+    @Bean
+    public FileEventConsumer fileEventConsumer(final ObjectMapper objectMapper, final FileService fileService,
+                                               final ObjectProvider<FileProcessingPipeline> processingPipeline,
+                                               @Nullable final EventArchiveWriter fileArchiveWriter) {
+        return new FileEventConsumer(objectMapper, fileService, processingPipeline.getIfAvailable(),
+                fileArchiveWriter);
+    }
+
+    @Bean(destroyMethod = "close")
+    public QueueConsumer fileEventsQueueConsumer(@Lazy final SqsClient sqsClient,
+                                                 @Value("${aws.sqs.file-events-queue-url:}") final String queueUrl,
+                                                 final FileEventConsumer fileEventConsumer,
+                                                 final SqsConsumerProperties properties) {
+        final List<SqsConsumerProperties.Queue> queues = properties.getQueues();
+        final List<QueueConsumer.Subscription> subscriptions = queues.isEmpty()
+                ? List.of(new QueueConsumer.Subscription(queueClient(sqsClient, null, queueUrl), fileEventConsumer,
+                        1, EventOrderingKey::of))
+                : queues.stream()
+                        .map(queue -> new QueueConsumer.Subscription(
+                                queueClient(sqsClient, queue.getName(), queue.getUrl()), fileEventConsumer,
+                                queue.getWeight(), EventOrderingKey::of))
+                        .toList();
+        final ConcurrencyAutoscaler autoscaler = new ConcurrencyAutoscaler(
+                new ConcurrencyAutoscaler.Bounds(properties.getMinPollers(), properties.getMaxPollers(),
+                        properties.getMinWorkers(), properties.getMaxWorkers()),
+                properties.getMessagesPerWorker(), properties.getWorkersPerPoller(),
+                properties.getScaleDownDelay());
+        return new QueueConsumer("file-events", subscriptions, autoscaler,
+                new QueueConsumer.Settings(properties.getBatchSize(), properties.getWaitTime(),
+                        properties.getPrefetch(), properties.getMaxBufferAge(), properties.getAutoscaleInterval(),
+                        properties.getShutdownTimeout()));
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> fileEventsQueueConsumerStarter(
+            final QueueConsumer fileEventsQueueConsumer) {
+        return event -> fileEventsQueueConsumer.start();
+    }
+
+    private static SqsQueueClient queueClient(final SqsClient sqsClient, final String name, final String url) {
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("SQS queue URL not configured: name=" + name);
+        }
+        final String queueName = name != null && !name.isBlank() ? name : url.substring(url.lastIndexOf('/') + 1);
+        return new SqsQueueClient(sqsClient, queueName, url);
+    }
+}
@@ -0,0 +1,83 @@
+package io.resousadev.linuxtips.managerfile.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File events queue consumer settings ({@code aws.sqs.consumer.*}).
+ *
+ * @see io.resousadev.linuxtips.common.consumer.QueueConsumer
+ * @see io.resousadev.linuxtips.common.consumer.ConcurrencyAutoscaler
+ */
+@Data
+@ConfigurationProperties(prefix = "aws.sqs.consumer")
+public class SqsConsumerProperties {
+
+    /**
+     * Queues to consume, sharing the workers in proportion to their weights; when empty, only
+     * {@code aws.sqs.file-events-queue-url}.
+     */
+    private List<Queue> queues = new ArrayList<>();
+
+    /** Receive loops (long polling) per queue, with an empty queue. */
+    private int minPollers = 1;
+
+    /** Upper bound on receive loops per queue. */
+    private int maxPollers = 4;
+
+    /** Concurrent handlers with empty queues, over all queues. */
+    private int minWorkers = 1;
+
+    /** Upper bound on concurrent handlers over all queues; protects S3 and the database behind the handlers. */
+    private int maxWorkers = 32;
+
+    /** Backlog (visible + in flight) one worker is expected to keep up with. */
+    private int messagesPerWorker = 100;
+
+    /** Workers fed by one poller (a receive call returns at most {@code batchSize} messages). */
+    private int workersPerPoller = 10;
+
+    /** How long demand must stay lower before concurrency is reduced (hysteresis). */
+    private Duration scaleDownDelay = Duration.ofMinutes(2);
+
+    /** Interval between queue depth reads ({@code GetQueueAttributes}). */
+    private Duration autoscaleInterval = Duration.ofSeconds(15);
+
+    /** Messages per receive call (SQS maximum: 10). */
+    private int batchSize = 10;
+
+    /** Long-polling wait (SQS maximum: 20s). */
+    private Duration waitTime = Duration.ofSeconds(20);
+
+    /** Messages received ahead of the workers per queue, waiting for a free one. */
+    private int prefetch = 20;
+
+    /**
+     * How long a message may wait in the buffer before it is left for redelivery; plus the longest
+     * processing time, it must stay below the queue's visibility timeout.
+     */
+    private Duration maxBufferAge = Duration.ofSeconds(10);
+
+    /** How long shutdown waits for in-flight handlers. */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * A consumed queue.
+     */
+    @Data
+    public static class Queue {
+
+        /** Queue name, for logs; defaults to the last segment of the URL. */
+        private String name;
+
+        /** Queue URL. */
+        private String url;
+
+        /** Share of the workers relative to the other queues with messages. */
+        private int weight = 1;
+    }
+}
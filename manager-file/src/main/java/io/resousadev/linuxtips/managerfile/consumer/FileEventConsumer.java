@@ -1,95 +1,128 @@
 package io.resousadev.linuxtips.managerfile.consumer;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.consumer.MessageHandler;
+import io.resousadev.linuxtips.common.consumer.QueueMessage;
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
 import io.resousadev.linuxtips.common.event.BaseEvent;
 import io.resousadev.linuxtips.common.event.EventTypes;
+import io.resousadev.linuxtips.common.exception.BusinessException;
+import io.resousadev.linuxtips.common.logging.HotPathLog;
+import io.resousadev.linuxtips.common.tracing.Span;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+import io.resousadev.linuxtips.managerfile.processing.FileProcessingPipeline;
+import io.resousadev.linuxtips.managerfile.processing.StoredFile;
+import io.resousadev.linuxtips.managerfile.service.FileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Component;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
-import software.amazon.awssdk.services.sqs.model.Message;
-import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
-import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
-
-import java.util.List;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 
 /**
- * SQS consumer for processing file-related events from other microservices.
- * 
- * <p>This consumer uses long-polling to efficiently receive messages from SQS.
- * It is only enabled when {@code aws.sqs.enabled=true} is set in configuration.</p>
- * 
+ * Handler for file-related events from other microservices.
+ *
+ * <p>Messages are received by a {@link io.resousadev.linuxtips.common.consumer.QueueConsumer}
+ * (see {@code SqsConsumerConfig}), which long-polls the queue with a number of pollers and workers
+ * scaled from the queue backlog, and deletes each message once this handler returns. It is only
+ * enabled when {@code aws.sqs.enabled=true} is set in configuration.</p>
+ *
+ * <p>The queue may also receive S3 event notifications ({@code s3:ObjectCreated:*} on the bucket):
+ * each created object completes its direct upload ({@link FileService#completeUpload}), so the
+ * {@code FILE_UPLOADED} event is published even when the client never calls the completion
+ * endpoint.</p>
+ *
+ * <p>{@code FILE_UPLOADED} events go to the {@link FileProcessingPipeline} (checksum verification,
+ * thumbnails, text extraction), which publishes {@code FILE_PROCESSED} or
+ * {@code FILE_PROCESSING_FAILED}. A message whose processing stages are full is given back to the
+ * queue.</p>
+ *
+ * <p>Each handled message is appended to the {@link EventArchiveWriter} (see {@code FileArchiveConfig})
+ * before the consumer deletes it: the outbox relay deletes the file events it publishes, so the
+ * archive is the record these events can be replayed from.</p>
+ *
+ * <p>The per-event INFO line is sampled; every message is counted in the periodic
+ * {@code sqs.process} summary ({@link HotPathLog}).</p>
+ *
  * @see <a href="https://docs.aws.amazon.com/AWSSimpleQueueService/latest/SQSDeveloperGuide/sqs-short-and-long-polling.html">SQS Polling</a>
  */
 @Slf4j
-@Component
 @RequiredArgsConstructor
-@ConditionalOnProperty(name = "aws.sqs.enabled", havingValue = "true")
-public class FileEventConsumer {
+public class FileEventConsumer implements MessageHandler {
 
-    private static final int MAX_MESSAGES_PER_POLL = 10;
-    private static final int WAIT_TIME_SECONDS = 5;
+    private static final HotPathLog PROCESS_LOG = HotPathLog.of(log, "sqs.process");
 
-    private final SqsClient sqsClient;
-    private final ObjectMapper objectMapper;
+    private static final String S3_RECORDS_FIELD = "Records";
+    private static final String S3_TEST_EVENT = "s3:TestEvent";
+    private static final String S3_OBJECT_CREATED_PREFIX = "ObjectCreated:";
+    /** Archive event type of S3 notifications, which carry no {@code eventType}. */
+    static final String S3_NOTIFICATION_TYPE = "aws:s3";
 
-    @Value("${aws.sqs.file-events-queue-url}")
-    private String queueUrl;
+    private final ObjectMapper objectMapper;
+    private final FileService fileService;
+    /** Absent with {@code file-processing.enabled=false}. */
+    private final FileProcessingPipeline processingPipeline;
+    /** Absent with {@code file-archive.enabled=false}. */
+    private final EventArchiveWriter archiveWriter;
 
     /**
-     * Poll SQS queue for file-related events using long-polling.
-     * 
-     * <p>Long-polling reduces the number of empty responses and provides
-     * cost savings over short-polling.</p>
+     * Parses and routes one event; a failure is rethrown so the message stays in the queue.
+     *
+     * @param message the SQS message
+     * @throws Exception if the body is not an event or the event handler fails
      */
-    @Scheduled(fixedDelayString = "${aws.sqs.poll-interval:5000}")
-    public void pollMessages() {
-        try {
-            final ReceiveMessageRequest request = ReceiveMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .maxNumberOfMessages(MAX_MESSAGES_PER_POLL)
-                    .waitTimeSeconds(WAIT_TIME_SECONDS)
-                    .attributeNames(QueueAttributeName.ALL)
-                    .messageAttributeNames("All")
-                    .build();
-
-            final List<Message> messages = sqsClient.receiveMessage(request).messages();
-
-            for (Message message : messages) {
-                processMessage(message);
-            }
-        } catch (Exception e) {
-            log.error("SQS polling failed: queueUrl={}, error={}", queueUrl, e.getMessage(), e);
-        }
-    }
-
-    private void processMessage(final Message message) {
+    @Override
+    public void handle(final QueueMessage message) throws Exception {
+        final long startNanos = System.nanoTime();
+        boolean failed = true;
         try {
             log.debug("Processing SQS message: messageId={}", message.messageId());
 
-            // Parse the event
-            final BaseEvent<?> event = objectMapper.readValue(message.body(), BaseEvent.class);
-
-            log.info("Event received: eventType={}, eventId={}, source={}", 
-                    event.getEventType(), event.getEventId(), event.getSource());
-
-            // Process based on event type
-            handleEvent(event);
+            final JsonNode body = objectMapper.readTree(message.body());
+            if (body.has(S3_RECORDS_FIELD) || S3_TEST_EVENT.equals(body.path("Event").asText())) {
+                handleS3Notification(body.path(S3_RECORDS_FIELD));
+                archive(S3_NOTIFICATION_TYPE, message);
+                failed = false;
+                return;
+            }
 
-            // Delete message after successful processing
-            deleteMessage(message);
+            // Parse the event
+            final BaseEvent<?> event = objectMapper.treeToValue(body, BaseEvent.class);
+
+            // Restore the producer's correlation ID and trace for this thread
+            try (TraceContext.Scope ignored = TraceContext.restore(event.getCorrelationId(), event.getTraceparent());
+                 Span span = Span.start("sqs.process")) {
+                if (PROCESS_LOG.sample()) {
+                    log.info("Event received: eventType={}, eventId={}, source={}",
+                            event.getEventType(), event.getEventId(), event.getSource());
+                }
+
+                // Process based on event type
+                handleEvent(event);
+                archive(event.getEventType(), message);
+                failed = false;
+            }
         } catch (Exception e) {
             log.error("Message processing failed: messageId={}, error={}", message.messageId(), e.getMessage(), e);
+            throw e;
+        } finally {
+            PROCESS_LOG.record(System.nanoTime() - startNanos, failed);
         }
     }
 
-    private void handleEvent(final BaseEvent<?> event) {
+    private void archive(final String eventType, final QueueMessage message) {
+        // Archived before the delete: a failed delete means redelivery, so replays are at-least-once
+        if (archiveWriter != null) {
+            archiveWriter.append(eventType, message.body());
+        }
+    }
+
+    private void handleEvent(final BaseEvent<?> event) throws InterruptedException {
         // Route event to appropriate handler based on type using constants
         switch (event.getEventType()) {
+            case EventTypes.FILE_UPLOADED -> handleFileUploaded(event);
             case EventTypes.CHECKOUT_COMPLETED -> handleCheckoutCompleted(event);
             case EventTypes.USER_CREATED -> handleUserCreated(event);
             default -> log.warn("Unknown event type received: eventType={}, eventId={}", 
@@ -97,23 +130,47 @@ public class FileEventConsumer {
         }
     }
 
+    private void handleS3Notification(final JsonNode records) {
+        for (JsonNode record : records) {
+            if (!record.path("eventName").asText().startsWith(S3_OBJECT_CREATED_PREFIX)) {
+                continue;
+            }
+            // Keys are "{fileId}/{fileName}", URL-encoded in the notification
+            final String key = URLDecoder.decode(record.path("s3").path("object").path("key").asText(),
+                    StandardCharsets.UTF_8);
+            if (key.startsWith(StoredFile.DERIVED_PREFIX)) {
+                continue;
+            }
+            final int slashIndex = key.indexOf('/');
+            if (slashIndex <= 0) {
+                log.warn("S3 notification for an unknown key ignored: key={}", key);
+                continue;
+            }
+            final String fileId = key.substring(0, slashIndex);
+            try {
+                fileService.completeUpload(fileId);
+            } catch (BusinessException e) {
+                // Deleted or rejected since the upload: a redelivery would fail the same way
+                log.warn("S3 upload notification not completed: fileId={}, reason={}", fileId, e.getMessage());
+            }
+        }
+    }
+
+    private void handleFileUploaded(final BaseEvent<?> event) throws InterruptedException {
+        if (processingPipeline == null) {
+            log.debug("File processing disabled, event ignored: eventId={}", event.getEventId());
+            return;
+        }
+        processingPipeline.process(objectMapper.convertValue(event.getPayload(), FileMetadataDto.class));
+    }
+
     private void handleCheckoutCompleted(final BaseEvent<?> event) {
-        log.info("Handling checkout completed: eventId={}", event.getEventId());
+        log.debug("Handling checkout completed: eventId={}", event.getEventId());
         // Implement checkout completed logic - e.g., generate invoice PDF
     }
 
     private void handleUserCreated(final BaseEvent<?> event) {
-        log.info("Handling user created: eventId={}", event.getEventId());
+        log.debug("Handling user created: eventId={}", event.getEventId());
         // Implement user created logic - e.g., create user folder
     }
-
-    private void deleteMessage(final Message message) {
-        final DeleteMessageRequest deleteRequest = DeleteMessageRequest.builder()
-                .queueUrl(queueUrl)
-                .receiptHandle(message.receiptHandle())
-                .build();
-
-        sqsClient.deleteMessage(deleteRequest);
-        log.debug("SQS message deleted: messageId={}", message.messageId());
-    }
 }
@@ -2,27 +2,53 @@ package io.resousadev.linuxtips.managerfile.controller;
 
 import io.resousadev.linuxtips.common.dto.ApiResponse;
 import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchPage;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchRequest;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import io.resousadev.linuxtips.managerfile.dto.UploadReservation;
 import io.resousadev.linuxtips.managerfile.service.FileService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for file management operations.
  * Provides API endpoints for upload, download, delete and list files.
+ *
+ * <p>Large files should use the direct upload endpoints ({@code POST /uploads}, then
+ * {@code POST /{fileId}/complete}): the client sends the bytes to S3 itself, so they never pass
+ * through the service's threads and heap.</p>
+ *
+ * <p>Metadata and list responses carry a weak {@code ETag} ({@code W/"..."}) and {@code Cache-Control:
+ * private, no-cache}: clients keep the body and revalidate it with {@code If-None-Match}. The tag is
+ * weak because it identifies the files, not the bytes: the {@code ApiResponse} timestamp differs on
+ * every response. For an indexed file the tag is the object's ETag read from the metadata table, so
+ * a matching revalidation is answered with {@code 304} from one primary-key lookup, without S3 calls
+ * or building the body. Other responses get their {@code 304} from Spring after the full lookup.</p>
  */
 @Slf4j
 @RestController
@@ -30,6 +56,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FileController {
 
+    private static final String METADATA_PARAM_PREFIX = "metadata.";
+
+    /** Cached by the client, revalidated on every use. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final FileService fileService;
 
     /**
@@ -53,21 +84,70 @@ public class FileController {
                 .body(ApiResponse.success(result, "File uploaded successfully"));
     }
 
+    /**
+     * Reserve a direct upload to S3.
+     *
+     * @param request file name, content type, size, upload method and metadata
+     * @return presigned PUT URL or POST policy for the upload
+     */
+    @PostMapping(value = "/uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<UploadReservation>> reserveUpload(
+            @Valid @RequestBody final FileUploadRequest request) {
+
+        log.debug("Upload reservation request: fileName={}, size={}, contentType={}, method={}",
+                request.getFileName(), request.getSize(), request.getContentType(), request.getMethod());
+
+        final UploadReservation result = fileService.reserveUpload(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(result, "Upload reserved"));
+    }
+
+    /**
+     * Complete a direct upload once the file is in S3.
+     *
+     * @param fileId the reserved file identifier
+     * @return file metadata
+     */
+    @PostMapping("/{fileId}/complete")
+    public ResponseEntity<ApiResponse<FileMetadataDto>> completeUpload(@PathVariable final String fileId) {
+        log.debug("Complete upload request: fileId={}", fileId);
+
+        final FileMetadataDto result = fileService.completeUpload(fileId);
+
+        return ResponseEntity.ok(ApiResponse.success(result, "File uploaded successfully"));
+    }
+
     /**
      * Get file metadata by ID.
      *
      * @param fileId the file identifier
-     * @return file metadata
+     * @param request the request, for {@code If-None-Match}
+     * @return file metadata, or {@code 304} when the client's copy is current
      */
     @GetMapping("/{fileId}")
     public ResponseEntity<ApiResponse<FileMetadataDto>> getFileMetadata(
-            @PathVariable final String fileId) {
+            @PathVariable final String fileId, final WebRequest request) {
 
         log.debug("Get metadata request: fileId={}", fileId);
 
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            final Optional<String> etag = fileService.getMetadataETag(fileId).map(FileController::weakETag);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag.get())
+                        .cacheControl(REVALIDATE)
+                        .build();
+            }
+        }
+
         final FileMetadataDto result = fileService.getFileMetadata(fileId);
 
-        return ResponseEntity.ok(ApiResponse.success(result));
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (result.getEtag() != null) {
+            response.eTag(weakETag(result.getEtag()));
+        }
+        return response.body(ApiResponse.success(result));
     }
 
     /**
@@ -88,7 +168,7 @@ public class FileController {
     /**
      * List all files.
      *
-     * @return list of file metadata
+     * @return list of file metadata, or {@code 304} when the client's copy is current
      */
     @GetMapping
     public ResponseEntity<ApiResponse<List<FileMetadataDto>>> listFiles() {
@@ -96,7 +176,50 @@ public class FileController {
 
         final List<FileMetadataDto> files = fileService.listFiles();
 
-        return ResponseEntity.ok(ApiResponse.success(files));
+        return ResponseEntity.ok()
+                .eTag(weakETag(listETag(files)))
+                .cacheControl(REVALIDATE)
+                .body(ApiResponse.success(files));
+    }
+
+    /**
+     * Keeps {@code metadata.<key>} parameters out of the search request binding: they are read as
+     * map entries by {@link #searchFiles}, not as properties of {@code FileSearchRequest.metadata}.
+     *
+     * @param binder binder of the search request
+     */
+    @InitBinder("fileSearchRequest")
+    public void initSearchBinder(final WebDataBinder binder) {
+        binder.setDisallowedFields(METADATA_PARAM_PREFIX + "*");
+    }
+
+    /**
+     * Search files, newest first by default. Custom metadata filters are passed as
+     * {@code metadata.<key>=<value>} parameters; pages continue with {@code cursor=<nextCursor>}.
+     *
+     * @param request filters, sort, page size and cursor
+     * @param params all query parameters, for the metadata filters
+     * @return one page of file metadata
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<FileSearchPage>> searchFiles(
+            @Valid final FileSearchRequest request,
+            @RequestParam final Map<String, String> params) {
+
+        request.setMetadata(params.entrySet().stream()
+                .filter(param -> param.getKey().startsWith(METADATA_PARAM_PREFIX))
+                .collect(Collectors.toMap(param -> param.getKey().substring(METADATA_PARAM_PREFIX.length()),
+                        Map.Entry::getValue)));
+
+        log.debug("Search files request: contentType={}, uploadedBy={}, metadata={}, sort={}, limit={}",
+                request.getContentType(), request.getUploadedBy(), request.getMetadata(), request.getSort(),
+                request.getLimit());
+
+        final FileSearchPage page = fileService.searchFiles(request);
+
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .body(ApiResponse.success(page));
     }
 
     /**
@@ -113,4 +236,21 @@ public class FileController {
 
         return ResponseEntity.ok(ApiResponse.success(url));
     }
+
+    /** Weak form ({@code W/"..."}) of a tag. */
+    private static String weakETag(final String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    /**
+     * Tag of a list: a digest of its file IDs and object ETags, which changes with any file added,
+     * removed or replaced. The response body cannot be hashed, as its timestamp changes every time.
+     */
+    private static String listETag(final List<FileMetadataDto> files) {
+        final StringBuilder content = new StringBuilder(files.size() * 64);
+        for (FileMetadataDto file : files) {
+            content.append(file.getFileId()).append(':').append(file.getEtag()).append('\n');
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
 }
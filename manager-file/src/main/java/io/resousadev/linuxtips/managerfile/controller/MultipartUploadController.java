@@ -0,0 +1,123 @@
+package io.resousadev.linuxtips.managerfile.controller;
+
+import io.resousadev.linuxtips.common.dto.ApiResponse;
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import io.resousadev.linuxtips.managerfile.dto.MultipartUploadSession;
+import io.resousadev.linuxtips.managerfile.dto.UploadReservation;
+import io.resousadev.linuxtips.managerfile.service.MultipartUploadService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for resumable multipart uploads.
+ * Provides API endpoints to initiate, upload parts, list parts, complete and abort an upload.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/files/multipart")
+@RequiredArgsConstructor
+public class MultipartUploadController {
+
+    private final MultipartUploadService multipartUploadService;
+
+    /**
+     * Initiate a multipart upload.
+     *
+     * @param request file name, content type, total size and metadata
+     * @return the upload with its part size and part count
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<MultipartUploadSession>> initiate(
+            @Valid @RequestBody final FileUploadRequest request) {
+
+        log.debug("Initiate multipart upload request: fileName={}, size={}, contentType={}",
+                request.getFileName(), request.getSize(), request.getContentType());
+
+        final MultipartUploadSession result = multipartUploadService.initiate(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(result, "Multipart upload initiated"));
+    }
+
+    /**
+     * List the parts already uploaded.
+     *
+     * @param fileId the file identifier
+     * @return the upload with its parts
+     */
+    @GetMapping("/{fileId}")
+    public ResponseEntity<ApiResponse<MultipartUploadSession>> listParts(@PathVariable final String fileId) {
+        log.debug("List parts request: fileId={}", fileId);
+
+        final MultipartUploadSession result = multipartUploadService.listParts(fileId);
+
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    /**
+     * Generate a pre-signed upload URL for one part.
+     *
+     * @param fileId the file identifier
+     * @param partNumber part number, from 1
+     * @param checksum base64 checksum of the part
+     * @param size size of the part in bytes
+     * @return pre-signed URL and headers
+     */
+    @GetMapping("/{fileId}/parts/{partNumber}/upload-url")
+    public ResponseEntity<ApiResponse<UploadReservation>> getPartUploadUrl(
+            @PathVariable final String fileId,
+            @PathVariable final int partNumber,
+            @RequestParam("checksum") final String checksum,
+            @RequestParam("size") final long size) {
+
+        log.debug("Generate part upload URL request: fileId={}, partNumber={}", fileId, partNumber);
+
+        final UploadReservation result =
+                multipartUploadService.generatePartUploadUrl(fileId, partNumber, checksum, size);
+
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    /**
+     * Complete a multipart upload.
+     *
+     * @param fileId the file identifier
+     * @return file metadata
+     */
+    @PostMapping("/{fileId}/complete")
+    public ResponseEntity<ApiResponse<FileMetadataDto>> complete(@PathVariable final String fileId) {
+        log.debug("Complete multipart upload request: fileId={}", fileId);
+
+        final FileMetadataDto result = multipartUploadService.complete(fileId);
+
+        return ResponseEntity.ok(ApiResponse.success(result, "File uploaded successfully"));
+    }
+
+    /**
+     * Abort a multipart upload.
+     *
+     * @param fileId the file identifier
+     * @return success response
+     */
+    @DeleteMapping("/{fileId}")
+    public ResponseEntity<ApiResponse<Void>> abort(@PathVariable final String fileId) {
+        log.debug("Abort multipart upload request: fileId={}", fileId);
+
+        multipartUploadService.abort(fileId);
+
+        return ResponseEntity.ok(ApiResponse.success(null, "Multipart upload aborted"));
+    }
+}
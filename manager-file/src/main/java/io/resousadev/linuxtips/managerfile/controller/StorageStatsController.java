@@ -0,0 +1,42 @@
+package io.resousadev.linuxtips.managerfile.controller;
+
+import io.resousadev.linuxtips.common.dto.ApiResponse;
+import io.resousadev.linuxtips.managerfile.dto.StorageStats;
+import io.resousadev.linuxtips.managerfile.service.StorageStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for storage usage statistics.
+ * Serves the precomputed file count, total size and size histogram per content type and uploader.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/files/stats")
+@RequiredArgsConstructor
+public class StorageStatsController {
+
+    private final StorageStatsService storageStatsService;
+
+    /**
+     * Get the storage usage statistics.
+     *
+     * @param top maximum number of content types and of uploaders, from 1 to 500
+     * @return the total and the largest content types and uploaders
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<StorageStats>> getStats(
+            @RequestParam(value = "top", defaultValue = "50") final int top) {
+
+        log.debug("Get storage stats request: top={}", top);
+
+        final StorageStats result = storageStatsService.getStats(top);
+
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+}
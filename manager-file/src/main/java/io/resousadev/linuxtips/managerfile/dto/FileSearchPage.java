@@ -0,0 +1,24 @@
+package io.resousadev.linuxtips.managerfile.dto;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO of one page of a file search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileSearchPage {
+
+    private List<FileMetadataDto> files;
+
+    /** Cursor of the next page, or {@code null} on the last one. */
+    private String nextCursor;
+}
@@ -0,0 +1,55 @@
+package io.resousadev.linuxtips.managerfile.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Query parameters of the file search. All filters are optional and combined with AND.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileSearchRequest {
+
+    /** Exact content type, or a {@code type/*} prefix. */
+    private String contentType;
+
+    private String uploadedBy;
+
+    /** Uploaded at or after this instant. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant uploadedFrom;
+
+    /** Uploaded before this instant. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant uploadedTo;
+
+    /** User metadata the files must contain, from the {@code metadata.<key>=<value>} parameters. */
+    private Map<String, String> metadata;
+
+    @Builder.Default
+    @Pattern(regexp = "uploadedAt|size|fileName", message = "sort must be uploadedAt, size or fileName")
+    private String sort = "uploadedAt";
+
+    @Builder.Default
+    @Pattern(regexp = "asc|desc", message = "direction must be asc or desc")
+    private String direction = "desc";
+
+    @Builder.Default
+    @Min(1)
+    @Max(500)
+    private int limit = 50;
+
+    /** {@code nextCursor} of the previous page, with the same sort and direction. */
+    private String cursor;
+}
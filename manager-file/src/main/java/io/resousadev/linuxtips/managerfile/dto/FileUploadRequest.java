@@ -1,6 +1,8 @@
 package io.resousadev.linuxtips.managerfile.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,5 +25,13 @@ public class FileUploadRequest {
     @NotBlank(message = "Content type is required")
     private String contentType;
 
+    /** Exact size for a PUT upload; the upper bound for a POST upload. */
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be positive")
+    private Long size;
+
+    /** Upload method of a direct upload; PUT when absent. */
+    private UploadReservation.Method method;
+
     private Map<String, String> metadata;
 }
@@ -0,0 +1,39 @@
+package io.resousadev.linuxtips.managerfile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO of a multipart upload in progress.
+ *
+ * <p>When the upload is initiated, {@code partSize} and {@code partCount} tell the client how to
+ * split the file: part {@code n} (1-based) starts at byte {@code (n - 1) * partSize}, and every part
+ * but the last has exactly {@code partSize} bytes. Each part is sent with its
+ * {@code checksumAlgorithm} checksum. When the upload is listed to resume it, {@code parts} holds
+ * the parts S3 already has.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultipartUploadSession {
+
+    private String fileId;
+
+    private String uploadId;
+
+    private String checksumAlgorithm;
+
+    private Long partSize;
+
+    private Integer partCount;
+
+    private Instant initiatedAt;
+
+    private List<UploadedPart> parts;
+}
@@ -0,0 +1,29 @@
+package io.resousadev.linuxtips.managerfile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO of the storage usage statistics.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageStats {
+
+    private StorageUsage total;
+
+    /** Largest content types, by total size. */
+    private List<StorageUsage> byContentType;
+
+    /** Largest uploaders, by total size. */
+    private List<StorageUsage> byUploader;
+
+    /** Lower bound in bytes of every histogram bucket but the first. */
+    private List<Long> sizeBuckets;
+}
@@ -0,0 +1,31 @@
+package io.resousadev.linuxtips.managerfile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO of the storage usage of one group of files.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsage {
+
+    /** Content type or uploader of the group; {@code null} for the total and for files without one. */
+    private String value;
+
+    private long fileCount;
+
+    private long totalBytes;
+
+    /** File count per size bucket, see {@link StorageStats#getSizeBuckets()}. */
+    private List<Long> sizeHistogram;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,50 @@
+package io.resousadev.linuxtips.managerfile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Response DTO of an upload reservation: where and how the client sends the file to S3.
+ *
+ * <p>For {@link Method#PUT} the client sends the file as the body of a PUT to {@code url} with the
+ * given {@code headers}. For {@link Method#POST} it sends a {@code multipart/form-data} POST to
+ * {@code url} with the {@code fields} followed by a {@code file} field. Then it calls
+ * {@code POST /api/v1/files/{fileId}/complete}.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadReservation {
+
+    /**
+     * How the client uploads to S3.
+     */
+    public enum Method {
+        /** Presigned PUT URL, signed for the exact size and content type (API clients). */
+        PUT,
+        /** Presigned POST policy with a size range (HTML forms and browsers). */
+        POST
+    }
+
+    private String fileId;
+
+    private Method method;
+
+    private String url;
+
+    /** Headers the PUT must carry, as signed. */
+    private Map<String, String> headers;
+
+    /** Form fields the POST must carry before the file. */
+    private Map<String, String> fields;
+
+    private Long maxSize;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,29 @@
+package io.resousadev.linuxtips.managerfile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO of one part already stored in S3 by a multipart upload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadedPart {
+
+    private Integer partNumber;
+
+    private Long size;
+
+    private String etag;
+
+    /** Base64 checksum of the part, validated by S3. */
+    private String checksum;
+
+    private Instant lastModified;
+}
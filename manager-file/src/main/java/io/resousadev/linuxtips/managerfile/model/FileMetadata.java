@@ -0,0 +1,92 @@
+package io.resousadev.linuxtips.managerfile.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Metadata of a file stored in S3, persisted with the file's events in the outbox.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "file_metadata")
+public class FileMetadata implements Persistable<String> {
+
+    @Id
+    @Column(name = "file_id", length = 36)
+    private String fileId;
+
+    @Column(nullable = false, length = 1024)
+    private String fileName;
+
+    @Column(length = 255)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(length = 128)
+    private String checksum;
+
+    @Column(length = 16)
+    private String checksumAlgorithm;
+
+    /** S3 object key. */
+    @Column(nullable = false, length = 1024)
+    private String storageLocation;
+
+    /** S3 ETag of the object, unquoted. */
+    @Column(length = 128)
+    private String objectEtag;
+
+    @Column(length = 255)
+    private String uploadedBy;
+
+    @Column(nullable = false)
+    private Instant uploadedAt;
+
+    /** User metadata (x-amz-meta-*). */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, String> metadata;
+
+    /**
+     * Whether the row exists. The identifier is assigned by the service, so without this flag
+     * {@code save} would SELECT before every INSERT; a duplicate insert fails on the primary key.
+     */
+    @Transient
+    private boolean stored;
+
+    @Override
+    public String getId() {
+        return fileId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
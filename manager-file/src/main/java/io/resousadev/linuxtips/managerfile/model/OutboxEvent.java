@@ -0,0 +1,59 @@
+package io.resousadev.linuxtips.managerfile.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * File event written in the transaction that changed the file, waiting to be relayed to EventBridge.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "file_event_outbox")
+public class OutboxEvent {
+
+    /** Insertion order: events are relayed in this order. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String eventId;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    /** File identifier: events of one file are relayed in order. */
+    @Column(nullable = false, length = 36)
+    private String aggregateId;
+
+    /** Serialized {@code BaseEvent}, sent as the EventBridge detail. */
+    @Column(nullable = false, columnDefinition = "text")
+    private String detail;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /** Failed relay attempts. */
+    @Column(nullable = false)
+    private int attempts;
+
+    /** Error of the last failed relay attempt. */
+    @Column(length = 500)
+    private String lastError;
+
+    /** Not relayed before this time after a failed attempt; {@code null} when never failed. */
+    private Instant nextAttemptAt;
+}
@@ -0,0 +1,92 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * Reads the stored file back and checks it against the checksum S3 recorded on upload.
+ *
+ * <p>Applies to every file with a full-object checksum ({@code CRC32}, {@code CRC32C},
+ * {@code CRC64NVME}, {@code SHA1}, {@code SHA256}). Multipart uploads with a composite checksum
+ * ({@code <checksum of part checksums>-<parts>}) are skipped: there is no whole-file value to
+ * compare with. The file is streamed, so memory does not grow with its size.</p>
+ */
+public class ChecksumVerificationProcessor implements FileProcessor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public String name() {
+        return "checksum";
+    }
+
+    @Override
+    public boolean supports(final FileMetadataDto file) {
+        return file.getChecksum() != null && !file.getChecksum().contains("-")
+                && file.getChecksumAlgorithm() != null && switch (file.getChecksumAlgorithm()) {
+                    case "CRC32", "CRC32C", "CRC64NVME", "SHA1", "SHA256" -> true;
+                    default -> false;
+                };
+    }
+
+    @Override
+    public Map<String, String> process(final StoredFile file) throws IOException, NoSuchAlgorithmException {
+        final FileMetadataDto metadata = file.metadata();
+        final String actual = checksum(file, metadata.getChecksumAlgorithm());
+        if (!actual.equals(metadata.getChecksum())) {
+            throw new IOException("Checksum mismatch: algorithm=" + metadata.getChecksumAlgorithm()
+                    + ", expected=" + metadata.getChecksum() + ", actual=" + actual);
+        }
+        return Map.of("algorithm", metadata.getChecksumAlgorithm(), "verified", "true");
+    }
+
+    private static String checksum(final StoredFile file, final String algorithm)
+            throws IOException, NoSuchAlgorithmException {
+        return switch (algorithm) {
+            case "CRC32" -> crc(file, new CRC32(), Integer.BYTES);
+            case "CRC32C" -> crc(file, new CRC32C(), Integer.BYTES);
+            case "CRC64NVME" -> crc(file, new Crc64Nvme(), Long.BYTES);
+            case "SHA1" -> digest(file, MessageDigest.getInstance("SHA-1"));
+            case "SHA256" -> digest(file, MessageDigest.getInstance("SHA-256"));
+            default -> throw new IllegalArgumentException("Unsupported checksum algorithm: " + algorithm);
+        };
+    }
+
+    /**
+     * S3 encodes a CRC as its big-endian bytes in base64.
+     */
+    private static String crc(final StoredFile file, final Checksum checksum, final int width) throws IOException {
+        try (InputStream in = file.open()) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                checksum.update(buffer, 0, read);
+            }
+        }
+        final ByteBuffer value = ByteBuffer.allocate(Long.BYTES).putLong(checksum.getValue());
+        return Base64.getEncoder().encodeToString(
+                Arrays.copyOfRange(value.array(), Long.BYTES - width, Long.BYTES));
+    }
+
+    private static String digest(final StoredFile file, final MessageDigest digest) throws IOException {
+        try (InputStream in = file.open()) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+}
@@ -0,0 +1,152 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.concurrent.ContextSnapshot;
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.event.EventTypes;
+import io.resousadev.linuxtips.managerfile.producer.FileEventProducer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Post-upload processing of files, driven by {@code FILE_UPLOADED}.
+ *
+ * <p>The stages whose processor supports the file (by content type) run in parallel on virtual
+ * threads, each within its own bound ({@link ProcessingStage}). Their outputs are published with
+ * {@code FILE_PROCESSED} in the event {@code metadata} ({@code processors} and
+ * {@code <processor>.<output>}); if any processor fails, {@code FILE_PROCESSING_FAILED} is published
+ * instead, with {@code failedProcessors} and {@code <processor>.error}.</p>
+ *
+ * <p>All slots a file needs are reserved before any processing starts. When a stage stays full for
+ * {@code reserveTimeout}, {@link #process} throws {@link RejectedExecutionException} and the
+ * message goes back to the queue: the backlog then shows in the queue depth, which the consumer
+ * scales on, instead of in the heap. The same happens once the pipeline is closed; either way, no
+ * slot stays reserved by a file whose processing never started.</p>
+ */
+@Slf4j
+public class FileProcessingPipeline implements AutoCloseable {
+
+    private final List<ProcessingStage> stages;
+    private final Function<FileMetadataDto, StoredFile> storage;
+    private final FileEventProducer eventProducer;
+    private final Duration reserveTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param stages processing stages, reserved in this order
+     * @param storage access to the content of a file
+     * @param eventProducer producer of the result events
+     * @param reserveTimeout how long to wait for a full stage before giving the message back
+     */
+    public FileProcessingPipeline(final List<ProcessingStage> stages,
+                                  final Function<FileMetadataDto, StoredFile> storage,
+                                  final FileEventProducer eventProducer, final Duration reserveTimeout) {
+        this.stages = List.copyOf(stages);
+        this.storage = storage;
+        this.eventProducer = eventProducer;
+        this.reserveTimeout = reserveTimeout;
+    }
+
+    public List<ProcessingStage> getStages() {
+        return stages;
+    }
+
+    /**
+     * Processes an uploaded file and publishes the result.
+     *
+     * @param file metadata of the uploaded file
+     * @throws InterruptedException if interrupted while waiting for the processors
+     * @throws RejectedExecutionException if a stage the file needs stays full
+     */
+    public void process(final FileMetadataDto file) throws InterruptedException {
+        final List<ProcessingStage> selected = stages.stream()
+                .filter(stage -> stage.supports(file))
+                .toList();
+        reserve(selected, file.getFileId());
+
+        final Map<ProcessingStage, Future<Map<String, String>>> running = new LinkedHashMap<>();
+        try {
+            final StoredFile storedFile = storage.apply(file);
+            final ContextSnapshot context = ContextSnapshot.capture();
+            for (ProcessingStage stage : selected) {
+                running.put(stage, executor.submit(context.wrap(() -> stage.process(storedFile))));
+            }
+        } catch (RuntimeException | Error e) {
+            // A started stage releases its slot when it finishes; the others still hold their reservation
+            selected.stream()
+                    .filter(stage -> !running.containsKey(stage))
+                    .forEach(ProcessingStage::release);
+            throw e;
+        }
+
+        final Map<String, String> outputs = new LinkedHashMap<>();
+        final Map<String, String> errors = new LinkedHashMap<>();
+        for (Map.Entry<ProcessingStage, Future<Map<String, String>>> entry : running.entrySet()) {
+            final String name = entry.getKey().getName();
+            try {
+                entry.getValue().get().forEach((key, value) -> outputs.put(name + "." + key, value));
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                log.warn("File processor failed: processor={}, fileId={}, error={}",
+                        name, file.getFileId(), cause.getMessage(), cause);
+                errors.put(name, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName());
+            }
+        }
+
+        final String processors = selected.stream().map(ProcessingStage::getName).collect(Collectors.joining(","));
+        if (errors.isEmpty()) {
+            final Map<String, String> metadata = new LinkedHashMap<>();
+            metadata.put("processors", processors);
+            metadata.putAll(outputs);
+            eventProducer.publishFileEvent(EventTypes.FILE_PROCESSED, file, metadata);
+            log.info("File processed: fileId={}, contentType={}, processors={}",
+                    file.getFileId(), file.getContentType(), processors);
+        } else {
+            final Map<String, String> metadata = new LinkedHashMap<>();
+            metadata.put("processors", processors);
+            metadata.put("failedProcessors", String.join(",", errors.keySet()));
+            errors.forEach((name, error) -> metadata.put(name + ".error", error));
+            metadata.putAll(outputs);
+            eventProducer.publishFileEvent(EventTypes.FILE_PROCESSING_FAILED, file, metadata);
+            log.warn("File processing failed: fileId={}, contentType={}, failedProcessors={}",
+                    file.getFileId(), file.getContentType(), errors.keySet());
+        }
+    }
+
+    private void reserve(final List<ProcessingStage> selected, final String fileId) throws InterruptedException {
+        final List<ProcessingStage> reserved = new ArrayList<>(selected.size());
+        try {
+            for (ProcessingStage stage : selected) {
+                if (!stage.reserve(reserveTimeout)) {
+                    throw new RejectedExecutionException(
+                            "File processing stage busy: stage=" + stage.getName() + ", fileId=" + fileId);
+                }
+                reserved.add(stage);
+            }
+        } catch (RejectedExecutionException | InterruptedException e) {
+            reserved.forEach(ProcessingStage::release);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops the processing threads; files in progress are abandoned and redelivered by the queue.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
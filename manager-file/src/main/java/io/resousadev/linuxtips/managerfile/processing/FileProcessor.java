@@ -0,0 +1,36 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+
+import java.util.Map;
+
+/**
+ * One kind of post-upload processing, run by a {@link ProcessingStage} of the
+ * {@link FileProcessingPipeline}.
+ */
+public interface FileProcessor {
+
+    /**
+     * Processor name, prefix of its outputs and name of its stage.
+     *
+     * @return e.g. {@code "thumbnail"}
+     */
+    String name();
+
+    /**
+     * Whether the processor applies to a file, usually by content type.
+     *
+     * @param file file metadata
+     * @return {@code true} to run the processor on the file
+     */
+    boolean supports(FileMetadataDto file);
+
+    /**
+     * Processes a file.
+     *
+     * @param file the stored file
+     * @return outputs, published with {@code FILE_PROCESSED} as {@code name.key}
+     * @throws Exception if processing fails; the file is reported with {@code FILE_PROCESSING_FAILED}
+     */
+    Map<String, String> process(StoredFile file) throws Exception;
+}
@@ -0,0 +1,101 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.logging.HotPathLog;
+import io.resousadev.linuxtips.common.tracing.Span;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link FileProcessor} with a bounded number of files in progress.
+ *
+ * <p>The bound keeps one kind of work (e.g. CPU-heavy thumbnailing) from taking every core or the
+ * heap, whatever the number of messages the consumer runs at once. Each stage reports a periodic
+ * {@code file.process.<name>} summary ({@link HotPathLog}).</p>
+ */
+@Slf4j
+public final class ProcessingStage {
+
+    private final FileProcessor processor;
+    private final int concurrency;
+    private final Semaphore permits;
+    private final HotPathLog processLog;
+
+    /**
+     * Creates a stage.
+     *
+     * @param processor the processor
+     * @param concurrency files processed at once at most
+     */
+    public ProcessingStage(final FileProcessor processor, final int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Stage concurrency must be positive: " + processor.name());
+        }
+        this.processor = processor;
+        this.concurrency = concurrency;
+        this.permits = new Semaphore(concurrency);
+        this.processLog = HotPathLog.of(log, "file.process." + processor.name());
+    }
+
+    public String getName() {
+        return processor.name();
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Files in progress.
+     *
+     * @return the number of occupied slots
+     */
+    public int getActive() {
+        return concurrency - permits.availablePermits();
+    }
+
+    boolean supports(final FileMetadataDto file) {
+        return processor.supports(file);
+    }
+
+    /**
+     * Reserves a slot for one file.
+     *
+     * @param timeout how long to wait for a slot
+     * @return {@code true} if reserved; release it through {@link #process}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean reserve(final Duration timeout) throws InterruptedException {
+        return permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    /**
+     * Runs the processor in a reserved slot and releases it.
+     */
+    Map<String, String> process(final StoredFile file) throws Exception {
+        final long startNanos = System.nanoTime();
+        boolean failed = true;
+        try (Span span = Span.start("file.process." + processor.name())) {
+            try {
+                final Map<String, String> outputs = processor.process(file);
+                failed = false;
+                return outputs;
+            } finally {
+                if (failed) {
+                    span.markFailed();
+                }
+            }
+        } finally {
+            release();
+            processLog.record(System.nanoTime() - startNanos, failed);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.InputStream;
+
+/**
+ * A file stored in S3 under its {@code storageLocation} key.
+ */
+public final class S3StoredFile implements StoredFile {
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final FileMetadataDto metadata;
+
+    /**
+     * Creates the view of one file.
+     *
+     * @param s3Client S3 client
+     * @param bucketName bucket of the file and of its derived objects
+     * @param metadata file metadata
+     */
+    public S3StoredFile(final S3Client s3Client, final String bucketName, final FileMetadataDto metadata) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.metadata = metadata;
+    }
+
+    @Override
+    public FileMetadataDto metadata() {
+        return metadata;
+    }
+
+    @Override
+    public InputStream open() {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(metadata.getStorageLocation())
+                .build());
+    }
+
+    @Override
+    public InputStream open(final long maxBytes) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(metadata.getStorageLocation())
+                .range("bytes=0-" + (maxBytes - 1))
+                .build());
+    }
+
+    @Override
+    public String storeDerived(final String name, final byte[] content, final String contentType) {
+        final String key = DERIVED_PREFIX + metadata.getFileId() + "/" + name;
+        s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build(), RequestBody.fromBytes(content));
+        return key;
+    }
+}
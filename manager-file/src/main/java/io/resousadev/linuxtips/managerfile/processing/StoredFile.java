@@ -0,0 +1,53 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A file in storage, as seen by a {@link FileProcessor}.
+ */
+public interface StoredFile {
+
+    /**
+     * Key prefix of the objects derived from stored files (e.g., thumbnails). They are not files of
+     * their own: listings and upload notifications skip them.
+     */
+    String DERIVED_PREFIX = "_derived/";
+
+    /**
+     * Metadata of the file.
+     *
+     * @return the metadata published with {@code FILE_UPLOADED}
+     */
+    FileMetadataDto metadata();
+
+    /**
+     * Opens the content.
+     *
+     * @return a stream of the whole file; the caller closes it
+     * @throws IOException if the content cannot be read
+     */
+    InputStream open() throws IOException;
+
+    /**
+     * Opens the beginning of the content, without transferring the rest.
+     *
+     * @param maxBytes bytes to read at most
+     * @return a stream of the first {@code maxBytes} bytes; the caller closes it
+     * @throws IOException if the content cannot be read
+     */
+    InputStream open(long maxBytes) throws IOException;
+
+    /**
+     * Stores an object derived from the file under {@value #DERIVED_PREFIX}{@code {fileId}/}.
+     *
+     * @param name object name, e.g. {@code "thumbnail.png"}
+     * @param content object content
+     * @param contentType object content type
+     * @return the key of the stored object
+     * @throws IOException if the object cannot be stored
+     */
+    String storeDerived(String name, byte[] content, String contentType) throws IOException;
+}
@@ -0,0 +1,99 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Extracts a preview and counts from text files ({@code text/*}, JSON, XML).
+ *
+ * <p>Only the first {@code maxBytes} bytes are transferred (ranged GET), decoded with the charset
+ * of the content type or UTF-8. Outputs: {@code preview} (first {@code previewChars} characters,
+ * whitespace collapsed), {@code lines}, {@code words} and {@code truncated}.</p>
+ */
+public class TextExtractionProcessor implements FileProcessor {
+
+    private final int maxBytes;
+    private final int previewChars;
+
+    /**
+     * Creates the processor.
+     *
+     * @param maxBytes bytes read from the start of the file
+     * @param previewChars characters kept in the preview
+     */
+    public TextExtractionProcessor(final int maxBytes, final int previewChars) {
+        this.maxBytes = maxBytes;
+        this.previewChars = previewChars;
+    }
+
+    @Override
+    public String name() {
+        return "text";
+    }
+
+    @Override
+    public boolean supports(final FileMetadataDto file) {
+        // A ranged GET of an empty object is refused by S3
+        if (file.getContentType() == null || file.getSize() != null && file.getSize() == 0) {
+            return false;
+        }
+        final String type = mediaType(file.getContentType());
+        return type.startsWith("text/") || type.equals("application/json") || type.equals("application/xml")
+                || type.endsWith("+json") || type.endsWith("+xml");
+    }
+
+    @Override
+    public Map<String, String> process(final StoredFile file) throws IOException {
+        final FileMetadataDto metadata = file.metadata();
+        final byte[] bytes;
+        try (InputStream in = file.open(maxBytes)) {
+            bytes = in.readNBytes(maxBytes);
+        }
+        final String text = charset(metadata.getContentType()).newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(ByteBuffer.wrap(bytes))
+                .toString();
+
+        final long lines = text.isEmpty() ? 0 : text.lines().count();
+        final String normalized = text.strip().replaceAll("\\s+", " ");
+        final long words = normalized.isEmpty() ? 0 : normalized.chars().filter(c -> c == ' ').count() + 1;
+        final String preview = normalized.length() > previewChars ? normalized.substring(0, previewChars) : normalized;
+        final boolean truncated = metadata.getSize() != null && metadata.getSize() > bytes.length;
+
+        return Map.of(
+                "preview", preview,
+                "lines", String.valueOf(lines),
+                "words", String.valueOf(words),
+                "truncated", String.valueOf(truncated));
+    }
+
+    private static String mediaType(final String contentType) {
+        final int separator = contentType.indexOf(';');
+        return (separator >= 0 ? contentType.substring(0, separator) : contentType).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Charset charset(final String contentType) {
+        for (String parameter : contentType.split(";")) {
+            final String trimmed = parameter.trim();
+            if (trimmed.regionMatches(true, 0, "charset=", 0, "charset=".length())) {
+                try {
+                    return Charset.forName(trimmed.substring("charset=".length()).replace("\"", ""));
+                } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
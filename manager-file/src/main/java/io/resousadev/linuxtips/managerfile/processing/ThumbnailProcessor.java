@@ -0,0 +1,105 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes a PNG thumbnail of images with {@link ImageIO}.
+ *
+ * <p>Large images are decoded with source subsampling, so the decoded raster is close to twice the
+ * thumbnail size rather than the full resolution; only images up to {@code maxSourceSize} are read.
+ * Formats without an ImageIO reader (e.g. WebP on a stock JDK) are reported as skipped. CPU-bound:
+ * the stage concurrency should stay near the number of cores.</p>
+ */
+public class ThumbnailProcessor implements FileProcessor {
+
+    private static final String THUMBNAIL_NAME = "thumbnail.png";
+
+    private final long maxSourceSize;
+    private final int maxDimension;
+
+    /**
+     * Creates the processor.
+     *
+     * @param maxSourceSize largest image, in bytes, to thumbnail
+     * @param maxDimension width and height bound of the thumbnail
+     */
+    public ThumbnailProcessor(final long maxSourceSize, final int maxDimension) {
+        this.maxSourceSize = maxSourceSize;
+        this.maxDimension = maxDimension;
+        // Decode in memory instead of through temporary files
+        ImageIO.setUseCache(false);
+    }
+
+    @Override
+    public String name() {
+        return "thumbnail";
+    }
+
+    @Override
+    public boolean supports(final FileMetadataDto file) {
+        return file.getContentType() != null && file.getContentType().startsWith("image/")
+                && file.getSize() != null && file.getSize() <= maxSourceSize;
+    }
+
+    @Override
+    public Map<String, String> process(final StoredFile file) throws IOException {
+        final BufferedImage source;
+        final int width;
+        final int height;
+        try (InputStream in = file.open(); ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                return Map.of("skipped", "unsupported image format");
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+                final ImageReadParam param = reader.getDefaultReadParam();
+                final int subsampling = Math.max(1, Math.max(width, height) / (2 * maxDimension));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                source = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        final double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        final int thumbnailWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        final int thumbnailHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        final BufferedImage thumbnail = new BufferedImage(thumbnailWidth, thumbnailHeight, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, thumbnailWidth, thumbnailHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "png", out);
+        final String key = file.storeDerived(THUMBNAIL_NAME, out.toByteArray(), "image/png");
+
+        return Map.of(
+                "key", key,
+                "width", String.valueOf(thumbnailWidth),
+                "height", String.valueOf(thumbnailHeight),
+                "sourceWidth", String.valueOf(width),
+                "sourceHeight", String.valueOf(height));
+    }
+}
@@ -0,0 +1,50 @@
+package io.resousadev.linuxtips.managerfile.producer;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.event.BaseEvent;
+import io.resousadev.linuxtips.managerfile.model.OutboxEvent;
+import io.resousadev.linuxtips.managerfile.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Transactional outbox of file events.
+ *
+ * <p>An event is inserted in the transaction that stores or removes the file's metadata, so it is
+ * committed if and only if the change is: the request waits for a local insert instead of an
+ * EventBridge round trip, and an unavailable bus no longer fails a request whose file is stored.
+ * {@link OutboxRelay} publishes the events afterwards, at least once.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class FileEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final FileEventProducer eventProducer;
+
+    /**
+     * Add a file event to the outbox of the current transaction.
+     *
+     * <p>The event is built here, so it carries the correlation ID and {@code traceparent} of the
+     * request rather than those of the relay.</p>
+     *
+     * @param eventType the type of event
+     * @param fileMetadata the file metadata payload
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(final String eventType, final FileMetadataDto fileMetadata) {
+        final BaseEvent<FileMetadataDto> event = eventProducer.newEvent(eventType, fileMetadata, null);
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(eventType)
+                .aggregateId(fileMetadata.getFileId())
+                .detail(eventProducer.serialize(event))
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -6,24 +6,57 @@ import io.resousadev.linuxtips.common.dto.FileMetadataDto;
 import io.resousadev.linuxtips.common.event.BaseEvent;
 import io.resousadev.linuxtips.common.event.EventSources;
 import io.resousadev.linuxtips.common.exception.EventPublishingException;
+import io.resousadev.linuxtips.common.logging.HotPathLog;
+import io.resousadev.linuxtips.common.resilience.EventBridgeSpool;
+import io.resousadev.linuxtips.common.tracing.Span;
+import io.resousadev.linuxtips.managerfile.model.OutboxEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * EventBridge producer for file-related events.
+ *
+ * <p>The correlation ID and {@code traceparent} bound to the calling thread are carried by the
+ * {@link BaseEvent} envelope, so consumers can restore them.</p>
+ *
+ * <p>Publishes go through the {@link EventBridgeSpool} circuit breaker: while it is open, or on a
+ * transient EventBridge failure, the event is spooled to the local journal and replayed later, so a
+ * file already written to S3 is not reported as failed. Only permanent errors are thrown.</p>
+ *
+ * <p>File services do not publish directly: their events are written to the outbox in the
+ * transaction that stores the file and relayed by {@link OutboxRelay} through
+ * {@link #publishBatch}, which leaves failed events in the outbox instead of spooling them.</p>
+ *
+ * <p>The per-event INFO line is sampled; every publish is counted in the periodic
+ * {@code eventbridge.publish} summary ({@link HotPathLog}).</p>
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class FileEventProducer {
 
+    /** PutEvents limit of entries per call. */
+    public static final int MAX_BATCH_SIZE = 10;
+
+    private static final HotPathLog PUBLISH_LOG = HotPathLog.of(log, "eventbridge.publish");
+
+    @Lazy
     private final EventBridgeClient eventBridgeClient;
     private final ObjectMapper objectMapper;
+    private final EventBridgeSpool eventBridgeSpool;
 
     @Value("${aws.eventbridge.bus-name:checkout-event-bus}")
     private String eventBusName;
@@ -33,41 +66,201 @@ public class FileEventProducer {
      *
      * @param eventType the type of event
      * @param fileMetadata the file metadata payload
+     * @throws EventPublishingException if the event can be neither published nor spooled
      */
     public void publishFileEvent(final String eventType, final FileMetadataDto fileMetadata) {
-        try {
-            final BaseEvent<FileMetadataDto> event = BaseEvent.<FileMetadataDto>builder()
-                    .eventType(eventType)
-                    .source(EventSources.MS_MANAGER_FILE)
-                    .payload(fileMetadata)
-                    .build();
+        publishFileEvent(eventType, fileMetadata, null);
+    }
 
-            final String eventJson = objectMapper.writeValueAsString(event);
+    /**
+     * Publish a file event with event metadata (e.g., processing results) to EventBridge.
+     *
+     * @param eventType the type of event
+     * @param fileMetadata the file metadata payload
+     * @param eventMetadata metadata of the event envelope, or {@code null}
+     * @throws EventPublishingException if the event can be neither published nor spooled
+     */
+    public void publishFileEvent(final String eventType, final FileMetadataDto fileMetadata,
+                                 final Map<String, String> eventMetadata) {
+        final long startNanos = System.nanoTime();
+        boolean failed = true;
+        try (Span span = Span.start("eventbridge.putEvents")) {
+            final BaseEvent<FileMetadataDto> event = newEvent(eventType, fileMetadata, eventMetadata);
+            final PutEventsRequestEntry entry = entry(eventType, serialize(event));
 
-            final PutEventsRequestEntry entry = PutEventsRequestEntry.builder()
-                    .eventBusName(eventBusName)
-                    .source(EventSources.MS_MANAGER_FILE)
-                    .detailType(eventType)
-                    .detail(eventJson)
-                    .build();
+            if (!eventBridgeSpool.allowPublish()) {
+                // Open circuit: do not wait for the timeout of a bus known to be down
+                span.markFailed();
+                eventBridgeSpool.spool(entry);
+                return;
+            }
 
             final PutEventsRequest request = PutEventsRequest.builder()
                     .entries(entry)
                     .build();
 
-            final var response = eventBridgeClient.putEvents(request);
+            final long callStartNanos = System.nanoTime();
+            final PutEventsResponse response;
+            try {
+                response = eventBridgeClient.putEvents(request);
+            } catch (RuntimeException e) {
+                span.markFailed();
+                if (EventBridgeSpool.isRetryable(e)) {
+                    eventBridgeSpool.onFailure();
+                    log.warn("EventBridge publish exception, spooling: eventType={}, eventBus={}, error={}",
+                            eventType, eventBusName, e.getMessage());
+                    eventBridgeSpool.spool(entry);
+                    return;
+                }
+                // Permanent error (rejected by the bus or a bug building the event), not EventBridge availability
+                eventBridgeSpool.onSuccess(System.nanoTime() - callStartNanos);
+                log.error("EventBridge publish exception: eventType={}, eventBus={}, error={}",
+                        eventType, eventBusName, e.getMessage(), e);
+                throw new EventPublishingException(eventType, e);
+            }
 
             if (response.failedEntryCount() > 0) {
-                log.error("EventBridge publish failed: eventType={}, eventBus={}, failedCount={}", 
-                        eventType, eventBusName, response.failedEntryCount());
+                span.markFailed();
+                final var failedEntry = response.entries().get(0);
+                if (EventBridgeSpool.isRetryable(failedEntry.errorCode())) {
+                    eventBridgeSpool.onFailure();
+                    eventBridgeSpool.spool(entry);
+                    return;
+                }
+                eventBridgeSpool.onSuccess(System.nanoTime() - callStartNanos);
+                log.error("EventBridge publish failed: eventType={}, eventBus={}, errorCode={}, errorMessage={}",
+                        eventType, eventBusName, failedEntry.errorCode(), failedEntry.errorMessage());
                 throw new EventPublishingException(eventType, null);
             }
 
-            log.info("Event published to EventBridge: eventType={}, eventId={}, eventBus={}", 
-                    eventType, event.getEventId(), eventBusName);
+            eventBridgeSpool.onSuccess(System.nanoTime() - callStartNanos);
+            failed = false;
+            if (PUBLISH_LOG.sample()) {
+                log.info("Event published to EventBridge: eventType={}, eventId={}, correlationId={}, eventBus={}",
+                        eventType, event.getEventId(), event.getCorrelationId(), eventBusName);
+            }
+        } finally {
+            PUBLISH_LOG.record(System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    /**
+     * Build a file event, carrying the correlation ID and {@code traceparent} of the calling thread.
+     *
+     * @param eventType the type of event
+     * @param fileMetadata the file metadata payload
+     * @param eventMetadata metadata of the event envelope, or {@code null}
+     * @return the event
+     */
+    public BaseEvent<FileMetadataDto> newEvent(final String eventType, final FileMetadataDto fileMetadata,
+                                               final Map<String, String> eventMetadata) {
+        return BaseEvent.<FileMetadataDto>builder()
+                .eventType(eventType)
+                .source(EventSources.MS_MANAGER_FILE)
+                // Events of one file are consumed in order
+                .orderingKey(fileMetadata.getFileId())
+                .payload(fileMetadata)
+                .metadata(eventMetadata)
+                .build();
+    }
+
+    /**
+     * Serialize an event to the JSON sent as the EventBridge detail.
+     *
+     * @param event the event
+     * @return the detail
+     * @throws EventPublishingException if the event cannot be serialized
+     */
+    public String serialize(final BaseEvent<?> event) {
+        try {
+            return objectMapper.writeValueAsString(event);
         } catch (JsonProcessingException e) {
-            log.error("Event serialization failed: eventType={}, error={}", eventType, e.getMessage(), e);
-            throw new EventPublishingException(eventType, e);
+            log.error("Event serialization failed: eventType={}, error={}", event.getEventType(), e.getMessage(), e);
+            throw new EventPublishingException(event.getEventType(), e);
+        }
+    }
+
+    /**
+     * Publish serialized events of the outbox in one {@code PutEvents} call, without spooling: the
+     * caller keeps the events that fail and retries them.
+     *
+     * @param events up to {@value #MAX_BATCH_SIZE} events
+     * @return for each event, in order, {@code null} if published or the error otherwise; {@code null}
+     *         if the circuit is open and nothing was sent
+     */
+    public List<String> publishBatch(final List<OutboxEvent> events) {
+        if (events.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("PutEvents accepts at most " + MAX_BATCH_SIZE + " entries");
+        }
+        if (!eventBridgeSpool.allowPublish()) {
+            return null;
+        }
+
+        final long startNanos = System.nanoTime();
+        try (Span span = Span.start("eventbridge.putEvents")) {
+            final PutEventsRequest request = PutEventsRequest.builder()
+                    .entries(events.stream()
+                            .map(event -> entry(event.getEventType(), event.getDetail()).toBuilder()
+                                    .time(event.getCreatedAt())
+                                    .build())
+                            .toList())
+                    .build();
+
+            final PutEventsResponse response;
+            try {
+                response = eventBridgeClient.putEvents(request);
+            } catch (RuntimeException e) {
+                span.markFailed();
+                if (EventBridgeSpool.isRetryable(e)) {
+                    eventBridgeSpool.onFailure();
+                } else {
+                    eventBridgeSpool.onSuccess(System.nanoTime() - startNanos);
+                }
+                log.warn("EventBridge batch publish exception: events={}, eventBus={}, error={}",
+                        events.size(), eventBusName, e.getMessage());
+                recordBatch(events.size(), startNanos, events.size());
+                return Collections.nCopies(events.size(), String.valueOf(e.getMessage()));
+            }
+
+            final List<String> errors = new ArrayList<>(events.size());
+            boolean retryableFailure = false;
+            for (PutEventsResultEntry result : response.entries()) {
+                if (result.errorCode() == null) {
+                    errors.add(null);
+                } else {
+                    retryableFailure |= EventBridgeSpool.isRetryable(result.errorCode());
+                    errors.add(result.errorCode() + ": " + result.errorMessage());
+                }
+            }
+            if (retryableFailure) {
+                eventBridgeSpool.onFailure();
+            } else {
+                eventBridgeSpool.onSuccess(System.nanoTime() - startNanos);
+            }
+            if (response.failedEntryCount() > 0) {
+                span.markFailed();
+            }
+            recordBatch(events.size(), startNanos, response.failedEntryCount());
+            return errors;
+        }
+    }
+
+    private PutEventsRequestEntry entry(final String eventType, final String detail) {
+        return PutEventsRequestEntry.builder()
+                .eventBusName(eventBusName)
+                .source(EventSources.MS_MANAGER_FILE)
+                .detailType(eventType)
+                .detail(detail)
+                .build();
+    }
+
+    /**
+     * Counts each event of a batch in the {@code eventbridge.publish} summary, with its share of the call.
+     */
+    private static void recordBatch(final int size, final long startNanos, final int failed) {
+        final long nanosPerEvent = (System.nanoTime() - startNanos) / size;
+        for (int i = 0; i < size; i++) {
+            PUBLISH_LOG.record(nanosPerEvent, i < failed);
         }
     }
 }
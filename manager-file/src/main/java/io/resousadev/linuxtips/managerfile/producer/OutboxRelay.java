@@ -0,0 +1,113 @@
+package io.resousadev.linuxtips.managerfile.producer;
+
+import io.resousadev.linuxtips.managerfile.config.OutboxProperties;
+import io.resousadev.linuxtips.managerfile.model.OutboxEvent;
+import io.resousadev.linuxtips.managerfile.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relays the file event outbox to EventBridge.
+ *
+ * <p>Every {@code aws.eventbridge.outbox.relay-interval} a transaction locks up to
+ * {@code batch-size} events ({@code FOR UPDATE SKIP LOCKED}, so instances share the work), sends
+ * them in {@code PutEvents} calls of {@value FileEventProducer#MAX_BATCH_SIZE} entries and deletes
+ * the accepted ones. A failed event stays in the outbox with an exponential backoff, and the later
+ * events of its file wait behind it. While the batches are full the next one follows immediately.</p>
+ *
+ * <p>Delivery is at least once: a crash between {@code PutEvents} and the commit publishes the
+ * batch again, with the same event IDs.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aws.eventbridge.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final FileEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    /**
+     * Relays the pending events, batch after batch.
+     */
+    @Scheduled(fixedDelayString = "${aws.eventbridge.outbox.relay-interval:PT0.2S}")
+    public void relay() {
+        Boolean more;
+        do {
+            more = transactionTemplate.execute(status -> relayBatch());
+        } while (Boolean.TRUE.equals(more));
+    }
+
+    /**
+     * Relays one batch in the current transaction.
+     *
+     * @return whether the batch was full and sent, so more events may be pending
+     */
+    private boolean relayBatch() {
+        final List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        final List<Long> published = new ArrayList<>(batch.size());
+        int failed = 0;
+        boolean circuitOpen = false;
+        for (int from = 0; from < batch.size(); from += FileEventProducer.MAX_BATCH_SIZE) {
+            final List<OutboxEvent> entries = batch.subList(from,
+                    Math.min(from + FileEventProducer.MAX_BATCH_SIZE, batch.size()));
+            final List<String> errors = eventProducer.publishBatch(entries);
+            if (errors == null) {
+                // Open circuit: the remaining events stay untouched until the bus recovers
+                circuitOpen = true;
+                break;
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                if (errors.get(i) == null) {
+                    published.add(entries.get(i).getId());
+                } else {
+                    retryLater(entries.get(i), errors.get(i));
+                    failed++;
+                }
+            }
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(published);
+
+        if (!published.isEmpty() || failed > 0) {
+            log.debug("Outbox batch relayed: published={}, failed={}, circuitOpen={}",
+                    published.size(), failed, circuitOpen);
+        }
+        return !circuitOpen && batch.size() == properties.getBatchSize();
+    }
+
+    private void retryLater(final OutboxEvent event, final String error) {
+        final int attempts = event.getAttempts() + 1;
+        final Duration backoff = min(properties.getRetryBackoff()
+                .multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_SHIFT)), properties.getMaxRetryBackoff());
+
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        event.setNextAttemptAt(Instant.now().plus(backoff));
+
+        log.warn("Outbox event relay failed: eventId={}, eventType={}, fileId={}, attempts={}, retryIn={}, error={}",
+                event.getEventId(), event.getEventType(), event.getAggregateId(), attempts, backoff, error);
+    }
+
+    private static Duration min(final Duration a, final Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,34 @@
+package io.resousadev.linuxtips.managerfile.repository;
+
+import io.resousadev.linuxtips.managerfile.model.FileMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * JPA repository of stored file metadata.
+ */
+public interface FileMetadataRepository extends JpaRepository<FileMetadata, String> {
+
+    /**
+     * Reads only the object ETag of a file, for conditional requests.
+     *
+     * @param fileId the file identifier
+     * @return the ETag, empty when the file has no row
+     */
+    @Query("select f.objectEtag from FileMetadata f where f.fileId = :fileId")
+    Optional<String> findObjectEtag(@Param("fileId") String fileId);
+
+    /**
+     * Deletes the row of a file, if any.
+     *
+     * @param fileId the file identifier
+     * @return number of rows deleted: 0 when the file has no row or was deleted concurrently
+     */
+    @Modifying
+    @Query("delete from FileMetadata f where f.fileId = :fileId")
+    int deleteByFileId(@Param("fileId") String fileId);
+}
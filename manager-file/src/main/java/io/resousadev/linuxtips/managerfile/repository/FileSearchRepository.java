@@ -0,0 +1,207 @@
+package io.resousadev.linuxtips.managerfile.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.exception.BusinessException;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchPage;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File search over the {@code file_metadata} table with keyset pagination.
+ *
+ * <p>Filters map to the indexes of {@code V3__add_file_search_indexes.sql}: B-tree on
+ * {@code content_type}, {@code uploaded_by} and {@code uploaded_at}, and a GIN
+ * ({@code jsonb_path_ops}) index on {@code metadata} for {@code @>} containment. Pages are ordered
+ * by the sort column then {@code file_id}, and the next page starts after the last row with a
+ * row-value comparison, {@code (sort, file_id) < (:value, :fileId)}, so a page costs an index range
+ * scan of {@code limit} rows however deep it is, where {@code OFFSET} would scan every row before
+ * it. Plain SQL because JPQL has no {@code jsonb} containment.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class FileSearchRepository {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "uploadedAt", "uploaded_at",
+            "size", "size",
+            "fileName", "file_name");
+
+    private static final String COLUMNS = "file_id, file_name, content_type, size, checksum, checksum_algorithm, "
+            + "storage_location, object_etag, uploaded_by, uploaded_at, metadata";
+
+    private static final TypeReference<Map<String, String>> METADATA_TYPE = new TypeReference<>() { };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Runs one page of a search.
+     *
+     * @param request filters, sort, page size and cursor
+     * @return the files of the page and the cursor of the next one
+     */
+    public FileSearchPage search(final FileSearchRequest request) {
+        final String sortColumn = SORT_COLUMNS.get(request.getSort());
+        final boolean descending = "desc".equals(request.getDirection());
+        final StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM file_metadata WHERE TRUE");
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+
+        final String contentType = request.getContentType();
+        if (contentType != null && contentType.endsWith("/*")) {
+            sql.append(" AND content_type LIKE :contentType");
+            params.addValue("contentType", escapeLike(contentType.substring(0, contentType.length() - 1)) + "%");
+        } else if (contentType != null) {
+            sql.append(" AND content_type = :contentType");
+            params.addValue("contentType", contentType);
+        }
+        if (request.getUploadedBy() != null) {
+            sql.append(" AND uploaded_by = :uploadedBy");
+            params.addValue("uploadedBy", request.getUploadedBy());
+        }
+        if (request.getUploadedFrom() != null) {
+            sql.append(" AND uploaded_at >= :uploadedFrom");
+            params.addValue("uploadedFrom", toTimestamp(request.getUploadedFrom()));
+        }
+        if (request.getUploadedTo() != null) {
+            sql.append(" AND uploaded_at < :uploadedTo");
+            params.addValue("uploadedTo", toTimestamp(request.getUploadedTo()));
+        }
+        if (request.getMetadata() != null && !request.getMetadata().isEmpty()) {
+            sql.append(" AND metadata @> CAST(:metadata AS jsonb)");
+            params.addValue("metadata", toJson(request.getMetadata()));
+        }
+        if (request.getCursor() != null) {
+            final Cursor cursor = decodeCursor(request.getCursor(), request);
+            sql.append(" AND (").append(sortColumn).append(", file_id) ").append(descending ? "<" : ">")
+                    .append(" (:cursorValue, :cursorFileId)");
+            params.addValue("cursorValue", sortValue(request.getSort(), cursor.value()));
+            params.addValue("cursorFileId", cursor.fileId());
+        }
+
+        final String order = descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY ").append(sortColumn).append(order).append(", file_id").append(order)
+                .append(" LIMIT :limit");
+        // One extra row tells whether there is a next page
+        params.addValue("limit", request.getLimit() + 1);
+
+        final List<FileMetadataDto> rows = jdbcTemplate.query(sql.toString(), params, rowMapper());
+        if (rows.size() <= request.getLimit()) {
+            return FileSearchPage.builder().files(rows).build();
+        }
+
+        final List<FileMetadataDto> files = rows.subList(0, request.getLimit());
+        final FileMetadataDto last = files.get(files.size() - 1);
+        return FileSearchPage.builder()
+                .files(files)
+                .nextCursor(encodeCursor(new Cursor(request.getSort(), request.getDirection(),
+                        sortKey(request.getSort(), last), last.getFileId())))
+                .build();
+    }
+
+    private RowMapper<FileMetadataDto> rowMapper() {
+        return (rs, rowNum) -> FileMetadataDto.builder()
+                .fileId(rs.getString("file_id"))
+                .fileName(rs.getString("file_name"))
+                .contentType(rs.getString("content_type"))
+                .size(rs.getLong("size"))
+                .checksum(rs.getString("checksum"))
+                .checksumAlgorithm(rs.getString("checksum_algorithm"))
+                .storageLocation(rs.getString("storage_location"))
+                .etag(rs.getString("object_etag"))
+                .uploadedBy(rs.getString("uploaded_by"))
+                .uploadedAt(rs.getObject("uploaded_at", OffsetDateTime.class).toInstant())
+                .metadata(fromJson(rs.getString("metadata")))
+                .build();
+    }
+
+    private static String sortKey(final String sort, final FileMetadataDto file) {
+        return switch (sort) {
+            case "size" -> String.valueOf(file.getSize());
+            case "fileName" -> file.getFileName();
+            default -> file.getUploadedAt().toString();
+        };
+    }
+
+    private static Object sortValue(final String sort, final String value) {
+        try {
+            return switch (sort) {
+                case "size" -> Long.parseLong(value);
+                case "fileName" -> value;
+                default -> toTimestamp(Instant.parse(value));
+            };
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor", "INVALID_CURSOR", e);
+        }
+    }
+
+    private static OffsetDateTime toTimestamp(final Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static String escapeLike(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private String encodeCursor(final Cursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cursor serialization failed", e);
+        }
+    }
+
+    private Cursor decodeCursor(final String encoded, final FileSearchRequest request) {
+        final Cursor cursor;
+        try {
+            cursor = objectMapper.readValue(Base64.getUrlDecoder().decode(encoded), Cursor.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor", "INVALID_CURSOR", e);
+        }
+        if (!request.getSort().equals(cursor.sort()) || !request.getDirection().equals(cursor.direction())
+                || cursor.value() == null || cursor.fileId() == null) {
+            throw new BusinessException("Cursor does not match the sort of the search", "INVALID_CURSOR");
+        }
+        return cursor;
+    }
+
+    private String toJson(final Map<String, String> metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Metadata serialization failed", e);
+        }
+    }
+
+    private Map<String, String> fromJson(final String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json.getBytes(StandardCharsets.UTF_8), METADATA_TYPE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Stored metadata is not valid JSON", e);
+        }
+    }
+
+    /**
+     * Position after the last row of a page, bound to the sort it was produced with.
+     */
+    public record Cursor(String sort, String direction, String value, String fileId) {
+    }
+}
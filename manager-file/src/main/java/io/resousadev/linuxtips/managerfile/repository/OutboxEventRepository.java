@@ -0,0 +1,36 @@
+package io.resousadev.linuxtips.managerfile.repository;
+
+import io.resousadev.linuxtips.managerfile.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * JPA repository of the file event outbox.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest events due for relay and not locked by another relay, until the end of the transaction.
+     *
+     * <p>With {@code SKIP LOCKED} several instances relay disjoint batches instead of waiting for
+     * each other. Only the oldest pending event of each file is returned: the next one is relayed
+     * once it is gone, so the events of a file are published in order even across instances and
+     * while a failed one waits for its retry.</p>
+     *
+     * @param limit maximum number of events
+     * @return the events, in insertion order
+     */
+    @Query(value = """
+            SELECT * FROM file_event_outbox o
+            WHERE (o.next_attempt_at IS NULL OR o.next_attempt_at <= now())
+            AND NOT EXISTS (
+                SELECT 1 FROM file_event_outbox p WHERE p.aggregate_id = o.aggregate_id AND p.id < o.id)
+            ORDER BY o.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,242 @@
+package io.resousadev.linuxtips.managerfile.repository;
+
+import io.resousadev.linuxtips.managerfile.stats.SizeHistogram;
+import io.resousadev.linuxtips.managerfile.stats.StorageCounts;
+import io.resousadev.linuxtips.managerfile.stats.StorageDimension;
+import io.resousadev.linuxtips.managerfile.stats.StorageGroup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Storage usage statistics in the {@code file_storage_stats} table, one row per group.
+ *
+ * <p>Reads are a primary key lookup or a scan of one dimension's rows, however many files there
+ * are. Plain SQL for the {@code ON CONFLICT} upsert, the element-wise sum of the histogram arrays,
+ * the {@code GROUPING SETS} aggregation of {@code file_metadata} and the PostgreSQL advisory lock
+ * and snapshot functions used by the reconciliation.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class StorageStatsRepository {
+
+    private static final String COLUMNS = "dimension, dimension_value, file_count, total_bytes, size_histogram, "
+            + "updated_at";
+
+    private static final String INSERT = "INSERT INTO file_storage_stats (" + COLUMNS + ") "
+            + "VALUES (:dimension, :value, :files, :bytes, :histogram, now())";
+
+    private static final String ADD = INSERT + " ON CONFLICT (dimension, dimension_value) DO UPDATE SET "
+            + "file_count = file_storage_stats.file_count + EXCLUDED.file_count, "
+            + "total_bytes = file_storage_stats.total_bytes + EXCLUDED.total_bytes, "
+            + "size_histogram = ARRAY(SELECT h.stored + h.delta "
+            + "FROM unnest(file_storage_stats.size_histogram, EXCLUDED.size_histogram) "
+            + "WITH ORDINALITY AS h(stored, delta, i) ORDER BY h.i), "
+            + "updated_at = EXCLUDED.updated_at";
+
+    /**
+     * Counts per size bucket of one upload time slice, for the total, each content type and each
+     * uploader, in one scan; {@code GROUPING} flags the columns a row is not grouped by.
+     */
+    private static final String AGGREGATE = "SELECT GROUPING(content_type) AS without_type, "
+            + "GROUPING(uploaded_by) AS without_uploader, content_type, uploaded_by, bucket, "
+            + "count(*) AS files, sum(size) AS bytes "
+            + "FROM (SELECT content_type, uploaded_by, size, width_bucket(size, " + SizeHistogram.sqlArray()
+            + ") AS bucket FROM file_metadata WHERE uploaded_at >= :from AND uploaded_at < :to) f "
+            + "GROUP BY GROUPING SETS ((bucket), (content_type, bucket), (uploaded_by, bucket))";
+
+    /** Key of the transaction-level advisory lock held by the running reconciliation. */
+    private static final long RECONCILE_LOCK_KEY = 0x66696c6573746174L;
+
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-F]+(-[0-9A-F]+)+");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Add deltas to the stored counts, creating the missing rows.
+     *
+     * <p>Rows are upserted in the iteration order of {@code deltas}; callers pass a sorted map so
+     * concurrent flushes lock rows in the same order.</p>
+     *
+     * @param deltas counts to add per group
+     */
+    public void addAll(final Map<StorageGroup, StorageCounts> deltas) {
+        jdbcTemplate.batchUpdate(ADD, toParams(deltas));
+    }
+
+    /**
+     * Find the counts of every group, in the caller's transaction.
+     *
+     * @return the stored counts, per group
+     */
+    public Map<StorageGroup, StorageCounts> findAll() {
+        final Map<StorageGroup, StorageCounts> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT " + COLUMNS + " FROM file_storage_stats", rs -> {
+            counts.put(toGroup(rs), toCounts(rs));
+        });
+        return counts;
+    }
+
+    /**
+     * Take the reconciliation lock until the caller's transaction ends, without waiting.
+     *
+     * @return whether the lock was taken; false while another instance reconciles
+     */
+    public boolean tryLockReconcile() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:key)",
+                Map.of("key", RECONCILE_LOCK_KEY), Boolean.class));
+    }
+
+    /**
+     * Export the snapshot of the caller's transaction, which must be {@code REPEATABLE READ}.
+     *
+     * @return the snapshot id, valid until the caller's transaction ends
+     */
+    public String exportSnapshot() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject("SELECT pg_export_snapshot()", String.class);
+    }
+
+    /**
+     * Read the snapshot of another transaction in the caller's {@code REPEATABLE READ} transaction,
+     * before any other statement.
+     *
+     * @param snapshotId the id returned by {@link #exportSnapshot()}
+     */
+    public void importSnapshot(final String snapshotId) {
+        if (!SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new IllegalArgumentException("Invalid snapshot id: " + snapshotId);
+        }
+        // SET does not take bind parameters; the id is checked above
+        jdbcTemplate.getJdbcTemplate().execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+    }
+
+    /**
+     * Find the counts of every file.
+     *
+     * @return the total row, empty before the first flush or recomputation
+     */
+    public Optional<StoredCounts> findTotal() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM file_storage_stats "
+                        + "WHERE dimension = :dimension AND dimension_value = ''",
+                Map.of("dimension", StorageDimension.TOTAL.name()), rowMapper()).stream().findFirst();
+    }
+
+    /**
+     * Find the largest groups of a dimension.
+     *
+     * @param dimension the dimension
+     * @param top maximum number of groups
+     * @return the groups with files, by total size, descending
+     */
+    public List<StoredCounts> findTop(final StorageDimension dimension, final int top) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM file_storage_stats "
+                        + "WHERE dimension = :dimension AND file_count > 0 "
+                        + "ORDER BY total_bytes DESC, dimension_value LIMIT :top",
+                new MapSqlParameterSource("dimension", dimension.name()).addValue("top", top), rowMapper());
+    }
+
+    /**
+     * Find the upload time range of the stored files.
+     *
+     * @return the first and last upload time, empty without files
+     */
+    public Optional<UploadedAtRange> findUploadedAtRange() {
+        final List<UploadedAtRange> range = jdbcTemplate.getJdbcTemplate().query(
+                "SELECT min(uploaded_at) AS first, max(uploaded_at) AS last FROM file_metadata "
+                        + "HAVING count(*) > 0",
+                (rs, rowNum) -> new UploadedAtRange(rs.getObject("first", OffsetDateTime.class).toInstant(),
+                        rs.getObject("last", OffsetDateTime.class).toInstant()));
+        return range.stream().findFirst();
+    }
+
+    /**
+     * Count the files uploaded in a time range, per group.
+     *
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @return the counts of every group with files in the range
+     */
+    public Map<StorageGroup, StorageCounts> aggregate(final Instant from, final Instant to) {
+        final Map<StorageGroup, StorageCounts> counts = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE, new MapSqlParameterSource("from", from.atOffset(ZoneOffset.UTC))
+                .addValue("to", to.atOffset(ZoneOffset.UTC)), rs -> {
+                    final StorageGroup group;
+                    if (rs.getInt("without_type") == 1 && rs.getInt("without_uploader") == 1) {
+                        group = StorageGroup.TOTAL;
+                    } else if (rs.getInt("without_type") == 0) {
+                        group = new StorageGroup(StorageDimension.CONTENT_TYPE,
+                                StorageGroup.valueOf(rs.getString("content_type")));
+                    } else {
+                        group = new StorageGroup(StorageDimension.UPLOADER,
+                                StorageGroup.valueOf(rs.getString("uploaded_by")));
+                    }
+                    counts.computeIfAbsent(group, key -> new StorageCounts())
+                            .add(rs.getLong("files"), rs.getLong("bytes"), rs.getInt("bucket"));
+                });
+        return counts;
+    }
+
+    private static SqlParameterSource[] toParams(final Map<StorageGroup, StorageCounts> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("dimension", entry.getKey().dimension().name())
+                        .addValue("value", entry.getKey().value())
+                        .addValue("files", entry.getValue().files())
+                        .addValue("bytes", entry.getValue().bytes())
+                        .addValue("histogram", entry.getValue().histogram()))
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    private static RowMapper<StoredCounts> rowMapper() {
+        return (rs, rowNum) -> new StoredCounts(toGroup(rs), toCounts(rs),
+                rs.getObject("updated_at", OffsetDateTime.class).toInstant());
+    }
+
+    private static StorageGroup toGroup(final ResultSet rs) throws SQLException {
+        return new StorageGroup(StorageDimension.valueOf(rs.getString("dimension")), rs.getString("dimension_value"));
+    }
+
+    private static StorageCounts toCounts(final ResultSet rs) throws SQLException {
+        final Array histogram = rs.getArray("size_histogram");
+        final Long[] buckets = (Long[]) histogram.getArray();
+        final long[] counts = new long[SizeHistogram.BUCKETS];
+        for (int i = 0; i < Math.min(buckets.length, counts.length); i++) {
+            counts[i] = buckets[i];
+        }
+        return new StorageCounts(rs.getLong("file_count"), rs.getLong("total_bytes"), counts);
+    }
+
+    /**
+     * Upload time range of the stored files.
+     *
+     * @param first first upload time
+     * @param last last upload time
+     */
+    public record UploadedAtRange(Instant first, Instant last) {
+    }
+
+    /**
+     * A stored row.
+     *
+     * @param group the group
+     * @param counts its counts
+     * @param updatedAt time of the last flush or recomputation that changed it
+     */
+    public record StoredCounts(StorageGroup group, StorageCounts counts, Instant updatedAt) {
+    }
+}
@@ -1,10 +1,15 @@
 package io.resousadev.linuxtips.managerfile.service;
 
 import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchPage;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchRequest;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import io.resousadev.linuxtips.managerfile.dto.UploadReservation;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service interface for file management operations.
@@ -20,6 +25,22 @@ public interface FileService {
      */
     FileMetadataDto uploadFile(MultipartFile file, Map<String, String> metadata);
 
+    /**
+     * Reserve a file ID for an upload sent by the client straight to storage.
+     *
+     * @param request file name, content type, size and metadata of the upload
+     * @return the presigned PUT URL or POST policy of the upload
+     */
+    UploadReservation reserveUpload(FileUploadRequest request);
+
+    /**
+     * Verify a direct upload and publish its {@code FILE_UPLOADED} event; repeated calls publish once.
+     *
+     * @param fileId the reserved file identifier
+     * @return file metadata of the uploaded object
+     */
+    FileMetadataDto completeUpload(String fileId);
+
     /**
      * Get file metadata by ID.
      *
@@ -28,6 +49,14 @@ public interface FileService {
      */
     FileMetadataDto getFileMetadata(String fileId);
 
+    /**
+     * Get the entity tag of a file's metadata from the metadata index only, without calling storage.
+     *
+     * @param fileId the file identifier
+     * @return the unquoted tag, empty when the file is not indexed (unknown, or only in storage)
+     */
+    Optional<String> getMetadataETag(String fileId);
+
     /**
      * Delete a file by ID.
      *
@@ -42,6 +71,14 @@ public interface FileService {
      */
     List<FileMetadataDto> listFiles();
 
+    /**
+     * Search the indexed files by content type, uploader, upload time and metadata, one page at a time.
+     *
+     * @param request filters, sort, page size and the cursor of the previous page
+     * @return the page and the cursor of the next one
+     */
+    FileSearchPage searchFiles(FileSearchRequest request);
+
     /**
      * Generate a pre-signed URL for file download.
      *
@@ -2,46 +2,120 @@ package io.resousadev.linuxtips.managerfile.service;
 
 import io.resousadev.linuxtips.common.dto.FileMetadataDto;
 import io.resousadev.linuxtips.common.event.EventTypes;
+import io.resousadev.linuxtips.common.exception.BusinessException;
 import io.resousadev.linuxtips.common.exception.ResourceNotFoundException;
-import io.resousadev.linuxtips.managerfile.producer.FileEventProducer;
+import io.resousadev.linuxtips.common.id.TimeOrderedIds;
+import io.resousadev.linuxtips.managerfile.config.DirectUploadProperties;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchPage;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchRequest;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import io.resousadev.linuxtips.managerfile.dto.UploadReservation;
+import io.resousadev.linuxtips.managerfile.model.FileMetadata;
+import io.resousadev.linuxtips.managerfile.processing.StoredFile;
+import io.resousadev.linuxtips.managerfile.producer.FileEventOutbox;
+import io.resousadev.linuxtips.managerfile.repository.FileMetadataRepository;
+import io.resousadev.linuxtips.managerfile.repository.FileSearchRepository;
+import io.resousadev.linuxtips.managerfile.stats.StorageStatsRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.ChecksumMode;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.Tag;
+import software.amazon.awssdk.services.s3.model.Tagging;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Base64;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of FileService using AWS S3 for storage.
+ *
+ * <p>Uploads stream the multipart content to S3 with a flexible checksum
+ * ({@code aws.s3.checksum-algorithm}, CRC32C by default). The SDK computes it while sending the
+ * body and S3 validates it before storing the object, so the integrity check is end to end and
+ * costs no separate pass over the bytes. CRC32C uses the JDK's hardware-accelerated
+ * {@link java.util.zip.CRC32C}; CRC64NVME needs the AWS CRT on the classpath; SHA256 and SHA1 are
+ * kept for clients that verify a cryptographic digest, at several times the CPU cost.</p>
+ *
+ * <p>Direct uploads keep the file bytes out of the service: {@link #reserveUpload} returns a
+ * presigned PUT URL or POST policy limited to the reserved key, content type and size, and
+ * {@link #completeUpload} (called by the client, or by the consumer on the S3 notification) checks
+ * the object with {@code HeadObject} and records {@code FILE_UPLOADED}. Completed uploads are
+ * tagged {@value #UPLOAD_STATE_TAG}={@value #UPLOAD_STATE_COMPLETED}, so a second completion, or
+ * the notification of an upload made through {@link #uploadFile}, records nothing.</p>
+ *
+ * <p>Events are not published here: the file's metadata row and its event are written in one
+ * transaction, to the {@code file_metadata} table and the {@link FileEventOutbox}, and relayed to
+ * EventBridge in the background. A request waits for the S3 write and a local commit only, and the
+ * published events match the recorded files: an upload whose row cannot be written is removed
+ * from S3, and a concurrent completion or deletion of the same file loses on the primary key.
+ * Metadata is read from the table, falling back to S3 for objects stored before it existed.</p>
+ *
+ * <p>The uploader is the {@value #UPLOADED_BY_METADATA_KEY} user metadata of the object (a signed
+ * header of direct uploads), copied to {@code uploadedBy} so searches can filter on it.</p>
+ *
+ * <p>The same transactions count the recorded and removed rows in the storage usage statistics
+ * ({@link StorageStatsRecorder}, applied on commit).</p>
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FileServiceImpl implements FileService {
 
+    private static final String UPLOAD_STATE_TAG = "upload-state";
+    private static final String UPLOAD_STATE_COMPLETED = "completed";
+
+    private static final String BUCKET_URL_PROBE_KEY = "x";
+
+    /** User metadata key holding the uploader. */
+    private static final String UPLOADED_BY_METADATA_KEY = "uploaded-by";
+
+    /** User metadata key holding the size declared when a multipart upload was initiated. */
+    static final String DECLARED_SIZE_METADATA_KEY = "declared-size";
+
+    @Lazy
     private final S3Client s3Client;
+    @Lazy
     private final S3Presigner s3Presigner;
-    private final FileEventProducer eventProducer;
+    @Lazy
+    private final S3PostPolicySigner postPolicySigner;
+    private final FileMetadataRepository fileMetadataRepository;
+    private final FileSearchRepository fileSearchRepository;
+    private final FileEventOutbox fileEventOutbox;
+    private final ObjectProvider<StorageStatsRecorder> storageStatsRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final DirectUploadProperties directUpload;
+    private final ChecksumAlgorithm checksumAlgorithm;
 
     @Value("${aws.s3.bucket:manager-file-bucket}")
     private String bucketName;
@@ -51,48 +125,195 @@ public class FileServiceImpl implements FileService {
 
     @Override
     public FileMetadataDto uploadFile(final MultipartFile file, final Map<String, String> metadata) {
-        final String fileId = UUID.randomUUID().toString();
+        final String fileId = TimeOrderedIds.newId();
         final String key = buildS3Key(fileId, file.getOriginalFilename());
 
         try {
-            final String checksum = calculateChecksum(file.getBytes());
-
             final PutObjectRequest request = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
                     .contentType(file.getContentType())
                     .metadata(metadata != null ? metadata : Map.of())
+                    .checksumAlgorithm(checksumAlgorithm)
+                    .tagging(UPLOAD_STATE_TAG + "=" + UPLOAD_STATE_COMPLETED)
                     .build();
 
-            s3Client.putObject(request, RequestBody.fromBytes(file.getBytes()));
+            // Streamed: the SDK computes the checksum while sending and S3 rejects a mismatch
+            final PutObjectResponse response = s3Client.putObject(request,
+                    RequestBody.fromContentProvider(() -> openStream(file), file.getSize(), file.getContentType()));
 
             final FileMetadataDto fileMetadata = FileMetadataDto.builder()
                     .fileId(fileId)
                     .fileName(file.getOriginalFilename())
                     .contentType(file.getContentType())
                     .size(file.getSize())
-                    .checksum(checksum)
+                    .checksum(checksum(response, checksumAlgorithm))
+                    .checksumAlgorithm(checksumAlgorithm.toString())
                     .storageLocation(key)
-                    .uploadedAt(Instant.now())
+                    .etag(unquote(response.eTag()))
+                    .uploadedBy(metadata != null ? metadata.get(UPLOADED_BY_METADATA_KEY) : null)
+                    // Stored with microsecond precision
+                    .uploadedAt(Instant.now().truncatedTo(ChronoUnit.MICROS))
                     .metadata(metadata)
                     .build();
 
-            // Publish event
-            eventProducer.publishFileEvent(EventTypes.FILE_UPLOADED, fileMetadata);
+            try {
+                transactionTemplate.executeWithoutResult(status -> record(fileMetadata));
+            } catch (RuntimeException e) {
+                // Not recorded: no FILE_UPLOADED either, so the object must not stay in the bucket
+                deleteObject(key);
+                throw e;
+            }
 
-            log.info("File uploaded: fileId={}, fileName={}, size={}, bucket={}", 
-                    fileId, file.getOriginalFilename(), file.getSize(), bucketName);
+            log.info("File uploaded: fileId={}, fileName={}, size={}, bucket={}, checksum={}:{}",
+                    fileId, file.getOriginalFilename(), file.getSize(), bucketName, checksumAlgorithm,
+                    fileMetadata.getChecksum());
 
             return fileMetadata;
-        } catch (IOException e) {
+        } catch (UncheckedIOException e) {
             log.error("File upload failed: fileName={}, bucket={}, error={}", 
                     file.getOriginalFilename(), bucketName, e.getMessage(), e);
-            throw new RuntimeException("Failed to upload file", e);
+            throw new RuntimeException("Failed to upload file", e.getCause());
+        }
+    }
+
+    @Override
+    public UploadReservation reserveUpload(final FileUploadRequest request) {
+        final long maxSize = directUpload.getMaxSize().toBytes();
+        if (request.getSize() > maxSize) {
+            throw new BusinessException("File exceeds the maximum size of " + maxSize + " bytes", "FILE_TOO_LARGE");
+        }
+        if (!directUpload.isAllowed(request.getContentType())) {
+            throw new BusinessException("Content type not allowed: " + request.getContentType(),
+                    "CONTENT_TYPE_NOT_ALLOWED");
+        }
+
+        final String fileId = TimeOrderedIds.newId();
+        final String key = buildS3Key(fileId, request.getFileName());
+        final Map<String, String> metadata = request.getMetadata() != null ? request.getMetadata() : Map.of();
+        final UploadReservation.Method method = request.getMethod() != null
+                ? request.getMethod()
+                : UploadReservation.Method.PUT;
+        final Instant now = Instant.now();
+        final Instant expiresAt = now.plus(directUpload.getExpiry());
+
+        final UploadReservation.UploadReservationBuilder reservation = UploadReservation.builder()
+                .fileId(fileId)
+                .method(method)
+                .maxSize(request.getSize())
+                .expiresAt(expiresAt);
+
+        if (method == UploadReservation.Method.POST) {
+            // Size range, content type and metadata are conditions of the signed policy
+            reservation.url(bucketUrl())
+                    .fields(postPolicySigner.sign(bucketName, key, request.getContentType(), metadata,
+                            request.getSize(), now, expiresAt));
+        } else {
+            // Content-Length, Content-Type and x-amz-meta-* are signed headers: S3 refuses any other value
+            final PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(request.getContentType())
+                    .contentLength(request.getSize())
+                    .metadata(metadata)
+                    .build();
+
+            final PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                    .signatureDuration(directUpload.getExpiry())
+                    .putObjectRequest(putRequest)
+                    .build());
+
+            reservation.url(presigned.url().toString())
+                    .headers(presigned.signedHeaders().entrySet().stream()
+                            .filter(header -> !"host".equalsIgnoreCase(header.getKey()))
+                            .collect(Collectors.toMap(Map.Entry::getKey,
+                                    header -> String.join(",", header.getValue()))));
+        }
+
+        log.info("Upload reserved: fileId={}, fileName={}, size={}, method={}, bucket={}",
+                fileId, request.getFileName(), request.getSize(), method, bucketName);
+
+        return reservation.build();
+    }
+
+    @Override
+    public FileMetadataDto completeUpload(final String fileId) {
+        final Optional<FileMetadata> stored = fileMetadataRepository.findById(fileId);
+        if (stored.isPresent()) {
+            log.debug("Upload already completed: fileId={}", fileId);
+            return toDto(stored.get());
+        }
+
+        final FileMetadataDto metadata = getObjectMetadata(fileId);
+        final String key = metadata.getStorageLocation();
+
+        if (isCompleted(key)) {
+            log.debug("Upload already completed: fileId={}", fileId);
+            return metadata;
         }
+
+        if (metadata.getSize() > directUpload.maxObjectSize() || metadata.getContentType() == null
+                || !directUpload.isAllowed(metadata.getContentType()) || !matchesDeclaredSize(metadata)) {
+            deleteObject(key);
+            log.warn("Upload rejected and deleted: fileId={}, size={}, declaredSize={}, contentType={}",
+                    fileId, metadata.getSize(), declaredSize(metadata), metadata.getContentType());
+            throw new BusinessException("Uploaded file violates the upload limits: " + fileId, "UPLOAD_REJECTED");
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(metadata));
+        } catch (DataIntegrityViolationException e) {
+            // Completed concurrently (client call and S3 notification): the other one recorded the event
+            log.debug("Upload completed concurrently: fileId={}", fileId);
+            return metadata;
+        }
+
+        // Marks objects stored before file_metadata existed too, which have no row
+        s3Client.putObjectTagging(PutObjectTaggingRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .tagging(Tagging.builder()
+                        .tagSet(Tag.builder().key(UPLOAD_STATE_TAG).value(UPLOAD_STATE_COMPLETED).build())
+                        .build())
+                .build());
+
+        log.info("Upload completed: fileId={}, fileName={}, size={}, bucket={}",
+                fileId, metadata.getFileName(), metadata.getSize(), bucketName);
+
+        return metadata;
+    }
+
+    /**
+     * Whether the object has the size declared for it, if one was ({@value #DECLARED_SIZE_METADATA_KEY}
+     * of multipart uploads).
+     */
+    private static boolean matchesDeclaredSize(final FileMetadataDto metadata) {
+        final String declared = declaredSize(metadata);
+        if (declared == null) {
+            return true;
+        }
+        try {
+            return Long.parseLong(declared) == metadata.getSize();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String declaredSize(final FileMetadataDto metadata) {
+        return metadata.getMetadata() != null ? metadata.getMetadata().get(DECLARED_SIZE_METADATA_KEY) : null;
     }
 
     @Override
     public FileMetadataDto getFileMetadata(final String fileId) {
+        return fileMetadataRepository.findById(fileId)
+                .map(FileServiceImpl::toDto)
+                .orElseGet(() -> getObjectMetadata(fileId));
+    }
+
+    /**
+     * Metadata of a file read from its S3 object.
+     */
+    private FileMetadataDto getObjectMetadata(final String fileId) {
         try {
             final String prefix = fileId + "/";
             final var listRequest = ListObjectsV2Request.builder()
@@ -111,16 +332,22 @@ public class FileServiceImpl implements FileService {
             final var headRequest = HeadObjectRequest.builder()
                     .bucket(bucketName)
                     .key(s3Object.key())
+                    .checksumMode(ChecksumMode.ENABLED)
                     .build();
 
             final var headResponse = s3Client.headObject(headRequest);
+            final ChecksumAlgorithm storedAlgorithm = storedChecksumAlgorithm(headResponse);
 
             return FileMetadataDto.builder()
                     .fileId(fileId)
                     .fileName(extractFileName(s3Object.key()))
                     .contentType(headResponse.contentType())
                     .size(s3Object.size())
+                    .checksum(storedAlgorithm != null ? checksum(headResponse, storedAlgorithm) : null)
+                    .checksumAlgorithm(storedAlgorithm != null ? storedAlgorithm.toString() : null)
                     .storageLocation(s3Object.key())
+                    .etag(unquote(headResponse.eTag()))
+                    .uploadedBy(headResponse.metadata().get(UPLOADED_BY_METADATA_KEY))
                     .uploadedAt(s3Object.lastModified())
                     .metadata(headResponse.metadata())
                     .build();
@@ -129,19 +356,37 @@ public class FileServiceImpl implements FileService {
         }
     }
 
+    @Override
+    public Optional<String> getMetadataETag(final String fileId) {
+        return fileMetadataRepository.findObjectEtag(fileId);
+    }
+
     @Override
     public void deleteFile(final String fileId) {
-        final FileMetadataDto metadata = getFileMetadata(fileId);
+        final Optional<FileMetadata> stored = fileMetadataRepository.findById(fileId);
+        final FileMetadataDto metadata = stored.map(FileServiceImpl::toDto).orElseGet(() -> getObjectMetadata(fileId));
 
-        final DeleteObjectRequest request = DeleteObjectRequest.builder()
+        // S3 first: a failed commit leaves the row, and a retried delete finds the file again
+        deleteObject(metadata.getStorageLocation());
+
+        // Objects derived by the processing pipeline (e.g., thumbnail)
+        final var derivedRequest = ListObjectsV2Request.builder()
                 .bucket(bucketName)
-                .key(metadata.getStorageLocation())
+                .prefix(StoredFile.DERIVED_PREFIX + fileId + "/")
                 .build();
+        s3Client.listObjectsV2(derivedRequest).contents().forEach(derived -> deleteObject(derived.key()));
 
-        s3Client.deleteObject(request);
-
-        // Publish event
-        eventProducer.publishFileEvent(EventTypes.FILE_DELETED, metadata);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (fileMetadataRepository.deleteByFileId(fileId) == 0 && stored.isPresent()) {
+                // Deleted concurrently: the other one recorded FILE_DELETED
+                return;
+            }
+            fileEventOutbox.add(EventTypes.FILE_DELETED, metadata);
+            if (stored.isPresent()) {
+                // Files stored before the table were never counted
+                countInStats(EventTypes.FILE_DELETED, metadata);
+            }
+        });
 
         log.info("File deleted: fileId={}, bucket={}", fileId, bucketName);
     }
@@ -153,16 +398,23 @@ public class FileServiceImpl implements FileService {
                 .build();
 
         return s3Client.listObjectsV2(request).contents().stream()
+                .filter(obj -> !obj.key().startsWith(StoredFile.DERIVED_PREFIX))
                 .map(obj -> FileMetadataDto.builder()
                         .fileId(extractFileId(obj.key()))
                         .fileName(extractFileName(obj.key()))
                         .size(obj.size())
                         .storageLocation(obj.key())
+                        .etag(unquote(obj.eTag()))
                         .uploadedAt(obj.lastModified())
                         .build())
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public FileSearchPage searchFiles(final FileSearchRequest request) {
+        return fileSearchRepository.search(request);
+    }
+
     @Override
     public String generateDownloadUrl(final String fileId) {
         final FileMetadataDto metadata = getFileMetadata(fileId);
@@ -180,6 +432,46 @@ public class FileServiceImpl implements FileService {
         return s3Presigner.presignGetObject(presignRequest).url().toString();
     }
 
+    /**
+     * Inserts the file's row and its {@code FILE_UPLOADED} event; runs in a transaction.
+     */
+    private void record(final FileMetadataDto metadata) {
+        fileMetadataRepository.saveAndFlush(toEntity(metadata));
+        fileEventOutbox.add(EventTypes.FILE_UPLOADED, metadata);
+        countInStats(EventTypes.FILE_UPLOADED, metadata);
+    }
+
+    private void countInStats(final String eventType, final FileMetadataDto metadata) {
+        storageStatsRecorder.ifAvailable(recorder -> recorder.recordAfterCommit(eventType, metadata));
+    }
+
+    private void deleteObject(final String key) {
+        s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+    }
+
+    private boolean isCompleted(final String key) {
+        final var request = GetObjectTaggingRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        return s3Client.getObjectTagging(request).tagSet().stream()
+                .anyMatch(tag -> UPLOAD_STATE_TAG.equals(tag.key()) && UPLOAD_STATE_COMPLETED.equals(tag.value()));
+    }
+
+    /**
+     * Form action of POST uploads, from the client's endpoint and addressing style.
+     */
+    private String bucketUrl() {
+        final String objectUrl = s3Client.utilities()
+                .getUrl(builder -> builder.bucket(bucketName).key(BUCKET_URL_PROBE_KEY))
+                .toExternalForm();
+        return objectUrl.substring(0, objectUrl.length() - BUCKET_URL_PROBE_KEY.length());
+    }
+
     private String buildS3Key(final String fileId, final String fileName) {
         return fileId + "/" + fileName;
     }
@@ -194,13 +486,88 @@ public class FileServiceImpl implements FileService {
         return slashIndex >= 0 ? key.substring(slashIndex + 1) : key;
     }
 
-    private String calculateChecksum(final byte[] data) {
+    private static FileMetadata toEntity(final FileMetadataDto dto) {
+        return FileMetadata.builder()
+                .fileId(dto.getFileId())
+                .fileName(dto.getFileName())
+                .contentType(dto.getContentType())
+                .size(dto.getSize())
+                .checksum(dto.getChecksum())
+                .checksumAlgorithm(dto.getChecksumAlgorithm())
+                .storageLocation(dto.getStorageLocation())
+                .objectEtag(dto.getEtag())
+                .uploadedBy(dto.getUploadedBy())
+                .uploadedAt(dto.getUploadedAt())
+                .metadata(dto.getMetadata())
+                .build();
+    }
+
+    private static FileMetadataDto toDto(final FileMetadata entity) {
+        return FileMetadataDto.builder()
+                .fileId(entity.getFileId())
+                .fileName(entity.getFileName())
+                .contentType(entity.getContentType())
+                .size(entity.getSize())
+                .checksum(entity.getChecksum())
+                .checksumAlgorithm(entity.getChecksumAlgorithm())
+                .storageLocation(entity.getStorageLocation())
+                .etag(entity.getObjectEtag())
+                .uploadedBy(entity.getUploadedBy())
+                .uploadedAt(entity.getUploadedAt())
+                .metadata(entity.getMetadata())
+                .build();
+    }
+
+    /**
+     * S3 returns ETags quoted; the DTO and the table keep the bare value.
+     */
+    private static String unquote(final String etag) {
+        if (etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            return etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+
+    private static InputStream openStream(final MultipartFile file) {
         try {
-            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            final byte[] hash = digest.digest(data);
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Failed to calculate checksum", e);
+            return file.getInputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String checksum(final PutObjectResponse response, final ChecksumAlgorithm algorithm) {
+        return switch (algorithm) {
+            case CRC32 -> response.checksumCRC32();
+            case CRC32_C -> response.checksumCRC32C();
+            case CRC64_NVME -> response.checksumCRC64NVME();
+            case SHA1 -> response.checksumSHA1();
+            case SHA256 -> response.checksumSHA256();
+            default -> null;
+        };
+    }
+
+    private static String checksum(final HeadObjectResponse response, final ChecksumAlgorithm algorithm) {
+        return switch (algorithm) {
+            case CRC32 -> response.checksumCRC32();
+            case CRC32_C -> response.checksumCRC32C();
+            case CRC64_NVME -> response.checksumCRC64NVME();
+            case SHA1 -> response.checksumSHA1();
+            case SHA256 -> response.checksumSHA256();
+            default -> null;
+        };
+    }
+
+    /**
+     * The algorithm of the checksum S3 stored with the object, or {@code null} for objects uploaded
+     * without one.
+     */
+    private static ChecksumAlgorithm storedChecksumAlgorithm(final HeadObjectResponse response) {
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.knownValues()) {
+            if (checksum(response, algorithm) != null) {
+                return algorithm;
+            }
         }
+        return null;
     }
 }
@@ -0,0 +1,76 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import io.resousadev.linuxtips.managerfile.config.DirectUploadProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aborts multipart uploads abandoned by their clients.
+ *
+ * <p>S3 keeps, and bills, the parts of an upload until it is completed or aborted. Every
+ * {@code aws.s3.direct-upload.multipart.reaper-interval} this job aborts the uploads of the bucket
+ * initiated more than {@code abandoned-after} ago. A bucket lifecycle rule with
+ * {@code AbortIncompleteMultipartUpload} does the same on the S3 side and can be used instead;
+ * running both is harmless.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MultipartUploadReaper {
+
+    @Lazy
+    private final S3Client s3Client;
+    private final DirectUploadProperties directUpload;
+
+    @Value("${aws.s3.bucket:manager-file-bucket}")
+    private String bucketName;
+
+    /**
+     * Aborts the abandoned uploads of the bucket.
+     */
+    @Scheduled(fixedDelayString = "${aws.s3.direct-upload.multipart.reaper-interval:PT1H}",
+            initialDelayString = "${aws.s3.direct-upload.multipart.reaper-interval:PT1H}")
+    public void reap() {
+        final Instant cutoff = Instant.now().minus(directUpload.getMultipart().getAbandonedAfter());
+        final var request = ListMultipartUploadsRequest.builder()
+                .bucket(bucketName)
+                .build();
+
+        final List<MultipartUpload> abandoned = s3Client.listMultipartUploadsPaginator(request).uploads().stream()
+                .filter(upload -> upload.initiated().isBefore(cutoff))
+                .toList();
+
+        int aborted = 0;
+        for (MultipartUpload upload : abandoned) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(upload.key())
+                        .uploadId(upload.uploadId())
+                        .build());
+                aborted++;
+                log.debug("Abandoned multipart upload aborted: key={}, initiated={}", upload.key(), upload.initiated());
+            } catch (NoSuchUploadException e) {
+                // Completed or aborted in the meantime (by the client or another instance)
+                log.debug("Multipart upload already gone: key={}", upload.key());
+            }
+        }
+
+        if (aborted > 0) {
+            log.info("Abandoned multipart uploads aborted: count={}, olderThan={}, bucket={}",
+                    aborted, cutoff, bucketName);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import io.resousadev.linuxtips.managerfile.dto.MultipartUploadSession;
+import io.resousadev.linuxtips.managerfile.dto.UploadReservation;
+
+/**
+ * Service interface for resumable multipart uploads of very large files.
+ */
+public interface MultipartUploadService {
+
+    /**
+     * Start a multipart upload.
+     *
+     * @param request file name, content type, total size and metadata
+     * @return the upload with its part size and part count
+     */
+    MultipartUploadSession initiate(FileUploadRequest request);
+
+    /**
+     * Generate a pre-signed URL to upload one part; parts may be uploaded in parallel and in any order.
+     *
+     * @param fileId the file identifier
+     * @param partNumber part number, from 1
+     * @param checksum base64 checksum of the part, with the upload's checksum algorithm
+     * @param size size of the part in bytes; signed, so S3 rejects a body of another length
+     * @return pre-signed PUT URL and the headers it must be sent with
+     */
+    UploadReservation generatePartUploadUrl(String fileId, int partNumber, String checksum, long size);
+
+    /**
+     * List the parts already uploaded, to resume an interrupted upload.
+     *
+     * @param fileId the file identifier
+     * @return the upload with its parts
+     */
+    MultipartUploadSession listParts(String fileId);
+
+    /**
+     * Assemble the uploaded parts into the file and publish {@code FILE_UPLOADED}; a file whose size
+     * differs from the size declared at {@link #initiate} is deleted and rejected.
+     *
+     * @param fileId the file identifier
+     * @return file metadata after upload
+     */
+    FileMetadataDto complete(String fileId);
+
+    /**
+     * Abort a multipart upload and discard its parts.
+     *
+     * @param fileId the file identifier
+     */
+    void abort(String fileId);
+}
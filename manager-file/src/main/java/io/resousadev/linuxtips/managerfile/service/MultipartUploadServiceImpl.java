@@ -0,0 +1,313 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.exception.BusinessException;
+import io.resousadev.linuxtips.common.exception.ResourceNotFoundException;
+import io.resousadev.linuxtips.common.id.TimeOrderedIds;
+import io.resousadev.linuxtips.managerfile.config.DirectUploadProperties;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import io.resousadev.linuxtips.managerfile.dto.MultipartUploadSession;
+import io.resousadev.linuxtips.managerfile.dto.UploadReservation;
+import io.resousadev.linuxtips.managerfile.dto.UploadedPart;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
+import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedUploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of MultipartUploadService on S3 multipart uploads.
+ *
+ * <p>Parts go from the client straight to S3 through pre-signed {@code UploadPart} URLs, so any
+ * number of them can be in flight at once and the file size is not bound by
+ * {@code spring.servlet.multipart}. Each URL is signed with the part's checksum (the
+ * {@code aws.s3.checksum-algorithm}, CRC32C by default) and length; S3 rejects a part whose bytes do
+ * not match them, and the completed object gets a checksum of the part checksums.</p>
+ *
+ * <p>The declared file size is stored in the upload's user metadata ({@code declared-size}); the
+ * completion in {@link FileService#completeUpload} deletes an assembled object of any other size.
+ * Without it a client could declare a small file and upload up to 10,000 parts of any size.</p>
+ *
+ * <p>The service keeps no state: the upload of a file is found with {@code ListMultipartUploads}
+ * under the file's key prefix, and S3's part list is the progress a client resumes from. Uploads
+ * never completed are aborted by {@link MultipartUploadReaper}.</p>
+ *
+ * @see <a href="https://docs.aws.amazon.com/AmazonS3/latest/userguide/mpuoverview.html">Multipart upload</a>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MultipartUploadServiceImpl implements MultipartUploadService {
+
+    /** S3 limit of parts per upload. */
+    private static final int MAX_PARTS = 10_000;
+
+    private static final long MEBIBYTE = 1024 * 1024;
+
+    @Lazy
+    private final S3Client s3Client;
+    @Lazy
+    private final S3Presigner s3Presigner;
+    private final FileService fileService;
+    private final DirectUploadProperties directUpload;
+    private final ChecksumAlgorithm checksumAlgorithm;
+
+    @Value("${aws.s3.bucket:manager-file-bucket}")
+    private String bucketName;
+
+    @Override
+    public MultipartUploadSession initiate(final FileUploadRequest request) {
+        final long maxSize = directUpload.getMultipart().getMaxSize().toBytes();
+        if (request.getSize() > maxSize) {
+            throw new BusinessException("File exceeds the maximum size of " + maxSize + " bytes", "FILE_TOO_LARGE");
+        }
+        if (!directUpload.isAllowed(request.getContentType())) {
+            throw new BusinessException("Content type not allowed: " + request.getContentType(),
+                    "CONTENT_TYPE_NOT_ALLOWED");
+        }
+
+        final String fileId = TimeOrderedIds.newId();
+        // Same "{fileId}/{fileName}" key as single-request uploads
+        final String key = fileId + "/" + request.getFileName();
+
+        final Map<String, String> metadata = new HashMap<>();
+        if (request.getMetadata() != null) {
+            metadata.putAll(request.getMetadata());
+        }
+        metadata.put(FileServiceImpl.DECLARED_SIZE_METADATA_KEY, Long.toString(request.getSize()));
+
+        final CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(request.getContentType())
+                .metadata(metadata)
+                .checksumAlgorithm(checksumAlgorithm)
+                .build();
+
+        final String uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+        final long partSize = partSize(request.getSize());
+        final int partCount = (int) Math.ceilDiv(request.getSize(), partSize);
+
+        log.info("Multipart upload initiated: fileId={}, fileName={}, size={}, partSize={}, parts={}, bucket={}",
+                fileId, request.getFileName(), request.getSize(), partSize, partCount, bucketName);
+
+        return MultipartUploadSession.builder()
+                .fileId(fileId)
+                .uploadId(uploadId)
+                .checksumAlgorithm(checksumAlgorithm.toString())
+                .partSize(partSize)
+                .partCount(partCount)
+                .initiatedAt(Instant.now())
+                .parts(List.of())
+                .build();
+    }
+
+    @Override
+    public UploadReservation generatePartUploadUrl(final String fileId, final int partNumber, final String checksum,
+                                                   final long size) {
+        if (partNumber < 1 || partNumber > MAX_PARTS) {
+            throw new BusinessException("Part number must be between 1 and " + MAX_PARTS, "INVALID_PART_NUMBER");
+        }
+        // No part of an allowed file is larger than the part size of the largest one
+        final long maxPartSize = partSize(directUpload.getMultipart().getMaxSize().toBytes());
+        if (size < 1 || size > maxPartSize) {
+            throw new BusinessException("Part size must be between 1 and " + maxPartSize + " bytes",
+                    "INVALID_PART_SIZE");
+        }
+        if (checksum == null || checksum.isBlank()) {
+            throw new BusinessException("Part checksum is required (" + checksumAlgorithm + ")", "CHECKSUM_REQUIRED");
+        }
+
+        final MultipartUpload upload = findUpload(fileId);
+
+        // The checksum and length headers are signed: S3 only accepts these exact bytes for the part
+        final UploadPartRequest.Builder partRequest = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(upload.key())
+                .uploadId(upload.uploadId())
+                .partNumber(partNumber)
+                .contentLength(size);
+        withChecksum(partRequest, checksum);
+
+        final PresignedUploadPartRequest presigned = s3Presigner.presignUploadPart(UploadPartPresignRequest.builder()
+                .signatureDuration(directUpload.getExpiry())
+                .uploadPartRequest(partRequest.build())
+                .build());
+
+        return UploadReservation.builder()
+                .fileId(fileId)
+                .method(UploadReservation.Method.PUT)
+                .url(presigned.url().toString())
+                .headers(presigned.signedHeaders().entrySet().stream()
+                        .filter(header -> !"host".equalsIgnoreCase(header.getKey()))
+                        .collect(Collectors.toMap(Map.Entry::getKey,
+                                header -> String.join(",", header.getValue()))))
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    @Override
+    public MultipartUploadSession listParts(final String fileId) {
+        final MultipartUpload upload = findUpload(fileId);
+
+        final List<UploadedPart> parts = parts(upload).stream()
+                .map(part -> UploadedPart.builder()
+                        .partNumber(part.partNumber())
+                        .size(part.size())
+                        .etag(part.eTag())
+                        .checksum(checksum(part))
+                        .lastModified(part.lastModified())
+                        .build())
+                .toList();
+
+        return MultipartUploadSession.builder()
+                .fileId(fileId)
+                .uploadId(upload.uploadId())
+                .checksumAlgorithm(checksumAlgorithm.toString())
+                .initiatedAt(upload.initiated())
+                .parts(parts)
+                .build();
+    }
+
+    @Override
+    public FileMetadataDto complete(final String fileId) {
+        final MultipartUpload upload;
+        try {
+            upload = findUpload(fileId);
+        } catch (ResourceNotFoundException e) {
+            // Already assembled (e.g. a retried completion): complete the object idempotently
+            return fileService.completeUpload(fileId);
+        }
+
+        final List<Part> parts = parts(upload);
+        if (parts.isEmpty()) {
+            throw new BusinessException("No parts uploaded: " + fileId, "NO_PARTS_UPLOADED");
+        }
+
+        final List<CompletedPart> completedParts = parts.stream()
+                .map(part -> {
+                    final CompletedPart.Builder completedPart = CompletedPart.builder()
+                            .partNumber(part.partNumber())
+                            .eTag(part.eTag());
+                    withChecksum(completedPart, checksum(part));
+                    return completedPart.build();
+                })
+                .toList();
+
+        final CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(upload.key())
+                .uploadId(upload.uploadId())
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                .build();
+
+        s3Client.completeMultipartUpload(completeRequest);
+
+        log.info("Multipart upload assembled: fileId={}, parts={}, size={}, bucket={}", fileId, parts.size(),
+                parts.stream().mapToLong(Part::size).sum(), bucketName);
+
+        // Limits and declared size, FILE_UPLOADED event and completed tag, as for single-request direct uploads
+        return fileService.completeUpload(fileId);
+    }
+
+    @Override
+    public void abort(final String fileId) {
+        final MultipartUpload upload = findUpload(fileId);
+
+        final AbortMultipartUploadRequest request = AbortMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(upload.key())
+                .uploadId(upload.uploadId())
+                .build();
+
+        s3Client.abortMultipartUpload(request);
+
+        log.info("Multipart upload aborted: fileId={}, bucket={}", fileId, bucketName);
+    }
+
+    /**
+     * Part size of a file: the configured size, or larger so the file fits in {@value #MAX_PARTS}
+     * parts, rounded up to whole MiB.
+     */
+    private long partSize(final long size) {
+        final long minimum = Math.max(directUpload.getMultipart().getPartSize().toBytes(),
+                Math.ceilDiv(size, MAX_PARTS));
+        return Math.ceilDiv(minimum, MEBIBYTE) * MEBIBYTE;
+    }
+
+    private MultipartUpload findUpload(final String fileId) {
+        final var request = ListMultipartUploadsRequest.builder()
+                .bucket(bucketName)
+                .prefix(fileId + "/")
+                .maxUploads(1)
+                .build();
+
+        return s3Client.listMultipartUploads(request).uploads().stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Multipart upload", fileId));
+    }
+
+    private List<Part> parts(final MultipartUpload upload) {
+        final var request = ListPartsRequest.builder()
+                .bucket(bucketName)
+                .key(upload.key())
+                .uploadId(upload.uploadId())
+                .build();
+
+        return s3Client.listPartsPaginator(request).parts().stream().toList();
+    }
+
+    private String checksum(final Part part) {
+        return switch (checksumAlgorithm) {
+            case CRC32 -> part.checksumCRC32();
+            case CRC32_C -> part.checksumCRC32C();
+            case CRC64_NVME -> part.checksumCRC64NVME();
+            case SHA1 -> part.checksumSHA1();
+            case SHA256 -> part.checksumSHA256();
+            default -> null;
+        };
+    }
+
+    private void withChecksum(final UploadPartRequest.Builder builder, final String checksum) {
+        switch (checksumAlgorithm) {
+            case CRC32 -> builder.checksumCRC32(checksum);
+            case CRC32_C -> builder.checksumCRC32C(checksum);
+            case CRC64_NVME -> builder.checksumCRC64NVME(checksum);
+            case SHA1 -> builder.checksumSHA1(checksum);
+            case SHA256 -> builder.checksumSHA256(checksum);
+            default -> throw new IllegalStateException("Unsupported checksum algorithm: " + checksumAlgorithm);
+        }
+    }
+
+    private void withChecksum(final CompletedPart.Builder builder, final String checksum) {
+        switch (checksumAlgorithm) {
+            case CRC32 -> builder.checksumCRC32(checksum);
+            case CRC32_C -> builder.checksumCRC32C(checksum);
+            case CRC64_NVME -> builder.checksumCRC64NVME(checksum);
+            case SHA1 -> builder.checksumSHA1(checksum);
+            case SHA256 -> builder.checksumSHA256(checksum);
+            default -> throw new IllegalStateException("Unsupported checksum algorithm: " + checksumAlgorithm);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.regions.Region;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Signs S3 browser-based upload (POST) policies with Signature Version 4.
+ *
+ * <p>The AWS SDK for Java 2.x presigns GET and PUT requests but not POST policies, so the policy
+ * is built and signed here. The policy pins the bucket, key, content type and metadata of the
+ * reserved upload and bounds its size; S3 rejects a form that does not match it. Signing is local
+ * and makes no HTTP calls.</p>
+ *
+ * @see <a href="https://docs.aws.amazon.com/AmazonS3/latest/API/sigv4-HTTPPOSTConstructPolicy.html">Creating a POST Policy</a>
+ */
+public class S3PostPolicySigner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String HMAC = "HmacSHA256";
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter EXPIRATION = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final Region region;
+    private final AwsCredentialsProvider credentialsProvider;
+
+    /**
+     * Creates a signer.
+     *
+     * @param region bucket region
+     * @param credentialsProvider credentials the policy is signed with; the uploader acts with their permissions
+     */
+    public S3PostPolicySigner(final Region region, final AwsCredentialsProvider credentialsProvider) {
+        this.region = region;
+        this.credentialsProvider = credentialsProvider;
+    }
+
+    /**
+     * Builds and signs the form fields of one upload.
+     *
+     * @param bucket target bucket
+     * @param key exact object key
+     * @param contentType exact content type
+     * @param metadata user metadata, stored as {@code x-amz-meta-*}
+     * @param maxSize largest accepted file, in bytes
+     * @param now signing time
+     * @param expiresAt policy expiration
+     * @return the form fields, in order, to send before the {@code file} field
+     */
+    public Map<String, String> sign(final String bucket, final String key, final String contentType,
+                                    final Map<String, String> metadata, final long maxSize, final Instant now,
+                                    final Instant expiresAt) {
+        final AwsCredentials credentials = credentialsProvider.resolveCredentials();
+        final String dateStamp = DATE.format(now);
+        final String credential = credentials.accessKeyId() + "/" + dateStamp + "/" + region.id()
+                + "/s3/aws4_request";
+
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("key", key);
+        fields.put("Content-Type", contentType);
+        metadata.forEach((name, value) -> fields.put("x-amz-meta-" + name, value));
+        fields.put("x-amz-algorithm", ALGORITHM);
+        fields.put("x-amz-credential", credential);
+        fields.put("x-amz-date", DATE_TIME.format(now));
+        if (credentials instanceof AwsSessionCredentials session) {
+            fields.put("x-amz-security-token", session.sessionToken());
+        }
+
+        final ObjectNode policy = MAPPER.createObjectNode();
+        policy.put("expiration", EXPIRATION.format(expiresAt));
+        final ArrayNode conditions = policy.putArray("conditions");
+        conditions.addObject().put("bucket", bucket);
+        fields.forEach((name, value) -> conditions.addObject().put(name, value));
+        conditions.addArray().add("content-length-range").add(1).add(maxSize);
+
+        final String encodedPolicy = Base64.getEncoder().encodeToString(toJson(policy));
+        fields.put("policy", encodedPolicy);
+        fields.put("x-amz-signature", signature(credentials.secretAccessKey(), dateStamp, encodedPolicy));
+        return fields;
+    }
+
+    /**
+     * Signs a string with the Signature Version 4 key of one day, in this region, for S3.
+     *
+     * @param secretAccessKey secret key of the credentials
+     * @param dateStamp signing day, {@code yyyyMMdd}
+     * @param stringToSign the string to sign; for a POST policy, the Base64 policy itself
+     * @return the signature, lowercase hex
+     */
+    String signature(final String secretAccessKey, final String dateStamp, final String stringToSign) {
+        return HexFormat.of().formatHex(hmac(signingKey(secretAccessKey, dateStamp), stringToSign));
+    }
+
+    private byte[] signingKey(final String secretAccessKey, final String dateStamp) {
+        final byte[] dateKey = hmac(("AWS4" + secretAccessKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        final byte[] regionKey = hmac(dateKey, region.id());
+        final byte[] serviceKey = hmac(regionKey, "s3");
+        return hmac(serviceKey, "aws4_request");
+    }
+
+    private static byte[] hmac(final byte[] key, final String data) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(key, HMAC));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static byte[] toJson(final ObjectNode policy) {
+        try {
+            return MAPPER.writeValueAsBytes(policy);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize POST policy", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import io.resousadev.linuxtips.managerfile.dto.StorageStats;
+
+/**
+ * Service interface for storage usage statistics.
+ */
+public interface StorageStatsService {
+
+    /**
+     * Get the storage usage statistics.
+     *
+     * @param top maximum number of content types and of uploaders
+     * @return the total and the largest content types and uploaders
+     */
+    StorageStats getStats(int top);
+}
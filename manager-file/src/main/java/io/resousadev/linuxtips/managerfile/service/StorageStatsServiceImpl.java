@@ -0,0 +1,64 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import io.resousadev.linuxtips.common.exception.BusinessException;
+import io.resousadev.linuxtips.managerfile.dto.StorageStats;
+import io.resousadev.linuxtips.managerfile.dto.StorageUsage;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository.StoredCounts;
+import io.resousadev.linuxtips.managerfile.stats.SizeHistogram;
+import io.resousadev.linuxtips.managerfile.stats.StorageCounts;
+import io.resousadev.linuxtips.managerfile.stats.StorageDimension;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Storage usage statistics read from the {@code file_storage_stats} table.
+ *
+ * <p>The table is maintained by {@code StorageStatsRecorder} and {@code StorageStatsReconciler}, so
+ * a request reads at most {@code 2 * top + 1} rows, whatever the number of files.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class StorageStatsServiceImpl implements StorageStatsService {
+
+    private static final int MAX_TOP = 500;
+
+    private final StorageStatsRepository storageStatsRepository;
+
+    @Override
+    public StorageStats getStats(final int top) {
+        if (top < 1 || top > MAX_TOP) {
+            throw new BusinessException("top must be between 1 and " + MAX_TOP, "INVALID_TOP");
+        }
+
+        return StorageStats.builder()
+                .total(storageStatsRepository.findTotal()
+                        .map(StorageStatsServiceImpl::toUsage)
+                        .orElseGet(() -> toUsage(new StorageCounts())))
+                .byContentType(storageStatsRepository.findTop(StorageDimension.CONTENT_TYPE, top).stream()
+                        .map(StorageStatsServiceImpl::toUsage)
+                        .toList())
+                .byUploader(storageStatsRepository.findTop(StorageDimension.UPLOADER, top).stream()
+                        .map(StorageStatsServiceImpl::toUsage)
+                        .toList())
+                .sizeBuckets(SizeHistogram.bounds())
+                .build();
+    }
+
+    private static StorageUsage toUsage(final StoredCounts stored) {
+        final StorageUsage usage = toUsage(stored.counts());
+        usage.setValue(stored.group().value().isEmpty() ? null : stored.group().value());
+        usage.setUpdatedAt(stored.updatedAt());
+        return usage;
+    }
+
+    private static StorageUsage toUsage(final StorageCounts counts) {
+        return StorageUsage.builder()
+                .fileCount(counts.files())
+                .totalBytes(counts.bytes())
+                .sizeHistogram(Arrays.stream(counts.histogram()).boxed().toList())
+                .build();
+    }
+}
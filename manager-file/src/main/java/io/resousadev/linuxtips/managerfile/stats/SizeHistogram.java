@@ -0,0 +1,61 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Size buckets of the storage usage histograms: below 64KiB, 1MiB, 16MiB, 256MiB, 4GiB, and above.
+ *
+ * <p>{@link #bucketOf} counts the bounds at or below a size, like Postgres {@code width_bucket}
+ * with a thresholds array, so the counters and the reconcile query agree on every boundary.</p>
+ */
+public final class SizeHistogram {
+
+    /** Lower bound of every bucket but the first, in bytes. */
+    private static final long[] BOUNDS = {
+        64L << 10,
+        1L << 20,
+        16L << 20,
+        256L << 20,
+        4L << 30
+    };
+
+    /** Number of buckets. */
+    public static final int BUCKETS = BOUNDS.length + 1;
+
+    private SizeHistogram() {
+    }
+
+    /**
+     * Returns the bucket of a size, from 0 to {@code BUCKETS - 1}.
+     *
+     * @param size size in bytes
+     * @return the bucket index
+     */
+    public static int bucketOf(final long size) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && size >= BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * Returns the bucket bounds, for clients labelling the histogram.
+     *
+     * @return lower bound of buckets 1 to {@code BUCKETS - 1}, in bytes
+     */
+    public static List<Long> bounds() {
+        return Arrays.stream(BOUNDS).boxed().toList();
+    }
+
+    /**
+     * Returns the bounds as a Postgres array literal, for {@code width_bucket}.
+     *
+     * @return e.g. {@code ARRAY[65536, 1048576, ...]::bigint[]}
+     */
+    public static String sqlArray() {
+        return "ARRAY[" + String.join(", ", Arrays.stream(BOUNDS).mapToObj(Long::toString).toList())
+                + "]::bigint[]";
+    }
+}
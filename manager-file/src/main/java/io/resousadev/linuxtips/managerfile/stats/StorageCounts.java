@@ -0,0 +1,111 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import java.util.Arrays;
+
+/**
+ * File count, total bytes and size histogram of a group: the stored totals, or a delta to add to them.
+ */
+public final class StorageCounts {
+
+    private long files;
+    private long bytes;
+    private final long[] histogram;
+
+    /**
+     * Creates zero counts.
+     */
+    public StorageCounts() {
+        this(0, 0, new long[SizeHistogram.BUCKETS]);
+    }
+
+    /**
+     * Creates counts from stored values.
+     *
+     * @param files file count
+     * @param bytes total size in bytes
+     * @param histogram file count per {@link SizeHistogram} bucket
+     */
+    public StorageCounts(final long files, final long bytes, final long[] histogram) {
+        this.files = files;
+        this.bytes = bytes;
+        this.histogram = Arrays.copyOf(histogram, SizeHistogram.BUCKETS);
+    }
+
+    /**
+     * Adds files of one size bucket.
+     *
+     * @param fileCount number of files, negative for removals
+     * @param totalBytes their total size, negative for removals
+     * @param bucket their size bucket
+     */
+    public void add(final long fileCount, final long totalBytes, final int bucket) {
+        files += fileCount;
+        bytes += totalBytes;
+        histogram[bucket] += fileCount;
+    }
+
+    /**
+     * Adds other counts to these.
+     *
+     * @param other the counts to add
+     */
+    public void add(final StorageCounts other) {
+        files += other.files;
+        bytes += other.bytes;
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+    }
+
+    /**
+     * Returns the delta that turns other counts into these.
+     *
+     * @param other the counts to subtract
+     * @return new counts, these minus {@code other}
+     */
+    public StorageCounts minus(final StorageCounts other) {
+        final StorageCounts delta = new StorageCounts(files - other.files, bytes - other.bytes, histogram);
+        for (int i = 0; i < histogram.length; i++) {
+            delta.histogram[i] -= other.histogram[i];
+        }
+        return delta;
+    }
+
+    public long files() {
+        return files;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns a copy of the histogram.
+     */
+    public long[] histogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Returns whether adding these counts would change nothing.
+     */
+    public boolean isZero() {
+        return files == 0 && bytes == 0 && Arrays.stream(histogram).allMatch(count -> count == 0);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof StorageCounts counts && files == counts.files && bytes == counts.bytes
+                && Arrays.equals(histogram, counts.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(files) + Arrays.hashCode(histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "StorageCounts[files=" + files + ", bytes=" + bytes + ", histogram=" + Arrays.toString(histogram) + "]";
+    }
+}
@@ -0,0 +1,14 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+/**
+ * Dimension a storage usage aggregate is grouped by.
+ */
+public enum StorageDimension {
+
+    /** Every file; a single group. */
+    TOTAL,
+
+    CONTENT_TYPE,
+
+    UPLOADER
+}
@@ -0,0 +1,47 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+
+import java.util.List;
+
+/**
+ * One storage usage aggregate: a dimension and its value, empty for {@link StorageDimension#TOTAL}
+ * and for files without a content type or uploader.
+ *
+ * @param dimension the dimension
+ * @param value the content type or uploader, never {@code null}
+ */
+public record StorageGroup(StorageDimension dimension, String value) implements Comparable<StorageGroup> {
+
+    /** The group of every file. */
+    public static final StorageGroup TOTAL = new StorageGroup(StorageDimension.TOTAL, "");
+
+    /**
+     * Returns the groups a file counts in.
+     *
+     * @param file the file
+     * @return the total, content type and uploader groups
+     */
+    public static List<StorageGroup> of(final FileMetadataDto file) {
+        return List.of(TOTAL,
+                new StorageGroup(StorageDimension.CONTENT_TYPE, valueOf(file.getContentType())),
+                new StorageGroup(StorageDimension.UPLOADER, valueOf(file.getUploadedBy())));
+    }
+
+    /**
+     * Stored value of a possibly missing content type or uploader.
+     *
+     * @param value the value, or {@code null}
+     * @return the value, or an empty string
+     */
+    public static String valueOf(final String value) {
+        return value != null ? value : "";
+    }
+
+    /** Row order of batched upserts, the same on every instance so concurrent flushes cannot deadlock. */
+    @Override
+    public int compareTo(final StorageGroup other) {
+        final int byDimension = dimension.compareTo(other.dimension);
+        return byDimension != 0 ? byDimension : value.compareTo(other.value);
+    }
+}
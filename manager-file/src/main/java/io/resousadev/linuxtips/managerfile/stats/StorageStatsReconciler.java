@@ -0,0 +1,169 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import io.resousadev.linuxtips.managerfile.config.FileStatsProperties;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository.UploadedAtRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Corrects the {@code file_storage_stats} table from {@code file_metadata}.
+ *
+ * <p>The counters drift when an instance dies with unflushed deltas, or when rows change outside
+ * the service. Every {@code file-stats.reconcile-interval} one instance, the one that takes the
+ * advisory lock, recounts the files in a {@code REPEATABLE READ} transaction: the upload time range
+ * is split into {@code file-stats.reconcile-slices} slices, aggregated concurrently on virtual
+ * threads (one connection and one {@code uploaded_at} index range each, all reading the snapshot of
+ * the transaction through {@code pg_export_snapshot}), and compared with the table as of the same
+ * snapshot. The differences are added to the table as deltas in that transaction, so the deltas
+ * other instances flush meanwhile are kept; a flush that changes a corrected row before the
+ * correction commits aborts it with a serialization failure, and the next run retries. Deltas
+ * committed to {@code file_metadata} before the snapshot but flushed by another instance after the
+ * correction are counted twice until the next run.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file-stats.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StorageStatsReconciler {
+
+    private final StorageStatsRepository storageStatsRepository;
+    private final StorageStatsRecorder recorder;
+    private final TransactionTemplate transactionTemplate;
+    private final FileStatsProperties properties;
+
+    /**
+     * Correct the statistics, unless another instance is doing it.
+     */
+    @Scheduled(fixedDelayString = "${file-stats.reconcile-interval:PT6H}",
+            initialDelayString = "${file-stats.reconcile-initial-delay:PT5M}")
+    public void reconcile() {
+        final long start = System.nanoTime();
+        recorder.flush();
+
+        final TransactionTemplate snapshot = repeatableRead();
+        final Drift drift;
+        try {
+            drift = snapshot.execute(status -> correct(snapshot, status));
+        } catch (ConcurrencyFailureException e) {
+            log.info("Storage stats reconcile conflicted with a flush, retrying with the next run: error={}",
+                    e.getMessage());
+            return;
+        }
+        if (drift == null) {
+            return;
+        }
+
+        final StorageCounts correction = drift.corrections().getOrDefault(StorageGroup.TOTAL, new StorageCounts());
+        log.info("Storage stats reconciled: groups={}, drifted={}, fileCountDrift={}, totalBytesDrift={}, "
+                        + "durationMs={}", drift.counts().size(), drift.corrections().size(), -correction.files(),
+                -correction.bytes(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private Drift correct(final TransactionTemplate snapshot, final TransactionStatus status) {
+        if (!storageStatsRepository.tryLockReconcile()) {
+            log.debug("Storage stats reconcile skipped, another instance holds the lock");
+            return null;
+        }
+
+        final Map<StorageGroup, StorageCounts> counts = new TreeMap<>();
+        counts.put(StorageGroup.TOTAL, new StorageCounts());
+        final Optional<UploadedAtRange> range = storageStatsRepository.findUploadedAtRange();
+        if (range.isPresent()) {
+            try {
+                aggregate(snapshot, storageStatsRepository.exportSnapshot(), range.get())
+                        .forEach(slice -> slice.forEach((group, sliceCounts) ->
+                                counts.computeIfAbsent(group, key -> new StorageCounts()).add(sliceCounts)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status.setRollbackOnly();
+                return null;
+            } catch (ExecutionException e) {
+                log.error("Storage stats reconcile failed: error={}", e.getCause().getMessage(), e.getCause());
+                status.setRollbackOnly();
+                return null;
+            }
+        }
+
+        final Map<StorageGroup, StorageCounts> stored = storageStatsRepository.findAll();
+        final Set<StorageGroup> groups = new TreeSet<>(counts.keySet());
+        groups.addAll(stored.keySet());
+        final Map<StorageGroup, StorageCounts> corrections = new TreeMap<>();
+        for (final StorageGroup group : groups) {
+            final StorageCounts correction = counts.getOrDefault(group, new StorageCounts())
+                    .minus(stored.getOrDefault(group, new StorageCounts()));
+            if (!correction.isZero()) {
+                corrections.put(group, correction);
+            }
+        }
+        if (!corrections.isEmpty()) {
+            storageStatsRepository.addAll(corrections);
+        }
+        return new Drift(counts, corrections);
+    }
+
+    private List<Map<StorageGroup, StorageCounts>> aggregate(final TransactionTemplate snapshot,
+                                                             final String snapshotId, final UploadedAtRange range)
+            throws InterruptedException, ExecutionException {
+        // The last slice ends just after the last upload, as ranges exclude their end
+        final Instant end = range.last().plus(1, ChronoUnit.MICROS);
+        final int slices = Math.max(1, properties.getReconcileSlices());
+        final Duration width = Duration.between(range.first(), end).dividedBy(slices);
+
+        final List<Future<Map<StorageGroup, StorageCounts>>> futures = new ArrayList<>(slices);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < slices; i++) {
+                final Instant from = range.first().plus(width.multipliedBy(i));
+                final Instant to = i == slices - 1 ? end : from.plus(width);
+                futures.add(executor.submit(() -> snapshot.execute(status -> {
+                    storageStatsRepository.importSnapshot(snapshotId);
+                    return storageStatsRepository.aggregate(from, to);
+                })));
+            }
+            final List<Map<StorageGroup, StorageCounts>> results = new ArrayList<>(slices);
+            for (final Future<Map<StorageGroup, StorageCounts>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private TransactionTemplate repeatableRead() {
+        final TransactionTemplate template = new TransactionTemplate(
+                Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template;
+    }
+
+    /**
+     * Result of a reconciliation.
+     *
+     * @param counts the recounted counts, per group
+     * @param corrections the deltas added to the table, per drifted group
+     */
+    private record Drift(Map<StorageGroup, StorageCounts> counts, Map<StorageGroup, StorageCounts> corrections) {
+    }
+}
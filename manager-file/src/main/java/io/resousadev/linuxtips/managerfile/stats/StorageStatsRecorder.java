@@ -0,0 +1,159 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.event.EventTypes;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the {@code FILE_UPLOADED} and {@code FILE_DELETED} events of this instance into the
+ * {@code file_storage_stats} table.
+ *
+ * <p>Each committed event adds to in-memory {@link LongAdder}s of its total, content type and
+ * uploader groups: striped counters, so concurrent uploads do not contend on one counter, nor on
+ * a database row. Every {@code file-stats.flush-interval} the counters are swapped for empty ones
+ * and their sums added to the table in one batched upsert, in one transaction. An update racing the
+ * swap lands in the previous counters, which are drained again by the next flush. Deltas whose
+ * upsert fails are kept for the next flush, which is safe because the failed transaction added none
+ * of them; those of a crashed instance are lost until {@link StorageStatsReconciler} corrects the
+ * table.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file-stats.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StorageStatsRecorder {
+
+    private final StorageStatsRepository storageStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<Map<StorageGroup, Counters>> pending =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+
+    /** Counters swapped out by the previous flush. */
+    private Map<StorageGroup, Counters> retired = Map.of();
+
+    /**
+     * Count a file event once the current transaction commits, or at once outside a transaction.
+     *
+     * @param eventType the type of event; types other than upload and deletion are ignored
+     * @param fileMetadata the file metadata payload
+     */
+    public void recordAfterCommit(final String eventType, final FileMetadataDto fileMetadata) {
+        final int sign;
+        if (EventTypes.FILE_UPLOADED.equals(eventType)) {
+            sign = 1;
+        } else if (EventTypes.FILE_DELETED.equals(eventType)) {
+            sign = -1;
+        } else {
+            return;
+        }
+        if (fileMetadata.getSize() == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(fileMetadata, sign);
+                }
+            });
+        } else {
+            record(fileMetadata, sign);
+        }
+    }
+
+    private void record(final FileMetadataDto fileMetadata, final int sign) {
+        final Map<StorageGroup, Counters> counters = pending.get();
+        final long size = fileMetadata.getSize();
+        final int bucket = SizeHistogram.bucketOf(size);
+        for (final StorageGroup group : StorageGroup.of(fileMetadata)) {
+            counters.computeIfAbsent(group, key -> new Counters()).add(sign, sign * size, bucket);
+        }
+    }
+
+    /**
+     * Add the counted deltas to the table.
+     */
+    @Scheduled(fixedDelayString = "${file-stats.flush-interval:PT5S}")
+    public synchronized void flush() {
+        final Map<StorageGroup, Counters> swapped = pending.getAndSet(new ConcurrentHashMap<>());
+        final Map<StorageGroup, StorageCounts> deltas = new TreeMap<>();
+        drainInto(retired, deltas);
+        drainInto(swapped, deltas);
+        retired = swapped;
+        deltas.values().removeIf(StorageCounts::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> storageStatsRepository.addAll(deltas));
+            log.debug("Storage stats flushed: groups={}", deltas.size());
+        } catch (RuntimeException e) {
+            final Map<StorageGroup, Counters> counters = pending.get();
+            deltas.forEach((group, delta) -> counters.computeIfAbsent(group, key -> new Counters()).add(delta));
+            log.warn("Storage stats flush failed, retrying with the next flush: groups={}, error={}",
+                    deltas.size(), e.getMessage());
+        }
+    }
+
+    private static void drainInto(final Map<StorageGroup, Counters> counters,
+                                  final Map<StorageGroup, StorageCounts> deltas) {
+        counters.forEach((group, counter) ->
+                deltas.computeIfAbsent(group, key -> new StorageCounts()).add(counter.drain()));
+    }
+
+    /**
+     * Striped counters of one group.
+     */
+    private static final class Counters {
+
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[SizeHistogram.BUCKETS];
+
+        Counters() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void add(final long fileCount, final long totalBytes, final int bucket) {
+            files.add(fileCount);
+            bytes.add(totalBytes);
+            histogram[bucket].add(fileCount);
+        }
+
+        void add(final StorageCounts counts) {
+            files.add(counts.files());
+            bytes.add(counts.bytes());
+            final long[] buckets = counts.histogram();
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i].add(buckets[i]);
+            }
+        }
+
+        StorageCounts drain() {
+            final long[] buckets = new long[histogram.length];
+            for (int i = 0; i < histogram.length; i++) {
+                buckets[i] = histogram[i].sumThenReset();
+            }
+            return new StorageCounts(files.sumThenReset(), bytes.sumThenReset(), buckets);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+-- V1__create_file_tables.sql
+-- File metadata and the transactional outbox of file events for manager-file
+
+-- One row per stored file, written in the same transaction as its events
+CREATE TABLE file_metadata (
+    file_id VARCHAR(36) NOT NULL,
+    file_name VARCHAR(1024) NOT NULL,
+    content_type VARCHAR(255),
+    size BIGINT NOT NULL,
+    checksum VARCHAR(128),
+    checksum_algorithm VARCHAR(16),
+    storage_location VARCHAR(1024) NOT NULL,
+    uploaded_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    metadata JSONB,
+    CONSTRAINT pk_file_metadata PRIMARY KEY (file_id)
+);
+
+-- Events waiting to be relayed to EventBridge; a row is deleted once the bus accepts it
+CREATE TABLE file_event_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id VARCHAR(36) NOT NULL,
+    detail TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_file_event_outbox PRIMARY KEY (id)
+);
+
+-- Per-file ordering check of the relay (oldest pending event of each file)
+CREATE INDEX idx_file_event_outbox_aggregate ON file_event_outbox(aggregate_id, id);
+
+-- Comments for documentation
+COMMENT ON TABLE file_metadata IS 'Files stored in S3 by manager-file';
+COMMENT ON COLUMN file_metadata.file_id IS 'Time-ordered file identifier, first segment of the S3 key';
+COMMENT ON COLUMN file_metadata.storage_location IS 'S3 object key';
+COMMENT ON COLUMN file_metadata.metadata IS 'User metadata (x-amz-meta-*)';
+COMMENT ON TABLE file_event_outbox IS 'Transactional outbox of file events, relayed in batches by OutboxRelay';
+COMMENT ON COLUMN file_event_outbox.id IS 'Insertion order: events are relayed in this order';
+COMMENT ON COLUMN file_event_outbox.aggregate_id IS 'File identifier: events of one file are relayed in order';
+COMMENT ON COLUMN file_event_outbox.detail IS 'Serialized BaseEvent, sent as the EventBridge detail';
+COMMENT ON COLUMN file_event_outbox.attempts IS 'Failed relay attempts';
+COMMENT ON COLUMN file_event_outbox.last_error IS 'Error of the last failed relay attempt';
+COMMENT ON COLUMN file_event_outbox.next_attempt_at IS 'Retry backoff after a failed attempt (NULL = now)';
@@ -0,0 +1,6 @@
+-- V2__add_file_metadata_object_etag.sql
+-- S3 ETag of each file, served as the ETag of its metadata (conditional GET without S3 calls)
+
+ALTER TABLE file_metadata ADD COLUMN object_etag VARCHAR(128);
+
+COMMENT ON COLUMN file_metadata.object_etag IS 'S3 ETag of the object, unquoted; ETag of the metadata responses';
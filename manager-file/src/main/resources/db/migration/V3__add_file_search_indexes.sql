@@ -0,0 +1,19 @@
+-- V3__add_file_search_indexes.sql
+-- Uploader column and the indexes of the file search API (GET /api/v1/files/search)
+
+ALTER TABLE file_metadata ADD COLUMN uploaded_by VARCHAR(255);
+
+-- Keyset pagination: every sort key ends with file_id, so (sort key, file_id) is unique
+CREATE INDEX idx_file_metadata_uploaded_at ON file_metadata(uploaded_at, file_id);
+CREATE INDEX idx_file_metadata_size ON file_metadata(size, file_id);
+CREATE INDEX idx_file_metadata_file_name ON file_metadata(file_name, file_id);
+
+-- Filters, ordered by the default sort (newest first); pattern ops serve "type/*" prefixes too
+CREATE INDEX idx_file_metadata_content_type
+    ON file_metadata(content_type varchar_pattern_ops, uploaded_at, file_id);
+CREATE INDEX idx_file_metadata_uploaded_by ON file_metadata(uploaded_by, uploaded_at, file_id);
+
+-- Containment (metadata @> '{"key": "value"}') on the user metadata
+CREATE INDEX idx_file_metadata_metadata ON file_metadata USING GIN (metadata jsonb_path_ops);
+
+COMMENT ON COLUMN file_metadata.uploaded_by IS 'Uploader, from the uploaded-by user metadata key';
@@ -0,0 +1,18 @@
+-- V4__create_file_storage_stats.sql
+-- Running storage usage aggregates, updated from FILE_UPLOADED/FILE_DELETED and reconciled from file_metadata
+
+CREATE TABLE file_storage_stats (
+    dimension VARCHAR(16) NOT NULL,
+    dimension_value VARCHAR(255) NOT NULL,
+    file_count BIGINT NOT NULL DEFAULT 0,
+    total_bytes BIGINT NOT NULL DEFAULT 0,
+    size_histogram BIGINT[] NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_file_storage_stats PRIMARY KEY (dimension, dimension_value)
+);
+
+-- Comments for documentation
+COMMENT ON TABLE file_storage_stats IS 'Storage usage per group, flushed periodically from in-memory striped counters';
+COMMENT ON COLUMN file_storage_stats.dimension IS 'TOTAL, CONTENT_TYPE or UPLOADER';
+COMMENT ON COLUMN file_storage_stats.dimension_value IS 'Content type or uploader; empty for TOTAL and unknown values';
+COMMENT ON COLUMN file_storage_stats.size_histogram IS 'File count per size bucket (SizeHistogram bounds)';
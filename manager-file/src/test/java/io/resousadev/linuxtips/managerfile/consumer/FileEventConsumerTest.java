@@ -0,0 +1,90 @@
+package io.resousadev.linuxtips.managerfile.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.consumer.QueueMessage;
+import io.resousadev.linuxtips.common.event.EventTypes;
+import io.resousadev.linuxtips.managerfile.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link FileEventConsumer}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("FileEventConsumer Unit Tests")
+class FileEventConsumerTest {
+
+    private static final String S3_NOTIFICATION = """
+            {"Records": [{"eventName": "ObjectCreated:Put", "s3": {"object": {"key": "file-1/report.pdf"}}}]}""";
+
+    @Mock
+    private FileService fileService;
+
+    @Mock
+    private EventArchiveWriter archiveWriter;
+
+    private FileEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new FileEventConsumer(new ObjectMapper().findAndRegisterModules(), fileService, null,
+                archiveWriter);
+    }
+
+    @Test
+    @DisplayName("Should archive a handled S3 notification under its own type")
+    void shouldArchiveHandledS3Notification() throws Exception {
+        // When
+        consumer.handle(message(S3_NOTIFICATION));
+
+        // Then
+        verify(fileService).completeUpload("file-1");
+        verify(archiveWriter).append(FileEventConsumer.S3_NOTIFICATION_TYPE, S3_NOTIFICATION);
+    }
+
+    @Test
+    @DisplayName("Should archive a handled event under its event type")
+    void shouldArchiveHandledEvent() throws Exception {
+        // Given
+        final String body = """
+                {"eventId": "event-1", "eventType": "%s", "source": "ms-users", "payload": {}}"""
+                .formatted(EventTypes.USER_CREATED);
+
+        // When
+        consumer.handle(message(body));
+
+        // Then
+        verify(archiveWriter).append(EventTypes.USER_CREATED, body);
+    }
+
+    @Test
+    @DisplayName("Should not archive a message whose handling failed")
+    void shouldNotArchiveFailedMessage() {
+        // Given
+        when(fileService.completeUpload("file-1")).thenThrow(new IllegalStateException("database down"));
+
+        // When / Then
+        assertThatThrownBy(() -> consumer.handle(message(S3_NOTIFICATION)))
+                .isInstanceOf(IllegalStateException.class);
+        verify(archiveWriter, never()).append(anyString(), anyString());
+    }
+
+    private static QueueMessage message(final String body) {
+        return new QueueMessage("message-1", "receipt-1", body, Map.of());
+    }
+}
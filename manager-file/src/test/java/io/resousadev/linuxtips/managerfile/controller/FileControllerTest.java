@@ -0,0 +1,147 @@
+package io.resousadev.linuxtips.managerfile.controller;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.managerfile.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the {@code ETag} and {@code Cache-Control} handling of {@link FileController}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("FileController Unit Tests")
+class FileControllerTest {
+
+    private static final String FILE_ID = "0190a5f0-0000-7000-8000-000000000001";
+    private static final String OBJECT_ETAG = "9b2cf535f27731c974343645a3985328";
+    private static final String CACHE_CONTROL = "no-cache, private";
+
+    @Mock
+    private FileService fileService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileController(fileService)).build();
+    }
+
+    @Test
+    @DisplayName("Should answer 304 from the index when the tag matches")
+    void shouldAnswerNotModifiedFromIndex() throws Exception {
+        // Given
+        when(fileService.getMetadataETag(FILE_ID)).thenReturn(Optional.of(OBJECT_ETAG));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/files/{fileId}", FILE_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, weak(OBJECT_ETAG)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, weak(OBJECT_ETAG)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+                .andExpect(content().string(""));
+        // Only the index lookup: no metadata read, which falls back to S3 for unindexed files
+        verify(fileService, never()).getFileMetadata(anyString());
+    }
+
+    @Test
+    @DisplayName("Should answer 200 with the current tag when the tag does not match")
+    void shouldAnswerOkWithTagOnMismatch() throws Exception {
+        // Given
+        when(fileService.getMetadataETag(FILE_ID)).thenReturn(Optional.of(OBJECT_ETAG));
+        when(fileService.getFileMetadata(FILE_ID)).thenReturn(file(FILE_ID, OBJECT_ETAG));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/files/{fileId}", FILE_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, weak("stale")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, weak(OBJECT_ETAG)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+                .andExpect(jsonPath("$.data.fileId").value(FILE_ID));
+    }
+
+    @Test
+    @DisplayName("Should not look up the index without If-None-Match")
+    void shouldSkipIndexWithoutIfNoneMatch() throws Exception {
+        // Given
+        when(fileService.getFileMetadata(FILE_ID)).thenReturn(file(FILE_ID, OBJECT_ETAG));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/files/{fileId}", FILE_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, weak(OBJECT_ETAG)));
+        verify(fileService, never()).getMetadataETag(anyString());
+    }
+
+    @Test
+    @DisplayName("Should change the list tag when a file is added or removed")
+    void shouldChangeListTagWithFiles() throws Exception {
+        // Given
+        final FileMetadataDto first = file("file-1", "etag-1");
+        final FileMetadataDto second = file("file-2", "etag-2");
+        when(fileService.listFiles()).thenReturn(List.of(first), List.of(first, second), List.of(first));
+
+        // When
+        final String initial = listETag();
+        final String added = listETag();
+        final String removed = listETag();
+
+        // Then
+        assertThat(added).isNotEqualTo(initial);
+        assertThat(removed).isEqualTo(initial);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the list tag matches")
+    void shouldAnswerNotModifiedForCurrentList() throws Exception {
+        // Given
+        when(fileService.listFiles()).thenReturn(List.of(file("file-1", "etag-1")));
+        final String etag = listETag();
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/files").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    private String listETag() throws Exception {
+        return mockMvc.perform(get("/api/v1/files"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static FileMetadataDto file(final String fileId, final String etag) {
+        return FileMetadataDto.builder()
+                .fileId(fileId)
+                .fileName("report.pdf")
+                .etag(etag)
+                .build();
+    }
+
+    private static String weak(final String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,71 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link Crc64Nvme}.
+ */
+@DisplayName("Crc64Nvme Unit Tests")
+class Crc64NvmeTest {
+
+    /** Check value of the CRC-64/NVME catalogue entry: the checksum of {@code "123456789"}. */
+    private static final long CHECK = 0xAE8B14860A799888L;
+
+    @Test
+    @DisplayName("Should compute the catalogue check value")
+    void shouldComputeCheckValue() {
+        // Given
+        final byte[] input = "123456789".getBytes(StandardCharsets.US_ASCII);
+        final Crc64Nvme crc = new Crc64Nvme();
+
+        // When
+        crc.update(input, 0, input.length);
+
+        // Then
+        assertThat(crc.getValue()).isEqualTo(CHECK);
+    }
+
+    @Test
+    @DisplayName("Should compute the same value eight bytes or one byte at a time")
+    void shouldMatchBytewiseUpdates() {
+        // Given
+        final byte[] input = new byte[1000];
+        new Random(42).nextBytes(input);
+
+        for (int length = 0; length <= 64; length++) {
+            final Crc64Nvme sliced = new Crc64Nvme();
+            final Crc64Nvme bytewise = new Crc64Nvme();
+
+            // When
+            sliced.update(input, 3, length);
+            for (int i = 3; i < 3 + length; i++) {
+                bytewise.update(input[i]);
+            }
+
+            // Then
+            assertThat(sliced.getValue()).as("length %d", length).isEqualTo(bytewise.getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Should start over after reset")
+    void shouldStartOverAfterReset() {
+        // Given
+        final byte[] input = "123456789".getBytes(StandardCharsets.US_ASCII);
+        final Crc64Nvme crc = new Crc64Nvme();
+        crc.update(input, 0, 4);
+
+        // When
+        crc.reset();
+        crc.update(input, 0, input.length);
+
+        // Then
+        assertThat(crc.getValue()).isEqualTo(CHECK);
+    }
+}
@@ -0,0 +1,177 @@
+package io.resousadev.linuxtips.managerfile.processing;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.event.EventTypes;
+import io.resousadev.linuxtips.managerfile.producer.FileEventProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for {@link FileProcessingPipeline}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("FileProcessingPipeline Unit Tests")
+class FileProcessingPipelineTest {
+
+    private static final Duration RESERVE_TIMEOUT = Duration.ofMillis(50);
+
+    private static final FileMetadataDto FILE = FileMetadataDto.builder()
+            .fileId("file-1")
+            .contentType("image/png")
+            .size(1024L)
+            .build();
+
+    @Mock
+    private FileEventProducer eventProducer;
+
+    @Mock
+    private StoredFile storedFile;
+
+    private FileProcessingPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    @DisplayName("Should publish FILE_PROCESSED with the outputs of every stage and free their slots")
+    void shouldPublishOutputs() throws Exception {
+        // Given
+        final ProcessingStage thumbnail = new ProcessingStage(processor("thumbnail", Map.of("key", "t.png")), 1);
+        final ProcessingStage checksum = new ProcessingStage(processor("checksum", Map.of("valid", "true")), 1);
+        pipeline = new FileProcessingPipeline(List.of(thumbnail, checksum), file -> storedFile, eventProducer,
+                RESERVE_TIMEOUT);
+        final ArgumentCaptor<Map<String, String>> metadata = metadataCaptor();
+
+        // When
+        pipeline.process(FILE);
+
+        // Then
+        verify(eventProducer).publishFileEvent(eq(EventTypes.FILE_PROCESSED), eq(FILE), metadata.capture());
+        assertThat(metadata.getValue())
+                .containsEntry("processors", "thumbnail,checksum")
+                .containsEntry("thumbnail.key", "t.png")
+                .containsEntry("checksum.valid", "true");
+        assertThat(thumbnail.getActive()).isZero();
+        assertThat(checksum.getActive()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should publish FILE_PROCESSING_FAILED with the error of a failed stage")
+    void shouldPublishFailure() throws Exception {
+        // Given
+        final ProcessingStage failing = new ProcessingStage(failingProcessor("text"), 1);
+        pipeline = new FileProcessingPipeline(List.of(failing), file -> storedFile, eventProducer, RESERVE_TIMEOUT);
+        final ArgumentCaptor<Map<String, String>> metadata = metadataCaptor();
+
+        // When
+        pipeline.process(FILE);
+
+        // Then
+        verify(eventProducer).publishFileEvent(eq(EventTypes.FILE_PROCESSING_FAILED), eq(FILE), metadata.capture());
+        assertThat(metadata.getValue())
+                .containsEntry("failedProcessors", "text")
+                .containsEntry("text.error", "unreadable");
+        assertThat(failing.getActive()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release every reserved slot when the file cannot be opened")
+    void shouldReleaseSlotsWhenStorageFails() {
+        // Given
+        final ProcessingStage thumbnail = new ProcessingStage(processor("thumbnail", Map.of()), 1);
+        final ProcessingStage checksum = new ProcessingStage(processor("checksum", Map.of()), 1);
+        pipeline = new FileProcessingPipeline(List.of(thumbnail, checksum), file -> {
+            throw new IllegalStateException("S3 unavailable");
+        }, eventProducer, RESERVE_TIMEOUT);
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.process(FILE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("S3 unavailable");
+        assertThat(thumbnail.getActive()).isZero();
+        assertThat(checksum.getActive()).isZero();
+        verifyNoInteractions(eventProducer);
+    }
+
+    @Test
+    @DisplayName("Should give the message back and release earlier reservations when a stage stays full")
+    void shouldRejectWhenStageStaysFull() throws Exception {
+        // Given: the second stage's only slot is taken
+        final ProcessingStage thumbnail = new ProcessingStage(processor("thumbnail", Map.of()), 1);
+        final ProcessingStage checksum = new ProcessingStage(processor("checksum", Map.of()), 1);
+        assertThat(checksum.reserve(RESERVE_TIMEOUT)).isTrue();
+        pipeline = new FileProcessingPipeline(List.of(thumbnail, checksum), file -> storedFile, eventProducer,
+                RESERVE_TIMEOUT);
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.process(FILE))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("stage=checksum");
+        assertThat(thumbnail.getActive()).isZero();
+        assertThat(checksum.getActive()).isEqualTo(1);
+        verifyNoInteractions(eventProducer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<String, String>> metadataCaptor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+
+    private static FileProcessor processor(final String name, final Map<String, String> outputs) {
+        return new FileProcessor() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean supports(final FileMetadataDto file) {
+                return true;
+            }
+
+            @Override
+            public Map<String, String> process(final StoredFile file) {
+                return outputs;
+            }
+        };
+    }
+
+    private static FileProcessor failingProcessor(final String name) {
+        return new FileProcessor() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean supports(final FileMetadataDto file) {
+                return true;
+            }
+
+            @Override
+            public Map<String, String> process(final StoredFile file) {
+                throw new IllegalStateException("unreadable");
+            }
+        };
+    }
+}
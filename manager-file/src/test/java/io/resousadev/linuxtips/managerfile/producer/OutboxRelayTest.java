@@ -0,0 +1,145 @@
+package io.resousadev.linuxtips.managerfile.producer;
+
+import io.resousadev.linuxtips.managerfile.config.OutboxProperties;
+import io.resousadev.linuxtips.managerfile.model.OutboxEvent;
+import io.resousadev.linuxtips.managerfile.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OutboxRelay}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private FileEventProducer eventProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties = new OutboxProperties();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Boolean>>getArgument(0).doInTransaction(null));
+        relay = new OutboxRelay(outboxEventRepository, eventProducer, transactionTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("Should delete the published events and back off the failed one")
+    void shouldDeletePublishedAndBackOffFailed() {
+        // Given
+        final List<OutboxEvent> batch = List.of(event(1), event(2), event(3));
+        when(outboxEventRepository.lockNextBatch(properties.getBatchSize())).thenReturn(batch);
+        when(eventProducer.publishBatch(batch)).thenReturn(Arrays.asList(null, "ThrottlingException", null));
+        final Instant before = Instant.now();
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+        final OutboxEvent failed = batch.get(1);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("ThrottlingException");
+        assertThat(failed.getNextAttemptAt()).isAfterOrEqualTo(before.plus(properties.getRetryBackoff()));
+        assertThat(batch.get(0).getAttempts()).isZero();
+        assertThat(batch.get(2).getNextAttemptAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should double the backoff of each failed attempt up to the maximum")
+    void shouldCapBackoff() {
+        // Given
+        properties.setMaxRetryBackoff(Duration.ofSeconds(3));
+        final OutboxEvent event = event(1);
+        event.setAttempts(2);
+        when(outboxEventRepository.lockNextBatch(properties.getBatchSize())).thenReturn(List.of(event));
+        when(eventProducer.publishBatch(List.of(event))).thenReturn(List.of("InternalFailure"));
+        final Instant before = Instant.now();
+
+        // When
+        relay.relay();
+
+        // Then: the third attempt would wait 4s, capped at 3s
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getNextAttemptAt())
+                .isAfterOrEqualTo(before.plusSeconds(3))
+                .isBefore(before.plusSeconds(4));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of());
+    }
+
+    @Test
+    @DisplayName("Should leave the events untouched and stop while the circuit is open")
+    void shouldStopWhileCircuitOpen() {
+        // Given: a full batch, which would otherwise be followed by the next one
+        properties.setBatchSize(2);
+        final List<OutboxEvent> batch = List.of(event(1), event(2));
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(batch);
+        when(eventProducer.publishBatch(batch)).thenReturn(null);
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxEventRepository, times(1)).lockNextBatch(anyInt());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of());
+        assertThat(batch).allSatisfy(event -> assertThat(event.getAttempts()).isZero());
+    }
+
+    @Test
+    @DisplayName("Should relay the next batch at once while the batches are full")
+    void shouldFollowFullBatches() {
+        // Given
+        properties.setBatchSize(2);
+        final List<OutboxEvent> batch = List.of(event(1), event(2));
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(batch, List.of());
+        when(eventProducer.publishBatch(batch)).thenReturn(Arrays.asList(null, null));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxEventRepository, times(2)).lockNextBatch(2);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    private static OutboxEvent event(final long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventId("event-" + id)
+                .eventType("FILE_UPLOADED")
+                .aggregateId("file-" + id)
+                .detail("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package io.resousadev.linuxtips.managerfile.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.exception.BusinessException;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchPage;
+import io.resousadev.linuxtips.managerfile.dto.FileSearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the query building and cursors of {@link FileSearchRepository}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("FileSearchRepository Unit Tests")
+class FileSearchRepositoryTest {
+
+    private static final Instant UPLOADED_AT = Instant.parse("2026-01-15T10:00:00.123456Z");
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+
+    private final ArgumentCaptor<SqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(SqlParameterSource.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FileSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileSearchRepository(jdbcTemplate, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should continue after the last row of the previous page with its cursor")
+    void shouldRoundTripCursor() {
+        // Given: one row more than the limit, so there is a next page
+        givenRows(IntStream.rangeClosed(1, 3).mapToObj(FileSearchRepositoryTest::file).toList());
+        final FileSearchPage first = repository.search(FileSearchRequest.builder().limit(2).build());
+
+        // When
+        final FileSearchPage second = repository.search(FileSearchRequest.builder()
+                .limit(2)
+                .cursor(first.getNextCursor())
+                .build());
+
+        // Then
+        assertThat(first.getFiles()).extracting(FileMetadataDto::getFileId).containsExactly("file-1", "file-2");
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getNextCursor()).isNotNull();
+
+        verify(jdbcTemplate, times(2))
+                .query(sqlCaptor.capture(), paramsCaptor.capture(), any(RowMapper.class));
+        assertThat(sqlCaptor.getAllValues().get(1))
+                .contains("AND (uploaded_at, file_id) < (:cursorValue, :cursorFileId)")
+                .endsWith("ORDER BY uploaded_at DESC, file_id DESC LIMIT :limit");
+        final MapSqlParameterSource params = (MapSqlParameterSource) paramsCaptor.getAllValues().get(1);
+        assertThat(params.getValue("cursorFileId")).isEqualTo("file-2");
+        assertThat(params.getValue("cursorValue")).isEqualTo(UPLOADED_AT.plusSeconds(2).atOffset(ZoneOffset.UTC));
+        assertThat(params.getValue("limit")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards in a content type prefix")
+    void shouldEscapeLikeWildcards() {
+        // Given
+        givenRows(List.of());
+
+        // When
+        repository.search(FileSearchRequest.builder().contentType("application/x_10%\\/*").build());
+
+        // Then
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(RowMapper.class));
+        assertThat(sqlCaptor.getValue()).contains("AND content_type LIKE :contentType");
+        assertThat(paramsCaptor.getValue().getValue("contentType")).isEqualTo("application/x\\_10\\%\\\\/%");
+    }
+
+    @Test
+    @DisplayName("Should match an exact content type without LIKE")
+    void shouldMatchExactContentType() {
+        // Given
+        givenRows(List.of());
+
+        // When
+        repository.search(FileSearchRequest.builder().contentType("image/png").build());
+
+        // Then
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(RowMapper.class));
+        assertThat(sqlCaptor.getValue()).contains("AND content_type = :contentType").doesNotContain("LIKE");
+        assertThat(paramsCaptor.getValue().getValue("contentType")).isEqualTo("image/png");
+    }
+
+    @Test
+    @DisplayName("Should refuse a cursor produced with another sort")
+    void shouldRejectCursorOfAnotherSort() throws Exception {
+        // Given
+        final String cursor = encode(new FileSearchRepository.Cursor("size", "desc", "10", "file-1"));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.search(FileSearchRequest.builder().cursor(cursor).build()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_CURSOR");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should refuse a cursor that is not one")
+    void shouldRejectMalformedCursor() throws Exception {
+        // When / Then
+        assertThatThrownBy(() -> repository.search(FileSearchRequest.builder().cursor("not a cursor!").build()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_CURSOR");
+        assertThatThrownBy(() -> repository.search(FileSearchRequest.builder()
+                .cursor(encode(new FileSearchRepository.Cursor("uploadedAt", "desc", "yesterday", "file-1")))
+                .build()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_CURSOR");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRows(final List<FileMetadataDto> rows) {
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(rows);
+    }
+
+    private static FileMetadataDto file(final int index) {
+        return FileMetadataDto.builder()
+                .fileId("file-" + index)
+                .fileName("file-" + index + ".txt")
+                .size(100L * index)
+                .uploadedAt(UPLOADED_AT.plusSeconds(index))
+                .build();
+    }
+
+    private String encode(final FileSearchRepository.Cursor cursor) throws JsonProcessingException {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+    }
+}
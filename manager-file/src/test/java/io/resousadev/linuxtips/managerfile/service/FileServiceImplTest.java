@@ -0,0 +1,154 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.exception.BusinessException;
+import io.resousadev.linuxtips.managerfile.config.DirectUploadProperties;
+import io.resousadev.linuxtips.managerfile.producer.FileEventOutbox;
+import io.resousadev.linuxtips.managerfile.repository.FileMetadataRepository;
+import io.resousadev.linuxtips.managerfile.repository.FileSearchRepository;
+import io.resousadev.linuxtips.managerfile.stats.StorageStatsRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.PutObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the completion of direct uploads and the metadata tags in {@link FileServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("FileServiceImpl Unit Tests")
+class FileServiceImplTest {
+
+    private static final String FILE_ID = "0190a5f0-0000-7000-8000-000000000001";
+    private static final String KEY = FILE_ID + "/video.mp4";
+    private static final long SIZE = 100L * 1024 * 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3Presigner s3Presigner;
+
+    @Mock
+    private S3PostPolicySigner postPolicySigner;
+
+    @Mock
+    private FileMetadataRepository fileMetadataRepository;
+
+    @Mock
+    private FileSearchRepository fileSearchRepository;
+
+    @Mock
+    private FileEventOutbox fileEventOutbox;
+
+    @Mock
+    private ObjectProvider<StorageStatsRecorder> storageStatsRecorder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private FileServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FileServiceImpl(s3Client, s3Presigner, postPolicySigner, fileMetadataRepository,
+                fileSearchRepository, fileEventOutbox, storageStatsRecorder, transactionTemplate,
+                new DirectUploadProperties(), ChecksumAlgorithm.CRC32_C);
+        ReflectionTestUtils.setField(service, "bucketName", "bucket");
+    }
+
+    @Test
+    @DisplayName("Should delete and reject an assembled multipart object larger than declared")
+    void shouldRejectObjectNotMatchingDeclaredSize() {
+        // Given: declared 100MiB, assembled one byte more
+        givenObject(SIZE + 1, Map.of(FileServiceImpl.DECLARED_SIZE_METADATA_KEY, Long.toString(SIZE)));
+        final ArgumentCaptor<DeleteObjectRequest> captor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+
+        // When / Then
+        assertThatThrownBy(() -> service.completeUpload(FILE_ID))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("UPLOAD_REJECTED");
+        verify(s3Client).deleteObject(captor.capture());
+        assertThat(captor.getValue().key()).isEqualTo(KEY);
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should record an assembled multipart object of the declared size")
+    void shouldRecordObjectMatchingDeclaredSize() {
+        // Given
+        givenObject(SIZE, Map.of(FileServiceImpl.DECLARED_SIZE_METADATA_KEY, Long.toString(SIZE)));
+
+        // When
+        final FileMetadataDto result = service.completeUpload(FILE_ID);
+
+        // Then
+        assertThat(result.getSize()).isEqualTo(SIZE);
+        assertThat(result.getStorageLocation()).isEqualTo(KEY);
+        verify(transactionTemplate).executeWithoutResult(any());
+        verify(s3Client).putObjectTagging(any(PutObjectTaggingRequest.class));
+        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should read the metadata tag from the index without S3 calls")
+    void shouldReadMetadataETagFromIndex() {
+        // Given
+        when(fileMetadataRepository.findObjectEtag(FILE_ID)).thenReturn(Optional.of("etag"));
+
+        // When
+        final Optional<String> etag = service.getMetadataETag(FILE_ID);
+
+        // Then
+        assertThat(etag).contains("etag");
+        verifyNoInteractions(s3Client);
+    }
+
+    private void givenObject(final long size, final Map<String, String> metadata) {
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(ListObjectsV2Response.builder()
+                        .contents(S3Object.builder().key(KEY).size(size).lastModified(Instant.now()).build())
+                        .build());
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder()
+                        .contentType("video/mp4")
+                        .eTag("\"etag-1\"")
+                        .metadata(metadata)
+                        .build());
+        when(s3Client.getObjectTagging(any(GetObjectTaggingRequest.class)))
+                .thenReturn(GetObjectTaggingResponse.builder().tagSet(List.of()).build());
+    }
+}
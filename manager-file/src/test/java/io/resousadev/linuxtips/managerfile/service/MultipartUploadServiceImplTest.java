@@ -0,0 +1,189 @@
+package io.resousadev.linuxtips.managerfile.service;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.exception.BusinessException;
+import io.resousadev.linuxtips.managerfile.config.DirectUploadProperties;
+import io.resousadev.linuxtips.managerfile.dto.FileUploadRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsResponse;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
+import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.paginators.ListPartsIterable;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link MultipartUploadServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("MultipartUploadServiceImpl Unit Tests")
+class MultipartUploadServiceImplTest {
+
+    private static final String FILE_ID = "0190a5f0-0000-7000-8000-000000000001";
+    private static final String KEY = FILE_ID + "/video.mp4";
+    private static final String UPLOAD_ID = "upload-1";
+    private static final long MEBIBYTE = 1024 * 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3Presigner s3Presigner;
+
+    @Mock
+    private FileService fileService;
+
+    @Mock
+    private ListPartsIterable partsIterable;
+
+    private final DirectUploadProperties directUpload = new DirectUploadProperties();
+
+    private MultipartUploadServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MultipartUploadServiceImpl(s3Client, s3Presigner, fileService, directUpload,
+                ChecksumAlgorithm.CRC32_C);
+        ReflectionTestUtils.setField(service, "bucketName", "bucket");
+    }
+
+    @Test
+    @DisplayName("Should store the declared size in the upload metadata")
+    void shouldStoreDeclaredSize() {
+        // Given
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build());
+        final ArgumentCaptor<CreateMultipartUploadRequest> captor =
+                ArgumentCaptor.forClass(CreateMultipartUploadRequest.class);
+
+        // When
+        service.initiate(FileUploadRequest.builder()
+                .fileName("video.mp4")
+                .contentType("video/mp4")
+                .size(100 * MEBIBYTE)
+                .build());
+
+        // Then
+        verify(s3Client).createMultipartUpload(captor.capture());
+        assertThat(captor.getValue().metadata())
+                .containsEntry(FileServiceImpl.DECLARED_SIZE_METADATA_KEY, Long.toString(100 * MEBIBYTE));
+        assertThat(captor.getValue().checksumAlgorithm()).isEqualTo(ChecksumAlgorithm.CRC32_C);
+    }
+
+    @Test
+    @DisplayName("Should refuse to sign a part larger than the part size")
+    void shouldRejectOversizedPart() {
+        // Given: 64MiB parts fit the largest allowed file in 10,000 parts
+        directUpload.getMultipart().setMaxSize(DataSize.ofGigabytes(5));
+        final long partSize = 64 * MEBIBYTE;
+
+        // When / Then
+        assertThatThrownBy(() -> service.generatePartUploadUrl(FILE_ID, 1, "AAAAAA==", partSize + 1))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_PART_SIZE");
+        assertThatThrownBy(() -> service.generatePartUploadUrl(FILE_ID, 1, "AAAAAA==", 0))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_PART_SIZE");
+        verifyNoInteractions(s3Client, s3Presigner);
+    }
+
+    @Test
+    @DisplayName("Should assemble the uploaded parts with their checksums, then complete the file")
+    void shouldAssemblePartsThenComplete() {
+        // Given
+        givenUpload();
+        givenParts(List.of(
+                Part.builder().partNumber(1).eTag("\"e1\"").size(64 * MEBIBYTE).checksumCRC32C("c1").build(),
+                Part.builder().partNumber(2).eTag("\"e2\"").size(MEBIBYTE).checksumCRC32C("c2").build()));
+        when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompleteMultipartUploadResponse.builder().build());
+        final FileMetadataDto completed = FileMetadataDto.builder().fileId(FILE_ID).build();
+        when(fileService.completeUpload(FILE_ID)).thenReturn(completed);
+        final ArgumentCaptor<CompleteMultipartUploadRequest> captor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+
+        // When
+        final FileMetadataDto result = service.complete(FILE_ID);
+
+        // Then
+        assertThat(result).isSameAs(completed);
+        verify(s3Client).completeMultipartUpload(captor.capture());
+        assertThat(captor.getValue().key()).isEqualTo(KEY);
+        assertThat(captor.getValue().uploadId()).isEqualTo(UPLOAD_ID);
+        assertThat(captor.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::partNumber, CompletedPart::eTag, CompletedPart::checksumCRC32C)
+                .containsExactly(tuple(1, "\"e1\"", "c1"), tuple(2, "\"e2\"", "c2"));
+    }
+
+    @Test
+    @DisplayName("Should complete an already assembled upload idempotently")
+    void shouldCompleteAssembledUploadIdempotently() {
+        // Given
+        when(s3Client.listMultipartUploads(any(ListMultipartUploadsRequest.class)))
+                .thenReturn(ListMultipartUploadsResponse.builder().uploads(List.of()).build());
+        final FileMetadataDto completed = FileMetadataDto.builder().fileId(FILE_ID).build();
+        when(fileService.completeUpload(FILE_ID)).thenReturn(completed);
+
+        // When
+        final FileMetadataDto result = service.complete(FILE_ID);
+
+        // Then
+        assertThat(result).isSameAs(completed);
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse to complete an upload without parts")
+    void shouldRejectUploadWithoutParts() {
+        // Given
+        givenUpload();
+        givenParts(List.of());
+
+        // When / Then
+        assertThatThrownBy(() -> service.complete(FILE_ID))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("NO_PARTS_UPLOADED");
+        verifyNoInteractions(fileService);
+    }
+
+    private void givenUpload() {
+        when(s3Client.listMultipartUploads(any(ListMultipartUploadsRequest.class)))
+                .thenReturn(ListMultipartUploadsResponse.builder()
+                        .uploads(MultipartUpload.builder().key(KEY).uploadId(UPLOAD_ID).build())
+                        .build());
+    }
+
+    private void givenParts(final List<Part> parts) {
+        when(s3Client.listPartsPaginator(any(ListPartsRequest.class))).thenReturn(partsIterable);
+        when(partsIterable.parts()).thenReturn(parts::iterator);
+    }
+}
@@ -0,0 +1,46 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SizeHistogram}.
+ */
+@DisplayName("SizeHistogram Unit Tests")
+class SizeHistogramTest {
+
+    @Test
+    @DisplayName("Should put a size equal to a bound in the bucket above it, like width_bucket")
+    void shouldCountBoundsInUpperBucket() {
+        // Given
+        final long[] bounds = SizeHistogram.bounds().stream().mapToLong(Long::longValue).toArray();
+
+        for (int i = 0; i < bounds.length; i++) {
+            // When / Then
+            assertThat(SizeHistogram.bucketOf(bounds[i] - 1)).as("below bound %d", i).isEqualTo(i);
+            assertThat(SizeHistogram.bucketOf(bounds[i])).as("at bound %d", i).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should cover every size from empty files to the largest")
+    void shouldCoverExtremes() {
+        // When / Then
+        assertThat(SizeHistogram.bucketOf(0)).isZero();
+        assertThat(SizeHistogram.bucketOf(64 * 1024 - 1)).isZero();
+        assertThat(SizeHistogram.bucketOf(64 * 1024)).isEqualTo(1);
+        assertThat(SizeHistogram.bucketOf(4L << 30)).isEqualTo(SizeHistogram.BUCKETS - 1);
+        assertThat(SizeHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(SizeHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    @DisplayName("Should give the reconcile query the same bounds")
+    void shouldRenderSameBoundsForSql() {
+        // When / Then
+        assertThat(SizeHistogram.bounds()).hasSize(SizeHistogram.BUCKETS - 1);
+        assertThat(SizeHistogram.sqlArray())
+                .isEqualTo("ARRAY[65536, 1048576, 16777216, 268435456, 4294967296]::bigint[]");
+    }
+}
@@ -0,0 +1,160 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import io.resousadev.linuxtips.managerfile.config.FileStatsProperties;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository.UploadedAtRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link StorageStatsReconciler}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("StorageStatsReconciler Unit Tests")
+class StorageStatsReconcilerTest {
+
+    private static final String SNAPSHOT_ID = "00000003-0000001B-1";
+    private static final StorageGroup IMAGES = new StorageGroup(StorageDimension.CONTENT_TYPE, "image/png");
+    private static final StorageGroup TEXTS = new StorageGroup(StorageDimension.CONTENT_TYPE, "text/plain");
+
+    @Mock
+    private StorageStatsRepository storageStatsRepository;
+
+    @Mock
+    private StorageStatsRecorder recorder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final FileStatsProperties properties = new FileStatsProperties();
+
+    private StorageStatsReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new StorageStatsReconciler(storageStatsRepository, recorder,
+                new TransactionTemplate(transactionManager), properties);
+    }
+
+    @Test
+    @DisplayName("Should add the difference between the recount and the table, in the exported snapshot")
+    void shouldAddCorrectionDeltas() {
+        // Given: the table misses one image and still counts a deleted text file
+        properties.setReconcileSlices(2);
+        givenLockAndRange();
+        when(storageStatsRepository.aggregate(any(), any()))
+                .thenReturn(Map.of(StorageGroup.TOTAL, counts(2, 300), IMAGES, counts(2, 300)))
+                .thenReturn(Map.of(StorageGroup.TOTAL, counts(1, 100), IMAGES, counts(1, 100)));
+        when(storageStatsRepository.findAll()).thenReturn(Map.of(
+                StorageGroup.TOTAL, counts(3, 350),
+                IMAGES, counts(2, 300),
+                TEXTS, counts(1, 50)));
+        final ArgumentCaptor<Map<StorageGroup, StorageCounts>> corrections = correctionsCaptor();
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(recorder).flush();
+        verify(storageStatsRepository, times(2)).importSnapshot(SNAPSHOT_ID);
+        verify(storageStatsRepository).addAll(corrections.capture());
+        assertThat(corrections.getValue()).containsOnlyKeys(StorageGroup.TOTAL, IMAGES, TEXTS);
+        assertThat(corrections.getValue().get(StorageGroup.TOTAL)).isEqualTo(counts(0, 50));
+        assertThat(corrections.getValue().get(IMAGES)).isEqualTo(counts(1, 100));
+        assertThat(corrections.getValue().get(TEXTS)).isEqualTo(counts(-1, -50));
+        verify(transactionManager, times(3)).getTransaction(argThat(definition ->
+                definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+    }
+
+    @Test
+    @DisplayName("Should change nothing when the table matches the recount")
+    void shouldAddNothingWithoutDrift() {
+        // Given
+        properties.setReconcileSlices(1);
+        givenLockAndRange();
+        when(storageStatsRepository.aggregate(any(), any()))
+                .thenReturn(Map.of(StorageGroup.TOTAL, counts(1, 100), IMAGES, counts(1, 100)));
+        when(storageStatsRepository.findAll())
+                .thenReturn(Map.of(StorageGroup.TOTAL, counts(1, 100), IMAGES, counts(1, 100)));
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(storageStatsRepository, never()).addAll(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another instance holds the lock")
+    void shouldSkipWithoutLock() {
+        // Given
+        when(storageStatsRepository.tryLockReconcile()).thenReturn(false);
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(storageStatsRepository, never()).findUploadedAtRange();
+        verify(storageStatsRepository, never()).addAll(any());
+    }
+
+    @Test
+    @DisplayName("Should give up the run when a flush changes a corrected row")
+    void shouldGiveUpOnSerializationFailure() {
+        // Given
+        properties.setReconcileSlices(1);
+        givenLockAndRange();
+        when(storageStatsRepository.aggregate(any(), any())).thenReturn(Map.of(StorageGroup.TOTAL, counts(1, 100)));
+        when(storageStatsRepository.findAll()).thenReturn(Map.of());
+        doThrow(new CannotAcquireLockException("could not serialize access due to concurrent update"))
+                .when(storageStatsRepository).addAll(any());
+
+        // When / Then
+        assertThatCode(reconciler::reconcile).doesNotThrowAnyException();
+        verify(transactionManager).rollback(any());
+    }
+
+    private void givenLockAndRange() {
+        when(storageStatsRepository.tryLockReconcile()).thenReturn(true);
+        when(storageStatsRepository.findUploadedAtRange()).thenReturn(Optional.of(new UploadedAtRange(
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-31T00:00:00Z"))));
+        when(storageStatsRepository.exportSnapshot()).thenReturn(SNAPSHOT_ID);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<StorageGroup, StorageCounts>> correctionsCaptor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+
+    /** Counts of files all in the smallest size bucket. */
+    private static StorageCounts counts(final long files, final long bytes) {
+        final StorageCounts counts = new StorageCounts();
+        counts.add(files, bytes, 0);
+        return counts;
+    }
+}
@@ -0,0 +1,135 @@
+package io.resousadev.linuxtips.managerfile.stats;
+
+import io.resousadev.linuxtips.common.dto.FileMetadataDto;
+import io.resousadev.linuxtips.common.event.EventTypes;
+import io.resousadev.linuxtips.managerfile.repository.StorageStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link StorageStatsRecorder}.
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("jvm-only")
+@DisplayName("StorageStatsRecorder Unit Tests")
+class StorageStatsRecorderTest {
+
+    @Mock
+    private StorageStatsRepository storageStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /** Copies of the deltas of each addAll call. */
+    private final List<Map<StorageGroup, StorageCounts>> flushed = new ArrayList<>();
+
+    private StorageStatsRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new StorageStatsRecorder(storageStatsRepository, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Should add the counted uploads and deletions of each group in one transaction")
+    void shouldFlushDeltasInTransaction() {
+        // Given
+        givenFlushes(false);
+        recorder.recordAfterCommit(EventTypes.FILE_UPLOADED, file("image/png", 1000));
+        recorder.recordAfterCommit(EventTypes.FILE_UPLOADED, file("image/png", 2000));
+        recorder.recordAfterCommit(EventTypes.FILE_DELETED, file("text/plain", 500));
+        recorder.recordAfterCommit(EventTypes.FILE_PROCESSED, file("text/plain", 500));
+
+        // When
+        recorder.flush();
+
+        // Then
+        assertThat(flushed).hasSize(1);
+        final Map<StorageGroup, StorageCounts> deltas = flushed.get(0);
+        assertThat(deltas.get(StorageGroup.TOTAL)).isEqualTo(counts(1, 2500));
+        assertThat(deltas.get(new StorageGroup(StorageDimension.CONTENT_TYPE, "image/png")))
+                .isEqualTo(counts(2, 3000));
+        assertThat(deltas.get(new StorageGroup(StorageDimension.CONTENT_TYPE, "text/plain")))
+                .isEqualTo(counts(-1, -500));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the deltas of a failed flush, once, for the next flush")
+    void shouldRetryFailedDeltasOnce() {
+        // Given: the first upsert fails and its transaction rolls back
+        givenFlushes(true);
+        recorder.recordAfterCommit(EventTypes.FILE_UPLOADED, file("image/png", 1000));
+        recorder.flush();
+        recorder.recordAfterCommit(EventTypes.FILE_UPLOADED, file("image/png", 3000));
+
+        // When
+        recorder.flush();
+        recorder.flush();
+
+        // Then: the second flush adds both uploads, and nothing is left for the third
+        verify(transactionManager).rollback(any());
+        verify(storageStatsRepository, times(2)).addAll(any());
+        assertThat(flushed.get(1).get(StorageGroup.TOTAL)).isEqualTo(counts(2, 4000));
+    }
+
+    @Test
+    @DisplayName("Should not touch the database without deltas")
+    void shouldSkipEmptyFlush() {
+        // Given: an upload cancelled by a deletion
+        recorder.recordAfterCommit(EventTypes.FILE_UPLOADED, file("image/png", 1000));
+        recorder.recordAfterCommit(EventTypes.FILE_DELETED, file("image/png", 1000));
+
+        // When
+        recorder.flush();
+
+        // Then
+        verify(storageStatsRepository, never()).addAll(any());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private void givenFlushes(final boolean failFirst) {
+        doAnswer(invocation -> {
+            flushed.add(new TreeMap<>(invocation.<Map<StorageGroup, StorageCounts>>getArgument(0)));
+            if (failFirst && flushed.size() == 1) {
+                throw new DataAccessResourceFailureException("connection reset");
+            }
+            return null;
+        }).when(storageStatsRepository).addAll(any());
+    }
+
+    private static FileMetadataDto file(final String contentType, final long size) {
+        return FileMetadataDto.builder()
+                .contentType(contentType)
+                .uploadedBy("alice")
+                .size(size)
+                .build();
+    }
+
+    /** Counts of files all in the smallest size bucket. */
+    private static StorageCounts counts(final long files, final long bytes) {
+        final StorageCounts counts = new StorageCounts();
+        counts.add(files, bytes, 0);
+        return counts;
+    }
+}
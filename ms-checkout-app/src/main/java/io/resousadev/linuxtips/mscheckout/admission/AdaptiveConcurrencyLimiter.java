@@ -0,0 +1,188 @@
+package io.resousadev.linuxtips.mscheckout.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de requisições simultâneas que se ajusta à latência observada (algoritmo de gradiente).
+ *
+ * <p>A cada janela compara a latência média da janela ({@code shortRtt}) com uma média móvel de
+ * longo prazo ({@code longRtt}, a linha de base sem fila):</p>
+ * <ul>
+ *   <li>{@code gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1)}: latência acima da
+ *       tolerância reduz o limite proporcionalmente</li>
+ *   <li>{@code novoLimite = limite * gradient + sqrt(limite)}: com latência estável o limite
+ *       cresce devagar para sondar capacidade extra</li>
+ *   <li>falhas (5xx, exceções, throttling do downstream) reduzem o limite por {@code backoffRatio}</li>
+ *   <li>janelas em que o uso ficou abaixo da metade do limite não o aumentam</li>
+ * </ul>
+ *
+ * <p>Admissão e liberação são atômicas sem locks; o recálculo roda uma vez por janela, na thread
+ * que a encerrar.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_DRIFT_RATIO = 2.0;
+    private static final double LONG_RTT_DECAY = 0.95;
+    private static final int LONG_RTT_WINDOWS = 60;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    private volatile long windowStartNanos;
+    private volatile double longRttNanos;
+    private double estimatedLimit;
+
+    /**
+     * Cria o limitador.
+     *
+     * @param settings parâmetros do algoritmo
+     * @param nanoClock fonte de tempo monotônica em nanossegundos
+     */
+    public AdaptiveConcurrencyLimiter(final Settings settings, final LongSupplier nanoClock) {
+        if (settings.minLimit() < 1 || settings.maxLimit() < settings.minLimit()) {
+            throw new IllegalArgumentException("Invalid concurrency limits: min=" + settings.minLimit()
+                + ", max=" + settings.maxLimit());
+        }
+        this.minLimit = settings.minLimit();
+        this.maxLimit = settings.maxLimit();
+        this.windowNanos = settings.window().toNanos();
+        this.minWindowSamples = settings.minWindowSamples();
+        this.tolerance = settings.tolerance();
+        this.smoothing = settings.smoothing();
+        this.backoffRatio = settings.backoffRatio();
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.clamp(settings.initialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+        this.windowStartNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Tenta admitir uma requisição; quando admitida, {@link #release(long, boolean)} deve ser
+     * chamado ao final.
+     *
+     * @return {@code false} se o limite de requisições simultâneas foi atingido
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera uma requisição admitida e registra sua latência.
+     *
+     * @param rttNanos duração da requisição
+     * @param dropped se a requisição falhou por sobrecarga/erro do downstream
+     */
+    public void release(final long rttNanos, final boolean dropped) {
+        inFlight.decrementAndGet();
+        if (dropped) {
+            windowDropped.set(true);
+        } else {
+            windowRttNanos.add(rttNanos);
+            windowSamples.increment();
+        }
+
+        final long now = nanoClock.getAsLong();
+        if (now - windowStartNanos >= windowNanos && updateLock.tryLock()) {
+            try {
+                if (now - windowStartNanos >= windowNanos) {
+                    windowStartNanos = now;
+                    updateLimit();
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void updateLimit() {
+        final boolean dropped = windowDropped.getAndSet(false);
+        final int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        final long samples = windowSamples.sumThenReset();
+        final long rttSum = windowRttNanos.sumThenReset();
+
+        if (dropped) {
+            estimatedLimit = estimatedLimit * backoffRatio;
+        } else if (samples >= minWindowSamples) {
+            final double shortRtt = (double) rttSum / samples;
+            longRttNanos = longRttNanos == 0
+                ? shortRtt
+                : longRttNanos + (shortRtt - longRttNanos) * 2 / (LONG_RTT_WINDOWS + 1);
+            if (longRttNanos / shortRtt > LONG_RTT_DRIFT_RATIO) {
+                // A latência caiu de vez (ex.: downstream recuperado): aproxima a linha de base
+                longRttNanos = longRttNanos * LONG_RTT_DECAY;
+            }
+            if (maxInFlight < estimatedLimit / 2) {
+                // Tráfego abaixo do limite não diz nada sobre a capacidade
+                return;
+            }
+            final double gradient = Math.clamp(tolerance * longRttNanos / shortRtt, MIN_GRADIENT, 1.0);
+            final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        } else {
+            return;
+        }
+        estimatedLimit = Math.clamp(estimatedLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Linha de base de latência (média de longo prazo), em nanossegundos; {@code 0} antes da
+     * primeira janela com amostras suficientes.
+     */
+    public double getBaselineRttNanos() {
+        return longRttNanos;
+    }
+
+    /**
+     * Parâmetros do {@link AdaptiveConcurrencyLimiter}.
+     *
+     * @param initialLimit limite inicial
+     * @param minLimit limite mínimo
+     * @param maxLimit limite máximo
+     * @param window duração de cada janela de medição
+     * @param minWindowSamples amostras mínimas para uma janela ajustar o limite
+     * @param tolerance quanto a latência pode subir sobre a linha de base antes de reduzir o limite
+     * @param smoothing peso do novo valor a cada ajuste (0 a 1)
+     * @param backoffRatio fator aplicado ao limite em janelas com falhas
+     */
+    public record Settings(int initialLimit, int minLimit, int maxLimit, Duration window, int minWindowSamples,
+                           double tolerance, double smoothing, double backoffRatio) {
+    }
+}
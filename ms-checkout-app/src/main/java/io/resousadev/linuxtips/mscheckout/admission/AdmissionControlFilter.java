@@ -0,0 +1,198 @@
+package io.resousadev.linuxtips.mscheckout.admission;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controle de admissão: rejeita rápido o excesso de requisições em vez de deixar todas esperarem
+ * pelo downstream (EventBridge).
+ *
+ * <p>Cada requisição passa, em ordem, por:</p>
+ * <ol>
+ *   <li>token bucket do chamador (usuário autenticado, ou IP) → {@code 429 Too Many Requests}</li>
+ *   <li>token bucket global → {@code 429 Too Many Requests}</li>
+ *   <li>limite adaptativo de concorrência ({@link AdaptiveConcurrencyLimiter}) →
+ *       {@code 503 Service Unavailable}</li>
+ * </ol>
+ *
+ * <p>Uma requisição rejeitada por uma etapa posterior devolve os tokens já consumidos: o 429 global ou o
+ * 503 não gastam a cota do chamador, nem o 503 a taxa global.</p>
+ *
+ * <p>Rejeições trazem o header {@code Retry-After} (segundos) e não chegam ao controller. Deve ser
+ * registrado depois do Spring Security para identificar o chamador.</p>
+ *
+ * <p>Métricas: {@code checkout.admission.admitted}, {@code checkout.admission.rejected} (por
+ * {@code reason}), {@code checkout.admission.concurrency.limit}, {@code .inflight},
+ * {@code .rtt} e {@code checkout.admission.callers}.</p>
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String REASON_CALLER_RATE = "caller_rate";
+    static final String REASON_GLOBAL_RATE = "global_rate";
+    static final String REASON_CONCURRENCY = "concurrency";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final TokenBucket globalBucket;
+    private final Supplier<TokenBucket> callerBucketFactory;
+    private final int maxCallers;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final long concurrencyRetryAfterSeconds;
+    private final Map<String, TokenBucket> callerBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+
+    private final Counter admitted;
+    private final Counter rejectedCallerRate;
+    private final Counter rejectedGlobalRate;
+    private final Counter rejectedConcurrency;
+
+    /**
+     * Cria o filtro e registra suas métricas.
+     *
+     * @param globalBucket limite de taxa de todas as requisições
+     * @param callerBucketFactory cria o limite de taxa de um novo chamador
+     * @param maxCallers máximo de chamadores com bucket próprio; acima disso os novos dividem um bucket
+     * @param concurrencyLimiter limite adaptativo de concorrência
+     * @param concurrencyRetryAfterSeconds {@code Retry-After} das respostas 503
+     * @param meterRegistry registro de métricas
+     */
+    public AdmissionControlFilter(final TokenBucket globalBucket, final Supplier<TokenBucket> callerBucketFactory,
+                                  final int maxCallers, final AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  final long concurrencyRetryAfterSeconds, final MeterRegistry meterRegistry) {
+        this.globalBucket = globalBucket;
+        this.callerBucketFactory = callerBucketFactory;
+        this.maxCallers = maxCallers;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.concurrencyRetryAfterSeconds = Math.max(1, concurrencyRetryAfterSeconds);
+        this.overflowBucket = callerBucketFactory.get();
+
+        this.admitted = Counter.builder("checkout.admission.admitted")
+            .description("Requests admitted by admission control")
+            .register(meterRegistry);
+        this.rejectedCallerRate = rejectedCounter(meterRegistry, REASON_CALLER_RATE);
+        this.rejectedGlobalRate = rejectedCounter(meterRegistry, REASON_GLOBAL_RATE);
+        this.rejectedConcurrency = rejectedCounter(meterRegistry, REASON_CONCURRENCY);
+
+        Gauge.builder("checkout.admission.concurrency.limit", concurrencyLimiter,
+                AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current adaptive concurrency limit")
+            .register(meterRegistry);
+        Gauge.builder("checkout.admission.concurrency.inflight", concurrencyLimiter,
+                AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Admitted requests currently in flight")
+            .register(meterRegistry);
+        Gauge.builder("checkout.admission.concurrency.rtt", concurrencyLimiter,
+                limiter -> limiter.getBaselineRttNanos() / NANOS_PER_MILLI)
+            .baseUnit("milliseconds")
+            .description("Baseline (long-term) request latency used by the concurrency limit")
+            .register(meterRegistry);
+        Gauge.builder("checkout.admission.callers", callerBuckets, Map::size)
+            .description("Callers with an active rate-limit bucket")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String caller = callerOf(request);
+
+        final TokenBucket callerBucket = callerBucket(caller);
+        final long callerWaitNanos = callerBucket.tryAcquire();
+        if (callerWaitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(callerWaitNanos));
+            rejectedCallerRate.increment();
+            log.debug("Request rejected by caller rate limit: caller={}, uri={}", caller, request.getRequestURI());
+            return;
+        }
+
+        final long globalWaitNanos = globalBucket.tryAcquire();
+        if (globalWaitNanos > 0) {
+            callerBucket.release();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(globalWaitNanos));
+            rejectedGlobalRate.increment();
+            log.debug("Request rejected by global rate limit: caller={}, uri={}", caller, request.getRequestURI());
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            globalBucket.release();
+            callerBucket.release();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, concurrencyRetryAfterSeconds);
+            rejectedConcurrency.increment();
+            log.debug("Request rejected by concurrency limit: caller={}, limit={}",
+                caller, concurrencyLimiter.getLimit());
+            return;
+        }
+
+        admitted.increment();
+        final long startNanos = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - startNanos, dropped);
+        }
+    }
+
+    /**
+     * Descarta os buckets de chamadores cheios (sem uso recente); recriá-los não muda o comportamento.
+     */
+    @Scheduled(fixedDelayString = "${checkout.admission.caller-eviction-interval:PT1M}")
+    public void evictIdleCallers() {
+        callerBuckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private TokenBucket callerBucket(final String caller) {
+        final TokenBucket bucket = callerBuckets.get(caller);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (callerBuckets.size() >= maxCallers) {
+            return overflowBucket;
+        }
+        return callerBuckets.computeIfAbsent(caller, ignored -> callerBucketFactory.get());
+    }
+
+    private static String callerOf(final HttpServletRequest request) {
+        final Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(final HttpServletResponse response, final HttpStatus status,
+                               final long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    private static long toRetryAfterSeconds(final long waitNanos) {
+        return Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+
+    private static Counter rejectedCounter(final MeterRegistry meterRegistry, final String reason) {
+        return Counter.builder("checkout.admission.rejected")
+            .tag("reason", reason)
+            .description("Requests rejected by admission control")
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package io.resousadev.linuxtips.mscheckout.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sem locks, implementado como GCRA (<i>generic cell rate algorithm</i>).
+ *
+ * <p>Em vez de um contador de tokens reabastecido periodicamente, guarda apenas o instante teórico
+ * de chegada ({@code TAT}) da próxima requisição: cada aquisição o avança em {@code 1/rate} e é
+ * recusada quando ele ultrapassa {@code agora + burst/rate}. O estado cabe em um único
+ * {@link AtomicLong} atualizado por CAS, então não há reabastecimento em background nem contenção
+ * de monitor (virtual threads não ficam presas ao carrier).</p>
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * Cria um bucket cheio.
+     *
+     * @param permitsPerSecond taxa sustentada
+     * @param burst requisições aceitas de uma vez com o bucket cheio
+     */
+    public TokenBucket(final double permitsPerSecond, final int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * Cria um bucket cheio com relógio explícito (testes).
+     *
+     * @param permitsPerSecond taxa sustentada
+     * @param burst requisições aceitas de uma vez com o bucket cheio
+     * @param nanoClock fonte de tempo monotônica em nanossegundos
+     */
+    public TokenBucket(final double permitsPerSecond, final int burst, final LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException(
+                "permitsPerSecond must be > 0 and burst >= 1: " + permitsPerSecond + ", " + burst);
+        }
+        this.emissionIntervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstWindowNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrivalNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @return {@code 0} se a requisição foi admitida; caso contrário, quantos nanossegundos esperar
+     *     até haver um token
+     */
+    public long tryAcquire() {
+        final long now = nanoClock.getAsLong();
+        while (true) {
+            final long current = theoreticalArrivalNanos.get();
+            final long next = Math.max(current, now) + emissionIntervalNanos;
+            final long waitNanos = next - now - burstWindowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devolve um token consumido por {@link #tryAcquire()} de uma requisição que acabou não sendo
+     * admitida; o bucket nunca fica mais cheio que o burst.
+     */
+    public void release() {
+        final long now = nanoClock.getAsLong();
+        theoreticalArrivalNanos.getAndUpdate(current -> Math.max(current - emissionIntervalNanos, now));
+    }
+
+    /**
+     * Indica se o bucket está cheio, isto é, sem uso recente; um bucket cheio pode ser descartado
+     * e recriado sem mudar o comportamento.
+     */
+    public boolean isFull() {
+        return theoreticalArrivalNanos.get() - nanoClock.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,205 @@
+package io.resousadev.linuxtips.mscheckout.archive;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.resousadev.linuxtips.common.archive.ArchivedEvent;
+import io.resousadev.linuxtips.common.archive.EventArchiveReplayer;
+import io.resousadev.linuxtips.common.event.EventHandlerRegistry;
+import io.resousadev.linuxtips.common.id.TimeOrderedIds;
+import io.resousadev.linuxtips.common.tracing.MessageTraceContext;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+import io.resousadev.linuxtips.mscheckout.dto.ArchiveReplayStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dispara e acompanha replays do arquivo de eventos.
+ *
+ * <p>Os eventos voltam pelo mesmo {@link EventHandlerRegistry} do consumidor SQS, com o correlation
+ * ID e o traceparent originais restaurados no MDC. Apenas um replay roda por vez (ele já satura o
+ * disco e os handlers); o replay roda em background e o status fica disponível para consulta até
+ * ser descartado pelos mais recentes.</p>
+ */
+@Slf4j
+public class ArchiveReplayService {
+
+    private static final int MAX_TRACKED_REPLAYS = 20;
+
+    private final EventArchiveReplayer replayer;
+    private final EventHandlerRegistry registry;
+    private final int defaultParallelism;
+    private final int maxParallelism;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Replay> replays = new LinkedHashMap<>();
+
+    private Replay running;
+
+    /**
+     * Cria o serviço.
+     *
+     * @param replayer motor de replay sobre o store configurado
+     * @param registry handlers dos eventos
+     * @param defaultParallelism segmentos lidos em paralelo quando o pedido não informa
+     * @param maxParallelism limite do paralelismo pedido
+     */
+    public ArchiveReplayService(final EventArchiveReplayer replayer, final EventHandlerRegistry registry,
+                                final int defaultParallelism, final int maxParallelism) {
+        this.replayer = replayer;
+        this.registry = registry;
+        this.defaultParallelism = defaultParallelism;
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * Inicia um replay em background.
+     *
+     * @param from início do intervalo (inclusivo)
+     * @param to fim do intervalo (exclusivo)
+     * @param eventTypes tipos a reprocessar; vazio para todos
+     * @param parallelism segmentos em paralelo; {@code null} usa o padrão
+     * @return status inicial, ou vazio se outro replay está em andamento
+     */
+    public Optional<ArchiveReplayStatusDTO> start(final Instant from, final Instant to, final Set<String> eventTypes,
+                                                  final Integer parallelism) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        final int effectiveParallelism = Math.clamp(parallelism != null ? parallelism : defaultParallelism,
+            1, maxParallelism);
+        final Replay replay = new Replay(TimeOrderedIds.newId(), from, to, Set.copyOf(eventTypes),
+            effectiveParallelism, Instant.now());
+        lock.lock();
+        try {
+            if (running != null) {
+                return Optional.empty();
+            }
+            running = replay;
+            replays.put(replay.id, replay);
+            if (replays.size() > MAX_TRACKED_REPLAYS) {
+                replays.remove(replays.keySet().iterator().next());
+            }
+        } finally {
+            lock.unlock();
+        }
+        Thread.ofPlatform().name("archive-replay-" + replay.id).daemon().start(() -> run(replay));
+        return Optional.of(replay.toStatus());
+    }
+
+    /**
+     * Status de um replay recente.
+     *
+     * @param id id do replay
+     * @return status, ou vazio se desconhecido
+     */
+    public Optional<ArchiveReplayStatusDTO> get(final String id) {
+        return find(id).map(Replay::toStatus);
+    }
+
+    /**
+     * Status dos replays recentes, do mais novo para o mais antigo.
+     *
+     * @return status
+     */
+    public List<ArchiveReplayStatusDTO> list() {
+        final List<Replay> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(replays.values());
+        } finally {
+            lock.unlock();
+        }
+        Collections.reverse(snapshot);
+        return snapshot.stream().map(Replay::toStatus).toList();
+    }
+
+    /**
+     * Pede o cancelamento de um replay; os workers param após o evento atual.
+     *
+     * @param id id do replay
+     * @return se o replay existe
+     */
+    public boolean cancel(final String id) {
+        final Optional<Replay> replay = find(id);
+        replay.ifPresent(r -> r.progress.cancel());
+        return replay.isPresent();
+    }
+
+    private Optional<Replay> find(final String id) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(replays.get(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(final Replay replay) {
+        try {
+            replayer.replay(replay.from.toEpochMilli(), replay.to.toEpochMilli(), replay.eventTypes,
+                replay.parallelism, this::dispatch, replay.progress);
+        } catch (RuntimeException e) {
+            replay.error = e.getMessage();
+            log.error("Archive replay failed: replayId={}, error={}", replay.id, e.getMessage(), e);
+        } finally {
+            lock.lock();
+            try {
+                replay.finishedAt = Instant.now();
+                running = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void dispatch(final ArchivedEvent event) throws Exception {
+        try (TraceContext.Scope ignored = MessageTraceContext.restoreFrom(event.body())) {
+            registry.dispatch(event.eventType(), event.body());
+        }
+    }
+
+    private static final class Replay {
+
+        private final String id;
+        private final Instant from;
+        private final Instant to;
+        private final Set<String> eventTypes;
+        private final int parallelism;
+        private final Instant startedAt;
+        private final EventArchiveReplayer.ReplayProgress progress = new EventArchiveReplayer.ReplayProgress();
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Replay(final String id, final Instant from, final Instant to, final Set<String> eventTypes,
+                       final int parallelism, final Instant startedAt) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+            this.eventTypes = eventTypes;
+            this.parallelism = parallelism;
+            this.startedAt = startedAt;
+        }
+
+        private ArchiveReplayStatusDTO toStatus() {
+            final Instant finished = finishedAt;
+            final String state;
+            if (finished == null) {
+                state = progress.isCancelled() ? "CANCELLING" : "RUNNING";
+            } else if (error != null) {
+                state = "FAILED";
+            } else {
+                state = progress.isCancelled() ? "CANCELLED" : "COMPLETED";
+            }
+            return new ArchiveReplayStatusDTO(id, state, from, to, eventTypes, parallelism, startedAt, finished,
+                progress.getSegments(), progress.getSegmentsDone(), progress.getFailedSegments(),
+                progress.getEvents(), progress.getFailures(), progress.getBlocksRead(),
+                progress.getBlocksSkipped(), error);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.resousadev.linuxtips.mscheckout.admission.AdaptiveConcurrencyLimiter;
+import io.resousadev.linuxtips.mscheckout.admission.AdmissionControlFilter;
+import io.resousadev.linuxtips.mscheckout.admission.TokenBucket;
+
+/**
+ * Registra o controle de admissão (rate limit + limite adaptativo de concorrência) nos endpoints
+ * de {@code checkout.admission.url-patterns}, depois do Spring Security e do {@link LoggingFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "checkout.admission", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    private static final int ADMISSION_FILTER_ORDER = 2;
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(final AdmissionControlProperties properties,
+                                                         final MeterRegistry meterRegistry) {
+        final AdmissionControlProperties.Rate global = properties.getGlobal();
+        final AdmissionControlProperties.Rate perCaller = properties.getPerCaller();
+        final AdmissionControlProperties.Concurrency concurrency = properties.getConcurrency();
+
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new AdaptiveConcurrencyLimiter.Settings(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+                concurrency.getMaxLimit(), concurrency.getWindow(), concurrency.getMinWindowSamples(),
+                concurrency.getTolerance(), concurrency.getSmoothing(), concurrency.getBackoffRatio()),
+            System::nanoTime);
+
+        return new AdmissionControlFilter(
+            new TokenBucket(global.getRate(), global.getBurst()),
+            () -> new TokenBucket(perCaller.getRate(), perCaller.getBurst()),
+            properties.getMaxCallers(),
+            limiter,
+            concurrency.getRetryAfter().toSeconds(),
+            meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            final AdmissionControlFilter admissionControlFilter, final AdmissionControlProperties properties) {
+        final FilterRegistrationBean<AdmissionControlFilter> registration =
+            new FilterRegistrationBean<>(admissionControlFilter);
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        // Depois do Spring Security (chamador = usuário autenticado) e do LoggingFilter (@Order(1)),
+        // para que as rejeições também tenham correlation ID
+        registration.setOrder(ADMISSION_FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,89 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configuração do controle de admissão ({@code checkout.admission.*}).
+ *
+ * @see io.resousadev.linuxtips.mscheckout.admission.AdmissionControlFilter
+ */
+@Data
+@ConfigurationProperties(prefix = "checkout.admission")
+public class AdmissionControlProperties {
+
+    /** Liga o controle de admissão. */
+    private boolean enabled = true;
+
+    /** Padrões de URL (servlet) protegidos. */
+    private List<String> urlPatterns = List.of("/v1/mscheckout/orders");
+
+    /** Limite de taxa somando todos os chamadores; abaixo da cota de PutEvents da conta. */
+    private Rate global = new Rate(500, 1000);
+
+    /** Limite de taxa por chamador (usuário autenticado, ou IP). */
+    private Rate perCaller = new Rate(50, 100);
+
+    /** Máximo de chamadores com bucket próprio; acima disso os novos dividem um único bucket. */
+    private int maxCallers = 10_000;
+
+    /** Intervalo de descarte dos buckets de chamadores sem uso recente. */
+    private Duration callerEvictionInterval = Duration.ofMinutes(1);
+
+    /** Limite adaptativo de requisições simultâneas. */
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * Token bucket: taxa sustentada e rajada máxima.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rate {
+
+        /** Requisições por segundo. */
+        private double rate;
+
+        /** Requisições aceitas de uma vez com o bucket cheio. */
+        private int burst;
+    }
+
+    /**
+     * Limite adaptativo de concorrência.
+     *
+     * @see io.resousadev.linuxtips.mscheckout.admission.AdaptiveConcurrencyLimiter
+     */
+    @Data
+    public static class Concurrency {
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        /** Janela de medição da latência. */
+        private Duration window = Duration.ofSeconds(1);
+
+        /** Amostras mínimas para uma janela ajustar o limite. */
+        private int minWindowSamples = 10;
+
+        /** Aumento de latência tolerado sobre a linha de base antes de reduzir o limite. */
+        private double tolerance = 1.5;
+
+        /** Peso de cada novo valor calculado (0 a 1). */
+        private double smoothing = 0.2;
+
+        /** Fator aplicado ao limite em janelas com falhas do downstream. */
+        private double backoffRatio = 0.9;
+
+        /** {@code Retry-After} das respostas 503. */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
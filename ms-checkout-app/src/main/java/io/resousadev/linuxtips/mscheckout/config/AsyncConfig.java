@@ -0,0 +1,49 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import io.resousadev.linuxtips.common.concurrent.ContextSnapshot;
+import io.resousadev.linuxtips.common.concurrent.ThreadContextPropagator;
+import io.resousadev.linuxtips.common.concurrent.VirtualThreadPinningMonitor;
+import io.resousadev.linuxtips.mscheckout.security.SecurityContextPropagator;
+
+/**
+ * Execução assíncrona e propagação de contexto entre threads.
+ *
+ * <p>Com {@code spring.threads.virtual.enabled=true} o Spring Boot passa a usar virtual threads no
+ * Tomcat, no executor de {@code @Async} e no scheduler dos consumidores; chamadas bloqueantes de
+ * JDBC e AWS SDK deixam de prender threads de plataforma.</p>
+ *
+ * <ul>
+ *   <li>O {@link TaskDecorator} é aplicado pelo Spring Boot ao executor de {@code @Async} e copia o MDC
+ *       (correlation ID, traceparent) e o {@code SecurityContext} para a thread que executa a tarefa.</li>
+ *   <li>Com virtual threads ativas, o {@link VirtualThreadPinningMonitor} registra em WARN toda
+ *       virtual thread que bloqueia presa ao carrier (ex.: I/O dentro de {@code synchronized}).</li>
+ * </ul>
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        List<ThreadContextPropagator> propagators = List.of(new SecurityContextPropagator());
+        return task -> ContextSnapshot.capture(propagators).wrap(task);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinning-threshold:20ms}") final Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
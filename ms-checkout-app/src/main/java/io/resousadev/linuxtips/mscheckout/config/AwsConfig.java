@@ -1,30 +1,70 @@
 package io.resousadev.linuxtips.mscheckout.config;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.resousadev.linuxtips.common.aws.AwsClientFactory;
+import io.resousadev.linuxtips.common.aws.HttpPoolMetrics;
+import io.resousadev.linuxtips.common.resilience.EventSpoolConfig;
+import io.resousadev.linuxtips.common.resilience.EventSpoolProperties;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
-import software.amazon.awssdk.services.eventbridge.EventBridgeClientBuilder;
+import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.SqsClientBuilder;
 
+/**
+ * Clientes AWS SDK (EventBridge, SQS e S3) sobre um cliente HTTP Apache compartilhado.
+ *
+ * <p>Os três clientes usam o mesmo pool de conexões ({@link AwsClientFactory}), dimensionado pela
+ * concorrência do consumidor SQS e com timeouts de conexão, leitura, espera por conexão e por
+ * tentativa configurados em {@code aws.http.*}.</p>
+ *
+ * <p>Os clientes são {@link Lazy}: são criados na primeira chamada, fora do caminho crítico de
+ * inicialização. Os pontos de injeção também usam {@code @Lazy} (copiado para o construtor via
+ * {@code lombok.config}) para receber um proxy em vez de forçar a criação no startup.</p>
+ *
+ * <p>Métricas do pool (atualizadas a cada chamada): {@code aws.http.connections.leased},
+ * {@code aws.http.connections.pending}, {@code aws.http.connections.available},
+ * {@code aws.http.connections.max}, {@code aws.http.requests},
+ * {@code aws.http.requests.queued} (esperaram por conexão) e {@code aws.http.connection.acquire}.</p>
+ *
+ * <p>As publicações no EventBridge passam pelo circuit breaker e spool local de
+ * {@link EventSpoolConfig}, configurados em {@code eventbridge.spool.*}.</p>
+ */
 @Configuration
+@EnableConfigurationProperties(AwsHttpProperties.class)
+@Import(EventSpoolConfig.class)
 @Slf4j
 public class AwsConfig {
-    
+
+    /** Delete em lote e leitura do tamanho da fila, por fila do consumidor SQS. */
+    private static final int CONSUMER_CONTROL_CONNECTIONS = 2;
+
+    private static final Duration DEFAULT_LONG_POLLING_WAIT = Duration.ofSeconds(20);
+
     @Value("${aws.region}")
     private String awsRegion;
-    
+
     @Value("${aws.accessKeyId}")
     private String accessKeyId;
-    
+
     @Value("${aws.secretAccessKey}")
     private String secretAccessKey;
 
@@ -32,54 +72,111 @@ public class AwsConfig {
     private String awsEndpoint;
 
     @Bean
-    public EventBridgeClient eventBridgeClient() {
-        log.info("Initializing EventBridgeClient: region={}", awsRegion);
+    public HttpPoolMetrics awsHttpPoolMetrics(final AwsHttpProperties properties) {
+        return new HttpPoolMetrics(properties.getPoolWarnInterval());
+    }
 
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public AwsClientFactory awsClientFactory(final AwsHttpProperties properties,
+                                             final ObjectProvider<SqsConsumerProperties> sqsConsumerProperties,
+                                             final HttpPoolMetrics awsHttpPoolMetrics) {
         if (accessKeyId == null || accessKeyId.length() < 4) {
             log.warn("AWS credentials may be invalid: accessKeyId is null or too short");
         }
-
-        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(
-            accessKeyId,
-            secretAccessKey
-        );
-        
-        EventBridgeClientBuilder builder = EventBridgeClient.builder()
-            .region(Region.of(awsRegion))
-            .credentialsProvider(StaticCredentialsProvider.create(awsCredentials));
-
-        // Configure endpoint override for LocalStack
-        if (awsEndpoint != null && !awsEndpoint.isBlank()) {
-            log.info("EventBridgeClient configured with custom endpoint: endpoint={}", awsEndpoint);
-            builder.endpointOverride(URI.create(awsEndpoint));
-        } else {
-            log.debug("EventBridgeClient configured with AWS production endpoint");
+        final SqsConsumerProperties consumer = sqsConsumerProperties.getIfAvailable();
+        final int consumerConnections = consumer == null ? 0
+            : Math.max(1, consumer.getQueues().size()) * (consumer.getMaxPollers() + CONSUMER_CONTROL_CONNECTIONS)
+                + consumer.getMaxWorkers();
+        final int maxConnections = properties.getMaxConnections() > 0
+            ? properties.getMaxConnections()
+            : properties.getBaseConnections() + consumerConnections;
+        final URI endpoint = awsEndpoint != null && !awsEndpoint.isBlank() ? URI.create(awsEndpoint) : null;
+        if (endpoint != null) {
+            log.info("AWS clients configured with custom endpoint: endpoint={}", awsEndpoint);
         }
+        return new AwsClientFactory(
+            new AwsClientFactory.Settings(maxConnections, properties.getConnectionTimeout(),
+                properties.getSocketTimeout(), properties.getConnectionAcquisitionTimeout(),
+                properties.getConnectionMaxIdleTime(), properties.getConnectionTimeToLive(),
+                properties.getApiCallAttemptTimeout(), properties.getApiCallTimeout()),
+            Region.of(awsRegion),
+            StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId, secretAccessKey)),
+            endpoint, awsHttpPoolMetrics);
+    }
 
-        return builder.build();
+    @Bean
+    @Lazy
+    public EventBridgeClient eventBridgeClient(final AwsClientFactory awsClientFactory) {
+        log.info("Initializing EventBridgeClient: region={}", awsRegion);
+        return awsClientFactory.build(EventBridgeClient.builder());
     }
 
+    /**
+     * Circuit breaker e spool local do EventBridge ({@code eventbridge.spool.*}).
+     */
     @Bean
-    public SqsClient sqsClient() {
+    @ConfigurationProperties(prefix = "eventbridge.spool")
+    public EventSpoolProperties eventSpoolProperties() {
+        return new EventSpoolProperties();
+    }
+
+    /**
+     * Cliente SQS; a tentativa pode durar a espera do long polling além do timeout normal.
+     */
+    @Bean
+    @Lazy
+    public SqsClient sqsClient(final AwsClientFactory awsClientFactory,
+                               final ObjectProvider<SqsConsumerProperties> sqsConsumerProperties) {
         log.info("Initializing SqsClient: region={}", awsRegion);
+        final SqsConsumerProperties consumer = sqsConsumerProperties.getIfAvailable();
+        final Duration waitTime = consumer != null ? consumer.getWaitTime() : DEFAULT_LONG_POLLING_WAIT;
+        return awsClientFactory.build(SqsClient.builder(),
+            awsClientFactory.getSettings().apiCallAttemptTimeout().plus(waitTime));
+    }
 
-        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(
-            accessKeyId,
-            secretAccessKey
-        );
-        
-        SqsClientBuilder builder = SqsClient.builder()
-            .region(Region.of(awsRegion))
-            .credentialsProvider(StaticCredentialsProvider.create(awsCredentials));
-
-        // Configure endpoint override for LocalStack
-        if (awsEndpoint != null && !awsEndpoint.isBlank()) {
-            log.info("SqsClient configured with custom endpoint: endpoint={}", awsEndpoint);
-            builder.endpointOverride(URI.create(awsEndpoint));
-        } else {
-            log.debug("SqsClient configured with AWS production endpoint");
-        }
+    /**
+     * Cliente S3 do arquivo de eventos ({@code checkout.archive.store=S3}).
+     *
+     * <p>Com endpoint customizado (LocalStack) usa path-style, pois o LocalStack não resolve
+     * buckets como subdomínio. Cada tentativa usa {@code aws.http.transfer-attempt-timeout}, pois um
+     * segmento pode ter centenas de MB.</p>
+     */
+    @Bean
+    @Lazy
+    public S3Client s3Client(final AwsClientFactory awsClientFactory, final AwsHttpProperties properties) {
+        log.info("Initializing S3Client: region={}", awsRegion);
+        return awsClientFactory.build(S3Client.builder().forcePathStyle(awsEndpoint != null && !awsEndpoint.isBlank()),
+            properties.getTransferAttemptTimeout());
+    }
 
-        return builder.build();
+    @Bean
+    public MeterBinder awsHttpPoolMetricsBinder(final HttpPoolMetrics awsHttpPoolMetrics) {
+        return registry -> {
+            Gauge.builder("aws.http.connections.leased", awsHttpPoolMetrics, HttpPoolMetrics::getLeasedConnections)
+                .description("Pooled AWS HTTP connections in use at the last request")
+                .register(registry);
+            Gauge.builder("aws.http.connections.pending", awsHttpPoolMetrics, HttpPoolMetrics::getPendingAcquires)
+                .description("Requests waiting for an AWS HTTP connection at the last request")
+                .register(registry);
+            Gauge.builder("aws.http.connections.available", awsHttpPoolMetrics,
+                    HttpPoolMetrics::getAvailableConnections)
+                .description("Idle pooled AWS HTTP connections at the last request")
+                .register(registry);
+            Gauge.builder("aws.http.connections.max", awsHttpPoolMetrics, HttpPoolMetrics::getMaxConnections)
+                .description("AWS HTTP connection pool size")
+                .register(registry);
+            FunctionCounter.builder("aws.http.requests", awsHttpPoolMetrics, HttpPoolMetrics::getRequestCount)
+                .description("AWS HTTP request attempts")
+                .register(registry);
+            FunctionCounter.builder("aws.http.requests.queued", awsHttpPoolMetrics,
+                    HttpPoolMetrics::getQueuedRequestCount)
+                .description("AWS HTTP request attempts that waited for a pooled connection")
+                .register(registry);
+            FunctionTimer.builder("aws.http.connection.acquire", awsHttpPoolMetrics,
+                    HttpPoolMetrics::getRequestCount, HttpPoolMetrics::getAcquireTimeNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent acquiring a pooled AWS HTTP connection")
+                .register(registry);
+        };
     }
 }
@@ -0,0 +1,53 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Configuração do cliente HTTP compartilhado pelos clientes AWS ({@code aws.http.*}).
+ *
+ * @see io.resousadev.linuxtips.common.aws.AwsClientFactory
+ */
+@Data
+@ConfigurationProperties(prefix = "aws.http")
+public class AwsHttpProperties {
+
+    /**
+     * Conexões do pool; 0 calcula pela concorrência: {@code base-connections} + pollers e workers
+     * máximos do consumidor SQS + 2 (delete em lote e leitura do tamanho da fila).
+     */
+    private int maxConnections;
+
+    /** Conexões reservadas para publicações no EventBridge e uploads no S3 no cálculo automático. */
+    private int baseConnections = 50;
+
+    /** Timeout de conexão TCP. */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /** Timeout de leitura; precisa ser maior que a espera do long polling do SQS (20s). */
+    private Duration socketTimeout = Duration.ofSeconds(30);
+
+    /** Espera máxima por uma conexão livre do pool. */
+    private Duration connectionAcquisitionTimeout = Duration.ofSeconds(2);
+
+    /** Conexões ociosas por mais que isso são fechadas. */
+    private Duration connectionMaxIdleTime = Duration.ofMinutes(1);
+
+    /** Vida máxima de uma conexão (reabre e resolve o DNS de novo). */
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    /** Timeout de cada tentativa HTTP; no SQS soma-se a espera do long polling. */
+    private Duration apiCallAttemptTimeout = Duration.ofSeconds(5);
+
+    /** Timeout de cada tentativa no S3, onde um upload de segmento do arquivo leva mais tempo. */
+    private Duration transferAttemptTimeout = Duration.ofMinutes(5);
+
+    /** Timeout da chamada inteira, incluindo retries. */
+    private Duration apiCallTimeout = Duration.ofSeconds(15);
+
+    /** Intervalo mínimo entre os WARN de pool saturado. */
+    private Duration poolWarnInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,92 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.resousadev.linuxtips.mscheckout.datasource.ReadReplicaRoutingDataSource;
+import io.resousadev.linuxtips.mscheckout.datasource.ReplicaLagMonitor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Roteamento leitura/escrita entre o primário ({@code spring.datasource}) e uma réplica opcional.
+ *
+ * <p>Ativado apenas quando {@code checkout.datasource.replica.url} está definido; caso contrário
+ * o DataSource auto-configurado pelo Spring Boot continua sendo usado sem alterações.</p>
+ *
+ * <ul>
+ *   <li>Cada banco tem seu próprio pool Hikari ({@code checkout-primary} e {@code checkout-replica}),
+ *       então as métricas {@code hikaricp.*} do Actuator saem separadas pela tag {@code pool}.</li>
+ *   <li>O DataSource exposto à aplicação é um {@link LazyConnectionDataSourceProxy} sobre o
+ *       {@link ReadReplicaRoutingDataSource}, para que a escolha aconteça após o início da transação.</li>
+ *   <li>Flyway sempre migra o primário.</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "checkout.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("checkout-primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(final DataSourceProperties primaryProperties,
+                                              final ReplicaDataSourceProperties replicaProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("checkout-replica");
+        dataSource.setJdbcUrl(replicaProperties.getUrl());
+        dataSource.setUsername(StringUtils.hasText(replicaProperties.getUsername())
+            ? replicaProperties.getUsername() : primaryProperties.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(replicaProperties.getPassword())
+            ? replicaProperties.getPassword() : primaryProperties.determinePassword());
+        dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+        dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        // Não falha o boot se a réplica estiver fora: o monitor de lag mantém as leituras no primário
+        dataSource.setInitializationFailTimeout(-1);
+
+        log.info("Read replica configured: url={}, maxLag={}",
+            replicaProperties.getUrl(), replicaProperties.getMaxLag());
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(final HikariDataSource replicaDataSource,
+                                               final ReplicaDataSourceProperties replicaProperties,
+                                               final MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource), replicaProperties.getMaxLag(),
+            meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(final HikariDataSource primaryDataSource,
+                                 final HikariDataSource replicaDataSource,
+                                 final ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+            new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+}
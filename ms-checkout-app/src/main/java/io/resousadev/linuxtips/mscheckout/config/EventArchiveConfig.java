@@ -0,0 +1,101 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.resousadev.linuxtips.common.archive.ArchiveStore;
+import io.resousadev.linuxtips.common.archive.EventArchiveReplayer;
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.archive.LocalArchiveStore;
+import io.resousadev.linuxtips.common.archive.S3ArchiveStore;
+import io.resousadev.linuxtips.common.event.EventHandlerRegistry;
+import io.resousadev.linuxtips.mscheckout.archive.ArchiveReplayService;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Arquivo comprimido dos eventos consumidos e replay pelos handlers.
+ *
+ * <p>O consumidor SQS entrega cada evento ao {@link EventHandlerRegistry} e, processado com
+ * sucesso, o grava no {@link EventArchiveWriter} antes de apagá-lo da fila. O replay lê o
+ * arquivo e reentrega os eventos pelo mesmo registry.</p>
+ *
+ * <p>Métricas: {@code checkout.archive.archived}, {@code checkout.archive.failed} (eventos que não
+ * puderam ser arquivados) e {@code checkout.archive.sealed} (segmentos entregues ao store).</p>
+ */
+@Configuration
+@EnableConfigurationProperties(EventArchiveProperties.class)
+@Slf4j
+public class EventArchiveConfig {
+
+    private static final String SEGMENTS_DIRECTORY = "segments";
+    private static final String ACTIVE_DIRECTORY = "active";
+    private static final String REPLAY_DIRECTORY = "replay";
+
+    /**
+     * Handlers dos eventos consumidos, por tipo; tipos sem handler são apenas logados.
+     */
+    @Bean
+    public EventHandlerRegistry eventHandlerRegistry() {
+        return new EventHandlerRegistry((eventType, body) ->
+            log.debug("No handler for event type, skipping: eventType={}", eventType));
+    }
+
+    @Bean
+    public ArchiveStore eventArchiveStore(final EventArchiveProperties properties,
+                                          @Lazy final S3Client s3Client) throws IOException {
+        final Path directory = properties.getDirectory();
+        return switch (properties.getStore()) {
+            case LOCAL -> new LocalArchiveStore(directory.resolve(SEGMENTS_DIRECTORY));
+            case S3 -> {
+                if (properties.getS3().getBucket() == null || properties.getS3().getBucket().isBlank()) {
+                    throw new IllegalStateException("checkout.archive.s3.bucket is required with store S3");
+                }
+                if (properties.getPartition().compareTo(S3ArchiveStore.MAX_PARTITION) > 0) {
+                    throw new IllegalStateException("checkout.archive.partition must be at most 1 day with store S3");
+                }
+                yield new S3ArchiveStore(s3Client, properties.getS3().getBucket(), properties.getS3().getPrefix(),
+                    directory.resolve(REPLAY_DIRECTORY));
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public EventArchiveWriter eventArchiveWriter(final EventArchiveProperties properties,
+                                                 final ArchiveStore eventArchiveStore) throws IOException {
+        return EventArchiveWriter.open(properties.getDirectory().resolve(ACTIVE_DIRECTORY), eventArchiveStore,
+            new EventArchiveWriter.Settings(properties.getPartition(), properties.getMaxSegmentSize().toBytes(),
+                (int) properties.getBlockSize().toBytes(), properties.getFlushInterval()));
+    }
+
+    @Bean
+    public ArchiveReplayService archiveReplayService(final ArchiveStore eventArchiveStore,
+                                                     final EventHandlerRegistry eventHandlerRegistry,
+                                                     final EventArchiveProperties properties) {
+        return new ArchiveReplayService(new EventArchiveReplayer(eventArchiveStore), eventHandlerRegistry,
+            properties.getReplay().getParallelism(), properties.getReplay().getMaxParallelism());
+    }
+
+    @Bean
+    public MeterBinder eventArchiveMetrics(final EventArchiveWriter eventArchiveWriter) {
+        return registry -> {
+            FunctionCounter.builder("checkout.archive.archived", eventArchiveWriter,
+                    EventArchiveWriter::getArchivedCount)
+                .description("Consumed events appended to the archive")
+                .register(registry);
+            FunctionCounter.builder("checkout.archive.failed", eventArchiveWriter, EventArchiveWriter::getFailedCount)
+                .description("Consumed events that could not be archived")
+                .register(registry);
+            FunctionCounter.builder("checkout.archive.sealed", eventArchiveWriter, EventArchiveWriter::getSealedCount)
+                .description("Archive segments sealed and handed to the store")
+                .register(registry);
+        };
+    }
+}
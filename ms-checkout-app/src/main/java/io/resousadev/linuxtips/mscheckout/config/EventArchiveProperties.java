@@ -0,0 +1,77 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Configuração do arquivo de eventos consumidos e do replay ({@code checkout.archive.*}).
+ *
+ * @see io.resousadev.linuxtips.common.archive.EventArchiveWriter
+ */
+@Data
+@ConfigurationProperties(prefix = "checkout.archive")
+public class EventArchiveProperties {
+
+    /** Onde ficam os segmentos selados. */
+    public enum Store {
+        /** Subdiretório {@code segments} de {@link #directory}. */
+        LOCAL,
+        /** Bucket S3 ({@link S3#bucket}). */
+        S3
+    }
+
+    /** Diretório do segmento ativo (e dos segmentos selados com store LOCAL); volume persistente. */
+    private Path directory = Path.of("data", "event-archive");
+
+    /** Destino dos segmentos selados. */
+    private Store store = Store.LOCAL;
+
+    /** Partição de tempo de um segmento (no máximo 1 dia com store S3). */
+    private Duration partition = Duration.ofHours(1);
+
+    /** Tamanho comprimido a partir do qual o segmento é selado antes do fim da partição. */
+    private DataSize maxSegmentSize = DataSize.ofMegabytes(256);
+
+    /** Tamanho descomprimido de um bloco: granularidade do índice esparso. */
+    private DataSize blockSize = DataSize.ofKilobytes(64);
+
+    /** Tempo máximo de um evento em memória antes de ir para o disco: perda máxima em queda. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** Store S3. */
+    private S3 s3 = new S3();
+
+    /** Replay. */
+    private Replay replay = new Replay();
+
+    /**
+     * Store S3.
+     */
+    @Data
+    public static class S3 {
+
+        /** Bucket dos segmentos. */
+        private String bucket;
+
+        /** Prefixo das chaves. */
+        private String prefix = "event-archive/ms-checkout";
+    }
+
+    /**
+     * Replay.
+     */
+    @Data
+    public static class Replay {
+
+        /** Segmentos lidos em paralelo quando o pedido não informa. */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /** Limite do paralelismo pedido. */
+        private int maxParallelism = 32;
+    }
+}
@@ -0,0 +1,36 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.resousadev.linuxtips.common.logging.DebugCorrelations;
+import io.resousadev.linuxtips.common.logging.HotPathLog;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Aplica a configuração de {@link HotPathLog} e {@link DebugCorrelations} e emite periodicamente os
+ * resumos pendentes, inclusive de hot paths que ficaram ociosos.
+ *
+ * <p>O filtro {@code DebugCorrelationTurboFilter} é registrado no {@code logback-spring.xml}.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(HotPathLoggingProperties.class)
+public class HotPathLoggingConfig {
+
+    private final HotPathLoggingProperties properties;
+
+    @PostConstruct
+    void configure() {
+        HotPathLog.configure(properties.getSummaryInterval(), properties.getSampleRate());
+        DebugCorrelations.configure(properties.getDebug().getDefaultTtl(), properties.getDebug().getMaxTtl(),
+            properties.getDebug().getMaxActive());
+    }
+
+    @Scheduled(fixedDelayString = "${logging.hot-path.report-check-interval:PT10S}")
+    void reportSummaries() {
+        HotPathLog.reportAll();
+    }
+}
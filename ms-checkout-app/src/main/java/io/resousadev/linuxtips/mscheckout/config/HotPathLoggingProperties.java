@@ -0,0 +1,46 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Configuração do log agregado/amostrado dos hot paths ({@code logging.hot-path.*}).
+ *
+ * @see io.resousadev.linuxtips.common.logging.HotPathLog
+ * @see io.resousadev.linuxtips.common.logging.DebugCorrelations
+ */
+@Data
+@ConfigurationProperties(prefix = "logging.hot-path")
+public class HotPathLoggingProperties {
+
+    /** Intervalo entre as linhas de resumo de cada hot path. */
+    private Duration summaryInterval = Duration.ofMinutes(1);
+
+    /** Fração dos eventos logados individualmente (0 a 1). */
+    private double sampleRate = 0.01;
+
+    /** DEBUG completo por correlation ID. */
+    private Debug debug = new Debug();
+
+    /**
+     * DEBUG completo por correlation ID (header {@code X-Debug} ou endpoint administrativo).
+     */
+    @Data
+    public static class Debug {
+
+        /** Aceita o header {@code X-Debug: true}; qualquer chamador pode enviá-lo, então vem desligado. */
+        private boolean headerEnabled;
+
+        /** Duração padrão do DEBUG para um correlation ID. */
+        private Duration defaultTtl = Duration.ofMinutes(10);
+
+        /** Duração máxima aceita em chamadas administrativas. */
+        private Duration maxTtl = Duration.ofHours(1);
+
+        /** Máximo de correlation IDs com DEBUG ativo ao mesmo tempo. */
+        private int maxActive = 100;
+    }
+}
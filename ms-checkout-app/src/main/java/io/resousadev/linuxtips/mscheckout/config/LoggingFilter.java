@@ -1,9 +1,9 @@
 package io.resousadev.linuxtips.mscheckout.config;
 
 import java.io.IOException;
-import java.util.UUID;
 
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +13,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import io.resousadev.linuxtips.common.logging.DebugCorrelations;
+import io.resousadev.linuxtips.common.tracing.Span;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -23,10 +28,20 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * Padrões implementados:
  * - Aceita correlation ID vindo do header X-Correlation-Id
- * - Gera um novo UUID se não fornecido
+ * - Gera um novo UUID ordenado por tempo (versão 7) se não fornecido
  * - Adiciona ao MDC para aparecer em todos os logs
+ * - Com o header X-Debug: true, liga o DEBUG completo para o correlation ID
+ *   ({@link DebugCorrelations}, limitado por TTL e quantidade de IDs ativos). Desligado por padrão
+ *   ({@code logging.hot-path.debug.header-enabled}): o filtro roda antes da autenticação, então
+ *   qualquer chamador poderia ligar o DEBUG; em produção use o endpoint administrativo
+ * - Abre um span W3C (header traceparent) para a requisição, filho do span do chamador
+ * - Devolve o correlation ID no header de resposta X-Correlation-Id
  * - Limpa o MDC após processamento para evitar memory leaks
  * 
+ * O correlation ID e o traceparent do MDC são copiados automaticamente para os eventos
+ * publicados ({@link io.resousadev.linuxtips.common.event.BaseEvent}) e restaurados nas
+ * threads dos consumidores SQS.
+ * 
  * @author resousadev
  * @since 0.0.1-SNAPSHOT
  */
@@ -35,10 +50,14 @@ import lombok.extern.slf4j.Slf4j;
 @Order(1)
 public class LoggingFilter implements Filter {
 
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
-    private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    private static final String CORRELATION_ID_HEADER = TraceContext.CORRELATION_ID_HEADER;
+    private static final String CORRELATION_ID_MDC_KEY = TraceContext.CORRELATION_ID_MDC_KEY;
     private static final String REQUEST_URI_MDC_KEY = "requestUri";
     private static final String REQUEST_METHOD_MDC_KEY = "requestMethod";
+    private static final String DEBUG_HEADER = "X-Debug";
+
+    @Value("${logging.hot-path.debug.header-enabled:false}")
+    private boolean debugHeaderEnabled;
 
     @Override
     public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
@@ -62,14 +81,27 @@ public class LoggingFilter implements Filter {
             MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
             MDC.put(REQUEST_URI_MDC_KEY, httpRequest.getRequestURI());
             MDC.put(REQUEST_METHOD_MDC_KEY, httpRequest.getMethod());
+
+            if (response instanceof HttpServletResponse httpResponse) {
+                httpResponse.setHeader(CORRELATION_ID_HEADER, correlationId);
+            }
+
+            if (debugHeaderEnabled && Boolean.parseBoolean(httpRequest.getHeader(DEBUG_HEADER))
+                    && !DebugCorrelations.enable(correlationId)) {
+                log.warn("Debug logging not enabled, too many active correlation IDs: correlationId={}",
+                        correlationId);
+            }
             
             log.trace("Request started: method={}, uri={}, correlationId={}", 
                     httpRequest.getMethod(), 
                     httpRequest.getRequestURI(), 
                     correlationId);
             
-            // Continuar a cadeia de filtros
-            chain.doFilter(request, response);
+            // Continuar a cadeia de filtros dentro do span da requisição
+            try (Span ignored = Span.startWithParent("http " + httpRequest.getMethod(),
+                    httpRequest.getHeader(TraceContext.TRACEPARENT_HEADER))) {
+                chain.doFilter(request, response);
+            }
             
         } finally {
             // CRÍTICO: Limpar o MDC para evitar memory leaks em thread pools
@@ -79,12 +111,12 @@ public class LoggingFilter implements Filter {
     }
 
     /**
-     * Gera um novo Correlation ID usando UUID versão 4 (aleatório).
-     * Formato: 8-4-4-4-12 hexadecimal (ex: 550e8400-e29b-41d4-a716-446655440000)
+     * Gera um novo Correlation ID usando UUID versão 7 (ordenado por tempo, sem lock).
+     * Formato: 8-4-4-4-12 hexadecimal (ex: 01a152a9-25c1-70c1-bcdb-6e6d88df3b76)
      * 
      * @return String UUID gerado
      */
     private String generateCorrelationId() {
-        return UUID.randomUUID().toString();
+        return TraceContext.newCorrelationId();
     }
 }
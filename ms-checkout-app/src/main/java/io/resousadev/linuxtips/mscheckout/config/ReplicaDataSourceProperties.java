@@ -0,0 +1,33 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Configuração da réplica de leitura opcional ({@code checkout.datasource.replica.*}).
+ *
+ * <p>Usuário e senha vazios reaproveitam as credenciais de {@code spring.datasource}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "checkout.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /** JDBC URL da réplica; sem ela o roteamento fica desligado. */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /** Tamanho máximo do pool da réplica (leituras de autenticação escalam aqui). */
+    private int maximumPoolSize = 20;
+
+    /** Lag de replicação acima do qual as leituras voltam para o primário. */
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    /** Intervalo entre medições de lag. */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+}
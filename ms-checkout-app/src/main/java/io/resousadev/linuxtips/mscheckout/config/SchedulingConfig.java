@@ -7,7 +7,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * Configuration class to enable Spring's scheduled task execution.
  * 
  * <p>This configuration enables the {@link org.springframework.scheduling.annotation.Scheduled}
- * annotation support used by SQS message consumers and other scheduled tasks.</p>
+ * annotation support used by the replica lag monitor and other scheduled tasks, and the scheduler
+ * that runs the EventBridge spool drain registered by
+ * {@link io.resousadev.linuxtips.common.resilience.EventSpoolConfig}.</p>
  */
 @Configuration
 @EnableScheduling
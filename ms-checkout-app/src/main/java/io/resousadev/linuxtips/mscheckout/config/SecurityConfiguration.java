@@ -40,6 +40,8 @@ public class SecurityConfiguration {
             )
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/login").permitAll()
+                .requestMatchers(HttpMethod.POST, "/usuarios/import").hasRole("ADMIN")
+                .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/usuarios").permitAll()
                 .requestMatchers("/home").authenticated()
                 .requestMatchers("/v1/mscheckout/**").hasAnyRole("ADMIN", "USER")
@@ -0,0 +1,169 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.consumer.ConcurrencyAutoscaler;
+import io.resousadev.linuxtips.common.consumer.QueueConsumer;
+import io.resousadev.linuxtips.common.consumer.SqsQueueClient;
+import io.resousadev.linuxtips.common.event.EventHandlerRegistry;
+import io.resousadev.linuxtips.common.event.EventOrderingKey;
+import io.resousadev.linuxtips.mscheckout.consumer.SqsMessageConsumer;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+/**
+ * Consumidor das filas de eventos do checkout, com concorrência ajustada pelo tamanho das filas.
+ *
+ * <p>As filas vêm de {@code sqs.consumer.queues} (nome, URL e peso); sem a lista, só a fila de
+ * {@code sqs.queue}. Todas passam pelo mesmo {@link SqsMessageConsumer} e dividem um pool de
+ * workers: enquanto mais de uma tem mensagens, cada uma recebe tempo de worker na proporção do seu
+ * peso, então uma enxurrada numa fila não atrasa as outras.</p>
+ *
+ * <p>Eventos de um mesmo pedido ({@code orderingKey} do evento, ou o {@code MessageGroupId} de uma
+ * fila FIFO) não rodam ao mesmo tempo neste processo; pedidos diferentes rodam em paralelo. A ordem
+ * só é garantida na fila FIFO com um grupo por pedido ({@code checkout-events-fifo-pipe}); numa fila
+ * padrão ela é best-effort, dentro de uma instância: o SQS pode entregar fora de ordem e outras
+ * instâncias tratam o mesmo pedido em paralelo.</p>
+ *
+ * <p>A cada {@code sqs.consumer.autoscale-interval} o {@link QueueConsumer} lê
+ * {@code ApproximateNumberOfMessages} e {@code ApproximateNumberOfMessagesNotVisible} de cada fila:
+ * os pollers de cada fila seguem o backlog dela e os workers o backlog somado, entre os limites
+ * configurados; sobe na hora, desce só depois de {@code scale-down-delay} com demanda menor.</p>
+ *
+ * <p>O consumidor só começa a receber com a aplicação pronta ({@link ApplicationReadyEvent}), fora do
+ * refresh do contexto: o {@code SqsClient} {@code @Lazy} não é criado no startup e nenhuma mensagem é
+ * tratada antes de o restante da aplicação subir.</p>
+ *
+ * <p>Métricas:</p>
+ * <ul>
+ *   <li>{@code sqs.consumer.workers.target} e {@code sqs.consumer.workers.busy} (tag {@code consumer});</li>
+ *   <li>por fila (tag {@code queue}): {@code sqs.consumer.pollers.target} e
+ *       {@code sqs.consumer.pollers.active};</li>
+ *   <li>{@code sqs.consumer.queue.visible} e {@code sqs.consumer.queue.in_flight}: última leitura;</li>
+ *   <li>{@code sqs.consumer.buffered} e {@code sqs.consumer.acks.pending}: mensagens entre os estágios
+ *       recebimento → processamento → delete;</li>
+ *   <li>{@code sqs.consumer.processed} (a taxa é a vazão da fila), {@code sqs.consumer.failed},
+ *       {@code sqs.consumer.expired} (descartadas do buffer por idade) e {@code sqs.consumer.skipped}
+ *       (deixadas na fila atrás de uma mensagem do mesmo pedido que falhou).</li>
+ * </ul>
+ */
+@Configuration
+@EnableConfigurationProperties(SqsConsumerProperties.class)
+@ConditionalOnProperty(name = "sqs.consumer.enabled", havingValue = "true", matchIfMissing = true)
+public class SqsConsumerConfig {
+
+    @Bean
+    public SqsMessageConsumer sqsMessageConsumer(final EventHandlerRegistry eventHandlerRegistry,
+                                                 final EventArchiveWriter eventArchiveWriter,
+                                                 final ObjectMapper objectMapper) {
+        return new SqsMessageConsumer(eventHandlerRegistry, eventArchiveWriter, objectMapper);
+    }
+
+    @Bean(destroyMethod = "close")
+    public QueueConsumer checkoutEventsConsumer(@Lazy final SqsClient sqsClient,
+                                                @Value("${sqs.queue.name}") final String queueName,
+                                                @Value("${sqs.queue.url}") final String queueUrl,
+                                                final SqsMessageConsumer sqsMessageConsumer,
+                                                final SqsConsumerProperties properties) {
+        final List<SqsConsumerProperties.Queue> queues = properties.getQueues();
+        final List<QueueConsumer.Subscription> subscriptions = queues.isEmpty()
+            ? List.of(new QueueConsumer.Subscription(new SqsQueueClient(sqsClient, queueName, queueUrl),
+                sqsMessageConsumer, 1, EventOrderingKey::of))
+            : queues.stream()
+                .map(queue -> new QueueConsumer.Subscription(
+                    new SqsQueueClient(sqsClient, queue.getName(), queue.getUrl()), sqsMessageConsumer,
+                    queue.getWeight(), EventOrderingKey::of))
+                .toList();
+        final ConcurrencyAutoscaler autoscaler = new ConcurrencyAutoscaler(
+            new ConcurrencyAutoscaler.Bounds(properties.getMinPollers(), properties.getMaxPollers(),
+                properties.getMinWorkers(), properties.getMaxWorkers()),
+            properties.getMessagesPerWorker(), properties.getWorkersPerPoller(), properties.getScaleDownDelay());
+        return new QueueConsumer("checkout-events", subscriptions, autoscaler,
+            new QueueConsumer.Settings(properties.getBatchSize(), properties.getWaitTime(), properties.getPrefetch(),
+                properties.getMaxBufferAge(), properties.getAutoscaleInterval(), properties.getShutdownTimeout()));
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> checkoutEventsConsumerStarter(
+            final QueueConsumer checkoutEventsConsumer) {
+        return event -> checkoutEventsConsumer.start();
+    }
+
+    @Bean
+    public MeterBinder checkoutEventsConsumerMetrics(final QueueConsumer checkoutEventsConsumer) {
+        return registry -> {
+            final Tags consumerTags = Tags.of("consumer", checkoutEventsConsumer.getName());
+            Gauge.builder("sqs.consumer.workers.target", checkoutEventsConsumer, QueueConsumer::getTargetWorkers)
+                .tags(consumerTags)
+                .description("Concurrent handlers the autoscaler allows")
+                .register(registry);
+            Gauge.builder("sqs.consumer.workers.busy", checkoutEventsConsumer, QueueConsumer::getBusyWorkers)
+                .tags(consumerTags)
+                .description("Handlers processing a message")
+                .register(registry);
+            for (QueueConsumer.ConsumedQueue queue : checkoutEventsConsumer.getQueues()) {
+                bindQueue(registry, queue, consumerTags.and("queue", queue.getName()));
+            }
+        };
+    }
+
+    private static void bindQueue(final MeterRegistry registry, final QueueConsumer.ConsumedQueue queue,
+                                  final Tags tags) {
+        Gauge.builder("sqs.consumer.pollers.target", queue, QueueConsumer.ConsumedQueue::getTargetPollers)
+            .tags(tags)
+            .description("Receive loops the autoscaler asks for")
+            .register(registry);
+        Gauge.builder("sqs.consumer.pollers.active", queue, QueueConsumer.ConsumedQueue::getActivePollers)
+            .tags(tags)
+            .description("Receive loops running")
+            .register(registry);
+        Gauge.builder("sqs.consumer.queue.visible", queue, consumed -> consumed.getLastDepth().visible())
+            .tags(tags)
+            .description("ApproximateNumberOfMessages at the last autoscaling check")
+            .register(registry);
+        Gauge.builder("sqs.consumer.queue.in_flight", queue, consumed -> consumed.getLastDepth().inFlight())
+            .tags(tags)
+            .description("ApproximateNumberOfMessagesNotVisible at the last autoscaling check")
+            .register(registry);
+        Gauge.builder("sqs.consumer.buffered", queue, QueueConsumer.ConsumedQueue::getBufferedCount)
+            .tags(tags)
+            .description("Received messages waiting for a worker")
+            .register(registry);
+        Gauge.builder("sqs.consumer.acks.pending", queue, QueueConsumer.ConsumedQueue::getPendingAckCount)
+            .tags(tags)
+            .description("Handled messages waiting for the batch delete")
+            .register(registry);
+        FunctionCounter.builder("sqs.consumer.processed", queue, QueueConsumer.ConsumedQueue::getProcessedCount)
+            .tags(tags)
+            .description("Messages handled and deleted")
+            .register(registry);
+        FunctionCounter.builder("sqs.consumer.failed", queue, QueueConsumer.ConsumedQueue::getFailedCount)
+            .tags(tags)
+            .description("Messages left in the queue after a handler or delete failure")
+            .register(registry);
+        FunctionCounter.builder("sqs.consumer.expired", queue, QueueConsumer.ConsumedQueue::getExpiredCount)
+            .tags(tags)
+            .description("Messages left in the queue after waiting too long in the prefetch buffer")
+            .register(registry);
+        FunctionCounter.builder("sqs.consumer.skipped", queue, QueueConsumer.ConsumedQueue::getSkippedCount)
+            .tags(tags)
+            .description("Messages left in the queue behind an unhandled message with the same ordering key")
+            .register(registry);
+    }
+}
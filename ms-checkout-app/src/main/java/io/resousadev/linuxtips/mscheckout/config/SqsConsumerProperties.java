@@ -0,0 +1,90 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Configuração do consumidor da fila SQS ({@code sqs.consumer.*}).
+ *
+ * @see io.resousadev.linuxtips.common.consumer.QueueConsumer
+ * @see io.resousadev.linuxtips.common.consumer.ConcurrencyAutoscaler
+ */
+@Data
+@ConfigurationProperties(prefix = "sqs.consumer")
+public class SqsConsumerProperties {
+
+    /** Liga o consumidor; desligado nos testes, que não têm fila. */
+    private boolean enabled = true;
+
+    /**
+     * Filas consumidas, que dividem os workers na proporção dos pesos; vazia, consome só a fila de
+     * {@code sqs.queue}.
+     */
+    private List<Queue> queues = new ArrayList<>();
+
+    /** Loops de recebimento (long polling) por fila, com a fila vazia. */
+    private int minPollers = 1;
+
+    /** Limite de loops de recebimento por fila. */
+    private int maxPollers = 8;
+
+    /** Handlers concorrentes com as filas vazias, somando todas. */
+    private int minWorkers = 2;
+
+    /**
+     * Limite de handlers concorrentes, somando todas as filas; protege o banco e os serviços chamados
+     * pelos handlers.
+     */
+    private int maxWorkers = 128;
+
+    /** Backlog (visíveis + em processamento) que um worker deve acompanhar. */
+    private int messagesPerWorker = 100;
+
+    /** Workers alimentados por um poller (um recebimento traz no máximo {@code batchSize} mensagens). */
+    private int workersPerPoller = 10;
+
+    /** Tempo com demanda menor antes de reduzir a concorrência (histerese). */
+    private Duration scaleDownDelay = Duration.ofMinutes(2);
+
+    /** Intervalo da leitura do tamanho da fila ({@code GetQueueAttributes}). */
+    private Duration autoscaleInterval = Duration.ofSeconds(15);
+
+    /** Mensagens por recebimento (máximo do SQS: 10). */
+    private int batchSize = 10;
+
+    /** Espera do long polling (máximo do SQS: 20s). */
+    private Duration waitTime = Duration.ofSeconds(20);
+
+    /** Mensagens recebidas antecipadamente por fila, aguardando um worker livre. */
+    private int prefetch = 50;
+
+    /**
+     * Tempo máximo de uma mensagem no buffer antes de ser descartada para redelivery; somado ao
+     * maior tempo de processamento, deve ficar abaixo do visibility timeout da fila.
+     */
+    private Duration maxBufferAge = Duration.ofSeconds(10);
+
+    /** Espera pelos handlers em andamento no shutdown. */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Fila consumida.
+     */
+    @Data
+    public static class Queue {
+
+        /** Nome da fila, usado na tag {@code queue} das métricas. */
+        private String name;
+
+        /** URL da fila. */
+        private String url;
+
+        /** Peso na divisão dos workers entre as filas com mensagens. */
+        private int weight = 1;
+    }
+}
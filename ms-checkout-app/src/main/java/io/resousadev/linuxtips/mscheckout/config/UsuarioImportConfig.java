@@ -0,0 +1,15 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita a configuração da importação em lote de usuários.
+ *
+ * @see io.resousadev.linuxtips.mscheckout.service.UsuarioImportService
+ */
+@Configuration
+@EnableConfigurationProperties(UsuarioImportProperties.class)
+public class UsuarioImportConfig {
+    // Configuration class - binds checkout.usuarios.import.* properties
+}
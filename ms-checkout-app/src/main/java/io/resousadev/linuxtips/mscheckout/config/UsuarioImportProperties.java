@@ -0,0 +1,22 @@
+package io.resousadev.linuxtips.mscheckout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Configuração da importação em lote de usuários ({@code checkout.usuarios.import.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "checkout.usuarios.import")
+public class UsuarioImportProperties {
+
+    /** Linhas por transação; alinhado a {@code hibernate.jdbc.batch_size}. */
+    private int chunkSize = 1000;
+
+    /** Threads dedicadas ao hash BCrypt; {@code 0} usa o número de processadores. */
+    private int hashThreads = 0;
+
+    /** Máximo de erros detalhados na resposta (os demais são apenas contados). */
+    private int maxReportedErrors = 1000;
+}
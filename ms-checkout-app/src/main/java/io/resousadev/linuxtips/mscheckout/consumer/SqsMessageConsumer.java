@@ -1,132 +1,120 @@
 package io.resousadev.linuxtips.mscheckout.consumer;
 
-import java.util.List;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Component;
-
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.consumer.MessageHandler;
+import io.resousadev.linuxtips.common.consumer.QueueConsumer;
+import io.resousadev.linuxtips.common.consumer.QueueMessage;
+import io.resousadev.linuxtips.common.event.EventHandlerRegistry;
+import io.resousadev.linuxtips.common.logging.HotPathLog;
+import io.resousadev.linuxtips.common.tracing.MessageTraceContext;
+import io.resousadev.linuxtips.common.tracing.Span;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
-import software.amazon.awssdk.services.sqs.model.Message;
-import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
-import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
 /**
- * Consumer for processing messages from the SQS checkout-events-queue.
+ * Handler for messages from the SQS checkout-events-queue.
  *
- * <p>This consumer uses long polling (20 seconds) for efficient message retrieval.
- * Messages are received from EventBridge via SQS and currently just logged.
- * Business logic will be implemented in a future iteration.</p>
+ * <p>Messages are received from EventBridge via SQS by a {@link QueueConsumer} (see
+ * {@code SqsConsumerConfig}), which scales pollers and workers with the queue backlog and calls
+ * this handler concurrently. Each message is dispatched by event type through the
+ * {@link EventHandlerRegistry}; every successfully handled event is appended to the
+ * {@link EventArchiveWriter} before the consumer deletes it, so it can be replayed later.</p>
  *
  * <p>Message flow:
  * <pre>
- * EventBridge (status-pedido-bus) → SQS (checkout-events-queue) → SqsMessageConsumer
+ * EventBridge (status-pedido-bus) → SQS (checkout-events-queue) → QueueConsumer → SqsMessageConsumer
  * </pre>
  * </p>
  */
-@Component
 @Slf4j
 @RequiredArgsConstructor
-public class SqsMessageConsumer {
-
-    private static final int LONG_POLLING_WAIT_TIME_SECONDS = 20;
-    private static final int MAX_NUMBER_OF_MESSAGES = 10;
-
-    private final SqsClient sqsClient;
-
-    @Value("${sqs.queue.url}")
-    private String queueUrl;
-
-    /**
-     * Polls the SQS queue for new messages at fixed intervals.
-     *
-     * <p>Uses long polling (20s) to reduce empty responses and API costs.
-     * After successful logging, messages are deleted from the queue.</p>
-     *
-     * <p>Note: Business logic processing will be added in a future iteration.
-     * Currently, messages are only logged and acknowledged (deleted).</p>
-     */
-    @Scheduled(fixedDelay = 1000)
-    public void pollMessages() {
-        log.trace("Polling SQS queue: queueUrl={}", queueUrl);
-
-        try {
-            ReceiveMessageRequest receiveRequest = ReceiveMessageRequest.builder()
-                .queueUrl(queueUrl)
-                .maxNumberOfMessages(MAX_NUMBER_OF_MESSAGES)
-                .waitTimeSeconds(LONG_POLLING_WAIT_TIME_SECONDS)
-                .build();
-
-            ReceiveMessageResponse response = sqsClient.receiveMessage(receiveRequest);
-            List<Message> messages = response.messages();
+public class SqsMessageConsumer implements MessageHandler {
 
-            if (messages.isEmpty()) {
-                log.trace("No messages received from SQS queue");
-                return;
-            }
+    private static final String DETAIL_TYPE_FIELD = "detail-type";
+    private static final String EVENT_TYPE_FIELD = "eventType";
+    private static final HotPathLog PROCESS_LOG = HotPathLog.of(log, "sqs.process");
 
-            log.debug("SQS messages received: count={}", messages.size());
+    private final EventHandlerRegistry eventHandlerRegistry;
 
-            for (Message message : messages) {
-                processMessage(message);
-            }
+    private final EventArchiveWriter eventArchiveWriter;
 
-        } catch (Exception e) {
-            log.error("SQS polling failed: queueUrl={}, error={}", queueUrl, e.getMessage(), e);
-        }
-    }
+    private final ObjectMapper objectMapper;
 
     /**
      * Processes a single SQS message.
      *
-     * <p>Currently logs the message content and deletes it from the queue.
-     * TODO: Implement business logic for event processing.</p>
+     * <p>Dispatches the event to its handler and archives it; a handler failure is rethrown so the
+     * message is left in the queue for redelivery.
+     * The correlation ID and traceparent published with the event are restored into the MDC
+     * for the duration of the processing, so every log line carries the originating request.
+     * Per-message INFO lines are sampled; every message is counted in the periodic
+     * {@code sqs.process} summary ({@link HotPathLog}).</p>
      *
      * @param message the SQS message to process
+     * @throws Exception if the event handler fails
      */
-    private void processMessage(final Message message) {
-        log.info("Processing SQS message: messageId={}", message.messageId());
+    @Override
+    public void handle(final QueueMessage message) throws Exception {
+        final long startNanos = System.nanoTime();
+        boolean handled = false;
+        try (TraceContext.Scope ignored = MessageTraceContext.restoreFrom(message.body());
+             Span span = Span.start("sqs.process")) {
+            handleMessage(message, PROCESS_LOG.sample());
+            handled = true;
+        } finally {
+            PROCESS_LOG.record(System.nanoTime() - startNanos, !handled);
+        }
+    }
+
+    private void handleMessage(final QueueMessage message, final boolean sampled) throws Exception {
+        if (sampled) {
+            log.info("Processing SQS message: messageId={}", message.messageId());
+        }
         log.debug("SQS message body: messageId={}, body={}", message.messageId(), message.body());
 
-        if (log.isTraceEnabled()) {
-            if (message.hasAttributes()) {
-                log.trace("SQS message attributes: messageId={}, attributes={}", 
-                        message.messageId(), message.attributes());
-            }
-            if (message.hasMessageAttributes()) {
-                log.trace("SQS message custom attributes: messageId={}, messageAttributes={}", 
-                        message.messageId(), message.messageAttributes());
-            }
+        if (log.isTraceEnabled() && !message.attributes().isEmpty()) {
+            log.trace("SQS message attributes: messageId={}, attributes={}",
+                    message.messageId(), message.attributes());
         }
 
-        // TODO: Add business logic here
-        // Example: Parse EventBridge envelope, extract detail, process checkout event
+        final String eventType = eventType(message);
+        try {
+            eventHandlerRegistry.dispatch(eventType, message.body());
+        } catch (Exception e) {
+            log.error("SQS message handling failed: messageId={}, eventType={}, error={}",
+                    message.messageId(), eventType, e.getMessage(), e);
+            throw e;
+        }
+        // Archived before the delete: a failed delete means redelivery, so replays are at-least-once
+        eventArchiveWriter.append(eventType, message.body());
 
-        deleteMessage(message);
-        log.info("SQS message processed: messageId={}", message.messageId());
+        if (sampled) {
+            log.info("SQS message processed: messageId={}", message.messageId());
+        }
     }
 
     /**
-     * Deletes a message from the SQS queue after successful processing.
+     * Reads the event type: {@code detail-type} of an EventBridge envelope, or {@code eventType} of a
+     * bare {@code BaseEvent}.
      *
-     * @param message the message to delete
+     * @param message the SQS message
+     * @return the event type, or {@code null} if the body has none
      */
-    private void deleteMessage(final Message message) {
+    private String eventType(final QueueMessage message) {
         try {
-            DeleteMessageRequest deleteRequest = DeleteMessageRequest.builder()
-                .queueUrl(queueUrl)
-                .receiptHandle(message.receiptHandle())
-                .build();
-
-            sqsClient.deleteMessage(deleteRequest);
-            log.debug("SQS message deleted: messageId={}", message.messageId());
-
+            final JsonNode root = objectMapper.readTree(message.body());
+            final JsonNode type = root.hasNonNull(DETAIL_TYPE_FIELD)
+                    ? root.get(DETAIL_TYPE_FIELD)
+                    : root.get(EVENT_TYPE_FIELD);
+            return type != null && type.isTextual() ? type.asText() : null;
         } catch (Exception e) {
-            log.error("SQS message deletion failed: messageId={}, error={}", 
-                    message.messageId(), e.getMessage(), e);
+            log.debug("SQS message body is not an event: messageId={}, error={}",
+                    message.messageId(), e.getMessage());
+            return null;
         }
     }
 }
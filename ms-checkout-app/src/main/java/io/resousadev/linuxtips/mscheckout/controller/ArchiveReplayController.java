@@ -0,0 +1,87 @@
+package io.resousadev.linuxtips.mscheckout.controller;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.resousadev.linuxtips.mscheckout.archive.ArchiveReplayService;
+import io.resousadev.linuxtips.mscheckout.dto.ArchiveReplayRequestDTO;
+import io.resousadev.linuxtips.mscheckout.dto.ArchiveReplayStatusDTO;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Endpoints administrativos de replay do arquivo de eventos (restrito a ADMIN).
+ *
+ * <p>O replay reprocessa, pelos mesmos handlers do consumidor SQS, os eventos arquivados de um
+ * intervalo de tempo, opcionalmente filtrados por tipo; serve para reconstruir projeções ou
+ * alimentar um consumidor novo sem pedir a republicação na origem.</p>
+ */
+@RestController
+@RequestMapping("/admin/archive/replays")
+@RequiredArgsConstructor
+public class ArchiveReplayController {
+
+    private final ArchiveReplayService archiveReplayService;
+
+    /**
+     * Inicia um replay em background.
+     *
+     * @param request intervalo, tipos e paralelismo
+     * @return 202 com o status inicial, 400 se o intervalo é vazio, ou 409 se outro replay está em andamento
+     */
+    @PostMapping
+    public ResponseEntity<ArchiveReplayStatusDTO> iniciar(
+            @RequestBody @Validated final ArchiveReplayRequestDTO request) {
+        if (!request.from().isBefore(request.to())) {
+            return ResponseEntity.badRequest().build();
+        }
+        final Set<String> eventTypes = request.eventTypes() != null ? request.eventTypes() : Set.of();
+        return archiveReplayService.start(request.from(), request.to(), eventTypes, request.parallelism())
+            .map(status -> ResponseEntity.status(HttpStatus.ACCEPTED).body(status))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    /**
+     * Lista os replays recentes, do mais novo para o mais antigo.
+     *
+     * @return status dos replays
+     */
+    @GetMapping
+    public List<ArchiveReplayStatusDTO> listar() {
+        return archiveReplayService.list();
+    }
+
+    /**
+     * Consulta o progresso de um replay.
+     *
+     * @param id id do replay
+     * @return 200 com o status, ou 404 se desconhecido
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ArchiveReplayStatusDTO> consultar(@PathVariable final String id) {
+        return ResponseEntity.of(archiveReplayService.get(id));
+    }
+
+    /**
+     * Cancela um replay; os workers param após o evento atual.
+     *
+     * @param id id do replay
+     * @return 202, ou 404 se desconhecido
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelar(@PathVariable final String id) {
+        return archiveReplayService.cancel(id)
+            ? ResponseEntity.accepted().build()
+            : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,70 @@
+package io.resousadev.linuxtips.mscheckout.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.resousadev.linuxtips.common.logging.DebugCorrelations;
+
+/**
+ * Endpoints administrativos para ligar o DEBUG completo de um único correlation ID (restrito a ADMIN).
+ *
+ * <p>Enquanto ativo, todas as linhas DEBUG das threads com esse correlation ID são gravadas,
+ * independentemente do nível dos loggers, e os hot paths logam todos os seus eventos.</p>
+ */
+@RestController
+@RequestMapping("/admin/debug-correlations")
+public class DebugCorrelationController {
+
+    /**
+     * Lista os correlation IDs com DEBUG ativo e quando expiram.
+     *
+     * @return correlation ID → expiração
+     */
+    @GetMapping
+    public Map<String, Instant> listar() {
+        return DebugCorrelations.active();
+    }
+
+    /**
+     * Liga o DEBUG completo para o correlation ID.
+     *
+     * @param correlationId correlation ID a depurar
+     * @param ttl duração (ISO-8601, ex.: {@code PT15M}); sem valor usa o padrão configurado
+     * @return 200 com a expiração, ou 429 se o limite de IDs ativos foi atingido
+     */
+    @PutMapping("/{correlationId}")
+    public ResponseEntity<Map<String, Instant>> ativar(@PathVariable final String correlationId,
+                                                       @RequestParam(required = false) final Duration ttl) {
+        final boolean enabled = ttl == null
+            ? DebugCorrelations.enable(correlationId)
+            : DebugCorrelations.enable(correlationId, ttl);
+        if (!enabled) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok(Map.of(correlationId, DebugCorrelations.active().get(correlationId)));
+    }
+
+    /**
+     * Desliga o DEBUG completo para o correlation ID.
+     *
+     * @param correlationId correlation ID
+     * @return 204, ou 404 se o ID não estava ativo
+     */
+    @DeleteMapping("/{correlationId}")
+    public ResponseEntity<Void> desativar(@PathVariable final String correlationId) {
+        return DebugCorrelations.disable(correlationId)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+}
@@ -1,15 +1,24 @@
 package io.resousadev.linuxtips.mscheckout.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
 import io.resousadev.linuxtips.mscheckout.dto.UsuarioDTO;
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioImportResultDTO;
 import io.resousadev.linuxtips.mscheckout.mappers.UsuarioMapper;
 import io.resousadev.linuxtips.mscheckout.model.Usuario;
+import io.resousadev.linuxtips.mscheckout.service.UsuarioImportFormat;
+import io.resousadev.linuxtips.mscheckout.service.UsuarioImportService;
 import io.resousadev.linuxtips.mscheckout.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 
@@ -19,6 +28,7 @@ import lombok.RequiredArgsConstructor;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final UsuarioImportService usuarioImportService;
     private final UsuarioMapper usuarioMapper;
 
     /**
@@ -33,4 +43,22 @@ public class UsuarioController {
         usuarioService.salvarUsuario(usuario);
     }
 
+    /**
+     * Endpoint para importação em lote de usuários (restrito a ADMIN).
+     *
+     * <p>Aceita NDJSON ({@code application/x-ndjson}, um {@link UsuarioDTO} por linha) ou CSV
+     * ({@code text/csv}, cabeçalho {@code login,senha,roles} com roles separadas por {@code |}).
+     * O corpo é lido em streaming; linhas inválidas são reportadas sem interromper a importação.</p>
+     *
+     * @param contentType tipo do conteúdo enviado
+     * @param body conteúdo do arquivo
+     * @return totais da importação e erros por linha
+     * @throws IOException se a leitura do corpo falhar
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public UsuarioImportResultDTO importarUsuarios(@RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+                                                   final InputStream body) throws IOException {
+        return usuarioImportService.importar(body, UsuarioImportFormat.fromContentType(contentType));
+    }
+
 }
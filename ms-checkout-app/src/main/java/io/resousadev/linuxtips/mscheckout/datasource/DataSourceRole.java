@@ -0,0 +1,13 @@
+package io.resousadev.linuxtips.mscheckout.datasource;
+
+/**
+ * Chaves de roteamento do {@link ReadReplicaRoutingDataSource}.
+ */
+public enum DataSourceRole {
+
+    /** Banco primário: recebe todas as escritas e as leituras quando a réplica não está apta. */
+    PRIMARY,
+
+    /** Réplica de leitura: recebe transações {@code readOnly} enquanto o lag estiver dentro do limite. */
+    REPLICA
+}
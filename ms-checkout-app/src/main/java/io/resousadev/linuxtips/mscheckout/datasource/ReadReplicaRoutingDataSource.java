@@ -0,0 +1,55 @@
+package io.resousadev.linuxtips.mscheckout.datasource;
+
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que direciona transações {@code @Transactional(readOnly = true)} para a réplica.
+ *
+ * <p>Escritas, chamadas fora de transação e leituras feitas enquanto a réplica está atrasada
+ * (ou indisponível) vão para o primário. A decisão usa o flag read-only da transação corrente,
+ * por isso este DataSource deve ser envolvido por um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: sem ele o
+ * {@code JpaTransactionManager} obtém a conexão antes de o flag ser publicado.</p>
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final BooleanSupplier replicaAvailable;
+
+    /**
+     * Cria o roteador já inicializado.
+     *
+     * @param primary pool do banco primário
+     * @param replica pool da réplica de leitura
+     * @param replicaAvailable indica se a réplica está apta a receber leituras
+     */
+    public ReadReplicaRoutingDataSource(final DataSource primary, final DataSource replica,
+                                        final BooleanSupplier replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRole();
+    }
+
+    /**
+     * Papel que será usado pela próxima conexão obtida na thread corrente.
+     */
+    public DataSourceRole currentRole() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaAvailable.getAsBoolean()) {
+            return DataSourceRole.REPLICA;
+        }
+        return DataSourceRole.PRIMARY;
+    }
+}
@@ -0,0 +1,100 @@
+package io.resousadev.linuxtips.mscheckout.datasource;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mede periodicamente o lag de replicação da réplica de leitura.
+ *
+ * <p>A réplica só recebe leituras enquanto a última medição tiver sucesso e o lag estiver abaixo de
+ * {@code maxLag}; qualquer falha de conexão ou atraso acima do limite devolve as leituras ao
+ * primário até a próxima medição saudável. Antes da primeira medição a réplica é considerada
+ * indisponível.</p>
+ *
+ * <p>Expõe os gauges {@code checkout.datasource.replica.lag} e
+ * {@code checkout.datasource.replica.available}.</p>
+ */
+@Slf4j
+public class ReplicaLagMonitor implements BooleanSupplier {
+
+    /**
+     * Lag em milissegundos. Sem WAL pendente o lag é zero, mesmo que não haja escritas recentes no
+     * primário; em uma instância que não está em recovery (ex.: ambiente local) também é zero.
+     */
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END::bigint
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+
+    private volatile boolean available;
+    private volatile long lastLagMillis = -1;
+
+    /**
+     * Cria o monitor e registra seus gauges.
+     *
+     * @param replicaJdbcTemplate template ligado diretamente ao pool da réplica
+     * @param maxLag lag máximo tolerado para leituras na réplica
+     * @param meterRegistry registro de métricas
+     */
+    public ReplicaLagMonitor(final JdbcTemplate replicaJdbcTemplate, final Duration maxLag,
+                             final MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+
+        Gauge.builder("checkout.datasource.replica.lag", this, monitor -> monitor.lastLagMillis)
+            .baseUnit("milliseconds")
+            .description("Replication lag of the read replica (-1 when unreachable)")
+            .register(meterRegistry);
+        Gauge.builder("checkout.datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+            .description("Whether read-only transactions are currently routed to the replica")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Atualiza o estado da réplica a partir do lag medido.
+     */
+    @Scheduled(fixedDelayString = "${checkout.datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        final boolean wasAvailable = available;
+        try {
+            final Long lagMillis = replicaJdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+            lastLagMillis = lagMillis == null ? 0 : lagMillis;
+            available = lastLagMillis <= maxLag.toMillis();
+        } catch (Exception e) {
+            lastLagMillis = -1;
+            available = false;
+            log.debug("Replica lag check failed: error={}", e.getMessage());
+        }
+
+        if (wasAvailable != available) {
+            if (available) {
+                log.info("Read replica enabled for read-only transactions: lagMs={}", lastLagMillis);
+            } else {
+                log.warn("Read replica disabled, routing reads to primary: lagMs={}, maxLagMs={}",
+                    lastLagMillis, maxLag.toMillis());
+            }
+        }
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return available;
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+}
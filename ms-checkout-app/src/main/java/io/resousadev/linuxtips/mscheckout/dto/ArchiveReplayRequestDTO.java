@@ -0,0 +1,20 @@
+package io.resousadev.linuxtips.mscheckout.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Pedido de replay do arquivo de eventos.
+ *
+ * @param from início do intervalo (inclusivo)
+ * @param to fim do intervalo (exclusivo)
+ * @param eventTypes tipos a reprocessar; vazio ou ausente para todos
+ * @param parallelism segmentos lidos em paralelo; ausente usa {@code checkout.archive.replay.parallelism}
+ */
+public record ArchiveReplayRequestDTO(@NotNull Instant from, @NotNull Instant to, Set<String> eventTypes,
+                                      @Min(1) Integer parallelism) {
+
+}
@@ -0,0 +1,31 @@
+package io.resousadev.linuxtips.mscheckout.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Status de um replay do arquivo de eventos.
+ *
+ * @param id id do replay
+ * @param state RUNNING, CANCELLING, COMPLETED, CANCELLED ou FAILED
+ * @param from início do intervalo (inclusivo)
+ * @param to fim do intervalo (exclusivo)
+ * @param eventTypes tipos reprocessados; vazio para todos
+ * @param parallelism segmentos lidos em paralelo
+ * @param startedAt início do replay
+ * @param finishedAt fim do replay; {@code null} enquanto roda
+ * @param segments segmentos selecionados; -1 antes da listagem
+ * @param segmentsDone segmentos processados
+ * @param failedSegments segmentos que não puderam ser lidos
+ * @param events eventos entregues aos handlers
+ * @param failures eventos cujo handler falhou
+ * @param blocksRead blocos descomprimidos
+ * @param blocksSkipped blocos pulados pelo índice
+ * @param error motivo da falha do replay, se houver
+ */
+public record ArchiveReplayStatusDTO(String id, String state, Instant from, Instant to, Set<String> eventTypes,
+                                     int parallelism, Instant startedAt, Instant finishedAt, int segments,
+                                     long segmentsDone, long failedSegments, long events, long failures,
+                                     long blocksRead, long blocksSkipped, String error) {
+
+}
@@ -0,0 +1,12 @@
+package io.resousadev.linuxtips.mscheckout.dto;
+
+/**
+ * Erro de uma linha rejeitada na importação em lote de usuários.
+ *
+ * @param linha número da linha no arquivo de entrada (a partir de 1)
+ * @param login login informado na linha, quando legível
+ * @param motivo motivo da rejeição
+ */
+public record UsuarioImportErroDTO(long linha, String login, String motivo) {
+
+}
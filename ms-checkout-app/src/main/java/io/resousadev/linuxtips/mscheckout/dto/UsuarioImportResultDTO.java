@@ -0,0 +1,17 @@
+package io.resousadev.linuxtips.mscheckout.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da importação em lote de usuários.
+ *
+ * @param total linhas de dados lidas
+ * @param importados usuários persistidos
+ * @param falhas linhas rejeitadas
+ * @param duracaoMs duração total da importação em milissegundos
+ * @param erros detalhes das linhas rejeitadas (limitado a {@code checkout.usuarios.import.max-reported-errors})
+ */
+public record UsuarioImportResultDTO(long total, long importados, long falhas, long duracaoMs,
+                                     List<UsuarioImportErroDTO> erros) {
+
+}
@@ -0,0 +1,102 @@
+package io.resousadev.linuxtips.mscheckout.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Buffer circular limitado, com múltiplos produtores e um único consumidor, sem locks.
+ *
+ * <p>Cada posição tem um número de sequência (algoritmo de Vyukov): o produtor reserva uma posição com
+ * um CAS no índice de escrita e publica o elemento avançando a sequência da posição; o consumidor só lê
+ * posições publicadas e as libera para a próxima volta. Com o buffer cheio {@link #offer} retorna
+ * {@code false} imediatamente, sem bloquear o produtor.</p>
+ *
+ * @param <E> tipo dos elementos
+ */
+final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    MpscRingBuffer(final int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Enfileira o elemento; seguro para qualquer número de threads.
+     *
+     * @param element elemento não nulo
+     * @return {@code false} se o buffer estiver cheio
+     */
+    boolean offer(final E element) {
+        long position = producerIndex.get();
+        while (true) {
+            final int index = (int) (position & mask);
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerIndex.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = producerIndex.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = producerIndex.get();
+            }
+        }
+    }
+
+    /**
+     * Remove até {@code limit} elementos publicados, na ordem de enfileiramento. Apenas a thread
+     * consumidora pode chamar este método.
+     *
+     * @param consumer recebe cada elemento removido
+     * @param limit quantidade máxima de elementos
+     * @return quantidade de elementos removidos
+     */
+    int drain(final Consumer<E> consumer, final int limit) {
+        long position = consumerIndex;
+        int drained = 0;
+        while (drained < limit) {
+            final int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            final E element = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            consumerIndex = position;
+            drained++;
+            consumer.accept(element);
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (consumerIndex & mask)) != consumerIndex + 1;
+    }
+
+    int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
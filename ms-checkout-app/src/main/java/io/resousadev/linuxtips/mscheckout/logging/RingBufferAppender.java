@@ -0,0 +1,376 @@
+package io.resousadev.linuxtips.mscheckout.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Appender assíncrono baseado em um buffer circular sem locks ({@link MpscRingBuffer}).
+ *
+ * <p>Substitui o {@code AsyncAppender} do Logback: as threads da aplicação apenas preparam o evento e o
+ * publicam no buffer com um CAS; uma única thread de background grava lotes de até {@code batchSize}
+ * eventos nos appenders filhos e faz um único flush por lote. Nos appenders de arquivo configure
+ * {@code <immediateFlush>false</immediateFlush>} para que o flush aconteça apenas por lote.</p>
+ *
+ * <p>Política por nível quando o buffer enche:</p>
+ * <ul>
+ *   <li>eventos em {@code neverDropLevel} ou acima (padrão {@code ERROR}) esperam por espaço e nunca são
+ *       descartados;</li>
+ *   <li>eventos {@code INFO} e abaixo são descartados antecipadamente quando restam menos de
+ *       {@code discardingThreshold} posições livres (0 desativa), preservando espaço para {@code WARN};</li>
+ *   <li>os demais são descartados apenas com o buffer cheio.</li>
+ * </ul>
+ *
+ * <p>Descartes nunca são silenciosos: ficam nos contadores expostos por {@link RingBufferAppenderMetrics}
+ * e um resumo em {@code WARN} é gravado nos appenders filhos a cada {@code dropReportIntervalMillis}.</p>
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    static final List<Level> LEVELS = List.of(Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR);
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long DEFAULT_MAX_FLUSH_TIME_MILLIS = 1000;
+    private static final long DEFAULT_DROP_REPORT_INTERVAL_MILLIS = 10_000;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder[] dropped = new LongAdder[LEVELS.size()];
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int discardingThreshold;
+    private Level neverDropLevel = Level.ERROR;
+    private boolean includeCallerData;
+    private long maxFlushTimeMillis = DEFAULT_MAX_FLUSH_TIME_MILLIS;
+    private long dropReportIntervalMillis = DEFAULT_DROP_REPORT_INTERVAL_MILLIS;
+
+    private MpscRingBuffer<ILoggingEvent> buffer;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile boolean workerParked;
+
+    private volatile long flushCount;
+    private volatile long flushTotalNanos;
+    private volatile long flushMaxNanos;
+    private long reportedDrops;
+    private long lastDropReportNanos;
+
+    /**
+     * Cria o appender com as configurações padrão.
+     */
+    public RingBufferAppender() {
+        for (int i = 0; i < dropped.length; i++) {
+            dropped[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to RingBufferAppender [" + name + "]");
+            return;
+        }
+        try {
+            buffer = new MpscRingBuffer<>(bufferSize);
+        } catch (IllegalArgumentException e) {
+            addError("Invalid bufferSize for RingBufferAppender [" + name + "]: " + e.getMessage());
+            return;
+        }
+        running = true;
+        lastDropReportNanos = System.nanoTime();
+        worker = Thread.ofPlatform()
+            .name("logback-ring-buffer-" + name)
+            .daemon(true)
+            .unstarted(this::drainLoop);
+        worker.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTimeMillis);
+            if (worker.isAlive()) {
+                addWarn("RingBufferAppender [" + name + "] stopped with " + buffer.size() + " queued events");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(final ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+
+        final Level level = event.getLevel();
+        if (discardingThreshold > 0 && level.toInt() <= Level.INFO_INT
+                && buffer.capacity() - buffer.size() < discardingThreshold) {
+            drop(level);
+            return;
+        }
+        if (buffer.offer(event)) {
+            enqueued.increment();
+            wakeWorker();
+            return;
+        }
+        if (level.isGreaterOrEqual(neverDropLevel) && Thread.currentThread() != worker) {
+            enqueueBlocking(event);
+            return;
+        }
+        drop(level);
+    }
+
+    private void enqueueBlocking(final ILoggingEvent event) {
+        blocked.increment();
+        while (!buffer.offer(event)) {
+            if (!running) {
+                drop(event.getLevel());
+                return;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        enqueued.increment();
+    }
+
+    private void wakeWorker() {
+        if (workerParked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void drop(final Level level) {
+        dropped[levelIndex(level)].increment();
+    }
+
+    private void drainLoop() {
+        final List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            if (buffer.drain(batch::add, batchSize) == 0) {
+                reportDrops();
+                park();
+                continue;
+            }
+            final long start = System.nanoTime();
+            for (ILoggingEvent event : batch) {
+                appenders.appendLoopOnAppenders(event);
+            }
+            batch.clear();
+            flushAppenders();
+            recordFlush(System.nanoTime() - start);
+        }
+        reportDrops();
+        flushAppenders();
+    }
+
+    private void park() {
+        workerParked = true;
+        if (running && buffer.isEmpty()) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        workerParked = false;
+    }
+
+    private void flushAppenders() {
+        final Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> streamAppender
+                    && !streamAppender.isImmediateFlush()) {
+                final OutputStream outputStream = streamAppender.getOutputStream();
+                try {
+                    if (outputStream != null) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    addError("Failed to flush appender [" + streamAppender.getName() + "]", e);
+                }
+            }
+        }
+    }
+
+    private void recordFlush(final long nanos) {
+        flushCount++;
+        flushTotalNanos += nanos;
+        if (nanos > flushMaxNanos) {
+            flushMaxNanos = nanos;
+        }
+    }
+
+    private void reportDrops() {
+        final long now = System.nanoTime();
+        final long totalDropped = getDroppedCount();
+        if (totalDropped == reportedDrops
+                || now - lastDropReportNanos < TimeUnit.MILLISECONDS.toNanos(dropReportIntervalMillis)) {
+            return;
+        }
+        final StringBuilder perLevel = new StringBuilder();
+        for (Level level : LEVELS) {
+            perLevel.append(perLevel.isEmpty() ? "" : ", ").append(level).append('=').append(getDroppedCount(level));
+        }
+        final String message = "Log events dropped by appender " + name + ": dropped=" + (totalDropped - reportedDrops)
+            + ", totalDropped=" + totalDropped + " (" + perLevel + ")";
+        addWarn(message);
+        if (getContext() instanceof LoggerContext loggerContext) {
+            appenders.appendLoopOnAppenders(new LoggingEvent(RingBufferAppender.class.getName(),
+                loggerContext.getLogger(RingBufferAppender.class), Level.WARN, message, null, null));
+        }
+        reportedDrops = totalDropped;
+        lastDropReportNanos = now;
+    }
+
+    private static int levelIndex(final Level level) {
+        for (int i = 0; i < LEVELS.size() - 1; i++) {
+            if (level.toInt() <= LEVELS.get(i).toInt()) {
+                return i;
+            }
+        }
+        return LEVELS.size() - 1;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /**
+     * Total de eventos descartados, de todos os níveis.
+     *
+     * @return eventos descartados desde o início
+     */
+    public long getDroppedCount() {
+        long total = 0;
+        for (LongAdder adder : dropped) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    public long getDroppedCount(final Level level) {
+        return dropped[levelIndex(level)].sum();
+    }
+
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFlushTotalNanos() {
+        return flushTotalNanos;
+    }
+
+    public long getFlushMaxNanos() {
+        return flushMaxNanos;
+    }
+
+    /**
+     * Eventos aguardando gravação.
+     *
+     * @return tamanho atual do buffer, ou 0 se o appender não foi iniciado
+     */
+    public int getQueueSize() {
+        final MpscRingBuffer<ILoggingEvent> current = buffer;
+        return current == null ? 0 : current.size();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(final int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void setDiscardingThreshold(final int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public void setNeverDropLevel(final String neverDropLevel) {
+        this.neverDropLevel = Level.toLevel(neverDropLevel, Level.ERROR);
+    }
+
+    public void setIncludeCallerData(final boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public void setMaxFlushTimeMillis(final long maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    public void setDropReportIntervalMillis(final long dropReportIntervalMillis) {
+        this.dropReportIntervalMillis = dropReportIntervalMillis;
+    }
+
+    @Override
+    public void addAppender(final Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(final String appenderName) {
+        return appenders.getAppender(appenderName);
+    }
+
+    @Override
+    public boolean isAttached(final Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(final Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(final String appenderName) {
+        return appenders.detachAppender(appenderName);
+    }
+}
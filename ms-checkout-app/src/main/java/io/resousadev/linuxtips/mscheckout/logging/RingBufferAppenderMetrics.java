@@ -0,0 +1,95 @@
+package io.resousadev.linuxtips.mscheckout.logging;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exporta os contadores de todos os {@link RingBufferAppender} configurados no Logback.
+ *
+ * <p>Métricas, com a tag {@code appender}:</p>
+ * <ul>
+ *   <li>{@code logging.ring.buffer.enqueued} e {@code logging.ring.buffer.blocked} (espera por espaço em
+ *       eventos que nunca são descartados);</li>
+ *   <li>{@code logging.ring.buffer.dropped}, também com a tag {@code level};</li>
+ *   <li>{@code logging.ring.buffer.size} e {@code logging.ring.buffer.capacity};</li>
+ *   <li>{@code logging.ring.buffer.flush} (gravação + flush de cada lote) e
+ *       {@code logging.ring.buffer.flush.max}.</li>
+ * </ul>
+ */
+@Component
+public class RingBufferAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            bindTo(registry, loggerContext);
+        }
+    }
+
+    void bindTo(final MeterRegistry registry, final LoggerContext loggerContext) {
+        for (RingBufferAppender appender : findAppenders(loggerContext)) {
+            final String name = appender.getName();
+            FunctionCounter.builder("logging.ring.buffer.enqueued", appender, RingBufferAppender::getEnqueuedCount)
+                .tag("appender", name)
+                .description("Log events accepted by the ring buffer")
+                .register(registry);
+            FunctionCounter.builder("logging.ring.buffer.blocked", appender, RingBufferAppender::getBlockedCount)
+                .tag("appender", name)
+                .description("Never-drop log events that waited for free space")
+                .register(registry);
+            for (Level level : RingBufferAppender.LEVELS) {
+                FunctionCounter.builder("logging.ring.buffer.dropped", appender, a -> a.getDroppedCount(level))
+                    .tags("appender", name, "level", level.toString())
+                    .description("Log events dropped because the ring buffer was full")
+                    .register(registry);
+            }
+            Gauge.builder("logging.ring.buffer.size", appender, RingBufferAppender::getQueueSize)
+                .tag("appender", name)
+                .description("Log events waiting to be written")
+                .register(registry);
+            Gauge.builder("logging.ring.buffer.capacity", appender, RingBufferAppender::getBufferSize)
+                .tag("appender", name)
+                .register(registry);
+            FunctionTimer.builder("logging.ring.buffer.flush", appender, RingBufferAppender::getFlushCount,
+                    RingBufferAppender::getFlushTotalNanos, TimeUnit.NANOSECONDS)
+                .tag("appender", name)
+                .description("Time to write and flush one batch of log events")
+                .register(registry);
+            Gauge.builder("logging.ring.buffer.flush.max", appender,
+                    a -> a.getFlushMaxNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1))
+                .tag("appender", name)
+                .baseUnit("milliseconds")
+                .register(registry);
+        }
+    }
+
+    private static Collection<RingBufferAppender> findAppenders(final LoggerContext loggerContext) {
+        final Map<String, RingBufferAppender> appenders = new LinkedHashMap<>();
+        for (Logger logger : loggerContext.getLoggerList()) {
+            final Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof RingBufferAppender appender) {
+                    appenders.putIfAbsent(appender.getName(), appender);
+                }
+            }
+        }
+        return appenders.values();
+    }
+}
@@ -6,7 +6,18 @@ package io.resousadev.linuxtips.mscheckout.model;
  * @param origem origem do pagamento
  * @param valor valor do pagamento
  * @param status status atual do pagamento
+ * @param pedidoId id do pedido; os eventos de um mesmo pedido são consumidos em ordem (opcional)
  */
-public record Payment(String origem, String valor, String status) {
+public record Payment(String origem, String valor, String status, String pedidoId) {
 
+    /**
+     * Cria um pagamento sem pedido associado, cujos eventos não precisam de ordem.
+     *
+     * @param origem origem do pagamento
+     * @param valor valor do pagamento
+     * @param status status atual do pagamento
+     */
+    public Payment(final String origem, final String valor, final String status) {
+        this(origem, valor, status, null);
+    }
 }
@@ -1,7 +1,20 @@
 package io.resousadev.linuxtips.mscheckout.producer;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.resousadev.linuxtips.common.exception.EventPublishingException;
+import io.resousadev.linuxtips.common.logging.HotPathLog;
+import io.resousadev.linuxtips.common.resilience.EventBridgeSpool;
+import io.resousadev.linuxtips.common.tracing.Span;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
 import io.resousadev.linuxtips.mscheckout.model.Payment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,45 +28,123 @@ import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
 @RequiredArgsConstructor
 public class EventBridgeProducer {
 
+    @Lazy
     private final EventBridgeClient eventBridgeClient;
+    private final ObjectMapper objectMapper;
+    private final EventBridgeSpool eventBridgeSpool;
+
+    private static final HotPathLog PUBLISH_LOG = HotPathLog.of(log, "eventbridge.publish");
 
-    private static final String EVENT_BUS_NAME = "status-pedido-bus";
+    @Value("${eventbridge.bus-name}")
+    private String eventBusName;
 
     /**
      * Finaliza um pedido enviando evento para o AWS EventBridge.
      *
+     * <p>O correlation ID e o traceparent da thread atual (MDC) são copiados para o
+     * {@code detail} do evento, permitindo que o consumidor restaure o contexto.</p>
+     *
+     * <p>Com o circuit breaker aberto, ou em falhas transitórias do EventBridge, o evento vai para o
+     * spool local ({@link EventBridgeSpool}) e é reenviado quando o barramento se recuperar; só
+     * erros permanentes (ex.: validação) são propagados.</p>
+     *
+     * <p>A linha INFO de sucesso é amostrada; toda publicação entra no resumo periódico
+     * {@code eventbridge.publish} ({@link HotPathLog}).</p>
+     *
      * @param payment dados do pagamento a ser publicado como evento
+     * @throws EventPublishingException se o evento não puder ser publicado nem gravado no spool
      */
     public void finishOrder(final Payment payment) {
         log.debug("Publishing event to EventBridge: eventBus={}, source={}, detailType={}",
-                EVENT_BUS_NAME, payment.origem(), payment.status());
+                eventBusName, payment.origem(), payment.status());
 
-        PutEventsRequestEntry eventRequest = PutEventsRequestEntry.builder()
-            .source(payment.origem())
-            .detailType(payment.status())
-            .detail("{ \"valor\": \"" + payment.valor() + "\" }")
-            .eventBusName(EVENT_BUS_NAME)
-            .build();
+        final long startNanos = System.nanoTime();
+        boolean failed = true;
+        try (Span span = Span.start("eventbridge.putEvents")) {
+            PutEventsRequestEntry eventRequest = PutEventsRequestEntry.builder()
+                .source(payment.origem())
+                .detailType(payment.status())
+                .detail(buildDetail(payment))
+                .eventBusName(eventBusName)
+                .build();
 
-        try {
-            PutEventsRequest request = PutEventsRequest.builder()
-                    .entries(eventRequest)
-                    .build();
-
-            PutEventsResponse response = eventBridgeClient.putEvents(request);
-
-            if (response.failedEntryCount() > 0) {
-                var failedEntry = response.entries().get(0);
-                log.error("EventBridge publish failed: eventBus={}, detailType={}, errorCode={}, errorMessage={}",
-                        EVENT_BUS_NAME, payment.status(), failedEntry.errorCode(), failedEntry.errorMessage());
-            } else {
-                log.info("Event published to EventBridge: eventId={}, eventBus={}, detailType={}",
-                        response.entries().get(0).eventId(), EVENT_BUS_NAME, payment.status());
+            if (!eventBridgeSpool.allowPublish()) {
+                // Circuito aberto: não espera o timeout de um barramento sabidamente fora
+                span.markFailed();
+                eventBridgeSpool.spool(eventRequest);
+                return;
             }
-        } catch (Exception e) {
-            log.error("EventBridge publish exception: eventBus={}, detailType={}, error={}",
-                    EVENT_BUS_NAME, payment.status(), e.getMessage(), e);
-            throw e;
+
+            final long callStartNanos = System.nanoTime();
+            try {
+                PutEventsRequest request = PutEventsRequest.builder()
+                        .entries(eventRequest)
+                        .build();
+
+                PutEventsResponse response = eventBridgeClient.putEvents(request);
+
+                if (response.failedEntryCount() > 0) {
+                    span.markFailed();
+                    var failedEntry = response.entries().get(0);
+                    if (EventBridgeSpool.isRetryable(failedEntry.errorCode())) {
+                        eventBridgeSpool.onFailure();
+                        eventBridgeSpool.spool(eventRequest);
+                        return;
+                    }
+                    eventBridgeSpool.onSuccess(System.nanoTime() - callStartNanos);
+                    log.error("EventBridge publish failed: eventBus={}, detailType={}, errorCode={}, errorMessage={}",
+                            eventBusName, payment.status(), failedEntry.errorCode(), failedEntry.errorMessage());
+                } else {
+                    eventBridgeSpool.onSuccess(System.nanoTime() - callStartNanos);
+                    failed = false;
+                    if (PUBLISH_LOG.sample()) {
+                        log.info("Event published to EventBridge: eventId={}, eventBus={}, detailType={}",
+                                response.entries().get(0).eventId(), eventBusName, payment.status());
+                    }
+                }
+            } catch (Exception e) {
+                span.markFailed();
+                if (EventBridgeSpool.isRetryable(e)) {
+                    eventBridgeSpool.onFailure();
+                    log.warn("EventBridge publish exception, spooling: eventBus={}, detailType={}, error={}",
+                            eventBusName, payment.status(), e.getMessage());
+                    eventBridgeSpool.spool(eventRequest);
+                    return;
+                }
+                // Erro permanente (recusado pelo barramento ou bug ao montar o evento): não conta contra o circuito
+                eventBridgeSpool.onSuccess(System.nanoTime() - callStartNanos);
+                log.error("EventBridge publish exception: eventBus={}, detailType={}, error={}",
+                        eventBusName, payment.status(), e.getMessage(), e);
+                throw e;
+            }
+        } finally {
+            PUBLISH_LOG.record(System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    /**
+     * Monta o {@code detail} do evento com o valor do pagamento, a chave de ordenação (o pedido) e o
+     * contexto de rastreamento.
+     */
+    private String buildDetail(final Payment payment) {
+        final Map<String, String> detail = new LinkedHashMap<>();
+        detail.put("valor", payment.valor());
+        final String correlationId = TraceContext.currentOrNewCorrelationId();
+        // PENDING → APPROVED → CANCELLED de um pedido são tratados em ordem pelo consumidor, e a chave
+        // vira o MessageGroupId na fila FIFO; sem pedidoId o grupo é a requisição
+        final boolean hasPedido = payment.pedidoId() != null && !payment.pedidoId().isBlank();
+        detail.put("orderingKey", hasPedido ? payment.pedidoId() : correlationId);
+        detail.put("correlationId", correlationId);
+        final String traceparent = TraceContext.currentTraceparent();
+        if (traceparent != null) {
+            detail.put("traceparent", traceparent);
+        }
+
+        try {
+            return objectMapper.writeValueAsString(detail);
+        } catch (JsonProcessingException e) {
+            log.error("Event serialization failed: detailType={}, error={}", payment.status(), e.getMessage(), e);
+            throw new EventPublishingException(payment.status(), e);
         }
     }
 }
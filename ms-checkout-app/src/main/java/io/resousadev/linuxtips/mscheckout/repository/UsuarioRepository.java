@@ -1,8 +1,12 @@
 package io.resousadev.linuxtips.mscheckout.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import io.resousadev.linuxtips.mscheckout.model.Usuario;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -12,4 +16,11 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
 
     Usuario findByLogin(String login);
 
+    /**
+     * Retorna, dentre os logins informados, os que já estão cadastrados.
+     * Usado pela importação em lote para rejeitar duplicados sem abortar o lote inteiro.
+     */
+    @Query("select u.login from Usuario u where u.login in :logins")
+    Set<String> findLoginsExistentes(@Param("logins") Collection<String> logins);
+
 }
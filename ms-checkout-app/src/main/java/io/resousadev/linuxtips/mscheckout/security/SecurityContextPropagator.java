@@ -0,0 +1,34 @@
+package io.resousadev.linuxtips.mscheckout.security;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import io.resousadev.linuxtips.common.concurrent.ThreadContextPropagator;
+
+/**
+ * Propaga o {@link SecurityContext} da thread que submete a tarefa para a thread que a executa.
+ *
+ * <p>O contexto original da thread executora é restaurado ao final, evitando que a autenticação
+ * de uma requisição vaze para a próxima tarefa. Se ela não tinha autenticação, o contexto é
+ * limpo ({@code clearContext()}) em vez de ficar um contexto vazio preso à thread.</p>
+ */
+public class SecurityContextPropagator implements ThreadContextPropagator {
+
+    @Override
+    public Installer capture() {
+        SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+        SecurityContext captured = strategy.getContext();
+        return () -> {
+            SecurityContext previous = strategy.getContext();
+            strategy.setContext(captured);
+            return () -> {
+                if (previous.getAuthentication() == null) {
+                    strategy.clearContext();
+                } else {
+                    strategy.setContext(previous);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package io.resousadev.linuxtips.mscheckout.service;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceitos pela importação em lote de usuários.
+ */
+public enum UsuarioImportFormat {
+
+    /** Um {@code UsuarioDTO} JSON por linha. */
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE),
+
+    /** Cabeçalho {@code login,senha,roles}; roles separadas por {@code |}. */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    UsuarioImportFormat(final String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolve o formato a partir do {@code Content-Type} da requisição.
+     *
+     * @param contentType valor do header, possivelmente com parâmetros (ex.: {@code charset})
+     * @return o formato correspondente
+     * @throws IllegalArgumentException se o tipo não for suportado
+     */
+    public static UsuarioImportFormat fromContentType(final String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (UsuarioImportFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).isCompatibleWith(type)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Formato de importação não suportado: " + contentType);
+    }
+}
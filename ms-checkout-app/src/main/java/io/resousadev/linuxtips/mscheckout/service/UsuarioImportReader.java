@@ -0,0 +1,143 @@
+package io.resousadev.linuxtips.mscheckout.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioDTO;
+
+/**
+ * Leitor em streaming do arquivo de importação: mantém apenas a linha corrente em memória.
+ *
+ * <p>Linhas malformadas não interrompem a leitura; são devolvidas como {@link Row} com erro.</p>
+ */
+final class UsuarioImportReader implements Closeable {
+
+    private static final String ROLE_SEPARATOR = "\\|";
+
+    private final BufferedReader reader;
+    private final UsuarioImportFormat format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    private List<String> csvHeader;
+
+    UsuarioImportReader(final InputStream input, final UsuarioImportFormat format, final ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lê a próxima linha de dados, ignorando linhas em branco.
+     *
+     * @return a linha lida, ou {@code null} ao final da entrada
+     * @throws IOException se a leitura da entrada falhar
+     */
+    Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == UsuarioImportFormat.CSV && csvHeader == null) {
+                csvHeader = splitCsv(line.strip()).stream().map(String::toLowerCase).toList();
+                continue;
+            }
+            return format == UsuarioImportFormat.CSV ? parseCsv(line) : parseJson(line);
+        }
+        return null;
+    }
+
+    private Row parseJson(final String line) {
+        try {
+            return Row.ok(lineNumber, objectMapper.readValue(line, UsuarioDTO.class));
+        } catch (JsonProcessingException e) {
+            return Row.error(lineNumber, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row parseCsv(final String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != csvHeader.size()) {
+            return Row.error(lineNumber,
+                "Esperadas " + csvHeader.size() + " colunas, encontradas " + values.size());
+        }
+        String login = column(values, "login");
+        String senha = column(values, "senha");
+        String roles = column(values, "roles");
+        String[] roleArray = roles == null || roles.isBlank()
+            ? null
+            : Arrays.stream(roles.split(ROLE_SEPARATOR)).map(String::strip).filter(r -> !r.isEmpty())
+                .toArray(String[]::new);
+        return Row.ok(lineNumber, new UsuarioDTO(login, senha, roleArray));
+    }
+
+    private String column(final List<String> values, final String name) {
+        int index = csvHeader.indexOf(name);
+        return index < 0 ? null : values.get(index);
+    }
+
+    /**
+     * Divide uma linha CSV (RFC 4180) respeitando campos entre aspas e aspas duplicadas.
+     */
+    static List<String> splitCsv(final String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Linha de dados lida da entrada.
+     *
+     * @param line número da linha no arquivo
+     * @param usuario dados lidos, {@code null} quando a linha é inválida
+     * @param error motivo da rejeição, {@code null} quando a linha foi lida com sucesso
+     */
+    record Row(long line, UsuarioDTO usuario, String error) {
+
+        static Row ok(final long line, final UsuarioDTO usuario) {
+            return new Row(line, usuario, null);
+        }
+
+        static Row error(final long line, final String error) {
+            return new Row(line, null, error);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package io.resousadev.linuxtips.mscheckout.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.resousadev.linuxtips.mscheckout.config.UsuarioImportProperties;
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioImportErroDTO;
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioImportResultDTO;
+import io.resousadev.linuxtips.mscheckout.mappers.UsuarioMapper;
+import io.resousadev.linuxtips.mscheckout.model.Usuario;
+import io.resousadev.linuxtips.mscheckout.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importação em lote de usuários a partir de NDJSON ou CSV.
+ *
+ * <p>O arquivo é lido em streaming e processado em lotes de {@code chunk-size} linhas:</p>
+ * <ol>
+ *   <li>cada linha é validada (mesmas regras de {@link Usuario}) e logins repetidos no arquivo são rejeitados;</li>
+ *   <li>as senhas do lote são criptografadas em paralelo em um pool dedicado, um hash BCrypt por núcleo;</li>
+ *   <li>o lote é gravado em uma única transação, com logins já cadastrados rejeitados antes do insert.
+ *       Com {@code hibernate.jdbc.batch_size} e {@code reWriteBatchedInserts} os inserts de
+ *       {@code usuarios} e {@code usuario_roles} viram poucos comandos multi-valor.</li>
+ * </ol>
+ *
+ * <p>Se o lote falhar (ex.: login inserido concorrentemente), ele é regravado linha a linha para que
+ * apenas as linhas problemáticas sejam reportadas como erro.</p>
+ *
+ * <p>Com open-in-view a requisição mantém um único {@link EntityManager} entre as transações dos
+ * lotes; ele é limpo ao fim de cada lote para que os usuários importados não fiquem gerenciados,
+ * o que faria o heap e o dirty checking crescerem com o tamanho do arquivo.</p>
+ */
+@Slf4j
+@Service
+public class UsuarioImportService {
+
+    /** Constraint única de {@code usuarios.login} (V2__create_usuarios_table.sql). */
+    private static final String LOGIN_CONSTRAINT = "uk_usuarios_login";
+
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioMapper usuarioMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UsuarioImportProperties properties;
+    private final ExecutorService passwordHashExecutor;
+    private final EntityManager entityManager;
+
+    /**
+     * Cria o serviço e o pool de hash de senhas.
+     */
+    public UsuarioImportService(final UsuarioRepository usuarioRepository, final UsuarioMapper usuarioMapper,
+                                final PasswordEncoder passwordEncoder, final Validator validator,
+                                final TransactionTemplate transactionTemplate, final ObjectMapper objectMapper,
+                                final UsuarioImportProperties properties, final EntityManager entityManager) {
+        this.usuarioRepository = usuarioRepository;
+        this.usuarioMapper = usuarioMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.entityManager = entityManager;
+
+        int threads = properties.getHashThreads() > 0
+            ? properties.getHashThreads()
+            : Runtime.getRuntime().availableProcessors();
+        this.passwordHashExecutor = Executors.newFixedThreadPool(threads,
+            Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        passwordHashExecutor.shutdownNow();
+    }
+
+    /**
+     * Importa os usuários do arquivo informado.
+     *
+     * @param input conteúdo do arquivo, lido em streaming
+     * @param format formato do arquivo
+     * @return totais da importação e erros por linha
+     * @throws IOException se a leitura da entrada falhar
+     */
+    public UsuarioImportResultDTO importar(final InputStream input, final UsuarioImportFormat format)
+            throws IOException {
+        final long startNanos = System.nanoTime();
+        final ImportReport report = new ImportReport(properties.getMaxReportedErrors());
+        final Set<String> loginsNoArquivo = new HashSet<>();
+        final List<Candidate> chunk = new ArrayList<>(properties.getChunkSize());
+
+        log.info("Bulk user import started: format={}, chunkSize={}", format, properties.getChunkSize());
+
+        try (UsuarioImportReader reader = new UsuarioImportReader(input, format, objectMapper)) {
+            UsuarioImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                report.total++;
+                Candidate candidate = toCandidate(row, loginsNoArquivo, report);
+                if (candidate != null) {
+                    chunk.add(candidate);
+                }
+                if (chunk.size() >= properties.getChunkSize()) {
+                    processChunk(chunk, report, startNanos);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, report, startNanos);
+            }
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("Bulk user import finished: total={}, imported={}, failed={}, durationMs={}",
+            report.total, report.imported, report.failed, durationMs);
+        return report.toResult(durationMs);
+    }
+
+    private Candidate toCandidate(final UsuarioImportReader.Row row, final Set<String> loginsNoArquivo,
+                                  final ImportReport report) {
+        if (row.error() != null) {
+            report.fail(row.line(), null, row.error());
+            return null;
+        }
+
+        Usuario usuario = usuarioMapper.toEntity(row.usuario());
+        Set<ConstraintViolation<Usuario>> violations = validator.validate(usuario);
+        if (!violations.isEmpty()) {
+            report.fail(row.line(), usuario.getLogin(), violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+            return null;
+        }
+        if (!loginsNoArquivo.add(usuario.getLogin())) {
+            report.fail(row.line(), usuario.getLogin(), "Login duplicado no arquivo");
+            return null;
+        }
+        return new Candidate(row.line(), usuario);
+    }
+
+    private void processChunk(final List<Candidate> chunk, final ImportReport report, final long startNanos) {
+        hashPasswords(chunk);
+
+        try {
+            ChunkOutcome outcome = transactionTemplate.execute(status -> persistChunk(chunk));
+            outcome.duplicados().forEach(c -> report.fail(c.line(), c.usuario().getLogin(), "Login já cadastrado"));
+            report.imported += outcome.importados();
+        } catch (DataAccessException e) {
+            log.warn("Bulk user import chunk failed, retrying row by row: size={}, error={}",
+                chunk.size(), e.getMessage());
+            persistRowByRow(chunk, report);
+        } finally {
+            // Os usuários do lote já foram gravados ou descartados: deixam de ser gerenciados
+            entityManager.clear();
+        }
+
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.info("Bulk user import progress: processed={}, imported={}, failed={}, rowsPerSecond={}",
+            report.total, report.imported, report.failed, report.total * TimeUnit.SECONDS.toMillis(1) / elapsedMs);
+    }
+
+    private void hashPasswords(final List<Candidate> chunk) {
+        CompletableFuture<?>[] hashes = chunk.stream()
+            .map(c -> CompletableFuture.runAsync(
+                () -> c.usuario().setSenha(passwordEncoder.encode(c.usuario().getSenha())), passwordHashExecutor))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(hashes).join();
+    }
+
+    private ChunkOutcome persistChunk(final List<Candidate> chunk) {
+        Set<String> existentes = usuarioRepository.findLoginsExistentes(
+            chunk.stream().map(c -> c.usuario().getLogin()).toList());
+
+        List<Candidate> duplicados = new ArrayList<>();
+        List<Usuario> novos = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            if (existentes.contains(candidate.usuario().getLogin())) {
+                duplicados.add(candidate);
+            } else {
+                novos.add(candidate.usuario());
+            }
+        }
+
+        usuarioRepository.saveAll(novos);
+        usuarioRepository.flush();
+        return new ChunkOutcome(novos.size(), duplicados);
+    }
+
+    private void persistRowByRow(final List<Candidate> chunk, final ImportReport report) {
+        for (Candidate candidate : chunk) {
+            Usuario usuario = candidate.usuario();
+            // O id atribuído na tentativa em lote foi descartado no rollback
+            usuario.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> usuarioRepository.saveAndFlush(usuario));
+                report.imported++;
+            } catch (DataIntegrityViolationException e) {
+                report.fail(candidate.line(), usuario.getLogin(), isLoginConflict(e)
+                    ? "Login já cadastrado"
+                    : "Falha ao gravar: " + e.getMostSpecificCause().getMessage());
+            } catch (DataAccessException e) {
+                report.fail(candidate.line(), usuario.getLogin(), "Falha ao gravar: " + e.getMostSpecificCause()
+                    .getMessage());
+            }
+        }
+    }
+
+    /**
+     * Indica se a violação é a do login único, e não de outra constraint (ex.: coluna obrigatória).
+     */
+    private static boolean isLoginConflict(final DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            return LOGIN_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(LOGIN_CONSTRAINT);
+    }
+
+    private record Candidate(long line, Usuario usuario) {
+    }
+
+    private record ChunkOutcome(int importados, List<Candidate> duplicados) {
+    }
+
+    /**
+     * Totais acumulados; acessado apenas pela thread da requisição.
+     */
+    private static final class ImportReport {
+
+        private final int maxErros;
+        private final List<UsuarioImportErroDTO> erros = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        ImportReport(final int maxErros) {
+            this.maxErros = maxErros;
+        }
+
+        void fail(final long line, final String login, final String motivo) {
+            failed++;
+            if (erros.size() < maxErros) {
+                erros.add(new UsuarioImportErroDTO(line, login, motivo));
+            }
+        }
+
+        UsuarioImportResultDTO toResult(final long durationMs) {
+            return new UsuarioImportResultDTO(total, imported, failed, durationMs, List.copyOf(erros));
+        }
+    }
+}
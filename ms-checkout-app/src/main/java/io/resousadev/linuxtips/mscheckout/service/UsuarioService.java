@@ -2,6 +2,7 @@ package io.resousadev.linuxtips.mscheckout.service;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.resousadev.linuxtips.mscheckout.model.Usuario;
 import io.resousadev.linuxtips.mscheckout.repository.UsuarioRepository;
@@ -19,6 +20,7 @@ public class UsuarioService {
      *
      * @param usuario entidade usuário a ser persistida
      */
+    @Transactional
     public void salvarUsuario(final Usuario usuario) {
         // Criptografa a senha antes de salvar
         String senhaCriptografada = passwordEncoder.encode(usuario.getSenha());
@@ -26,6 +28,14 @@ public class UsuarioService {
         usuarioRepository.save(usuario);
     }
 
+    /**
+     * Busca um usuário pelo login. Executada em transação somente leitura, o que permite
+     * atendê-la pela réplica quando o roteamento leitura/escrita está habilitado.
+     *
+     * @param login login do usuário
+     * @return o usuário encontrado ou {@code null}
+     */
+    @Transactional(readOnly = true)
     public Usuario buscarPorLogin(final String login) {
         return usuarioRepository.findByLogin(login);
     }
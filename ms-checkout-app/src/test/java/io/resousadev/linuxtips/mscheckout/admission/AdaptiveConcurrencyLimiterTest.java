@@ -0,0 +1,135 @@
+package io.resousadev.linuxtips.mscheckout.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Unit Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long FAST_RTT = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW_RTT = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(final int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(
+            initialLimit, 2, 100, Duration.ofSeconds(1), 5, 1.5, 1.0, 0.5), clock::get);
+    }
+
+    @Test
+    @DisplayName("Should reject requests above the limit until one is released")
+    void shouldRejectAboveLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        // When / Then
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(FAST_RTT, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays at the baseline")
+    void shouldGrowWithStableLatency() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // When
+        runWindow(limiter, 10, FAST_RTT);
+        runWindow(limiter, 10, FAST_RTT);
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+        assertThat(limiter.getBaselineRttNanos()).isEqualTo(FAST_RTT);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises above the tolerance")
+    void shouldShrinkWhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        runWindow(limiter, 40, FAST_RTT);
+        int before = limiter.getLimit();
+
+        // When
+        runWindow(limiter, before, SLOW_RTT);
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Should back off on downstream failures and respect the minimum limit")
+    void shouldBackOffOnFailures() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(8);
+
+        // When
+        limiter.tryAcquire();
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.release(FAST_RTT, true);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            clock.addAndGet(WINDOW_NANOS);
+            limiter.release(FAST_RTT, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit when traffic uses less than half of it")
+    void shouldNotGrowWhenApplicationLimited() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+
+        // When
+        runWindow(limiter, 10, FAST_RTT);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent limits")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(
+            1, 10, 5, Duration.ofSeconds(1), 1, 1.5, 0.2, 0.9), clock::get))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Admits {@code concurrency} requests at once and releases them; the last release closes the window.
+     */
+    private void runWindow(final AdaptiveConcurrencyLimiter limiter, final int concurrency, final long rttNanos) {
+        int admitted = 0;
+        for (int i = 0; i < concurrency; i++) {
+            if (limiter.tryAcquire()) {
+                admitted++;
+            }
+        }
+        for (int i = 1; i < admitted; i++) {
+            limiter.release(rttNanos, false);
+        }
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.release(rttNanos, false);
+    }
+}
@@ -0,0 +1,228 @@
+package io.resousadev.linuxtips.mscheckout.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Unit tests for {@link AdmissionControlFilter}.
+ */
+@DisplayName("AdmissionControlFilter Unit Tests")
+class AdmissionControlFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(10));
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(
+            1, 1, 10, Duration.ofSeconds(1), 1, 1.5, 0.2, 0.9), clock::get);
+    }
+
+    private AdmissionControlFilter filter(final int globalBurst, final int callerBurst, final int maxCallers) {
+        return new AdmissionControlFilter(new TokenBucket(1, globalBurst, clock::get),
+            () -> new TokenBucket(1, callerBurst, clock::get), maxCallers, limiter, 2, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should admit requests within the limits and count them")
+    void shouldAdmitWithinLimits() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(10, 10, 10);
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("alice"), response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(meterRegistry.get("checkout.admission.admitted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After when the caller exceeds its rate")
+    void shouldRejectCallerOverRate() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(10, 1, 10);
+        filter.doFilter(request("alice"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // When
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("alice"), rejected, chain);
+        MockHttpServletResponse otherCaller = new MockHttpServletResponse();
+        filter.doFilter(request("bob"), otherCaller, new MockFilterChain());
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(otherCaller.getStatus()).isEqualTo(200);
+        assertThat(rejectedCount(AdmissionControlFilter.REASON_CALLER_RATE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return 429 when the global rate is exceeded")
+    void shouldRejectOverGlobalRate() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(1, 10, 10);
+        filter.doFilter(request("alice"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("bob"), response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(rejectedCount(AdmissionControlFilter.REASON_GLOBAL_RATE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give the caller token back when the global rate rejects the request")
+    void shouldRefundCallerTokenOnGlobalRejection() throws Exception {
+        // Given: the global bucket refills in 500ms, a caller bucket only in 1s
+        AdmissionControlFilter filter = new AdmissionControlFilter(new TokenBucket(2, 1, clock::get),
+            () -> new TokenBucket(1, 1, clock::get), 10, limiter, 2, meterRegistry);
+        filter.doFilter(request("bob"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("alice"), rejected, new MockFilterChain());
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        MockHttpServletResponse retried = new MockHttpServletResponse();
+        filter.doFilter(request("alice"), retried, new MockFilterChain());
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(retried.getStatus()).isEqualTo(200);
+        assertThat(rejectedCount(AdmissionControlFilter.REASON_CALLER_RATE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give the rate tokens back when the concurrency limit rejects the request")
+    void shouldRefundRateTokensOnConcurrencyRejection() throws Exception {
+        // Given: one token per bucket, spent by alice; bob's nested request only fits after a refund
+        AdmissionControlFilter filter = filter(2, 1, 10);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        HttpServlet slowServlet = new HttpServlet() {
+            @Override
+            protected void service(final HttpServletRequest req, final HttpServletResponse resp)
+                    throws ServletException, IOException {
+                filter.doFilter(request("bob"), nested, new MockFilterChain());
+            }
+        };
+        filter.doFilter(request("alice"), new MockHttpServletResponse(), new MockFilterChain(slowServlet));
+
+        // When
+        MockHttpServletResponse retried = new MockHttpServletResponse();
+        filter.doFilter(request("bob"), retried, new MockFilterChain());
+
+        // Then
+        assertThat(nested.getStatus()).isEqualTo(503);
+        assertThat(retried.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the concurrency limit is reached")
+    void shouldRejectOverConcurrencyLimit() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(10, 10, 10);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        HttpServlet slowServlet = new HttpServlet() {
+            @Override
+            protected void service(final HttpServletRequest req, final HttpServletResponse resp)
+                    throws ServletException, IOException {
+                // A second request arrives while this one is still in flight
+                filter.doFilter(request("bob"), nested, new MockFilterChain());
+            }
+        };
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("alice"), response, new MockFilterChain(slowServlet));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(nested.getStatus()).isEqualTo(503);
+        assertThat(nested.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejectedCount(AdmissionControlFilter.REASON_CONCURRENCY)).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the concurrency slot when the request fails")
+    void shouldReleaseSlotOnFailure() {
+        // Given
+        AdmissionControlFilter filter = filter(10, 10, 10);
+        HttpServlet failingServlet = new HttpServlet() {
+            @Override
+            protected void service(final HttpServletRequest req, final HttpServletResponse resp)
+                    throws ServletException {
+                throw new ServletException("EventBridge throttled");
+            }
+        };
+
+        // When / Then
+        assertThatThrownBy(() -> filter.doFilter(request("alice"), new MockHttpServletResponse(),
+            new MockFilterChain(failingServlet))).isInstanceOf(ServletException.class);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should share one bucket among new callers above maxCallers and evict idle callers")
+    void shouldBoundAndEvictCallerBuckets() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(10, 1, 1);
+        filter.doFilter(request("alice"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // When
+        MockHttpServletResponse bob = new MockHttpServletResponse();
+        filter.doFilter(request("bob"), bob, new MockFilterChain());
+        MockHttpServletResponse carol = new MockHttpServletResponse();
+        filter.doFilter(request("carol"), carol, new MockFilterChain());
+
+        // Then
+        assertThat(bob.getStatus()).isEqualTo(200);
+        assertThat(carol.getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.get("checkout.admission.callers").gauge().value()).isEqualTo(1);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        filter.evictIdleCallers();
+        assertThat(meterRegistry.get("checkout.admission.callers").gauge().value()).isZero();
+    }
+
+    private static MockHttpServletRequest request(final String user) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/mscheckout/orders");
+        request.setUserPrincipal(new TestingAuthenticationToken(user, "n/a"));
+        return request;
+    }
+
+    private double rejectedCount(final String reason) {
+        return meterRegistry.get("checkout.admission.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,89 @@
+package io.resousadev.linuxtips.mscheckout.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TokenBucket}.
+ */
+@DisplayName("TokenBucket Unit Tests")
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Should admit the burst at once and then reject with the time until the next token")
+    void shouldAdmitBurstThenReject() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        // When / Then
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("Should refill at the configured rate")
+    void shouldRefillAtRate() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should take a released token again and never exceed the burst")
+    void shouldReleaseTokenUpToBurst() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        assertThat(bucket.tryAcquire()).isZero();
+
+        // When
+        bucket.release();
+        bucket.release();
+
+        // Then
+        assertThat(bucket.isFull()).isTrue();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should report full only after the debt is repaid")
+    void shouldReportFullWhenIdle() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+        assertThat(bucket.isFull()).isTrue();
+
+        // When
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        // Then
+        assertThat(bucket.isFull()).isFalse();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(bucket.isFull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rate or burst")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,111 @@
+package io.resousadev.linuxtips.mscheckout.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import io.resousadev.linuxtips.common.archive.EventArchiveReplayer;
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.archive.LocalArchiveStore;
+import io.resousadev.linuxtips.common.event.EventHandlerRegistry;
+import io.resousadev.linuxtips.mscheckout.dto.ArchiveReplayStatusDTO;
+
+/**
+ * Unit tests for {@link ArchiveReplayService} over a local archive.
+ */
+@DisplayName("ArchiveReplayService Unit Tests")
+class ArchiveReplayServiceTest {
+
+    private static final Instant START = Instant.parse("2026-01-15T10:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    private final List<String> handledCorrelationIds = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ArchiveReplayService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final LocalArchiveStore store = new LocalArchiveStore(directory.resolve("segments"));
+        final AtomicLong clock = new AtomicLong(START.toEpochMilli());
+        try (EventArchiveWriter writer = EventArchiveWriter.open(directory.resolve("active"), store,
+                new EventArchiveWriter.Settings(Duration.ofMinutes(1), 1 << 20, 4096, Duration.ofSeconds(10)),
+                clock::get)) {
+            for (int i = 0; i < 300; i++) {
+                clock.set(START.toEpochMilli() + i * 1_000L);
+                final String type = i % 2 == 0 ? "APPROVED" : "REJECTED";
+                writer.append(type, "{\"detail-type\": \"" + type + "\", \"detail\": {\"correlationId\": \"corr-" + i
+                    + "\"}}");
+            }
+        }
+        final EventHandlerRegistry registry = new EventHandlerRegistry((type, body) -> { })
+            .register("APPROVED", (type, body) -> handledCorrelationIds.add(MDC.get("correlationId")));
+        service = new ArchiveReplayService(new EventArchiveReplayer(store), registry, 2, 4);
+    }
+
+    @Test
+    @DisplayName("Should replay the selected range and type with the original correlation IDs")
+    void shouldReplayRangeAndTypeWithCorrelationIds() throws Exception {
+        // When
+        final ArchiveReplayStatusDTO started = service.start(START.plusSeconds(60), START.plusSeconds(120),
+            Set.of("APPROVED"), 8).orElseThrow();
+
+        // Then
+        final ArchiveReplayStatusDTO finished = awaitFinished(started.id());
+        assertThat(started.parallelism()).isEqualTo(4);
+        assertThat(finished.state()).isEqualTo("COMPLETED");
+        assertThat(finished.events()).isEqualTo(30);
+        assertThat(finished.segments()).isEqualTo(1);
+        assertThat(handledCorrelationIds).hasSize(30).contains("corr-60", "corr-118").doesNotContain("corr-120");
+    }
+
+    @Test
+    @DisplayName("Should run one replay at a time")
+    void shouldRejectConcurrentReplay() throws Exception {
+        // Given - a replay blocked in its handler
+        final EventHandlerRegistry registry = new EventHandlerRegistry((type, body) -> release.await());
+        service = new ArchiveReplayService(
+            new EventArchiveReplayer(new LocalArchiveStore(directory.resolve("segments"))), registry, 1, 1);
+        final ArchiveReplayStatusDTO first = service.start(START, START.plusSeconds(300), Set.of(), null)
+            .orElseThrow();
+
+        // When
+        final Optional<ArchiveReplayStatusDTO> second = service.start(START, START.plusSeconds(300), Set.of(), null);
+
+        // Then
+        assertThat(second).isEmpty();
+        assertThat(service.cancel(first.id())).isTrue();
+        release.countDown();
+        assertThat(awaitFinished(first.id()).state()).isEqualTo("CANCELLED");
+        assertThat(service.start(START, START.plusSeconds(1), Set.of(), null)).isPresent();
+        assertThat(service.list()).hasSize(2);
+    }
+
+    private ArchiveReplayStatusDTO awaitFinished(final String id) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ArchiveReplayStatusDTO status = service.get(id).orElseThrow();
+        while (status.finishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.get(id).orElseThrow();
+        }
+        return status;
+    }
+}
@@ -12,7 +12,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import io.resousadev.linuxtips.common.logging.DebugCorrelations;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -42,6 +44,7 @@ class LoggingFilterTest {
     @AfterEach
     void tearDown() {
         MDC.clear();
+        DebugCorrelations.clear();
     }
 
     @Test
@@ -188,4 +191,65 @@ class LoggingFilterTest {
         // Then
         verify(filterChain).doFilter(httpRequest, httpResponse);
     }
+
+    @Test
+    @DisplayName("Should continue caller trace and echo correlation ID in response")
+    void shouldContinueCallerTraceAndEchoCorrelationId() throws IOException, ServletException {
+        // Given
+        when(httpRequest.getHeader("X-Correlation-Id")).thenReturn("trace-test-id");
+        when(httpRequest.getHeader("traceparent"))
+            .thenReturn("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        when(httpRequest.getRequestURI()).thenReturn("/v1/mscheckout/orders");
+        when(httpRequest.getMethod()).thenReturn("POST");
+
+        final String[] capturedTraceId = new String[1];
+        final String[] capturedSpanId = new String[1];
+
+        FilterChain capturingChain = (req, res) -> {
+            capturedTraceId[0] = MDC.get("traceId");
+            capturedSpanId[0] = MDC.get("spanId");
+        };
+
+        // When
+        loggingFilter.doFilter(httpRequest, httpResponse, capturingChain);
+
+        // Then
+        assertThat(capturedTraceId[0]).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(capturedSpanId[0]).isNotNull().isNotEqualTo("00f067aa0ba902b7");
+        verify(httpResponse).setHeader("X-Correlation-Id", "trace-test-id");
+        assertThat(MDC.get("traceId")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should enable full debug for the correlation ID when X-Debug header is true")
+    void shouldEnableDebugForCorrelationIdWithHeader() throws IOException, ServletException {
+        // Given
+        ReflectionTestUtils.setField(loggingFilter, "debugHeaderEnabled", true);
+        when(httpRequest.getHeader("X-Correlation-Id")).thenReturn("debug-me");
+        when(httpRequest.getHeader("X-Debug")).thenReturn("true");
+        when(httpRequest.getRequestURI()).thenReturn("/v1/mscheckout/orders");
+        when(httpRequest.getMethod()).thenReturn("POST");
+
+        // When
+        loggingFilter.doFilter(httpRequest, httpResponse, filterChain);
+
+        // Then
+        assertThat(DebugCorrelations.isEnabled("debug-me")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should ignore X-Debug header unless enabled by configuration")
+    void shouldIgnoreDebugHeaderByDefault() throws IOException, ServletException {
+        // Given
+        when(httpRequest.getHeader("X-Correlation-Id")).thenReturn("do-not-debug-me");
+        when(httpRequest.getHeader("X-Debug")).thenReturn("true");
+        when(httpRequest.getRequestURI()).thenReturn("/v1/mscheckout/orders");
+        when(httpRequest.getMethod()).thenReturn("POST");
+
+        // When
+        loggingFilter.doFilter(httpRequest, httpResponse, filterChain);
+
+        // Then
+        assertThat(DebugCorrelations.isEnabled("do-not-debug-me")).isFalse();
+    }
 }
@@ -1,259 +1,164 @@
 package io.resousadev.linuxtips.mscheckout.consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.slf4j.MDC;
 
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
-import software.amazon.awssdk.services.sqs.model.Message;
-import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
-import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.resousadev.linuxtips.common.archive.EventArchiveWriter;
+import io.resousadev.linuxtips.common.consumer.QueueMessage;
+import io.resousadev.linuxtips.common.event.EventHandlerRegistry;
 
 /**
  * Unit tests for {@link SqsMessageConsumer}.
- * Tests SQS message polling, processing, and deletion with mocked client.
+ * Tests dispatch, archiving and trace context restore; receiving and deleting are covered by
+ * the common {@code SqsQueueClient} and {@code QueueConsumer}.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("SqsMessageConsumer Unit Tests")
 class SqsMessageConsumerTest {
 
-    private static final String TEST_QUEUE_URL = "http://localhost:4566/000000000000/checkout-events-queue";
     private static final String TEST_MESSAGE_ID = "msg-12345";
     private static final String TEST_RECEIPT_HANDLE = "receipt-handle-abc123";
 
     @Mock
-    private SqsClient sqsClient;
-
-    @InjectMocks
-    private SqsMessageConsumer sqsMessageConsumer;
-
-    @Captor
-    private ArgumentCaptor<ReceiveMessageRequest> receiveRequestCaptor;
+    private EventArchiveWriter eventArchiveWriter;
 
-    @Captor
-    private ArgumentCaptor<DeleteMessageRequest> deleteRequestCaptor;
+    private final List<String> handled = new ArrayList<>();
 
-    @BeforeEach
-    void setUp() {
-        // Use Spring's ReflectionTestUtils - recommended approach for setting @Value fields in tests
-        ReflectionTestUtils.setField(sqsMessageConsumer, "queueUrl", TEST_QUEUE_URL);
-    }
+    private final String[] capturedCorrelationId = new String[1];
 
-    @Test
-    @DisplayName("Should poll messages with long polling configuration")
-    void shouldPollMessagesWithLongPolling() {
-        // Given
-        ReceiveMessageResponse emptyResponse = ReceiveMessageResponse.builder()
-            .messages(Collections.emptyList())
-            .build();
+    private final String[] capturedTraceId = new String[1];
 
-        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
-            .thenReturn(emptyResponse);
+    @Spy
+    private EventHandlerRegistry eventHandlerRegistry = new EventHandlerRegistry((type, body) -> { })
+        .register("APPROVED", (type, body) -> {
+            handled.add(type);
+            capturedCorrelationId[0] = MDC.get("correlationId");
+            capturedTraceId[0] = MDC.get("traceId");
+        })
+        .register("checkout.completed", (type, body) -> handled.add(type))
+        .register("FAILING", (type, body) -> {
+            throw new IllegalStateException("handler failed");
+        });
 
-        // When
-        sqsMessageConsumer.pollMessages();
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
-        // Then
-        verify(sqsClient).receiveMessage(receiveRequestCaptor.capture());
-        
-        ReceiveMessageRequest capturedRequest = receiveRequestCaptor.getValue();
-        assertThat(capturedRequest.queueUrl()).isEqualTo(TEST_QUEUE_URL);
-        assertThat(capturedRequest.waitTimeSeconds()).isEqualTo(20); // Long polling
-        assertThat(capturedRequest.maxNumberOfMessages()).isEqualTo(10);
-    }
+    @InjectMocks
+    private SqsMessageConsumer sqsMessageConsumer;
 
     @Test
-    @DisplayName("Should process and delete single message successfully")
-    void shouldProcessAndDeleteSingleMessage() {
-        // Given
-        String messageBody = """
+    @DisplayName("Should process EventBridge formatted message")
+    void shouldProcessEventBridgeFormattedMessage() throws Exception {
+        // Given - EventBridge wraps events in an envelope
+        String eventBridgeMessage = """
             {
                 "version": "0",
-                "id": "event-uuid",
+                "id": "12345678-1234-1234-1234-123456789012",
                 "detail-type": "APPROVED",
                 "source": "ms-checkout",
-                "detail": {"valor": "150.00"}
+                "account": "000000000000",
+                "time": "2025-11-30T10:00:00Z",
+                "region": "us-east-1",
+                "resources": [],
+                "detail": {
+                    "valor": "299.99"
+                }
             }
             """;
 
-        Message message = Message.builder()
-            .messageId(TEST_MESSAGE_ID)
-            .receiptHandle(TEST_RECEIPT_HANDLE)
-            .body(messageBody)
-            .build();
-
-        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
-            .messages(List.of(message))
-            .build();
-
-        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
-            .thenReturn(response);
-
         // When
-        sqsMessageConsumer.pollMessages();
+        sqsMessageConsumer.handle(message(eventBridgeMessage));
 
         // Then
-        verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
-        verify(sqsClient).deleteMessage(deleteRequestCaptor.capture());
-
-        DeleteMessageRequest deleteRequest = deleteRequestCaptor.getValue();
-        assertThat(deleteRequest.queueUrl()).isEqualTo(TEST_QUEUE_URL);
-        assertThat(deleteRequest.receiptHandle()).isEqualTo(TEST_RECEIPT_HANDLE);
+        assertThat(handled).containsExactly("APPROVED");
+        verify(eventArchiveWriter).append("APPROVED", eventBridgeMessage);
     }
 
     @Test
-    @DisplayName("Should process and delete multiple messages")
-    void shouldProcessAndDeleteMultipleMessages() {
+    @DisplayName("Should handle a message without event type through the default handler")
+    void shouldHandleMessageWithoutEventType() throws Exception {
         // Given
-        Message message1 = Message.builder()
-            .messageId("msg-001")
-            .receiptHandle("receipt-001")
-            .body("{\"detail-type\": \"APPROVED\"}")
-            .build();
-
-        Message message2 = Message.builder()
-            .messageId("msg-002")
-            .receiptHandle("receipt-002")
-            .body("{\"detail-type\": \"PENDING\"}")
-            .build();
-
-        Message message3 = Message.builder()
-            .messageId("msg-003")
-            .receiptHandle("receipt-003")
-            .body("{\"detail-type\": \"REJECTED\"}")
-            .build();
-
-        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
-            .messages(List.of(message1, message2, message3))
-            .build();
-
-        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
-            .thenReturn(response);
+        String body = "{\"detail\": \"test\"}";
 
         // When
-        sqsMessageConsumer.pollMessages();
+        sqsMessageConsumer.handle(message(body));
 
         // Then
-        verify(sqsClient, times(3)).deleteMessage(any(DeleteMessageRequest.class));
+        assertThat(handled).isEmpty();
+        verify(eventArchiveWriter).append(null, body);
     }
 
     @Test
-    @DisplayName("Should not delete messages when queue is empty")
-    void shouldNotDeleteMessagesWhenQueueIsEmpty() {
+    @DisplayName("Should restore correlation ID from event detail while processing")
+    void shouldRestoreCorrelationIdFromEventDetail() throws Exception {
         // Given
-        ReceiveMessageResponse emptyResponse = ReceiveMessageResponse.builder()
-            .messages(Collections.emptyList())
-            .build();
-
-        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
-            .thenReturn(emptyResponse);
+        String eventBridgeMessage = """
+            {
+                "detail-type": "APPROVED",
+                "source": "ms-checkout",
+                "detail": {
+                    "valor": "10.00",
+                    "correlationId": "corr-from-producer",
+                    "traceparent": "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"
+                }
+            }
+            """;
 
         // When
-        sqsMessageConsumer.pollMessages();
+        sqsMessageConsumer.handle(message(eventBridgeMessage));
 
         // Then
-        verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
-        verify(sqsClient, never()).deleteMessage(any(DeleteMessageRequest.class));
+        assertThat(capturedCorrelationId[0]).isEqualTo("corr-from-producer");
+        assertThat(capturedTraceId[0]).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(MDC.get("correlationId")).isNull();
     }
 
     @Test
-    @DisplayName("Should handle exception during polling gracefully")
-    void shouldHandleExceptionDuringPollingGracefully() {
+    @DisplayName("Should read the event type of a bare BaseEvent body")
+    void shouldReadEventTypeOfBareBaseEvent() throws Exception {
         // Given
-        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
-            .thenThrow(new RuntimeException("SQS connection failed"));
+        String body = "{\"eventId\": \"evt-1\", \"eventType\": \"checkout.completed\"}";
 
-        // When - should not throw, just log error
-        sqsMessageConsumer.pollMessages();
+        // When
+        sqsMessageConsumer.handle(message(body));
 
         // Then
-        verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
-        verify(sqsClient, never()).deleteMessage(any(DeleteMessageRequest.class));
+        assertThat(handled).containsExactly("checkout.completed");
+        verify(eventArchiveWriter).append("checkout.completed", body);
     }
 
     @Test
-    @DisplayName("Should handle exception during message deletion gracefully")
-    void shouldHandleExceptionDuringDeletionGracefully() {
+    @DisplayName("Should rethrow and not archive the event when the handler fails")
+    void shouldRethrowWhenHandlerFails() {
         // Given
-        Message message = Message.builder()
-            .messageId(TEST_MESSAGE_ID)
-            .receiptHandle(TEST_RECEIPT_HANDLE)
-            .body("{\"detail\": \"test\"}")
-            .build();
-
-        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
-            .messages(List.of(message))
-            .build();
-
-        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
-            .thenReturn(response);
-        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
-            .thenThrow(new RuntimeException("Delete failed"));
-
-        // When - should not throw, just log error
-        sqsMessageConsumer.pollMessages();
-
-        // Then
-        verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
-        verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
+        QueueMessage message = message("{\"detail-type\": \"FAILING\"}");
+
+        // When / Then - the consumer leaves the message in the queue
+        assertThatThrownBy(() -> sqsMessageConsumer.handle(message))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("handler failed");
+        verify(eventArchiveWriter, never()).append(anyString(), anyString());
+        assertThat(MDC.get("correlationId")).isNull();
     }
 
-    @Test
-    @DisplayName("Should process EventBridge formatted message")
-    void shouldProcessEventBridgeFormattedMessage() {
-        // Given - EventBridge wraps events in an envelope
-        String eventBridgeMessage = """
-            {
-                "version": "0",
-                "id": "12345678-1234-1234-1234-123456789012",
-                "detail-type": "APPROVED",
-                "source": "ms-checkout",
-                "account": "000000000000",
-                "time": "2025-11-30T10:00:00Z",
-                "region": "us-east-1",
-                "resources": [],
-                "detail": {
-                    "valor": "299.99"
-                }
-            }
-            """;
-
-        Message message = Message.builder()
-            .messageId(TEST_MESSAGE_ID)
-            .receiptHandle(TEST_RECEIPT_HANDLE)
-            .body(eventBridgeMessage)
-            .build();
-
-        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
-            .messages(List.of(message))
-            .build();
-
-        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
-            .thenReturn(response);
-
-        // When
-        sqsMessageConsumer.pollMessages();
-
-        // Then
-        verify(sqsClient).deleteMessage(deleteRequestCaptor.capture());
-        assertThat(deleteRequestCaptor.getValue().receiptHandle()).isEqualTo(TEST_RECEIPT_HANDLE);
+    private static QueueMessage message(final String body) {
+        return new QueueMessage(TEST_MESSAGE_ID, TEST_RECEIPT_HANDLE, body);
     }
 }
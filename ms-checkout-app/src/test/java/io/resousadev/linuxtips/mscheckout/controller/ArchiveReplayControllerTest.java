@@ -0,0 +1,131 @@
+package io.resousadev.linuxtips.mscheckout.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.resousadev.linuxtips.mscheckout.archive.ArchiveReplayService;
+import io.resousadev.linuxtips.mscheckout.config.SecurityConfiguration;
+import io.resousadev.linuxtips.mscheckout.dto.ArchiveReplayStatusDTO;
+import io.resousadev.linuxtips.mscheckout.service.UsuarioService;
+
+/**
+ * Web layer tests for {@link ArchiveReplayController}.
+ */
+@WebMvcTest(ArchiveReplayController.class)
+@Import(SecurityConfiguration.class)
+@DisplayName("ArchiveReplayController Web Tests")
+class ArchiveReplayControllerTest {
+
+    private static final Instant FROM = Instant.parse("2026-01-15T10:00:00Z");
+    private static final Instant TO = Instant.parse("2026-01-15T12:00:00Z");
+    private static final String REQUEST = """
+        {"from": "2026-01-15T10:00:00Z", "to": "2026-01-15T12:00:00Z", "eventTypes": ["APPROVED"], "parallelism": 4}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UsuarioService usuarioService;
+
+    @MockitoBean
+    private ArchiveReplayService archiveReplayService;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should start a replay and return 202 when user is ADMIN")
+    void shouldStartReplayWhenAdmin() throws Exception {
+        // Given
+        when(archiveReplayService.start(FROM, TO, Set.of("APPROVED"), 4)).thenReturn(Optional.of(status("RUNNING")));
+
+        // When / Then
+        mockMvc.perform(post("/admin/archive/replays")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.id").value("replay-1"))
+            .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should return 409 while another replay is running")
+    void shouldReturn409WhenReplayRunning() throws Exception {
+        // Given
+        when(archiveReplayService.start(any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        // When / Then
+        mockMvc.perform(post("/admin/archive/replays")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should return 400 for an empty time range")
+    void shouldReturn400ForEmptyRange() throws Exception {
+        mockMvc.perform(post("/admin/archive/replays")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"from\": \"2026-01-15T12:00:00Z\", \"to\": \"2026-01-15T10:00:00Z\"}"))
+            .andExpect(status().isBadRequest());
+
+        verify(archiveReplayService, never()).start(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    @DisplayName("Should return 403 when user is not ADMIN")
+    void shouldReturn403WhenNotAdmin() throws Exception {
+        mockMvc.perform(post("/admin/archive/replays")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(status().isForbidden());
+
+        verify(archiveReplayService, never()).start(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should return the replay progress, or 404 for an unknown replay")
+    void shouldReturnReplayProgress() throws Exception {
+        // Given
+        when(archiveReplayService.get(anyString())).thenReturn(Optional.empty());
+        when(archiveReplayService.get(eq("replay-1"))).thenReturn(Optional.of(status("COMPLETED")));
+
+        // When / Then
+        mockMvc.perform(get("/admin/archive/replays/replay-1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value("COMPLETED"))
+            .andExpect(jsonPath("$.events").value(150));
+        mockMvc.perform(get("/admin/archive/replays/unknown"))
+            .andExpect(status().isNotFound());
+    }
+
+    private static ArchiveReplayStatusDTO status(final String state) {
+        return new ArchiveReplayStatusDTO("replay-1", state, FROM, TO, Set.of("APPROVED"), 4, FROM, null,
+            3, 3, 0, 150, 0, 2, 8, null);
+    }
+}
@@ -0,0 +1,76 @@
+package io.resousadev.linuxtips.mscheckout.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.resousadev.linuxtips.common.logging.DebugCorrelations;
+import io.resousadev.linuxtips.mscheckout.config.SecurityConfiguration;
+import io.resousadev.linuxtips.mscheckout.service.UsuarioService;
+
+/**
+ * Web layer tests for {@link DebugCorrelationController}.
+ */
+@WebMvcTest(DebugCorrelationController.class)
+@Import(SecurityConfiguration.class)
+@DisplayName("DebugCorrelationController Web Tests")
+class DebugCorrelationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UsuarioService usuarioService;
+
+    @AfterEach
+    void tearDown() {
+        DebugCorrelations.clear();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should enable debug for a correlation ID when user is ADMIN")
+    void shouldEnableDebugWhenAdmin() throws Exception {
+        mockMvc.perform(put("/admin/debug-correlations/corr-123").param("ttl", "PT5M"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.corr-123").exists());
+
+        assertThat(DebugCorrelations.isEnabled("corr-123")).isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    @DisplayName("Should return 403 when user is not ADMIN")
+    void shouldReturn403WhenNotAdmin() throws Exception {
+        mockMvc.perform(put("/admin/debug-correlations/corr-123"))
+            .andExpect(status().isForbidden());
+
+        assertThat(DebugCorrelations.isEnabled("corr-123")).isFalse();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should disable an active correlation ID and return 404 for unknown ones")
+    void shouldDisableCorrelationId() throws Exception {
+        // Given
+        DebugCorrelations.enable("corr-123");
+
+        // When / Then
+        mockMvc.perform(delete("/admin/debug-correlations/corr-123"))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/admin/debug-correlations/corr-123"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -1,11 +1,15 @@
 package io.resousadev.linuxtips.mscheckout.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
@@ -20,8 +24,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import io.resousadev.linuxtips.mscheckout.config.SecurityConfiguration;
 import io.resousadev.linuxtips.mscheckout.dto.UsuarioDTO;
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioImportErroDTO;
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioImportResultDTO;
 import io.resousadev.linuxtips.mscheckout.mappers.UsuarioMapper;
 import io.resousadev.linuxtips.mscheckout.model.Usuario;
+import io.resousadev.linuxtips.mscheckout.service.UsuarioImportFormat;
+import io.resousadev.linuxtips.mscheckout.service.UsuarioImportService;
 import io.resousadev.linuxtips.mscheckout.service.UsuarioService;
 
 /**
@@ -39,6 +47,9 @@ class UsuarioControllerTest {
     @MockitoBean
     private UsuarioService usuarioService;
 
+    @MockitoBean
+    private UsuarioImportService usuarioImportService;
+
     @MockitoBean
     private UsuarioMapper usuarioMapper;
 
@@ -151,4 +162,52 @@ class UsuarioControllerTest {
         // Then
         verify(usuarioMapper).toEntity(any(UsuarioDTO.class));
     }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should import users from NDJSON when authenticated as admin")
+    void shouldImportUsersWhenAuthenticatedAsAdmin() throws Exception {
+        // Given
+        when(usuarioImportService.importar(any(InputStream.class), eq(UsuarioImportFormat.NDJSON)))
+            .thenReturn(new UsuarioImportResultDTO(2, 1, 1, 15,
+                List.of(new UsuarioImportErroDTO(2, "bob", "Login já cadastrado"))));
+
+        // When / Then
+        mockMvc.perform(post("/usuarios/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("""
+                    {"login":"alice","senha":"secret1","roles":["USER"]}
+                    {"login":"bob","senha":"secret2","roles":["USER"]}
+                    """))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importados").value(1))
+            .andExpect(jsonPath("$.erros[0].linha").value(2))
+            .andExpect(jsonPath("$.erros[0].motivo").value("Login já cadastrado"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    @DisplayName("Should forbid bulk import for non-admin users")
+    void shouldForbidBulkImportForNonAdmin() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/usuarios/import")
+                .contentType("text/csv")
+                .content("login,senha,roles\nalice,secret1,USER\n"))
+            .andExpect(status().isForbidden());
+
+        verifyNoInteractions(usuarioImportService);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Should reject bulk import with unsupported content type")
+    void shouldRejectBulkImportWithUnsupportedContentType() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/usuarios/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(usuarioImportService);
+    }
 }
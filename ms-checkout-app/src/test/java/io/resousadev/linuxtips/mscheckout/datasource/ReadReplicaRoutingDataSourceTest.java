@@ -0,0 +1,99 @@
+package io.resousadev.linuxtips.mscheckout.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link ReadReplicaRoutingDataSource}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReplicaRoutingDataSource Unit Tests")
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    private final AtomicBoolean replicaAvailable = new AtomicBoolean(true);
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replica, replicaAvailable::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica")
+    void shouldRouteReadOnlyTransactionsToReplica() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenReturn(connection);
+
+        // When
+        Connection result = routingDataSource.getConnection();
+
+        // Then
+        assertThat(result).isSameAs(connection);
+        verify(replica).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteWritesToPrimary() throws Exception {
+        // Given
+        when(primary.getConnection()).thenReturn(connection);
+
+        // When
+        Connection result = routingDataSource.getConnection();
+
+        // Then
+        assertThat(result).isSameAs(connection);
+        assertThat(routingDataSource.currentRole()).isEqualTo(DataSourceRole.PRIMARY);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is lagging")
+    void shouldFallBackToPrimaryWhenReplicaIsLagging() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaAvailable.set(false);
+        when(primary.getConnection()).thenReturn(connection);
+
+        // When
+        Connection result = routingDataSource.getConnection();
+
+        // Then
+        assertThat(result).isSameAs(connection);
+        assertThat(routingDataSource.currentRole()).isEqualTo(DataSourceRole.PRIMARY);
+        verifyNoInteractions(replica);
+    }
+}
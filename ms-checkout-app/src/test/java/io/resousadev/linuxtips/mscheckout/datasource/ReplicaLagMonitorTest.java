@@ -0,0 +1,95 @@
+package io.resousadev.linuxtips.mscheckout.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link ReplicaLagMonitor}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaLagMonitor Unit Tests")
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(jdbcTemplate, Duration.ofSeconds(1), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should keep the replica disabled before the first check")
+    void shouldBeUnavailableBeforeFirstCheck() {
+        assertThat(monitor.getAsBoolean()).isFalse();
+        assertThat(meterRegistry.get("checkout.datasource.replica.available").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should enable the replica when lag is within the limit")
+    void shouldEnableReplicaWhenLagIsWithinLimit() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(200L);
+
+        // When
+        monitor.checkLag();
+
+        // Then
+        assertThat(monitor.getAsBoolean()).isTrue();
+        assertThat(monitor.getLastLagMillis()).isEqualTo(200L);
+        assertThat(meterRegistry.get("checkout.datasource.replica.lag").gauge().value()).isEqualTo(200.0);
+        assertThat(meterRegistry.get("checkout.datasource.replica.available").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should disable the replica when lag exceeds the limit")
+    void shouldDisableReplicaWhenLagExceedsLimit() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(200L, 5_000L);
+        monitor.checkLag();
+
+        // When
+        monitor.checkLag();
+
+        // Then
+        assertThat(monitor.getAsBoolean()).isFalse();
+        assertThat(monitor.getLastLagMillis()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("Should disable the replica when it is unreachable")
+    void shouldDisableReplicaWhenUnreachable() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+            .thenReturn(0L)
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        monitor.checkLag();
+
+        // When
+        monitor.checkLag();
+
+        // Then
+        assertThat(monitor.getAsBoolean()).isFalse();
+        assertThat(monitor.getLastLagMillis()).isEqualTo(-1L);
+    }
+}
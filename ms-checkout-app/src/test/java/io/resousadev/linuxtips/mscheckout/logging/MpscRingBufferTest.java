@@ -0,0 +1,85 @@
+package io.resousadev.linuxtips.mscheckout.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MpscRingBuffer}.
+ */
+@DisplayName("MpscRingBuffer Unit Tests")
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("Should reject offers when full and accept again after draining")
+    void shouldRejectWhenFull() {
+        // Given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // When / Then
+        assertThat(buffer.offer(4)).isFalse();
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should deliver every element exactly once with concurrent producers")
+    void shouldDeliverAllElementsFromConcurrentProducers() throws Exception {
+        // Given
+        int producers = 8;
+        int perProducer = 20_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        boolean[] seen = new boolean[producers * perProducer];
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            int received = 0;
+            while (received < seen.length) {
+                received += buffer.drain(value -> {
+                    assertThat(seen[value]).isFalse();
+                    seen[value] = true;
+                }, 64);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Then
+        assertThat(buffer.isEmpty()).isTrue();
+        for (boolean value : seen) {
+            assertThat(value).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should require a power-of-two capacity")
+    void shouldRequirePowerOfTwoCapacity() {
+        assertThatThrownBy(() -> new MpscRingBuffer<>(100)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,169 @@
+package io.resousadev.linuxtips.mscheckout.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link RingBufferAppender}.
+ */
+@DisplayName("RingBufferAppender Unit Tests")
+class RingBufferAppenderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    private GatedListAppender target;
+
+    private RingBufferAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        target = new GatedListAppender();
+        target.setContext(loggerContext);
+        target.start();
+
+        appender = new RingBufferAppender();
+        appender.setContext(loggerContext);
+        appender.setName("TEST");
+        appender.setBufferSize(2);
+        appender.setBatchSize(1);
+        appender.setDropReportIntervalMillis(0);
+        appender.addAppender(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.gate.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver events in order to the attached appender")
+    void shouldDeliverEventsInOrder() throws Exception {
+        // Given
+        target.gate.countDown();
+        appender.start();
+
+        // When
+        appender.doAppend(event(Level.INFO, "first"));
+        appender.doAppend(event(Level.WARN, "second"));
+        appender.stop();
+
+        // Then
+        assertThat(target.list).extracting(ILoggingEvent::getMessage).containsExactly("first", "second");
+        assertThat(appender.getEnqueuedCount()).isEqualTo(2);
+        assertThat(appender.getDroppedCount()).isZero();
+        assertThat(appender.getFlushCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count dropped events and report them when the buffer is full")
+    void shouldCountAndReportDrops() throws Exception {
+        // Given
+        appender.start();
+        fillBufferWhileWorkerIsBlocked();
+
+        // When
+        appender.doAppend(event(Level.INFO, "dropped"));
+        target.gate.countDown();
+        appender.stop();
+
+        // Then
+        assertThat(appender.getDroppedCount(Level.INFO)).isEqualTo(1);
+        assertThat(appender.getDroppedCount()).isEqualTo(1);
+        assertThat(target.list).extracting(ILoggingEvent::getMessage)
+            .startsWith("blocking", "queued-1", "queued-2")
+            .anyMatch(message -> message.startsWith("Log events dropped by appender TEST: dropped=1"));
+    }
+
+    @Test
+    @DisplayName("Should wait for free space instead of dropping ERROR events")
+    void shouldNeverDropErrors() throws Exception {
+        // Given
+        appender.start();
+        fillBufferWhileWorkerIsBlocked();
+
+        // When
+        CompletableFuture<Void> error = CompletableFuture.runAsync(
+            () -> appender.doAppend(event(Level.ERROR, "error")));
+        Thread.sleep(50);
+        assertThat(error).isNotDone();
+        target.gate.countDown();
+        error.get(5, TimeUnit.SECONDS);
+        appender.stop();
+
+        // Then
+        assertThat(appender.getDroppedCount()).isZero();
+        assertThat(appender.getBlockedCount()).isEqualTo(1);
+        assertThat(target.list).extracting(ILoggingEvent::getMessage)
+            .containsExactly("blocking", "queued-1", "queued-2", "error");
+    }
+
+    @Test
+    @DisplayName("Should expose counters through Micrometer")
+    void shouldExposeMetrics() {
+        // Given
+        target.gate.countDown();
+        appender.start();
+        loggerContext.getLogger("test").addAppender(appender);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // When
+        appender.doAppend(event(Level.INFO, "metric"));
+        new RingBufferAppenderMetrics().bindTo(registry, loggerContext);
+
+        // Then
+        assertThat(registry.get("logging.ring.buffer.enqueued").tag("appender", "TEST").functionCounter().count())
+            .isEqualTo(1.0);
+        assertThat(registry.get("logging.ring.buffer.dropped").tags("appender", "TEST", "level", "ERROR")
+            .functionCounter().count()).isZero();
+        assertThat(registry.get("logging.ring.buffer.capacity").gauge().value()).isEqualTo(2.0);
+    }
+
+    private void fillBufferWhileWorkerIsBlocked() throws InterruptedException {
+        appender.doAppend(event(Level.INFO, "blocking"));
+        assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        appender.doAppend(event(Level.INFO, "queued-1"));
+        appender.doAppend(event(Level.INFO, "queued-2"));
+        assertThat(appender.getQueueSize()).isEqualTo(2);
+    }
+
+    private LoggingEvent event(final Level level, final String message) {
+        return new LoggingEvent(RingBufferAppenderTest.class.getName(), loggerContext.getLogger("test"), level,
+            message, null, null);
+    }
+
+    /**
+     * Appender that blocks the ring buffer worker on the first event until the gate opens.
+     */
+    private static final class GatedListAppender extends ListAppender<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        protected void append(final ILoggingEvent event) {
+            entered.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.append(event);
+        }
+    }
+}
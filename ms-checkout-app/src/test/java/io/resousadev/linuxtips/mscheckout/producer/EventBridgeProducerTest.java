@@ -3,39 +3,63 @@ package io.resousadev.linuxtips.mscheckout.producer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.resousadev.linuxtips.common.resilience.CircuitBreaker;
+import io.resousadev.linuxtips.common.resilience.EventBridgeSpool;
+import io.resousadev.linuxtips.common.resilience.EventJournal;
 import io.resousadev.linuxtips.mscheckout.model.Payment;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.EventBridgeException;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
 
 /**
  * Unit tests for {@link EventBridgeProducer}.
- * Tests event publishing to AWS EventBridge with mocked client.
+ * Tests event publishing to AWS EventBridge with mocked client and a real local spool.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("EventBridgeProducer Unit Tests")
 class EventBridgeProducerTest {
 
+    private static final String EVENT_BUS_NAME = "checkout-test-bus";
+
     @Mock
     private EventBridgeClient eventBridgeClient;
 
-    @InjectMocks
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private EventJournal journal;
+
     private EventBridgeProducer eventBridgeProducer;
 
     @Captor
@@ -46,6 +70,18 @@ class EventBridgeProducerTest {
     @BeforeEach
     void setUp() {
         payment = new Payment("checkout-service", "150.00", "APPROVED");
+        journal = EventJournal.open(spoolDirectory, 64 * 1024, 4, Duration.ofMillis(10));
+        CircuitBreaker circuitBreaker = new CircuitBreaker("eventbridge", 1, Duration.ofSeconds(30),
+            Duration.ofSeconds(2));
+        eventBridgeProducer = new EventBridgeProducer(eventBridgeClient, objectMapper,
+            new EventBridgeSpool(eventBridgeClient, objectMapper, circuitBreaker, journal, 100));
+        ReflectionTestUtils.setField(eventBridgeProducer, "eventBusName", EVENT_BUS_NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        journal.close();
     }
 
     @Test
@@ -77,7 +113,7 @@ class EventBridgeProducerTest {
         assertThat(entry.source()).isEqualTo("checkout-service");
         assertThat(entry.detailType()).isEqualTo("APPROVED");
         assertThat(entry.detail()).contains("150.00");
-        assertThat(entry.eventBusName()).isEqualTo("status-pedido-bus");
+        assertThat(entry.eventBusName()).isEqualTo(EVENT_BUS_NAME);
     }
 
     @Test
@@ -102,25 +138,76 @@ class EventBridgeProducerTest {
 
         // Then
         verify(eventBridgeClient).putEvents(any(PutEventsRequest.class));
+        assertThat(journal.pendingRecords()).isZero();
     }
 
     @Test
-    @DisplayName("Should rethrow exception when EventBridge client fails")
-    void shouldRethrowExceptionWhenClientFails() {
+    @DisplayName("Should spool the event instead of failing when EventBridge client fails")
+    void shouldSpoolEventWhenClientFails() {
         // Given
-        RuntimeException awsException = new RuntimeException("AWS connection failed");
+        SdkClientException awsException = SdkClientException.create("AWS connection failed");
         when(eventBridgeClient.putEvents(any(PutEventsRequest.class)))
             .thenThrow(awsException);
 
+        // When
+        eventBridgeProducer.finishOrder(payment);
+
+        // Then
+        assertThat(journal.pendingRecords()).isEqualTo(1);
+        assertThat(new String(journal.read(1).get(0).payload())).contains("APPROVED", "150.00");
+    }
+
+    @Test
+    @DisplayName("Should spool without calling EventBridge while the circuit is open")
+    void shouldSpoolWithoutCallingClientWhenCircuitIsOpen() {
+        // Given
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class)))
+            .thenThrow(SdkClientException.create("AWS connection failed"));
+        eventBridgeProducer.finishOrder(payment);
+
+        // When
+        eventBridgeProducer.finishOrder(new Payment("checkout-service", "99.99", "PENDING"));
+
+        // Then
+        verify(eventBridgeClient, times(1)).putEvents(any(PutEventsRequest.class));
+        assertThat(journal.pendingRecords()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should spool failed entries with a retryable error code")
+    void shouldSpoolThrottledEntry() {
+        // Given
+        PutEventsResponse response = PutEventsResponse.builder()
+            .failedEntryCount(1)
+            .entries(List.of(PutEventsResultEntry.builder().errorCode("ThrottlingException").build()))
+            .build();
+
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class)))
+            .thenReturn(response);
+
+        // When
+        eventBridgeProducer.finishOrder(payment);
+
+        // Then
+        assertThat(journal.pendingRecords()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rethrow permanent EventBridge errors without spooling")
+    void shouldRethrowPermanentErrors() {
+        // Given
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class)))
+            .thenThrow(EventBridgeException.builder().statusCode(400).message("Invalid detail").build());
+
         // When / Then
         assertThatThrownBy(() -> eventBridgeProducer.finishOrder(payment))
-            .isInstanceOf(RuntimeException.class)
-            .hasMessage("AWS connection failed");
+            .isInstanceOf(EventBridgeException.class);
+        assertThat(journal.pendingRecords()).isZero();
     }
 
     @Test
     @DisplayName("Should build correct event request structure")
-    void shouldBuildCorrectEventRequestStructure() {
+    void shouldBuildCorrectEventRequestStructure() throws Exception {
         // Given
         Payment pendingPayment = new Payment("payment-gateway", "99.99", "PENDING");
         
@@ -148,8 +235,32 @@ class EventBridgeProducerTest {
         var entry = request.entries().get(0);
         assertThat(entry.source()).isEqualTo("payment-gateway");
         assertThat(entry.detailType()).isEqualTo("PENDING");
-        assertThat(entry.detail()).isEqualTo("{ \"valor\": \"99.99\" }");
-        assertThat(entry.eventBusName()).isEqualTo("status-pedido-bus");
+        JsonNode detail = objectMapper.readTree(entry.detail());
+        assertThat(detail.get("valor").asText()).isEqualTo("99.99");
+        assertThat(detail.get("correlationId").asText()).isNotBlank();
+        assertThat(entry.eventBusName()).isEqualTo(EVENT_BUS_NAME);
+    }
+
+    @Test
+    @DisplayName("Should carry the order ID as the ordering key of the event")
+    void shouldCarryOrderIdAsOrderingKey() throws Exception {
+        // Given
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class)))
+            .thenReturn(PutEventsResponse.builder()
+                .failedEntryCount(0)
+                .entries(List.of(PutEventsResultEntry.builder().eventId("event-order-001").build()))
+                .build());
+
+        // When
+        eventBridgeProducer.finishOrder(new Payment("checkout-service", "150.00", "APPROVED", "pedido-42"));
+        eventBridgeProducer.finishOrder(payment);
+
+        // Then
+        verify(eventBridgeClient, times(2)).putEvents(requestCaptor.capture());
+        JsonNode withOrder = objectMapper.readTree(requestCaptor.getAllValues().get(0).entries().get(0).detail());
+        JsonNode withoutOrder = objectMapper.readTree(requestCaptor.getAllValues().get(1).entries().get(0).detail());
+        assertThat(withOrder.get("orderingKey").asText()).isEqualTo("pedido-42");
+        assertThat(withoutOrder.get("orderingKey").asText()).isEqualTo(withoutOrder.get("correlationId").asText());
     }
 
     @Test
@@ -180,4 +291,34 @@ class EventBridgeProducerTest {
         assertThat(entry.detailType()).isEqualTo("REJECTED");
         assertThat(entry.detail()).contains("5000.00");
     }
+
+    @Test
+    @DisplayName("Should propagate correlation ID and traceparent from MDC into the event detail")
+    void shouldPropagateTraceContextFromMdc() throws Exception {
+        // Given
+        String parent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        MDC.put("correlationId", "corr-from-request");
+        MDC.put("traceparent", parent);
+
+        PutEventsResponse response = PutEventsResponse.builder()
+            .failedEntryCount(0)
+            .entries(List.of(PutEventsResultEntry.builder().eventId("event-trace-001").build()))
+            .build();
+
+        when(eventBridgeClient.putEvents(any(PutEventsRequest.class)))
+            .thenReturn(response);
+
+        // When
+        eventBridgeProducer.finishOrder(payment);
+
+        // Then
+        verify(eventBridgeClient).putEvents(requestCaptor.capture());
+
+        JsonNode detail = objectMapper.readTree(requestCaptor.getValue().entries().get(0).detail());
+        assertThat(detail.get("correlationId").asText()).isEqualTo("corr-from-request");
+        assertThat(detail.get("traceparent").asText())
+            .startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-")
+            .isNotEqualTo(parent);
+        assertThat(MDC.get("traceparent")).isEqualTo(parent);
+    }
 }
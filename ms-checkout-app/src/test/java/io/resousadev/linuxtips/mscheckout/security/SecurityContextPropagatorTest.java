@@ -0,0 +1,124 @@
+package io.resousadev.linuxtips.mscheckout.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import io.resousadev.linuxtips.common.concurrent.ContextSnapshot;
+import io.resousadev.linuxtips.common.concurrent.ThreadContextPropagator;
+import io.resousadev.linuxtips.common.tracing.TraceContext;
+
+/**
+ * Unit tests for {@link SecurityContextPropagator}.
+ */
+@DisplayName("SecurityContextPropagator Unit Tests")
+class SecurityContextPropagatorTest {
+
+    private final SecurityContextHolderStrategy originalStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.setContextHolderStrategy(originalStrategy);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should expose the submitter's authentication on a virtual thread")
+    void shouldPropagateAuthenticationToVirtualThread() throws Exception {
+        // Given
+        Authentication authentication = new TestingAuthenticationToken("admin", "n/a", "ROLE_ADMIN");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        Runnable task = ContextSnapshot.capture(List.of(new SecurityContextPropagator()))
+            .wrap(() -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(task).get();
+        }
+
+        // Then
+        assertThat(seen.get()).isSameAs(authentication);
+    }
+
+    @Test
+    @DisplayName("Should restore the executing thread's security context after the task")
+    void shouldRestoreExecutingThreadContext() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken("submitter", "n/a", "ROLE_USER"));
+        SecurityContextPropagator propagator = new SecurityContextPropagator();
+        ThreadContextPropagator.Installer installer = propagator.capture();
+        SecurityContextHolder.clearContext();
+
+        // When
+        try (TraceContext.Scope ignored = installer.install()) {
+            assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("submitter");
+        }
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should clear the context of an executing thread that had none")
+    void shouldClearContextWhenExecutingThreadHadNone() {
+        // Given
+        List<String> operations = new ArrayList<>();
+        SecurityContextHolder.setContextHolderStrategy(recording(originalStrategy, operations));
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken("submitter", "n/a", "ROLE_USER"));
+        ThreadContextPropagator.Installer installer = new SecurityContextPropagator().capture();
+        SecurityContextHolder.clearContext();
+        operations.clear();
+
+        // When
+        try (TraceContext.Scope ignored = installer.install()) {
+            assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("submitter");
+        }
+
+        // Then
+        assertThat(operations).containsExactly("set", "clear");
+    }
+
+    private static SecurityContextHolderStrategy recording(final SecurityContextHolderStrategy delegate,
+                                                           final List<String> operations) {
+        return new SecurityContextHolderStrategy() {
+            @Override
+            public void clearContext() {
+                operations.add("clear");
+                delegate.clearContext();
+            }
+
+            @Override
+            public SecurityContext getContext() {
+                return delegate.getContext();
+            }
+
+            @Override
+            public void setContext(final SecurityContext context) {
+                operations.add("set");
+                delegate.setContext(context);
+            }
+
+            @Override
+            public SecurityContext createEmptyContext() {
+                return delegate.createEmptyContext();
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package io.resousadev.linuxtips.mscheckout.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.resousadev.linuxtips.mscheckout.config.UsuarioImportProperties;
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioImportErroDTO;
+import io.resousadev.linuxtips.mscheckout.dto.UsuarioImportResultDTO;
+import io.resousadev.linuxtips.mscheckout.mappers.UsuarioMapper;
+import io.resousadev.linuxtips.mscheckout.model.Usuario;
+import io.resousadev.linuxtips.mscheckout.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+/**
+ * Unit tests for {@link UsuarioImportService}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UsuarioImportService Unit Tests")
+class UsuarioImportServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Captor
+    private ArgumentCaptor<List<Usuario>> usuariosCaptor;
+
+    private UsuarioImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        UsuarioImportProperties properties = new UsuarioImportProperties();
+        properties.setChunkSize(2);
+        properties.setHashThreads(2);
+
+        importService = new UsuarioImportService(usuarioRepository, Mappers.getMapper(UsuarioMapper.class),
+            passwordEncoder, Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate,
+            new ObjectMapper(), properties, entityManager);
+
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hash:" + inv.getArgument(0));
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows in chunks with hashed passwords")
+    void shouldImportNdjsonInChunks() throws Exception {
+        // Given
+        String ndjson = """
+            {"login":"alice","senha":"secret1","roles":["USER"]}
+            {"login":"bob","senha":"secret2","roles":["USER","ADMIN"]}
+
+            {"login":"carol","senha":"secret3","roles":["USER"]}
+            """;
+        when(usuarioRepository.findLoginsExistentes(anyCollection())).thenReturn(Set.of());
+
+        // When
+        UsuarioImportResultDTO result = importService.importar(input(ndjson), UsuarioImportFormat.NDJSON);
+
+        // Then
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.importados()).isEqualTo(3);
+        assertThat(result.falhas()).isZero();
+        verify(usuarioRepository, times(2)).saveAll(usuariosCaptor.capture());
+        assertThat(usuariosCaptor.getAllValues()).hasSize(2);
+        assertThat(usuariosCaptor.getAllValues().get(0))
+            .extracting(Usuario::getLogin, Usuario::getSenha)
+            .containsExactly(tuple("alice", "hash:secret1"), tuple("bob", "hash:secret2"));
+        assertThat(usuariosCaptor.getAllValues().get(1).get(0).getRoles()).containsExactly("USER");
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows with quoted fields and pipe-separated roles")
+    void shouldImportCsv() throws Exception {
+        // Given
+        String csv = """
+            login,senha,roles
+            alice,"se,cret1",USER|ADMIN
+            """;
+        when(usuarioRepository.findLoginsExistentes(anyCollection())).thenReturn(Set.of());
+
+        // When
+        UsuarioImportResultDTO result = importService.importar(input(csv), UsuarioImportFormat.CSV);
+
+        // Then
+        assertThat(result.importados()).isEqualTo(1);
+        verify(usuarioRepository).saveAll(usuariosCaptor.capture());
+        Usuario usuario = usuariosCaptor.getValue().get(0);
+        assertThat(usuario.getSenha()).isEqualTo("hash:se,cret1");
+        assertThat(usuario.getRoles()).containsExactly("USER", "ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should report invalid, duplicated and existing rows without aborting the import")
+    void shouldReportRowErrors() throws Exception {
+        // Given
+        String ndjson = """
+            {"login":"alice","senha":"secret1","roles":["USER"]}
+            {not json}
+            {"login":"al","senha":"secret2","roles":["USER"]}
+            {"login":"alice","senha":"secret3","roles":["USER"]}
+            {"login":"bob","senha":"secret4","roles":["USER"]}
+            """;
+        when(usuarioRepository.findLoginsExistentes(anyCollection())).thenReturn(Set.of("bob"));
+
+        // When
+        UsuarioImportResultDTO result = importService.importar(input(ndjson), UsuarioImportFormat.NDJSON);
+
+        // Then
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.importados()).isEqualTo(1);
+        assertThat(result.falhas()).isEqualTo(4);
+        assertThat(result.erros()).extracting(UsuarioImportErroDTO::linha).containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+        assertThat(result.erros()).filteredOn(e -> e.linha() == 4L)
+            .extracting(UsuarioImportErroDTO::motivo).containsExactly("Login duplicado no arquivo");
+        assertThat(result.erros()).filteredOn(e -> e.linha() == 5L)
+            .extracting(UsuarioImportErroDTO::motivo).containsExactly("Login já cadastrado");
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk row by row")
+    void shouldRetryFailedChunkRowByRow() throws Exception {
+        // Given
+        String ndjson = """
+            {"login":"alice","senha":"secret1","roles":["USER"]}
+            {"login":"bob","senha":"secret2","roles":["USER"]}
+            """;
+        when(usuarioRepository.findLoginsExistentes(anyCollection())).thenReturn(Set.of());
+        when(usuarioRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("uk_usuarios_login"));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenAnswer(inv -> {
+            Usuario usuario = inv.getArgument(0);
+            if ("bob".equals(usuario.getLogin())) {
+                throw new DataIntegrityViolationException("uk_usuarios_login");
+            }
+            return usuario;
+        });
+
+        // When
+        UsuarioImportResultDTO result = importService.importar(input(ndjson), UsuarioImportFormat.NDJSON);
+
+        // Then
+        assertThat(result.importados()).isEqualTo(1);
+        assertThat(result.erros()).containsExactly(new UsuarioImportErroDTO(2, "bob", "Login já cadastrado"));
+    }
+
+    @Test
+    @DisplayName("Should report integrity violations other than the login constraint as they are")
+    void shouldReportOtherIntegrityViolations() throws Exception {
+        // Given
+        String ndjson = """
+            {"login":"alice","senha":"secret1","roles":["USER"]}
+            """;
+        when(usuarioRepository.findLoginsExistentes(anyCollection())).thenReturn(Set.of());
+        when(usuarioRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("fk_usuario_roles"));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(usuarioRepository.saveAndFlush(any(Usuario.class)))
+            .thenThrow(new DataIntegrityViolationException("null value violates fk_usuario_roles"));
+
+        // When
+        UsuarioImportResultDTO result = importService.importar(input(ndjson), UsuarioImportFormat.NDJSON);
+
+        // Then
+        assertThat(result.importados()).isZero();
+        assertThat(result.erros()).containsExactly(
+            new UsuarioImportErroDTO(1, "alice", "Falha ao gravar: null value violates fk_usuario_roles"));
+    }
+
+    @Test
+    @DisplayName("Should resolve import format from content type")
+    void shouldResolveFormatFromContentType() {
+        assertThat(UsuarioImportFormat.fromContentType("application/x-ndjson")).isEqualTo(UsuarioImportFormat.NDJSON);
+        assertThat(UsuarioImportFormat.fromContentType("text/csv;charset=UTF-8")).isEqualTo(UsuarioImportFormat.CSV);
+    }
+
+    private static ByteArrayInputStream input(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
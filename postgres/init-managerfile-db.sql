@@ -0,0 +1,4 @@
+-- init-managerfile-db.sql
+-- Creates the manager-file database next to the ms-checkout one (first start of the volume only)
+
+CREATE DATABASE managerfile_db;